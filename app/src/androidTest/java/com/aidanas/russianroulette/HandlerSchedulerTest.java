@@ -0,0 +1,43 @@
+package com.aidanas.russianroulette;
+
+import android.os.HandlerThread;
+
+import com.aidanas.russianroulette.services.HandlerScheduler;
+
+import junit.framework.TestCase;
+
+/**
+ * Test class to test the scheduler posting to a Looper.
+ */
+public class HandlerSchedulerTest extends TestCase {
+
+    private HandlerThread mThread;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        mThread = new HandlerThread("scheduler-test");
+        mThread.start();
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        mThread.quit();
+        super.tearDown();
+    }
+
+    public void testCancelLeavesNoDepth() {
+        HandlerScheduler scheduler = new HandlerScheduler(mThread.getLooper());
+        Runnable task = new Runnable() {
+            @Override
+            public void run() {
+            }
+        };
+        scheduler.postDelayed(task, 60000);
+        scheduler.postDelayed(task, 60000);
+        assertEquals(2, scheduler.getQueueDepth());
+
+        scheduler.cancel(task);
+        assertEquals(0, scheduler.getQueueDepth());
+    }
+}
@@ -4,13 +4,11 @@ package com.aidanas.russianroulette;
  * Created by: Aidanas Tamasauskas
  * Created on: 04/02/2016.
  *
- * This static class holds all application wide global constants such as the debug flag.
+ * This static class holds all application wide global constants. Logging is configured through
+ * logging.Logger, see RouletteApplication.
  */
 public class Const {
 
-    // Debug flag. This should be set to 'false' in the final version.
-    public final static boolean DEBUG = true;
-
     // Key to access Intent extra.
     public static final String HOST_MAC_ADDR = "mac of the master device";
 }
@@ -0,0 +1,29 @@
+package com.aidanas.russianroulette;
+
+import android.app.Application;
+
+import com.aidanas.russianroulette.game.SecureRandomSource;
+import com.aidanas.russianroulette.logging.LogcatSink;
+import com.aidanas.russianroulette.logging.Logger;
+
+/**
+ * Created by: Aidanas
+ * Created on: 18/10/2026.
+ *
+ * Application class, sets up logging and seeds the randomness before any activity or service is
+ * created.
+ */
+public class RouletteApplication extends Application {
+
+    @Override
+    public void onCreate() {
+        super.onCreate();
+
+        // Debug builds log everything. Levels can be changed at runtime through GameService.dump().
+        Logger.setSink(new LogcatSink());
+        Logger.setLevel(BuildConfig.DEBUG ? Logger.Level.VERBOSE : Logger.Level.WARN);
+
+        // Seeding can block, better now than when the first round starts.
+        SecureRandomSource.warmUp();
+    }
+}
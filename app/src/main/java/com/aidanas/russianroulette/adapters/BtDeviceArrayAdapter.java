@@ -1,16 +1,17 @@
 package com.aidanas.russianroulette.adapters;
 
-import android.bluetooth.BluetoothDevice;
 import android.content.Context;
-import android.util.Log;
+import android.text.format.DateUtils;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
 import android.widget.ArrayAdapter;
 import android.widget.TextView;
 
-import com.aidanas.russianroulette.Const;
 import com.aidanas.russianroulette.R;
+import com.aidanas.russianroulette.discovery.HostRecord;
+import com.aidanas.russianroulette.game.LobbyInfo;
+import com.aidanas.russianroulette.logging.Logger;
 
 import java.util.List;
 
@@ -18,12 +19,14 @@ import java.util.List;
  * Created by Aidanas Tamasauskas
  * Created on 07/02/2016.
  *
- * Custom array adapter to be used with the ListView containing the list of Bluetooth devices.
+ * Custom array adapter to be used with the ListView containing the list of Bluetooth devices
+ * hosting the game, along with what they said about their tables and when.
  */
-public class BtDeviceArrayAdapter extends ArrayAdapter <BluetoothDevice>{
+public class BtDeviceArrayAdapter extends ArrayAdapter <HostRecord>{
 
     // Tag, mostly used for logging output.
     public static final String TAG = BtDeviceArrayAdapter.class.getSimpleName();
+    private static final Logger LOG = Logger.get(Logger.Subsystem.UI, TAG);
 
     private final int mRowLayout;
 
@@ -31,23 +34,41 @@ public class BtDeviceArrayAdapter extends ArrayAdapter <BluetoothDevice>{
      * Constructor.
      * @param context - Context its runnint in.
      * @param rowLayout - Layout of the a single row of the ListView.
-     * @param devices - List of Bluetooth device objects. To be populated in the list rows.
+     * @param devices - List of hosts. To be populated in the list rows.
      */
-    public BtDeviceArrayAdapter(Context context, int rowLayout, List<BluetoothDevice> devices){
+    public BtDeviceArrayAdapter(Context context, int rowLayout, List<HostRecord> devices){
         super(context, rowLayout, devices);
         mRowLayout = rowLayout;
     }
 
+    /**
+     * Method to show a host, in place of what was shown about it before if anything.
+     * @param host - Host as seen just now.
+     */
+    public void update(HostRecord host) {
+        for (int i = 0; i < getCount(); i++) {
+            if (getItem(i).getAddress().equals(host.getAddress())){
+                setNotifyOnChange(false);
+                remove(getItem(i));
+                insert(host, i);
+                notifyDataSetChanged();
+                return;
+            }
+        }
+        add(host);
+    }
+
     /**
      * Holds references of views for quick access.
      */
     static class ViewHolder {
         public TextView nameTw;
+        public TextView infoTw;
     }
 
     @Override
     public View getView(int position, View convertView, ViewGroup parent) {
-        if (Const.DEBUG) Log.v(TAG, "In getView(), position = " + position);
+        if (LOG.isVerbose()) LOG.v("In getView(), position = " + position);
 
         View rowView = convertView;
 
@@ -60,12 +81,19 @@ public class BtDeviceArrayAdapter extends ArrayAdapter <BluetoothDevice>{
             // Save the references.
             ViewHolder viewHolder = new ViewHolder();
             viewHolder.nameTw = (TextView) rowView.findViewById(R.id.bt_dev_name_host_sel);
+            viewHolder.infoTw = (TextView) rowView.findViewById(R.id.bt_dev_info_host_sel);
             rowView.setTag(viewHolder);
         }
 
         // Populate the values into the row.
+        HostRecord host = getItem(position);
         ViewHolder viewHolder = (ViewHolder) rowView.getTag();
-        viewHolder.nameTw.setText(getItem(position).getName());
+        viewHolder.nameTw.setText(host.getName() != null ? host.getName() : host.getAddress());
+        LobbyInfo lobby = host.getLobby();
+        viewHolder.infoTw.setText(getContext().getString(R.string.host_info, lobby.getPlayers(),
+                getContext().getString(lobby.getPhase() == LobbyInfo.Phase.PLAYING ?
+                        R.string.host_playing : R.string.host_in_lobby),
+                DateUtils.getRelativeTimeSpanString(host.getSeenAt())));
 
         return rowView;
     }
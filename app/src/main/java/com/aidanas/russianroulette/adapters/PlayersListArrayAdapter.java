@@ -1,18 +1,20 @@
 package com.aidanas.russianroulette.adapters;
 
 import android.content.Context;
-import android.util.Log;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
 import android.widget.ArrayAdapter;
 import android.widget.ImageView;
+import android.widget.ListView;
 import android.widget.TextView;
 
-import com.aidanas.russianroulette.Const;
 import com.aidanas.russianroulette.R;
-import com.aidanas.russianroulette.game.Player;
+import com.aidanas.russianroulette.game.PlayerListDiff;
+import com.aidanas.russianroulette.game.PlayerListSnapshot;
+import com.aidanas.russianroulette.logging.Logger;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -21,19 +23,63 @@ import java.util.List;
  * <p>
  * Custom array adapter to populate a list with Bluetooth device names.
  */
-public class PlayersListArrayAdapter extends ArrayAdapter<Player>{
+public class PlayersListArrayAdapter extends ArrayAdapter<PlayerListSnapshot.Row>{
 
     // Tag, mostly used for logging output.
     public static final String TAG = PlayersListArrayAdapter.class.getSimpleName();
+    private static final Logger LOG = Logger.get(Logger.Subsystem.UI, TAG);
+
+    // Rows shown, backing the adapter.
+    private final List<PlayerListSnapshot.Row> mRows;
+
+    // Version of the snapshot the rows were taken from.
+    private int mVersion = PlayerListSnapshot.EMPTY.getVersion();
 
     /**
      * Constructor.
      * @param context - Context the adapter is running in.
      * @param rowLayout - Layout of the a single row of the ListView.
-     * @param devices - List of Bluetooth connected sockets objects. To be populated in the list rows.
      */
-    public PlayersListArrayAdapter(Context context, int rowLayout, List<Player> devices){
-        super(context, rowLayout, devices);
+    public PlayersListArrayAdapter(Context context, int rowLayout){
+        this(context, rowLayout, new ArrayList<PlayerListSnapshot.Row>());
+    }
+
+    private PlayersListArrayAdapter(Context context, int rowLayout,
+                                    List<PlayerListSnapshot.Row> rows){
+        super(context, rowLayout, rows);
+        mRows = rows;
+    }
+
+    /**
+     * Method to bring the list up to date with the given diff. If only some players changed
+     * state, only the icons of their rows which are on screen are updated, without the ListView
+     * laying out and rebinding every row. Players joining or leaving, or a diff which does not
+     * follow on from what is shown, refresh the whole list.
+     * @param diff - Changes since the last snapshot.
+     * @param listView - ListView the adapter is set on.
+     */
+    public void apply(PlayerListDiff diff, ListView listView) {
+        if (LOG.isVerbose()) LOG.v("In apply(), diff = " + diff + ", mVersion = " + mVersion);
+
+        PlayerListSnapshot to = diff.getTo();
+        if (diff.getFrom().getVersion() != mVersion || diff.isStructural()){
+            mVersion = to.getVersion();
+            setNotifyOnChange(false);
+            clear();
+            addAll(to.getRows());
+            notifyDataSetChanged();
+            return;
+        }
+
+        mVersion = to.getVersion();
+        int first = listView.getFirstVisiblePosition();
+        for (int position : diff.getChanged()) {
+            PlayerListSnapshot.Row old = mRows.set(position, to.get(position));
+            View rowView = listView.getChildAt(position - first);
+            if (rowView != null){
+                bind((ViewHolder) rowView.getTag(), old, to.get(position));
+            }
+        }
     }
 
     /**
@@ -54,7 +100,7 @@ public class PlayersListArrayAdapter extends ArrayAdapter<Player>{
      */
     @Override
     public View getView(int position, View convertView, ViewGroup parent) {
-        if (Const.DEBUG) Log.v(TAG, "In getView(), position = " + position);
+        if (LOG.isVerbose()) LOG.v("In getView(), position = " + position);
 
         View rowView = convertView;
 
@@ -73,14 +119,28 @@ public class PlayersListArrayAdapter extends ArrayAdapter<Player>{
         }
 
         // Populate the values into the row.
-        Player p = getItem(position);
-        ViewHolder viewHolder = (ViewHolder) rowView.getTag();
-        viewHolder.nameTw.setText(p.getName());
-        viewHolder.readyIv.setVisibility(p.isReady() ? View.VISIBLE : View.GONE);
-        viewHolder.aliveIv.setVisibility(p.isAlive() ? View.VISIBLE : View.GONE);
+        bind((ViewHolder) rowView.getTag(), null, getItem(position));
 
         return rowView;
     }
 
-
+    /**
+     * Method to populate the values of a row into its views, skipping the ones which stay the
+     * same.
+     * @param viewHolder - Views of the row.
+     * @param old - Row the views show now, null if not known.
+     * @param row - Row to show.
+     */
+    private static void bind(ViewHolder viewHolder, PlayerListSnapshot.Row old,
+                             PlayerListSnapshot.Row row) {
+        if (old == null || !row.getName().equals(old.getName())){
+            viewHolder.nameTw.setText(row.getName());
+        }
+        if (old == null || row.isReady() != old.isReady()){
+            viewHolder.readyIv.setVisibility(row.isReady() ? View.VISIBLE : View.GONE);
+        }
+        if (old == null || row.isAlive() != old.isAlive()){
+            viewHolder.aliveIv.setVisibility(row.isAlive() ? View.VISIBLE : View.GONE);
+        }
+    }
 }
@@ -0,0 +1,46 @@
+package com.aidanas.russianroulette.communication;
+
+import android.bluetooth.BluetoothAdapter;
+import android.bluetooth.BluetoothServerSocket;
+import android.bluetooth.BluetoothSocket;
+
+import com.aidanas.russianroulette.interfaces.Connection;
+import com.aidanas.russianroulette.interfaces.ConnectionAcceptor;
+
+import java.io.IOException;
+import java.util.UUID;
+
+/**
+ * Created by: Aidanas
+ * Created on: 18/10/2026.
+ *
+ * Acceptor listening for Bluetooth RFCOMM connections on an SDP entry of the game.
+ */
+public class BtAcceptor implements ConnectionAcceptor {
+
+    private final BluetoothServerSocket mServerSocket;
+
+    /**
+     * Constructor. Opens the listening socket straight away.
+     * @param name - Name of of the program to be used in the SDP entry.
+     * @param uuid - Unique ID of the program to be used in the SDP entry.
+     */
+    public BtAcceptor(String name, UUID uuid) throws IOException {
+        mServerSocket =
+                BluetoothAdapter.getDefaultAdapter().listenUsingRfcommWithServiceRecord(name, uuid);
+    }
+
+    @Override
+    public Connection accept() throws IOException {
+        BluetoothSocket bluetoothSocket = mServerSocket.accept();
+        if (bluetoothSocket == null){
+            throw new IOException("Bluetooth server socket returned no connection");
+        }
+        return new BtConnection(bluetoothSocket);
+    }
+
+    @Override
+    public void close() throws IOException {
+        mServerSocket.close();
+    }
+}
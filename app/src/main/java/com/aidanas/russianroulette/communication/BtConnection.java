@@ -0,0 +1,62 @@
+package com.aidanas.russianroulette.communication;
+
+import android.bluetooth.BluetoothSocket;
+
+import com.aidanas.russianroulette.interfaces.Connection;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Created by: Aidanas
+ * Created on: 18/10/2026.
+ *
+ * Connection over a connected Bluetooth RFCOMM socket.
+ */
+public class BtConnection implements Connection {
+
+    private final BluetoothSocket mBluetoothSocket;
+
+    // Cached, as it is used to identify the peer of every received message.
+    private final String mAddress;
+
+    /**
+     * Constructor.
+     * @param bluetoothSocket - A connected Bluetooth socket.
+     */
+    public BtConnection(BluetoothSocket bluetoothSocket) {
+        mBluetoothSocket = bluetoothSocket;
+        mAddress = bluetoothSocket.getRemoteDevice().getAddress();
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        return mBluetoothSocket.getInputStream();
+    }
+
+    @Override
+    public OutputStream getOutputStream() throws IOException {
+        return mBluetoothSocket.getOutputStream();
+    }
+
+    @Override
+    public String getPeerId() {
+        return mAddress;
+    }
+
+    @Override
+    public String getPeerName() {
+        return mBluetoothSocket.getRemoteDevice().getName();
+    }
+
+    @Override
+    public void close() throws IOException {
+        mBluetoothSocket.close();
+    }
+
+    @Override
+    public String toString() {
+        return mAddress;
+    }
+}
@@ -0,0 +1,60 @@
+package com.aidanas.russianroulette.communication;
+
+import android.bluetooth.BluetoothAdapter;
+import android.bluetooth.BluetoothDevice;
+import android.bluetooth.BluetoothSocket;
+
+import com.aidanas.russianroulette.interfaces.Connection;
+import com.aidanas.russianroulette.interfaces.ConnectionConnector;
+
+import java.io.IOException;
+import java.util.UUID;
+
+/**
+ * Created by: Aidanas
+ * Created on: 18/10/2026.
+ *
+ * Connector to the SDP entry of the game on a remote Bluetooth device.
+ */
+public class BtConnector implements ConnectionConnector {
+
+    private final BluetoothSocket mSocket;
+
+    /**
+     * Constructor.
+     * @param device - Remote Bluetooth device to connect to (must specify MAC address).
+     * @param uuid - Unique ID of the program to be used when querying the remote device for SDP
+     *             entry with matching uuid.
+     */
+    public BtConnector(BluetoothDevice device, UUID uuid) throws IOException {
+        mSocket = device.createRfcommSocketToServiceRecord(uuid);
+    }
+
+    @Override
+    public Connection connect() throws IOException {
+
+        // Discovery slows the connection down considerably.
+        BluetoothAdapter.getDefaultAdapter().cancelDiscovery();
+
+        try {
+            mSocket.connect();
+        } catch (IOException connectException) {
+            try {
+                mSocket.close();
+            } catch (IOException closeException) {
+                // Ignore close exception.
+            }
+            throw connectException;
+        }
+        return new BtConnection(mSocket);
+    }
+
+    @Override
+    public void cancel() {
+        try {
+            mSocket.close();
+        } catch (IOException e) {
+            // Ignore close exception.
+        }
+    }
+}
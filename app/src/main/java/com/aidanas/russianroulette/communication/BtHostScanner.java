@@ -0,0 +1,214 @@
+package com.aidanas.russianroulette.communication;
+
+import android.bluetooth.BluetoothAdapter;
+import android.bluetooth.BluetoothDevice;
+import android.content.BroadcastReceiver;
+import android.content.Context;
+import android.content.Intent;
+import android.content.IntentFilter;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.ParcelUuid;
+import android.os.Parcelable;
+
+import com.aidanas.russianroulette.discovery.HostRecord;
+import com.aidanas.russianroulette.game.LobbyInfo;
+import com.aidanas.russianroulette.logging.Logger;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Created by: Aidanas
+ * Created on: 18/10/2026.
+ *
+ * Looks for Bluetooth devices hosting the game and asks each of them about its table (see
+ * LobbyProbe), so the user does not have to guess which device is hosting. Paired devices which
+ * last advertised the game's service are asked first, then the devices around are discovered
+ * and those advertising the service (as told by an SDP query) are asked too. Devices are asked
+ * one at a time, on a thread of the scanner's own, as Bluetooth does one thing at a time anyway.
+ *
+ * Finding devices which are not paired needs the location permission from Android 6.0 on, the
+ * paired ones are looked at without it. To be used on the main thread only, hosts are reported
+ * on it too.
+ */
+public class BtHostScanner {
+
+    // Tag, mostly used for logging and debug output.
+    public static final String TAG = BtHostScanner.class.getSimpleName();
+    private static final Logger LOG = Logger.get(Logger.Subsystem.NET, TAG);
+
+    /**
+     * Callback interface for whoever shows the hosts found.
+     */
+    public interface Listener {
+        void onHostFound(HostRecord host);
+    }
+
+    private final Context mContext;
+    private final UUID mUuid;
+    private final Listener mListener;
+    private final BluetoothAdapter mBluetoothAdapter = BluetoothAdapter.getDefaultAdapter();
+    private final Handler mMainHandler = new Handler(Looper.getMainLooper());
+
+    // Devices asked about their tables, or about to be, by address. Main thread only.
+    private final Set<String> mProbed = new HashSet<>();
+
+    // Devices found by discovery, to be queried for their services once it finishes.
+    private final List<BluetoothDevice> mFound = new ArrayList<>();
+
+    // Thread the devices are asked on, one per scan.
+    private ExecutorService mProbes;
+
+    private boolean mStarted = false;
+
+    private final BroadcastReceiver mReceiver = new BroadcastReceiver() {
+        @Override
+        public void onReceive(Context context, Intent intent) {
+            String action = intent.getAction();
+            if (LOG.isVerbose()) LOG.v("[ANON] In onReceive(), action = " + action);
+
+            if (BluetoothDevice.ACTION_FOUND.equals(action)){
+                BluetoothDevice device = intent.getParcelableExtra(BluetoothDevice.EXTRA_DEVICE);
+                if (!mProbed.contains(device.getAddress())){
+                    mFound.add(device);
+                }
+
+            } else if (BluetoothAdapter.ACTION_DISCOVERY_FINISHED.equals(action)){
+                // SDP queries are unreliable while discovering, hence only now.
+                for (BluetoothDevice device : mFound) {
+                    device.fetchUuidsWithSdp();
+                }
+                mFound.clear();
+
+            } else if (BluetoothDevice.ACTION_UUID.equals(action)){
+                BluetoothDevice device = intent.getParcelableExtra(BluetoothDevice.EXTRA_DEVICE);
+                if (advertisesGame(intent.getParcelableArrayExtra(BluetoothDevice.EXTRA_UUID))){
+                    probe(device);
+                }
+            }
+        }
+    };
+
+    /**
+     * Constructor.
+     * @param context - Context to receive the Bluetooth broadcasts in.
+     * @param uuid - UUID of the game's service.
+     * @param listener - Gets the hosts found.
+     */
+    public BtHostScanner(Context context, UUID uuid, Listener listener) {
+        mContext = context;
+        mUuid = uuid;
+        mListener = listener;
+    }
+
+    /**
+     * Method to start looking for hosts, afresh if stopped before. Paired devices are asked
+     * first, discovery starts once they all answered or failed to, as connecting to them would
+     * cut it short.
+     */
+    public void start() {
+        if (LOG.isVerbose()) LOG.v("In start()");
+
+        if (mStarted || mBluetoothAdapter == null){
+            return;
+        }
+        mStarted = true;
+        mProbes = Executors.newSingleThreadExecutor();
+        mProbed.clear();
+        mFound.clear();
+
+        IntentFilter filter = new IntentFilter(BluetoothDevice.ACTION_FOUND);
+        filter.addAction(BluetoothAdapter.ACTION_DISCOVERY_FINISHED);
+        filter.addAction(BluetoothDevice.ACTION_UUID);
+        mContext.registerReceiver(mReceiver, filter);
+
+        for (BluetoothDevice device : mBluetoothAdapter.getBondedDevices()) {
+            if (advertisesGame(device.getUuids())){
+                probe(device);
+            } else {
+                // Might have started hosting since its services were last looked at.
+                mFound.add(device);
+            }
+        }
+        mProbes.execute(new Runnable() {
+            @Override
+            public void run() {
+                mBluetoothAdapter.startDiscovery();
+            }
+        });
+    }
+
+    /**
+     * Method to stop looking for hosts, i.e. before connecting to one. A host being asked is let
+     * finish but not reported.
+     */
+    public void stop() {
+        if (LOG.isVerbose()) LOG.v("In stop()");
+
+        if (!mStarted){
+            return;
+        }
+        mStarted = false;
+        mContext.unregisterReceiver(mReceiver);
+        mProbes.shutdownNow();
+        mBluetoothAdapter.cancelDiscovery();
+    }
+
+    /**
+     * Method to tell whether a device advertises the game's service.
+     * @param uuids - UUIDs of the device's services, ParcelUuids. Might be null.
+     * @return - True if one of them is the game's.
+     */
+    private boolean advertisesGame(Parcelable[] uuids) {
+        if (uuids == null){
+            return false;
+        }
+        for (Parcelable uuid : uuids) {
+            if (mUuid.equals(((ParcelUuid) uuid).getUuid())){
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Method to queue a device to be asked about its table, unless it has been already.
+     * @param device - Device hosting the game.
+     */
+    private void probe(final BluetoothDevice device) {
+        if (!mStarted || !mProbed.add(device.getAddress())){
+            return;
+        }
+        if (LOG.isVerbose()) LOG.v("In probe(), device = " + device.getAddress());
+
+        mProbes.execute(new Runnable() {
+            @Override
+            public void run() {
+                final LobbyInfo lobby;
+                try {
+                    lobby = LobbyProbe.query(new BtConnector(device, mUuid).connect());
+                } catch (IOException e) {
+                    LOG.i("No answer from " + device.getAddress() + ": " + e.getMessage());
+                    return;
+                }
+                final HostRecord host = new HostRecord(device.getAddress(), device.getName(),
+                        lobby, System.currentTimeMillis());
+                mMainHandler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        if (mStarted){
+                            mListener.onHostFound(host);
+                        }
+                    }
+                });
+            }
+        });
+    }
+}
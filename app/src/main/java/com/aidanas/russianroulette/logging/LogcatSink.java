@@ -0,0 +1,36 @@
+package com.aidanas.russianroulette.logging;
+
+import android.util.Log;
+
+/**
+ * Created by: Aidanas
+ * Created on: 18/10/2026.
+ *
+ * Sink passing the messages on to logcat.
+ */
+public class LogcatSink implements Logger.Sink {
+
+    @Override
+    public void write(Logger.Level level, String tag, String msg, Throwable tr) {
+        switch (level) {
+            case VERBOSE:
+                Log.v(tag, msg, tr);
+                break;
+
+            case DEBUG:
+                Log.d(tag, msg, tr);
+                break;
+
+            case INFO:
+                Log.i(tag, msg, tr);
+                break;
+
+            case WARN:
+                Log.w(tag, msg, tr);
+                break;
+
+            default:
+                Log.e(tag, msg, tr);
+        }
+    }
+}
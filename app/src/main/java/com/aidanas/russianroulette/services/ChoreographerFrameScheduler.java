@@ -0,0 +1,38 @@
+package com.aidanas.russianroulette.services;
+
+import android.view.Choreographer;
+
+import com.aidanas.russianroulette.interfaces.FrameScheduler;
+
+/**
+ * Created by: Aidanas
+ * Created on: 18/10/2026.
+ *
+ * FrameScheduler running the frames on the Choreographer of the thread it was created on, which
+ * has to be the main thread. The Choreographer takes callbacks from any thread.
+ */
+public class ChoreographerFrameScheduler implements FrameScheduler {
+
+    private final Choreographer mChoreographer;
+
+    /**
+     * Constructor. To be called on the main thread.
+     */
+    public ChoreographerFrameScheduler() {
+        mChoreographer = Choreographer.getInstance();
+    }
+
+    /***********************************************************************************************
+     *                                  Interface Implementations
+     **********************************************************************************************/
+
+    @Override
+    public void postFrame(final Runnable frame) {
+        mChoreographer.postFrameCallback(new Choreographer.FrameCallback() {
+            @Override
+            public void doFrame(long frameTimeNanos) {
+                frame.run();
+            }
+        });
+    }
+}
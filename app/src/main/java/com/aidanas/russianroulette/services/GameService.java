@@ -3,28 +3,47 @@ package com.aidanas.russianroulette.services;
 import android.app.Service;
 import android.bluetooth.BluetoothAdapter;
 import android.bluetooth.BluetoothDevice;
-import android.bluetooth.BluetoothSocket;
 import android.content.Intent;
 import android.os.Binder;
 import android.os.Bundle;
+import android.os.Looper;
 import android.os.IBinder;
 import android.os.Message;
 import android.os.Messenger;
 import android.os.RemoteException;
 import android.support.annotation.Nullable;
-import android.util.Log;
 
-import com.aidanas.russianroulette.Const;
 import com.aidanas.russianroulette.R;
+import com.aidanas.russianroulette.communication.BtAcceptor;
+import com.aidanas.russianroulette.communication.BtConnector;
 import com.aidanas.russianroulette.communication.BtMasterThread;
 import com.aidanas.russianroulette.communication.BtSlaveThread;
+import com.aidanas.russianroulette.communication.NioServer;
 import com.aidanas.russianroulette.game.Arbitrator;
-import com.aidanas.russianroulette.interfaces.BluetoothSocketReceiver;
+import com.aidanas.russianroulette.game.CoalescingObserver;
+import com.aidanas.russianroulette.interfaces.Connection;
+import com.aidanas.russianroulette.interfaces.ConnectionAcceptor;
+import com.aidanas.russianroulette.interfaces.ConnectionConnector;
+import com.aidanas.russianroulette.interfaces.ConnectionReceiver;
+import com.aidanas.russianroulette.interfaces.ConnectorFactory;
+import com.aidanas.russianroulette.interfaces.FrameScheduler;
+import com.aidanas.russianroulette.interfaces.GameObserver;
+import com.aidanas.russianroulette.journal.Journal;
+import com.aidanas.russianroulette.logging.Logger;
+import com.aidanas.russianroulette.metrics.Metrics;
 import com.aidanas.russianroulette.ui.PlayingActivityServer;
 import com.aidanas.russianroulette.ui.SelectHostActivity;
 
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileDescriptor;
 import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Created by: Aidanas Tamasauskas
@@ -32,11 +51,16 @@ import java.util.UUID;
  * <p>
  * Service will handle communication and Bluetooth sockets away from the lifecycle of activity and
  * in a separate thread.
+ * <p>
+ * Besides the game the activity plays (the default table) the service can host any number of
+ * other tables, each with its own acceptor. All of them share a small fixed pool of looper
+ * threads, see LooperPool.
  */
-public class GameService extends Service  implements BluetoothSocketReceiver {
+public class GameService extends Service  implements ConnectionReceiver {
 
     // Tag, mostly used for logging and debug output.
     public static final String TAG = GameService.class.getSimpleName();
+    private static final Logger LOG = Logger.get(Logger.Subsystem.SERVICE, TAG);
 
     // Activity->Service communication lifeline.
     private final IBinder mBinder = new ServiceBinder();
@@ -44,9 +68,33 @@ public class GameService extends Service  implements BluetoothSocketReceiver {
     // Service->Activity communication line.
     private Messenger mMessenger;
 
+    // Name of the table the activity plays at.
+    public static final String DEFAULT_TABLE = "default";
+
+    // Looper threads shared by all the tables.
+    private static final int TABLE_THREADS =
+            Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors()));
+
+    // Journal of the games for post-mortems, kept in the app's files under this directory.
+    private static final String JOURNAL_DIR = "journal";
+    private static final int JOURNAL_SEGMENT_SIZE = 1024 * 1024;
+    private static final int JOURNAL_SEGMENTS = 8;
+
     // Top level job coordinator. Responsible for global 'view' of job processing.
     private Arbitrator mArbitrator;
 
+    // Every table hosted, the default one included. Changed on the main thread, read from any.
+    private final Map<String, Table> mTables = new ConcurrentHashMap<>();
+
+    // Threads the tables run on.
+    private LooperPool mLooperPool;
+
+    // Null if it could not be opened, the games go on without.
+    private Journal mJournal;
+
+    // Display frames the UI updates of every table are passed on at.
+    private FrameScheduler mFrames;
+
     // Server device flag.
     private Boolean mIsServer;
 
@@ -62,7 +110,7 @@ public class GameService extends Service  implements BluetoothSocketReceiver {
     @Nullable
     @Override
     public IBinder onBind(Intent intent) {
-        if (Const.DEBUG) Log.v(TAG, "In onBind(), Thread = " + Thread.currentThread().getName());
+        if (LOG.isVerbose()) LOG.v("In onBind(), Thread = " + Thread.currentThread().getName());
 
         return mBinder;
     }
@@ -70,13 +118,23 @@ public class GameService extends Service  implements BluetoothSocketReceiver {
     @Override
     public void onCreate() {
         super.onCreate();
-        if (Const.DEBUG) Log.v(TAG, "In onCreate(), Thread = " + Thread.currentThread().getName());
+        if (LOG.isVerbose()) LOG.v("In onCreate(), Thread = " + Thread.currentThread().getName());
+
+        mLooperPool = new LooperPool("Game tables", TABLE_THREADS);
+        mFrames = new ChoreographerFrameScheduler();
 
+        try {
+            mJournal = new Journal(new File(getFilesDir(), JOURNAL_DIR), JOURNAL_SEGMENT_SIZE,
+                    JOURNAL_SEGMENTS);
+            Journal.install(mJournal);
+        } catch (IOException e) {
+            LOG.w("Failed to open the journal", e);
+        }
     }
 
     @Override
     public int onStartCommand(Intent intent, int flags, int startId) {
-        if (Const.DEBUG) Log.v(TAG, "In onStartCommand(), Thread = " +
+        if (LOG.isVerbose()) LOG.v("In onStartCommand(), Thread = " +
                 Thread.currentThread().getName());
 
         Bundle bundle = intent.getExtras();
@@ -87,6 +145,7 @@ public class GameService extends Service  implements BluetoothSocketReceiver {
             mIsServer = bundle.getBoolean(PlayingActivityServer.IS_SERVER);
             isStarted = true;
             initArbitrator(mIsServer);
+            mArbitrator.setServerResolved(bundle.getBoolean(PlayingActivityServer.SERVER_RESOLVED));
             initCommunication(mIsServer, mIsServer ? null :
                     bundle.getString(SelectHostActivity.HOST_MAC_ADDR));
         }
@@ -98,20 +157,163 @@ public class GameService extends Service  implements BluetoothSocketReceiver {
     @Override
     public void onDestroy() {
         super.onDestroy();
-        if (Const.DEBUG) Log.v(TAG, "In onDestroy(),Thread = " + Thread.currentThread().getName());
+        if (LOG.isVerbose()) LOG.v("In onDestroy(),Thread = " + Thread.currentThread().getName());
+
+        for (String id : mTables.keySet()) {
+            closeTable(id);
+        }
+        mLooperPool.quit();
+        if (mJournal != null){
+            mJournal.close();
+        }
+    }
 
+    /**
+     * Prints the state of the game, the metrics, the log levels and the recent events. Also lets
+     * the level of a subsystem be changed at runtime:
+     *
+     *      adb shell dumpsys activity service GameService [log SUBSYSTEM LEVEL]
+     */
+    @Override
+    protected void dump(FileDescriptor fd, PrintWriter writer, String[] args) {
+        if (args != null && args.length == 3 && "log".equals(args[0])){
+            try {
+                Logger.setLevel(Logger.Subsystem.valueOf(args[1].toUpperCase(Locale.US)),
+                        Logger.Level.valueOf(args[2].toUpperCase(Locale.US)));
+            } catch (IllegalArgumentException e) {
+                writer.println("Unknown subsystem or level: " + args[1] + " " + args[2]);
+                return;
+            }
+        }
+        dumpMetrics(writer);
+        Logger.dump(writer);
     }
 
     /***********************************************************************************************
      *                            Only Android live cycle methods above this point!
      **********************************************************************************************/
 
+    /**
+     * Method to print the state of the game and the metrics recorded so far.
+     * @param writer - Destination.
+     */
+    public void dumpMetrics(PrintWriter writer) {
+        writer.println("Tables: " + mTables.size() + " on " + mLooperPool.size() + " threads");
+        for (Map.Entry<String, Table> e : mTables.entrySet()) {
+            writer.println("Table " + e.getKey() + ":");
+            e.getValue().arbitrator.dump(writer);
+        }
+        if (mJournal != null){
+            writer.println("Journal: " + mJournal.getDir() + ", dropped = " +
+                    mJournal.getDroppedCount());
+        }
+        Metrics.dump(writer);
+    }
+
+    /**
+     * Method to open another table hosted by this device. Its players connect through the given
+     * acceptor, i.e. a TcpAcceptor on a port of its own.
+     * @param id - Name of the table, unique within the service.
+     * @param messenger - Gets the UI messages of the table's game, see Arbitrator.MSG_UI_*.
+     * @param acceptor - Listening end the table's players connect to.
+     * @return - Arbitrator of the new table.
+     */
+    public synchronized Arbitrator openTable(String id, Messenger messenger,
+                                             ConnectionAcceptor acceptor) {
+        if (LOG.isVerbose()) LOG.v("In openTable(), id = " + id);
+
+        if (mTables.containsKey(id)){
+            throw new IllegalStateException("Table already open: " + id);
+        }
+        Looper looper = mLooperPool.acquire();
+        Arbitrator arbitrator = new Arbitrator(true, observerFor(messenger),
+                new HandlerScheduler(looper));
+        BtMasterThread masterThread = new BtMasterThread(acceptor, arbitrator);
+        mTables.put(id, new Table(arbitrator, looper, acceptor));
+        masterThread.start();
+        return arbitrator;
+    }
+
+    /**
+     * Method to open another table for players on the LAN. Unlike openTable(), all of its players
+     * are served by one NioServer thread however many there are.
+     * @param id - Name of the table, unique within the service.
+     * @param messenger - Gets the UI messages of the table's game, see Arbitrator.MSG_UI_*.
+     * @param port - TCP port to listen on or 0 for any free one (see NioServer.getLocalPort()).
+     * @param maxPlayers - Number of players expected, sizes the write queues.
+     * @return - Server the table's players connect to.
+     * @throws IOException - If the port can not be bound.
+     */
+    public synchronized NioServer openLanTable(String id, Messenger messenger, int port,
+                                               int maxPlayers) throws IOException {
+        if (LOG.isVerbose()) LOG.v("In openLanTable(), id = " + id + ", port = " + port);
+
+        if (mTables.containsKey(id)){
+            throw new IllegalStateException("Table already open: " + id);
+        }
+        Looper looper = mLooperPool.acquire();
+        Arbitrator arbitrator = new Arbitrator(true, observerFor(messenger),
+                new HandlerScheduler(looper));
+        NioServer server;
+        try {
+            server = new NioServer(null, port, arbitrator,
+                    Arbitrator.writeQueueCapacityFor(maxPlayers),
+                    Arbitrator.DEFAULT_OVERFLOW_POLICY);
+        } catch (IOException e) {
+            arbitrator.shutdown();
+            mLooperPool.release(looper);
+            throw e;
+        }
+        mTables.put(id, new Table(arbitrator, looper, server));
+        server.start();
+        return server;
+    }
+
+    /**
+     * Method to close a table: stops accepting players, disconnects the ones seated and frees
+     * its place on the looper thread.
+     * @param id - Name of the table.
+     */
+    public synchronized void closeTable(String id) {
+        if (LOG.isVerbose()) LOG.v("In closeTable(), id = " + id);
+
+        Table table = mTables.remove(id);
+        if (table == null){
+            return;
+        }
+        if (table.listener != null){
+            try {
+                table.listener.close();
+            } catch (IOException e) {
+                // Ignore close exception.
+            }
+        }
+        table.arbitrator.shutdown();
+        mLooperPool.release(table.looper);
+    }
+
+    /**
+     * @param id - Name of the table.
+     * @return - Arbitrator of the table or null if there is no such table.
+     */
+    public Arbitrator getTable(String id) {
+        Table table = mTables.get(id);
+        return table == null ? null : table.arbitrator;
+    }
+
+    /**
+     * @return - Names of the tables open.
+     */
+    public Set<String> getTableIds() {
+        return mTables.keySet();
+    }
+
     /**
      * This gets called by an activity when user chicks 'I'm Ready' button. Method simply delegates
      * the notification to the Arbitrator.
      */
     public void readyUp() {
-        if (Const.DEBUG) Log.v(TAG, "In readyUp(), Thread = " + Thread.currentThread().getName());
+        if (LOG.isVerbose()) LOG.v("In readyUp(), Thread = " + Thread.currentThread().getName());
 
         mArbitrator.readyUp();
     }
@@ -121,19 +323,32 @@ public class GameService extends Service  implements BluetoothSocketReceiver {
      * the game. Delegates the intent to the Arbitrator object.
      */
     public void reset() {
-        if (Const.DEBUG) Log.v(TAG, "In reset(), Thread = " + Thread.currentThread().getName());
+        if (LOG.isVerbose()) LOG.v("In reset(), Thread = " + Thread.currentThread().getName());
 
         mArbitrator.reset();
     }
 
+    /**
+     * Method to create the observer of a game, passing its events on to the messenger at most
+     * once a display frame.
+     * @param messenger - Messenger of the activity's handler.
+     * @return - Observer for the game's arbitrator.
+     */
+    private GameObserver observerFor(Messenger messenger) {
+        return new CoalescingObserver(new MessengerObserver(messenger), mFrames);
+    }
+
     /**
      * Method to create and initialise the arbitrator of the game.
      * @param isServer - Tue if the device is hosting the game.
      */
     private void initArbitrator(Boolean isServer) {
-        if (Const.DEBUG) Log.v(TAG, "In initArbitrator(), isServer = " + isServer);
+        if (LOG.isVerbose()) LOG.v("In initArbitrator(), isServer = " + isServer);
 
-        mArbitrator = new Arbitrator(isServer, mMessenger);
+        Looper looper = mLooperPool.acquire();
+        mArbitrator = new Arbitrator(isServer, observerFor(mMessenger),
+                new HandlerScheduler(looper));
+        mTables.put(DEFAULT_TABLE, new Table(mArbitrator, looper, null));
     }
 
     /**
@@ -143,7 +358,7 @@ public class GameService extends Service  implements BluetoothSocketReceiver {
      *                          null if it is starting as a server device.
      */
     private void initCommunication(Boolean mIsServer, String mastersMacAddress) {
-        if (Const.DEBUG) Log.v(TAG, "In initCommunication(), mastersMac = " + mastersMacAddress +
+        if (LOG.isVerbose()) LOG.v("In initCommunication(), mastersMac = " + mastersMacAddress +
                 " Thread = " + Thread.currentThread().getName());
 
         if (mIsServer){
@@ -157,16 +372,16 @@ public class GameService extends Service  implements BluetoothSocketReceiver {
      * Method to initialise and start a Master Bluetooth thread to listen for incoming connections.
      */
     private void startBtServer() {
-        if (Const.DEBUG) Log.v(TAG, "In startBtServer(), Thread = " +
+        if (LOG.isVerbose()) LOG.v("In startBtServer(), Thread = " +
                 Thread.currentThread().getName());
 
         try {
-            mBtMasterThread = new BtMasterThread(getString(R.string.app_name),
-                    UUID.fromString(getString(R.string.UUID)), this);
+            mBtMasterThread = new BtMasterThread(new BtAcceptor(getString(R.string.app_name),
+                    UUID.fromString(getString(R.string.UUID))), this);
+            mBtMasterThread.start();
         } catch (IOException e) {
-            e.printStackTrace();
+            LOG.w("Failed to start listening for connections", e);
         }
-        mBtMasterThread.start();
     }
 
     /**
@@ -174,16 +389,24 @@ public class GameService extends Service  implements BluetoothSocketReceiver {
      * specified by the argument.
      * @param bluetoothDevice - Remote device to be connected to.
      */
-    private void startBtClient(BluetoothDevice bluetoothDevice) {
-        if (Const.DEBUG) Log.v(TAG, "In startBtClient(), connect to = " +
+    private void startBtClient(final BluetoothDevice bluetoothDevice) {
+        if (LOG.isVerbose()) LOG.v("In startBtClient(), connect to = " +
                 bluetoothDevice.getAddress() + ", Thread = " + Thread.currentThread().getName());
 
+        final UUID uuid = UUID.fromString(getString(R.string.UUID));
+
+        // Losing the signal for a moment should not cost the seat, come back to the same game.
+        mArbitrator.setReconnect(new ConnectorFactory() {
+            @Override
+            public ConnectionConnector newConnector() throws IOException {
+                return new BtConnector(bluetoothDevice, uuid);
+            }
+        });
         try {
-            mBtSlaveThread = new BtSlaveThread(bluetoothDevice,
-                    UUID.fromString(getString(R.string.UUID)), this);
+            mBtSlaveThread = new BtSlaveThread(new BtConnector(bluetoothDevice, uuid), this);
             mBtSlaveThread.start();
         } catch (IOException e) {
-            e.printStackTrace();
+            LOG.w("Failed to start connecting to " + bluetoothDevice.getAddress(), e);
         }
     }
 
@@ -195,7 +418,7 @@ public class GameService extends Service  implements BluetoothSocketReceiver {
      * @param obj  - Object to be passed to the main thread.
      */
     private void passToMessenger(int what, int arg1, int arg2, Object obj) {
-        if (Const.DEBUG) Log.v(TAG, "In passToMessenger(), dispatching msg.what = " + what);
+        if (LOG.isVerbose()) LOG.v("In passToMessenger(), dispatching msg.what = " + what);
 
         Message msg = Message.obtain();
         msg.what    = what;
@@ -206,7 +429,7 @@ public class GameService extends Service  implements BluetoothSocketReceiver {
         try {
             mMessenger.send(msg);
         } catch (RemoteException e) {
-            e.printStackTrace();
+            LOG.w("Failed to pass message " + what + " to the messenger", e);
         }
     }
 
@@ -215,17 +438,17 @@ public class GameService extends Service  implements BluetoothSocketReceiver {
      **********************************************************************************************/
 
     /**
-     * Callback method implementation which gets called each time a new connected socket is made.
-     * It spawns a new thread sor each socket received in order to process incoming communication.
-     * @param bluetoothSocket - Newly connected Bluetooth socket.
+     * Callback method implementation which gets called each time a new connection is made.
+     * It spawns a new thread sor each connection received in order to process incoming
+     * communication.
+     * @param connection - Newly established connection.
      */
     @Override
-    public void receiveSocket(BluetoothSocket bluetoothSocket) {
-        if (Const.DEBUG) Log.v(TAG, "In receiveSocket(), bluetoothSocket = " +
-                bluetoothSocket.getRemoteDevice().getAddress());
+    public void receiveConnection(Connection connection) {
+        if (LOG.isVerbose()) LOG.v("In receiveConnection(), connection = " + connection);
 
-        // Pass the socket to the arbitrator.
-        mArbitrator.receiveSocket(bluetoothSocket);
+        // Pass the connection to the arbitrator.
+        mArbitrator.receiveConnection(connection);
     }
 
     /***********************************************************************************************
@@ -244,13 +467,39 @@ public class GameService extends Service  implements BluetoothSocketReceiver {
 
         // Tag, mostly used for logging and debug output.
         public final String TAG = ServiceBinder.class.getSimpleName();
+        private final Logger LOG = Logger.get(Logger.Subsystem.SERVICE, TAG);
 
         public GameService getGameService() {
-            if (Const.DEBUG) Log.v(TAG, "In getGameService(), Thread = " +
+            if (LOG.isVerbose()) LOG.v("In getGameService(), Thread = " +
                     Thread.currentThread().getName());
 
             return GameService.this;
         }
+
+        /**
+         * Method to print the state of the game and its metrics, the same as dumpsys does.
+         * @param writer - Destination.
+         */
+        public void dumpMetrics(PrintWriter writer) {
+            GameService.this.dumpMetrics(writer);
+        }
+    }
+
+    /**
+     * A game hosted by the service, the pooled looper it runs on and the listening end its players
+     * connect to, closing which stops accepting them (null for the default table, whose
+     * connections are made by the service itself).
+     */
+    private static class Table {
+        final Arbitrator arbitrator;
+        final Looper looper;
+        final Closeable listener;
+
+        Table(Arbitrator arbitrator, Looper looper, Closeable listener) {
+            this.arbitrator = arbitrator;
+            this.looper = looper;
+            this.listener = listener;
+        }
     }
 }
 
@@ -0,0 +1,153 @@
+package com.aidanas.russianroulette.services;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.Message;
+
+import com.aidanas.russianroulette.interfaces.Scheduler;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Created by: Aidanas
+ * Created on: 18/10/2026.
+ *
+ * Scheduler posting to a Looper, i.e. one of a LooperPool. Shutting it down drops its own
+ * messages only, the looper keeps running for the other tables on it.
+ */
+public class HandlerScheduler implements Scheduler {
+
+    private final Handler mHandler;
+
+    // Number of messages and runnables posted but not yet processed.
+    private final AtomicInteger mQueueDepth = new AtomicInteger();
+
+    // The same, by runnable (null for plain messages), so that cancelling one runnable takes off
+    // as many as were removed. Guarded by itself.
+    private final Map<Runnable, Integer> mPending = new HashMap<>();
+
+    private volatile boolean mShutdown = false;
+
+    /**
+     * Constructor.
+     * @param looper - Looper to run the tasks on.
+     */
+    public HandlerScheduler(Looper looper) {
+        mHandler = new CountingHandler(looper);
+    }
+
+    /***********************************************************************************************
+     *                                  Interface Implementations
+     **********************************************************************************************/
+
+    @Override
+    public void post(Runnable task) {
+        mHandler.post(task);
+    }
+
+    @Override
+    public void postDelayed(Runnable task, long delayMillis) {
+        mHandler.postDelayed(task, delayMillis);
+    }
+
+    @Override
+    public void cancel(Runnable task) {
+        synchronized (mPending) {
+            mHandler.removeCallbacks(task);
+            Integer pending = mPending.remove(task);
+            if (pending != null){
+                mQueueDepth.addAndGet(-pending);
+            }
+        }
+    }
+
+    @Override
+    public int getQueueDepth() {
+        return mQueueDepth.get();
+    }
+
+    @Override
+    public void shutdown() {
+        mShutdown = true;
+        synchronized (mPending) {
+            mHandler.removeCallbacksAndMessages(null);
+            mPending.clear();
+            mQueueDepth.set(0);
+        }
+    }
+
+    /**
+     * Method to count a message or runnable into the queue.
+     * @param task - Runnable of the message, null if a plain message.
+     */
+    private void track(Runnable task) {
+        synchronized (mPending) {
+            Integer pending = mPending.get(task);
+            mPending.put(task, pending == null ? 1 : pending + 1);
+            mQueueDepth.incrementAndGet();
+        }
+    }
+
+    /**
+     * Method to count a message or runnable out of the queue, unless it was cancelled while on
+     * its way out and so counted out already.
+     * @param task - Runnable of the message, null if a plain message.
+     */
+    private void untrack(Runnable task) {
+        synchronized (mPending) {
+            Integer pending = mPending.get(task);
+            if (pending == null){
+                return;
+            }
+            if (pending == 1){
+                mPending.remove(task);
+            } else {
+                mPending.put(task, pending - 1);
+            }
+            mQueueDepth.decrementAndGet();
+        }
+    }
+
+    /***********************************************************************************************
+     *                                  Inner Classes
+     **********************************************************************************************/
+
+    /**
+     * Handler keeping track of the queue depth and ignoring everything once shut down.
+     */
+    private class CountingHandler extends Handler {
+
+        CountingHandler(Looper looper) {
+            super(looper);
+        }
+
+        /**
+         * Every message and runnable goes through here on the way into the queue.
+         */
+        @Override
+        public boolean sendMessageAtTime(Message msg, long uptimeMillis) {
+            if (mShutdown){
+                return false;
+            }
+            track(msg.getCallback());
+            boolean queued = super.sendMessageAtTime(msg, uptimeMillis);
+            if (!queued){
+                untrack(msg.getCallback());
+            }
+            return queued;
+        }
+
+        /**
+         * Every message and runnable goes through here on the way out of the queue.
+         */
+        @Override
+        public void dispatchMessage(Message msg) {
+            if (!mShutdown){
+                untrack(msg.getCallback());
+                super.dispatchMessage(msg);
+            }
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.aidanas.russianroulette.services;
+
+import android.os.HandlerThread;
+import android.os.Looper;
+
+/**
+ * Created by: Aidanas
+ * Created on: 18/10/2026.
+ *
+ * Fixed set of looper threads the game tables are spread over. Every table is pinned to one
+ * looper for its whole life, so its state is only ever touched by one thread, while the number of
+ * threads stays the same however many tables there are. Nothing posted to a pooled looper may
+ * block, or every other table on it stalls.
+ */
+public class LooperPool {
+
+    private final HandlerThread[] mThreads;
+
+    // Number of tables on every thread, guarded by 'this'.
+    private final int[] mTables;
+
+    /**
+     * Constructor. Starts the threads.
+     * @param name - Prefix of the thread names.
+     * @param size - Number of threads.
+     */
+    public LooperPool(String name, int size) {
+        if (size < 1){
+            throw new IllegalArgumentException("Pool needs at least one thread");
+        }
+
+        mThreads = new HandlerThread[size];
+        mTables = new int[size];
+        for (int i = 0; i < size; i++) {
+            mThreads[i] = new HandlerThread(name + " " + i);
+            mThreads[i].start();
+        }
+    }
+
+    /**
+     * Method to pick a looper for a new table, the one with the fewest tables on it.
+     * @return - Looper the table is to run on. Must be handed back through release().
+     */
+    public synchronized Looper acquire() {
+        int least = 0;
+        for (int i = 1; i < mTables.length; i++) {
+            if (mTables[i] < mTables[least]){
+                least = i;
+            }
+        }
+        mTables[least]++;
+        return mThreads[least].getLooper();
+    }
+
+    /**
+     * Method to hand back the looper of a table which is closed.
+     * @param looper - Looper obtained from acquire().
+     */
+    public synchronized void release(Looper looper) {
+        for (int i = 0; i < mThreads.length; i++) {
+            if (mThreads[i].getLooper() == looper){
+                mTables[i]--;
+                return;
+            }
+        }
+    }
+
+    /**
+     * @return - Number of threads in the pool.
+     */
+    public int size() {
+        return mThreads.length;
+    }
+
+    /**
+     * Method to stop all the threads. The pool can not be used afterwards.
+     */
+    public void quit() {
+        for (HandlerThread t : mThreads) {
+            t.quit();
+        }
+    }
+}
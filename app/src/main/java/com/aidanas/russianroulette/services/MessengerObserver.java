@@ -0,0 +1,44 @@
+package com.aidanas.russianroulette.services;
+
+import android.os.Message;
+import android.os.Messenger;
+import android.os.RemoteException;
+
+import com.aidanas.russianroulette.interfaces.GameObserver;
+import com.aidanas.russianroulette.logging.Logger;
+
+/**
+ * Created by: Aidanas
+ * Created on: 18/10/2026.
+ *
+ * Passes the events of a game on to an activity's handler, as messages with the event in 'what'
+ * and whatever comes with it in 'obj'.
+ */
+public class MessengerObserver implements GameObserver {
+
+    // Tag, mostly used for logging and debug output.
+    public static final String TAG = MessengerObserver.class.getSimpleName();
+    private static final Logger LOG = Logger.get(Logger.Subsystem.SERVICE, TAG);
+
+    private final Messenger mMessenger;
+
+    /**
+     * Constructor.
+     * @param messenger - Messenger of the activity's handler.
+     */
+    public MessengerObserver(Messenger messenger) {
+        mMessenger = messenger;
+    }
+
+    @Override
+    public void onGameEvent(int what, Object obj) {
+        Message m = Message.obtain();
+        m.what    = what;
+        m.obj     = obj;
+        try {
+            mMessenger.send(m);
+        } catch (RemoteException e) {
+            LOG.w("Activity is gone, event " + what + " dropped", e);
+        }
+    }
+}
@@ -6,12 +6,12 @@ import android.content.DialogInterface;
 import android.content.Intent;
 import android.os.Bundle;
 import android.support.v7.app.AppCompatActivity;
-import android.util.Log;
 import android.view.View;
 import android.widget.Button;
+import android.widget.CheckBox;
 
-import com.aidanas.russianroulette.Const;
 import com.aidanas.russianroulette.R;
+import com.aidanas.russianroulette.logging.Logger;
 
 /**
  * Class containing the main activity of the app.
@@ -20,6 +20,7 @@ public class MainActivity extends AppCompatActivity{
 
     // Tag, mostly used for logging and debug output.
     public static final String TAG = MainActivity.class.getSimpleName();
+    private static final Logger LOG = Logger.get(Logger.Subsystem.UI, TAG);
 
     // Request code for the return result, after 'enable Bluetooth' intent was started.
     private static final int REQUEST_ENABLE_BT = 1;
@@ -27,6 +28,7 @@ public class MainActivity extends AppCompatActivity{
     // Views of the activity.
     private Button mServerBtn;
     private Button mClientBtn;
+    private CheckBox mServerResolvedCb;
 
     // Bluetooth adapter which will be used for communication.
     private final BluetoothAdapter bluetoothAdapter = BluetoothAdapter.getDefaultAdapter();
@@ -38,6 +40,7 @@ public class MainActivity extends AppCompatActivity{
         setContentView(R.layout.activity_main);
         mServerBtn = (Button) findViewById(R.id.ac_main_server_btn);
         mClientBtn = (Button) findViewById(R.id.ac_main_client_btn);
+        mServerResolvedCb = (CheckBox) findViewById(R.id.ac_main_server_resolved_cb);
 
 
         // Check if Bluetooth is supported by the device.
@@ -47,11 +50,14 @@ public class MainActivity extends AppCompatActivity{
         mServerBtn.setOnClickListener(clickListener = new View.OnClickListener() {
             @Override
             public void onClick(View v) {
-                if (Const.DEBUG) Log.v(TAG, "In onClick(), Server Btn? = " + (v == mServerBtn));
+                if (LOG.isVerbose()) LOG.v("In onClick(), Server Btn? = " + (v == mServerBtn));
 
                 enableBtns(false);
                 if (v == mServerBtn){
-                    startActivity(new Intent(MainActivity.this, PlayingActivityServer.class));
+                    Intent intent = new Intent(MainActivity.this, PlayingActivityServer.class);
+                    intent.putExtra(PlayingActivityServer.SERVER_RESOLVED,
+                            mServerResolvedCb.isChecked());
+                    startActivity(intent);
                 } else {
                     startActivity(new Intent(MainActivity.this, SelectHostActivity.class));
                 }
@@ -64,7 +70,7 @@ public class MainActivity extends AppCompatActivity{
     @Override
     protected void onStart() {
         super.onStart();
-        if (Const.DEBUG) Log.v(TAG, "In onStart()");
+        if (LOG.isVerbose()) LOG.v("In onStart()");
     }
 
     /***********************************************************************************************
@@ -85,7 +91,7 @@ public class MainActivity extends AppCompatActivity{
      * found to be disabled.
      */
     private void setupBtAdapter() {
-        if (Const.DEBUG) Log.v(TAG, "in setupBtAdapter()");
+        if (LOG.isVerbose()) LOG.v("in setupBtAdapter()");
 
         /*
          * Check if the device has a Bluetooth adapter.
@@ -93,11 +99,11 @@ public class MainActivity extends AppCompatActivity{
         BluetoothAdapter bluetoothAdapter = BluetoothAdapter.getDefaultAdapter();
         if (bluetoothAdapter == null) {
             // Device does NOT support Bluetooth.
-            if (Const.DEBUG) Log.v(TAG, "No Bluetooth adapter found!");
+            if (LOG.isVerbose()) LOG.v("No Bluetooth adapter found!");
             showNoBluetoothDlg();
         } else {
             // Device HAS support for Bluetooth.
-            if (Const.DEBUG) Log.v(TAG, "Bluetooth adapter found! adapter = " +
+            if (LOG.isVerbose()) LOG.v("Bluetooth adapter found! adapter = " +
                     bluetoothAdapter.getName());
             /*
              * Check if bluetooth is enabled. If not then prompt the user to enable it.
@@ -11,23 +11,19 @@ import android.os.IBinder;
 import android.os.Looper;
 import android.os.Message;
 import android.os.Messenger;
-import android.util.Log;
 import android.view.View;
 import android.widget.Button;
 import android.widget.ImageView;
 import android.widget.ListView;
 import android.widget.TextView;
 
-import com.aidanas.russianroulette.Const;
 import com.aidanas.russianroulette.R;
 import com.aidanas.russianroulette.adapters.PlayersListArrayAdapter;
 import com.aidanas.russianroulette.game.Arbitrator;
-import com.aidanas.russianroulette.game.Player;
+import com.aidanas.russianroulette.game.PlayerListDiff;
+import com.aidanas.russianroulette.logging.Logger;
 import com.aidanas.russianroulette.services.GameService;
 
-import java.util.ArrayList;
-import java.util.List;
-
 /**
  * Created by: Aidanas Tamasauskas
  * Created on: 02-05-2016
@@ -39,11 +35,15 @@ public class PlayingActivityServer extends Activity {
 
     // Tag, mostly used for logging and debug output.
     public static final String TAG = PlayingActivityServer.class.getSimpleName();
+    private static final Logger LOG = Logger.get(Logger.Subsystem.UI, TAG);
 
     // Key to access a Intent extras passed to the game service.
     public static final String MESSENGER = "messenger";
     public static final String IS_SERVER = "start as server?";
 
+    // Passed on from the intent starting this activity to the game service.
+    public static final String SERVER_RESOLVED = "resolve rounds on the server?";
+
     // Custom handler to handle messages coming from other threads.
     private final Handler mHandler = new MainHandler(Looper.getMainLooper());
 
@@ -70,7 +70,7 @@ public class PlayingActivityServer extends Activity {
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
-        if (Const.DEBUG) Log.v(TAG, "In onCreate()");
+        if (LOG.isVerbose()) LOG.v("In onCreate()");
 
         setContentView(R.layout.activity_playing);
 
@@ -87,7 +87,7 @@ public class PlayingActivityServer extends Activity {
         mReadyBtn.setOnClickListener(new View.OnClickListener() {
             @Override
             public void onClick(View v) {
-                if (Const.DEBUG) Log.v(TAG+"[ANON]", "In onClick() mReadyBtn.");
+                if (LOG.isVerbose()) LOG.v("[ANON] In onClick() mReadyBtn.");
 
                 // Hide the button and display the image...
                 mReadyBtn.setVisibility(View.GONE);
@@ -104,7 +104,7 @@ public class PlayingActivityServer extends Activity {
         mAnotherBtn.setOnClickListener(new View.OnClickListener() {
             @Override
             public void onClick(View v) {
-                if (Const.DEBUG) Log.v(TAG+"[ANON]", "In onClick() mAnotherBtn.");
+                if (LOG.isVerbose()) LOG.v("[ANON] In onClick() mAnotherBtn.");
 
                 resetPlayer();
             }
@@ -112,8 +112,7 @@ public class PlayingActivityServer extends Activity {
 
         // Configure the list displaying players.
         mPlayersLw = (ListView) findViewById(R.id.ac_playing_players_lw);
-        mArrayAdapter = new PlayersListArrayAdapter(this, R.layout.player_list_item,
-                new ArrayList<Player>());
+        mArrayAdapter = new PlayersListArrayAdapter(this, R.layout.player_list_item);
         mPlayersLw.setAdapter(mArrayAdapter);
 
         startGameService(true);
@@ -128,7 +127,7 @@ public class PlayingActivityServer extends Activity {
      * Method to make the player 'ready' for another round of game.
      */
     private void resetPlayer() {
-        if (Const.DEBUG) Log.v(TAG, "In resetPlayer()");
+        if (LOG.isVerbose()) LOG.v("In resetPlayer()");
 
         mTitleTv.setText(R.string.get_ready);
         mAnotherBtn.setVisibility(View.GONE);
@@ -141,7 +140,7 @@ public class PlayingActivityServer extends Activity {
      * Method to bind to a service.
      */
     private void bindToService(Class<?> service, ServiceConnection serviceConnection){
-        if (Const.DEBUG) Log.v(TAG, "In bindToService(), req bind to:" + service.getSimpleName());
+        if (LOG.isVerbose()) LOG.v("In bindToService(), req bind to:" + service.getSimpleName());
 
         bindService(new Intent(this, service),  mGameServiceConnection = serviceConnection,
                 Context.BIND_AUTO_CREATE);
@@ -152,27 +151,26 @@ public class PlayingActivityServer extends Activity {
      * @param isServer - Start as a server device?
      */
     private void startGameService(boolean isServer) {
-        if (Const.DEBUG) Log.v(TAG, "In startGameService()");
+        if (LOG.isVerbose()) LOG.v("In startGameService()");
 
         // Supply the service with a messenger so it can pass messages back to this activity.
         Intent intent = new Intent(this, GameService.class);
         intent.putExtra(MESSENGER, mMessenger);
         intent.putExtra(IS_SERVER, isServer);
+        intent.putExtra(SERVER_RESOLVED, getIntent().getBooleanExtra(SERVER_RESOLVED, false));
 
         startService(intent);
     }
 
     /**
-     * Method to update the list of players on UI with the newly provided list.
-     * @param players - List of players.
+     * Method to update the list of players on UI with the changes since the last update.
+     * @param diff - Changes to the list of players.
      */
-    private void updatePlayerList(List<Player> players) {
-        if (Const.DEBUG) Log.v(TAG, "In updatePlayerList(), players.size() = " + players.size() +
-                ", Thread = " + Thread.currentThread().getName() );
+    private void updatePlayerList(PlayerListDiff diff) {
+        if (LOG.isVerbose()) LOG.v("In updatePlayerList(), players.size() = " +
+                diff.getTo().size() + ", Thread = " + Thread.currentThread().getName() );
 
-        // Update players list.
-        mArrayAdapter.clear();
-        mArrayAdapter.addAll(players);
+        mArrayAdapter.apply(diff, mPlayersLw);
     }
 
     /***********************************************************************************************
@@ -183,6 +181,7 @@ public class PlayingActivityServer extends Activity {
 
         // Tag, mostly used for logging and debug output.
         public final String TAG = MainHandler.class.getSimpleName();
+        private final Logger LOG = Logger.get(Logger.Subsystem.UI, TAG);
 
         public MainHandler(Looper mainLooper) {
             super(mainLooper);
@@ -191,7 +190,7 @@ public class PlayingActivityServer extends Activity {
 
         @Override
         public void handleMessage(Message msg) {
-            if (Const.DEBUG) Log.v(TAG, "in handleMessage(), msg.obj = " + msg.obj + ", Thread = " +
+            if (LOG.isVerbose()) LOG.v("in handleMessage(), msg.obj = " + msg.obj + ", Thread = " +
                     Thread.currentThread().getName());
 
             /*
@@ -200,7 +199,7 @@ public class PlayingActivityServer extends Activity {
             switch (msg.what) {
 
                 case Arbitrator.MSG_UI_UPDATE_PLAYER_LIST:
-                    updatePlayerList((List<Player>) msg.obj);
+                    updatePlayerList((PlayerListDiff) msg.obj);
                     break;
 
                 case Arbitrator.MSG_UI_ALL_READY:
@@ -211,6 +210,20 @@ public class PlayingActivityServer extends Activity {
                     mTitleTv.setText(R.string.click);
                     mGuyIv.setVisibility(View.GONE);
                     mAnotherBtn.setVisibility(View.VISIBLE);
+                    break;
+
+                case Arbitrator.MSG_UI_DEAD:
+                    // The dead play no more, no another round for them.
+                    mTitleTv.setText(R.string.bang);
+                    mGuyIv.setVisibility(View.GONE);
+                    break;
+
+                case Arbitrator.MSG_UI_ROUND_CANCELLED:
+                    // Someone left before the trigger was pulled, ready up again.
+                    mTitleTv.setText(R.string.get_ready);
+                    mGuyIv.setVisibility(View.GONE);
+                    mReadyBtn.setVisibility(View.VISIBLE);
+                    break;
 
                 default:
                     super.handleMessage(msg);
@@ -229,10 +242,11 @@ public class PlayingActivityServer extends Activity {
 
         // Tag, mostly used for logging and debug output.
         public final String TAG = GameServiceConnection.class.getSimpleName();
+        private final Logger LOG = Logger.get(Logger.Subsystem.UI, TAG);
 
         @Override
         public void onServiceConnected(ComponentName className, IBinder service) {
-            if (Const.DEBUG) Log.v(TAG, "In onServiceConnected(), className = " + className);
+            if (LOG.isVerbose()) LOG.v("In onServiceConnected(), className = " + className);
 
             // Extract and save the reference to the service. Enable 'I'm Ready' button.
             GameService.ServiceBinder binder = (GameService.ServiceBinder) service;
@@ -243,7 +257,7 @@ public class PlayingActivityServer extends Activity {
 
         @Override
         public void onServiceDisconnected(ComponentName arg0) {
-            if (Const.DEBUG) Log.v(TAG, "In onServiceDisconnected()");
+            if (LOG.isVerbose()) LOG.v("In onServiceDisconnected()");
 
             mBound = false;
         }
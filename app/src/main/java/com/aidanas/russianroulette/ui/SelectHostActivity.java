@@ -1,53 +1,105 @@
 package com.aidanas.russianroulette.ui;
 
 import android.app.Activity;
-import android.bluetooth.BluetoothAdapter;
-import android.bluetooth.BluetoothDevice;
 import android.content.Intent;
 import android.os.Bundle;
-import android.util.Log;
 import android.view.View;
 import android.widget.AdapterView;
-import android.widget.ArrayAdapter;
 import android.widget.ListView;
 
-import com.aidanas.russianroulette.Const;
 import com.aidanas.russianroulette.R;
 import com.aidanas.russianroulette.adapters.BtDeviceArrayAdapter;
+import com.aidanas.russianroulette.communication.BtHostScanner;
+import com.aidanas.russianroulette.discovery.HostCache;
+import com.aidanas.russianroulette.discovery.HostRecord;
+import com.aidanas.russianroulette.logging.Logger;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Set;
+import java.util.UUID;
 
 /**
  * Created by: Aidanas Tamasauskas
  * Created on: 02/05/2016.
  *
  * Activity containing the screen which lists bluetooth devices so that user can select the one
- * which is currently hosting the game.
+ * which is currently hosting the game. Hosts found before are listed straight away, while they
+ * and any others around are looked for again (see BtHostScanner).
  */
 public class SelectHostActivity extends Activity {
 
     // Tag, mostly used for logging and debug output.
     public static final String TAG = SelectHostActivity.class.getSimpleName();
+    private static final Logger LOG = Logger.get(Logger.Subsystem.UI, TAG);
 
     // Key to access Intent extra.
     public static final String HOST_MAC_ADDR = "mac of the master device";
 
+    // Hosts found are kept in the app's cache under this name, forgotten a day after last seen.
+    private static final String HOSTS_FILE = "hosts";
+    private static final long HOST_MAX_AGE = 24 * 60 * 60 * 1000L;
+
     // Views
     private ListView mBtDevicesLv;
 
     // Adapter handling population of the list.
     private BtDeviceArrayAdapter mArrayAdapter;
 
+    // Hosts found, this time and before.
+    private HostCache mHostCache;
+
+    // Looks for the hosts around.
+    private BtHostScanner mScanner;
+
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
-        if (Const.DEBUG) Log.v(TAG, "In onCreate()");
+        if (LOG.isVerbose()) LOG.v("In onCreate()");
 
         setContentView(R.layout.activity_select_host);
 
         setupListView();
 
+        mScanner = new BtHostScanner(this, UUID.fromString(getString(R.string.UUID)),
+                new BtHostScanner.Listener() {
+                    @Override
+                    public void onHostFound(HostRecord host) {
+                        if (LOG.isVerbose()) LOG.v("[ANON] In onHostFound(), host = " + host);
+
+                        mHostCache.put(host);
+                        mArrayAdapter.update(host);
+                    }
+                });
+    }
+
+    @Override
+    protected void onStart() {
+        super.onStart();
+        if (LOG.isVerbose()) LOG.v("In onStart()");
+
+        mScanner.start();
+    }
+
+    @Override
+    protected void onPause() {
+        super.onPause();
+        if (LOG.isVerbose()) LOG.v("In onPause()");
+
+        try {
+            mHostCache.save(System.currentTimeMillis());
+        } catch (IOException e) {
+            LOG.w("Failed to save the hosts", e);
+        }
+    }
+
+    @Override
+    protected void onStop() {
+        super.onStop();
+        if (LOG.isVerbose()) LOG.v("In onStop()");
+
+        // Scanning would slow the connection to the host chosen down considerably.
+        mScanner.stop();
     }
 
     /***********************************************************************************************
@@ -62,7 +114,7 @@ public class SelectHostActivity extends Activity {
         // Setup the list view and its adapter.
         mBtDevicesLv = (ListView) findViewById(R.id.ac_select_host_lw);
         mArrayAdapter = new BtDeviceArrayAdapter(this, R.layout.host_list_item,
-                new ArrayList<BluetoothDevice>());
+                new ArrayList<HostRecord>());
         mBtDevicesLv.setAdapter(mArrayAdapter);
 
         // Click listener will attempt to connect to the chosen device.
@@ -70,7 +122,7 @@ public class SelectHostActivity extends Activity {
 
             @Override
             public void onItemClick(AdapterView<?> parent, View view, int position, long id) {
-                if (Const.DEBUG) Log.v(TAG + "[ANON]", "In onItemClick() , position = " + position);
+                if (LOG.isVerbose()) LOG.v("[ANON] In onItemClick() , position = " + position);
 
                 /*
                  * Launch PlayingActivityClient for the specified host.
@@ -81,28 +133,8 @@ public class SelectHostActivity extends Activity {
             }
         });
 
-        // Finally, add all currently paired devices as found on the device to the list.
-        addPairedDevicesToList(mArrayAdapter);
+        // Finally, show the hosts found before. A few records, quick enough to read from here.
+        mHostCache = new HostCache(new File(getCacheDir(), HOSTS_FILE), HOST_MAX_AGE);
+        mArrayAdapter.addAll(mHostCache.load(System.currentTimeMillis()));
     }
-
-    /**
-     * Method to add currently paired device list to the ListView.
-     * @param arrayAdapter - Adapter of the list to which paired devices will be added.
-     */
-    private void addPairedDevicesToList(ArrayAdapter<BluetoothDevice> arrayAdapter) {
-
-        // Get all currently paired devices.
-        Set<BluetoothDevice> pairedDevices =
-                BluetoothAdapter.getDefaultAdapter().getBondedDevices();
-
-        // If there are paired devices
-        if (pairedDevices.size() > 0) {
-            // Loop through paired devices
-            for (BluetoothDevice device : pairedDevices) {
-                // Add the name and address to an array adapter to show in a ListView
-                arrayAdapter.add(device);
-            }
-        }
-    }
-
 }
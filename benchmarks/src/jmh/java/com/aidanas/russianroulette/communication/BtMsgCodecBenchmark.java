@@ -0,0 +1,109 @@
+package com.aidanas.russianroulette.communication;
+
+import com.aidanas.russianroulette.game.Player;
+import com.aidanas.russianroulette.game.StateSnapshot;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Created by: Aidanas
+ * Created on: 18/10/2026.
+ *
+ * Benchmarks of BtMsg encoding and decoding, both on their own and through buffered streams
+ * the way BtConnectedThread uses them.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class BtMsgCodecBenchmark {
+
+    // Message shapes: no payload, a state change, a new player and a snapshot of a full lobby.
+    @Param({"CTS_CLIENT_READY", "STC_PLAYER_READY", "STC_NEW_PLAYER", "STC_PLAYERS_LIST"})
+    public String message;
+
+    private BtMsg mBtMsg;
+    private byte[] mFrame;
+    private OutputStream mOut;
+
+    @Setup
+    public void setup() {
+        switch (message) {
+            case "CTS_CLIENT_READY":
+                mBtMsg = new BtMsg(BtMsg.CTS_CLIENT_READY, null);
+                break;
+
+            case "STC_PLAYER_READY":
+                mBtMsg = new BtMsg(BtMsg.STC_PLAYER_READY, player(1).getAddress());
+                break;
+
+            case "STC_NEW_PLAYER":
+                mBtMsg = new BtMsg(BtMsg.STC_NEW_PLAYER, player(1));
+                break;
+
+            case "STC_PLAYERS_LIST":
+                List<Player> players = new ArrayList<>();
+                for (int i = 0; i < 7; i++) {
+                    players.add(player(i));
+                }
+                mBtMsg = new BtMsg(BtMsg.STC_PLAYERS_LIST,
+                        new StateSnapshot(player(7).getAddress(), Player.State.RESET, players));
+                break;
+
+            default:
+                throw new IllegalArgumentException(message);
+        }
+        mFrame = BtMsgCodec.encode(mBtMsg);
+
+        // Same buffering as BtConnectedThread, minus the socket.
+        mOut = new BufferedOutputStream(new OutputStream() {
+            @Override
+            public void write(int b) {
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+            }
+        }, 1024);
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return BtMsgCodec.encode(mBtMsg);
+    }
+
+    @Benchmark
+    public BtMsg decode() throws IOException {
+        return BtMsgCodec.decode(mFrame);
+    }
+
+    @Benchmark
+    public void writeAndFlush() throws IOException {
+        BtMsgCodec.write(mBtMsg, mOut);
+        mOut.flush();
+    }
+
+    @Benchmark
+    public BtMsg readFromStream() throws IOException {
+        return BtMsgCodec.read(new DataInputStream(new ByteArrayInputStream(mFrame)));
+    }
+
+    private static Player player(int i) {
+        return new Player("Player " + i, String.format("00:11:22:33:44:%02X", i));
+    }
+}
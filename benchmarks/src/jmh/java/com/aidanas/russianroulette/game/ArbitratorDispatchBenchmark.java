@@ -0,0 +1,161 @@
+package com.aidanas.russianroulette.game;
+
+import com.aidanas.russianroulette.communication.BtMasterThread;
+import com.aidanas.russianroulette.communication.BtMsg;
+import com.aidanas.russianroulette.communication.ClockProbe;
+import com.aidanas.russianroulette.communication.PipeAcceptor;
+import com.aidanas.russianroulette.communication.PipeConnector;
+import com.aidanas.russianroulette.interfaces.GameObserver;
+import com.aidanas.russianroulette.interfaces.Scheduler;
+import com.aidanas.russianroulette.scheduling.EventLoop;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Created by: Aidanas
+ * Created on: 18/10/2026.
+ *
+ * Benchmarks of the Arbitrator dispatching an incoming message on its EventLoop, from being
+ * handed over by the transport to being processed. A host and a client are connected over the
+ * pipe transport, so that the replies and broadcasts a message causes are sent for real.
+ *
+ * Every message type that can be replayed over and over is covered, on the side it is meant for
+ * and, for a ping, on the server too, where it is dropped. A client's state changes are sent in
+ * turn, as the player's state only moves from READY to ALIVE to RESET and back to READY. The
+ * versioned changes of the game state are left out on the client: once replayed they are
+ * duplicates, dropped before being dispatched.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ArbitratorDispatchBenchmark {
+
+    // Messages handed over per invocation, the wait for the loop to process them is shared.
+    private static final int BATCH = 100;
+
+    private static final String CLIENT_ID = "peer-1";
+
+    @Param({"CTS_CLIENT_READY/ALIVE/RESET", "CTS_SNAPSHOT_REQUEST", "CTS_PONG", "STC_PING@server",
+            "STC_PING@client"})
+    public String message;
+
+    private EventLoop mLoop;
+    private BtMasterThread mMasterThread;
+    private Arbitrator mHost;
+    private Arbitrator mClient;
+
+    // Arbitrator the messages are handed to and the scheduler it runs on.
+    private Arbitrator mTarget;
+    private Scheduler mTargetScheduler;
+
+    // Types sent in turn.
+    private int[] mTypes;
+    private int mNext = 0;
+    private Object mPayload;
+    private String mSender;
+
+    @Setup
+    public void setup() throws Exception {
+        GameObserver observer = new GameObserver() {
+            @Override
+            public void onGameEvent(int what, Object obj) {
+            }
+        };
+        mLoop = new EventLoop("dispatch");
+        mLoop.start();
+        Scheduler hostScheduler = mLoop.newScheduler();
+        Scheduler clientScheduler = mLoop.newScheduler();
+        mHost = new Arbitrator(true, observer, hostScheduler);
+        mClient = new Arbitrator(false, observer, clientScheduler);
+
+        PipeAcceptor acceptor = new PipeAcceptor("host", "Host");
+        mMasterThread = new BtMasterThread(acceptor, mHost);
+        mMasterThread.start();
+        int seated = mHost.getPlayerCount();
+        mClient.receiveConnection(new PipeConnector(acceptor, CLIENT_ID, "Peer").connect());
+        for (int i = 0; i < 500 && mHost.getPlayerCount() == seated; i++) {
+            Thread.sleep(10);
+        }
+        if (mHost.getPlayerCount() == seated){
+            throw new IllegalStateException("Client did not join");
+        }
+
+        mTarget = mHost;
+        mTargetScheduler = hostScheduler;
+        mSender = CLIENT_ID;
+        switch (message) {
+            case "CTS_CLIENT_READY/ALIVE/RESET":
+                mTypes = new int[]{BtMsg.CTS_CLIENT_READY, BtMsg.CTS_CLIENT_ALIVE,
+                        BtMsg.CTS_CLIENT_RESET};
+                break;
+
+            case "CTS_SNAPSHOT_REQUEST":
+                mTypes = new int[]{BtMsg.CTS_SNAPSHOT_REQUEST};
+                break;
+
+            case "CTS_PONG":
+                mTypes = new int[]{BtMsg.CTS_PONG};
+                mPayload = new ClockProbe(1, 2, 3);
+                break;
+
+            case "STC_PING@server":
+                mTypes = new int[]{BtMsg.STC_PING};
+                mPayload = new ClockProbe(1);
+                break;
+
+            case "STC_PING@client":
+                mTypes = new int[]{BtMsg.STC_PING};
+                mPayload = new ClockProbe(1);
+                mTarget = mClient;
+                mTargetScheduler = clientScheduler;
+                mSender = "host";
+                break;
+
+            default:
+                throw new IllegalArgumentException(message);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        mMasterThread.cancel();
+        mClient.shutdown();
+        mHost.shutdown();
+        mLoop.quit();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void dispatch() throws InterruptedException {
+        for (int i = 0; i < BATCH; i++) {
+            // A new one every time, as the transport decodes, and the server restamps the sender.
+            BtMsg btMsg = new BtMsg(mTypes[mNext], mPayload);
+            mNext = mNext + 1 == mTypes.length ? 0 : mNext + 1;
+            btMsg.srcMAC = mSender;
+            btMsg.receivedAt = System.nanoTime();
+            mTarget.receiveMessage(btMsg);
+        }
+
+        // Tasks of a scheduler run in the order posted, so this one runs after the whole batch.
+        final CountDownLatch done = new CountDownLatch(1);
+        mTargetScheduler.post(new Runnable() {
+            @Override
+            public void run() {
+                done.countDown();
+            }
+        });
+        done.await();
+    }
+}
@@ -0,0 +1,55 @@
+package com.aidanas.russianroulette.game;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Created by: Aidanas
+ * Created on: 18/10/2026.
+ *
+ * Benchmarks of the round setup: a new Gun per round, as Arbitrator.playGame() used to do, and a
+ * spin of an existing one with the shared secure and the seeded randomness.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class GunBenchmark {
+
+    private Gun mGun;
+    private Gun mSeededGun;
+
+    @Setup
+    public void setup() {
+        mGun = new Gun(6);
+        mGun.loadBullets(1);
+        mSeededGun = new Gun(6, new SeededRandomSource(42));
+        mSeededGun.loadBullets(1);
+    }
+
+    @Benchmark
+    public Gun newGunAndSpin() {
+        Gun gun = new Gun(6);
+        gun.loadBullets(1);
+        gun.spinCylinder();
+        return gun;
+    }
+
+    @Benchmark
+    public Gun spinCylinder() {
+        mGun.spinCylinder();
+        return mGun;
+    }
+
+    @Benchmark
+    public Gun spinSeededCylinder() {
+        mSeededGun.spinCylinder();
+        return mSeededGun;
+    }
+}
@@ -0,0 +1,63 @@
+package com.aidanas.russianroulette.game;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Created by: Aidanas
+ * Created on: 18/10/2026.
+ *
+ * Benchmarks of the player lookups the Arbitrator does for every incoming message. Every
+ * invocation looks up the next player in turn, so all positions in the lobby are covered.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PlayerRegistryBenchmark {
+
+    // 7 is a full Bluetooth piconet, 100 a large LAN lobby.
+    @Param({"2", "7", "100"})
+    public int players;
+
+    private final PlayerRegistry mPlayers = new PlayerRegistry();
+
+    // Addresses as they arrive from the wire: equal, but not the same String objects.
+    private String[] mAddresses;
+
+    private int mNext = 0;
+
+    @Setup
+    public void setup() {
+        mAddresses = new String[players];
+        for (int i = 0; i < players; i++) {
+            String address = String.format("00:11:22:33:%02X:%02X", i / 256, i % 256);
+            mPlayers.add(new Player("Player " + i, address));
+            mAddresses[i] = new String(address);
+        }
+    }
+
+    @Benchmark
+    public Player byAddress() {
+        return mPlayers.get(mAddresses[next()]);
+    }
+
+    @Benchmark
+    public List<Player> snapshot() {
+        return mPlayers.snapshot();
+    }
+
+    private int next() {
+        int i = mNext;
+        mNext = i + 1 == players ? 0 : i + 1;
+        return i;
+    }
+}
@@ -0,0 +1,38 @@
+package com.aidanas.russianroulette.metrics;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Created by: Aidanas
+ * Created on: 18/10/2026.
+ *
+ * Benchmarks of recording into a Histogram shared by several threads, the way the connection
+ * threads share the codec histograms. Run with -prof gc to check it does not allocate.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class HistogramBenchmark {
+
+    private final Histogram mHistogram = new Histogram();
+
+    @Benchmark
+    @Threads(1)
+    public void recordUncontended() {
+        mHistogram.record(System.nanoTime() & 0xFFFFF);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void recordContended() {
+        mHistogram.record(System.nanoTime() & 0xFFFFF);
+    }
+}
@@ -0,0 +1,225 @@
+package com.aidanas.russianroulette.communication;
+
+import com.aidanas.russianroulette.interfaces.Connection;
+import com.aidanas.russianroulette.interfaces.MessageReceiver;
+import com.aidanas.russianroulette.interfaces.PeerLink;
+import com.aidanas.russianroulette.logging.LogEvent;
+import com.aidanas.russianroulette.logging.Logger;
+import com.aidanas.russianroulette.metrics.Histogram;
+import com.aidanas.russianroulette.metrics.KeyedCounter;
+import com.aidanas.russianroulette.metrics.Metrics;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+
+/**
+ * Created by: Aidanas
+ * Created on: 22/04/2016.
+ *
+ * Class to holds the logic for reading and writing into connected sockets of any transport. This
+ * thread reads, writes are queued to a BtWriterThread of its own.
+ */
+public class BtConnectedThread extends Thread implements PeerLink {
+
+    // Tag, mostly used for logging and debug output.
+    public static final String TAG = BtConnectedThread.class.getSimpleName();
+    private static final Logger LOG = Logger.get(Logger.Subsystem.NET, TAG);
+
+    // Size of the input buffer in bytes.
+    private static final int BUFFER_SIZE = 1024;
+
+    // Messages received by all connections, by type.
+    private static final KeyedCounter MSG_IN = Metrics.keyedCounter("msg.in", BtMsg.MAX_TYPE + 1);
+
+    // Streams are buffered so a frame is read and written with as few socket calls as possible.
+    private final DataInputStream mInputStream;
+    private final CountingInputStream mCountingStream;
+    private final Connection mConnection;
+
+    // Name of the remote device, looked up once.
+    private final String mPeerName;
+
+    // Outbound frames go through this thread.
+    private final BtWriterThread mWriter;
+
+    // Messages received will be passed to this receiver for processing. Set by open().
+    private MessageReceiver mReceiver;
+
+    // Round trip time and clock offset of the remote device.
+    private final PeerClock mClock = new PeerClock();
+
+    /**
+     * Constructor.
+     * @param connection - A connection through which the communication will be going.
+     * @param writeQueueCapacity - Maximum number of frames waiting to be written.
+     * @param overflowPolicy - What to do when a peer falls that many frames behind.
+     */
+    public BtConnectedThread(Connection connection, int writeQueueCapacity,
+                             BtWriterThread.OverflowPolicy overflowPolicy) throws IOException {
+        mCountingStream = new CountingInputStream(connection.getInputStream());
+        mInputStream = new DataInputStream(new BufferedInputStream(mCountingStream, BUFFER_SIZE));
+        mWriter = new BtWriterThread(connection,
+                new BufferedOutputStream(connection.getOutputStream(), BUFFER_SIZE),
+                writeQueueCapacity, overflowPolicy);
+        mConnection = connection;
+
+        // Might be a lookup, better done by the thread setting the connection up than by the game.
+        mPeerName = connection.getPeerName();
+    }
+
+    /**
+     * Method to start reading, see PeerLink.open().
+     * @param receiver - Receiver to which received data will be passed.
+     */
+    @Override
+    public void open(MessageReceiver receiver) {
+        mReceiver = receiver;
+        start();
+    }
+
+    /**
+     * Thread's starting point.
+     */
+    public void run() {
+        if (LOG.isVerbose()) LOG.v("In run(), Thread = " + Thread.currentThread().getName());
+
+        mWriter.start();
+
+        while (true) {
+            try {
+                if (LOG.isVerbose()) LOG.v("In run(), reading " + mConnection.getPeerId());
+
+                // We expecting to read BtMsgCodec frames from the stream.
+                BtMsg btMsg = BtMsgCodec.read(mInputStream);
+                Logger.event(LogEvent.FRAME_IN, btMsg.type, btMsg.seq);
+                MSG_IN.increment(btMsg.type);
+                passToReceiver(btMsg);
+
+            } catch (IOException e) {
+                // Closed socket or a malformed frame. Either way the stream can not be trusted.
+                break;
+            }
+        }
+
+        // After a malformed frame the peer is still there, hang up on it as well.
+        cancel();
+
+        // Let the arbitrator know this peer is gone.
+        passToReceiver(new BtMsg(BtMsg.PEER_DISCONNECTED, this));
+    }
+
+    /**
+     * Method to send date to the remote device.
+     * @param btmsg - Message to be written to the socket.
+     */
+    @Override
+    public void write(BtMsg btmsg) {
+        write(BtFrame.of(btmsg));
+    }
+
+    /**
+     * Method to send an already encoded message to the remote device. The frame is queued and
+     * written by the writer thread of this connection.
+     * @param frame - Frame to be written to the socket.
+     */
+    @Override
+    public void write(BtFrame frame) {
+        if (LOG.isVerbose()) LOG.v("In write(), writing to: " + mConnection.getPeerId() +
+                ", type = " + frame.type + ", bytes = " + frame.length());
+
+        mWriter.enqueue(frame);
+    }
+
+    @Override
+    public String getPeerId() {
+        return mConnection.getPeerId();
+    }
+
+    @Override
+    public String getPeerName() {
+        return mPeerName;
+    }
+
+    /**
+     * @return - Number of frames waiting to be written to the remote device.
+     */
+    @Override
+    public int getWriteQueueDepth() {
+        return mWriter.getQueueDepth();
+    }
+
+    /**
+     * @return - Bytes read from the remote device so far.
+     */
+    @Override
+    public long getBytesIn() {
+        return mCountingStream.getCount();
+    }
+
+    @Override
+    public long getBytesOut() {
+        return mWriter.getBytesOut();
+    }
+
+    @Override
+    public long getDroppedCount() {
+        return mWriter.getDroppedCount();
+    }
+
+    @Override
+    public Histogram getWriteLatency() {
+        return mWriter.getWriteLatency();
+    }
+
+    /**
+     * @return - Clock estimate of the remote device, fed by the owner of the connection.
+     */
+    @Override
+    public PeerClock getClock() {
+        return mClock;
+    }
+
+    /**
+     * @return - Writer of this connection, for its statistics.
+     */
+    public BtWriterThread getWriter() {
+        return mWriter;
+    }
+
+    /**
+     * Method to close the connection and terminate the thread.
+     */
+    @Override
+    public void cancel() {
+        mWriter.close();
+        try {
+            mConnection.close();
+        } catch (IOException e) { }
+    }
+
+    /**
+     * Method to stamp a received message with its sender and pass it to the receiver, i.e. the
+     * Arbitrator.
+     * @param btMsg  - Object to be passed on.
+     */
+    private void passToReceiver(BtMsg btMsg) {
+        if (LOG.isVerbose()) LOG.v("In passToReceiver(), btMsg.type = " + btMsg.type +
+                ", Thread = " + Thread.currentThread().getName());
+
+        // Include senders address in the message.
+        btMsg.srcMAC = mConnection.getPeerId();
+        btMsg.receivedAt = System.nanoTime();
+
+        mReceiver.receiveMessage(btMsg);
+    }
+
+    /**
+     * Method ot obtain the connection to which this thread is assisted with.
+     * @return - Connection used by this thread.
+     */
+    public Connection getConnection() {
+        return mConnection;
+    }
+}
@@ -0,0 +1,57 @@
+package com.aidanas.russianroulette.communication;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * Created by: Aidanas
+ * Created on: 18/10/2026.
+ *
+ * A BtMsg already encoded by BtMsgCodec. Immutable, so a message broadcast to many peers is
+ * encoded once and the same bytes are written to every one of them.
+ */
+public final class BtFrame {
+
+    // Type of the encoded message, for logging.
+    public final int type;
+
+    private final byte[] mBytes;
+
+    private BtFrame(int type, byte[] bytes) {
+        this.type = type;
+        mBytes = bytes;
+    }
+
+    /**
+     * Method to encode a message into a frame.
+     * @param btMsg - Message to be encoded.
+     * @return - Frame holding the encoded message.
+     */
+    public static BtFrame of(BtMsg btMsg) {
+        return new BtFrame(btMsg.type, BtMsgCodec.encode(btMsg));
+    }
+
+    /**
+     * @return - Size of the frame in bytes, header included.
+     */
+    public int length() {
+        return mBytes.length;
+    }
+
+    /**
+     * Method to write the frame to a stream. Stream is not flushed.
+     * @param out - Destination.
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        out.write(mBytes);
+    }
+
+    /**
+     * Method to copy the frame into a buffer, i.e. the output buffer of a non-blocking socket.
+     * @param buf - Destination, must have at least length() bytes remaining.
+     */
+    public void writeTo(ByteBuffer buf) {
+        buf.put(mBytes);
+    }
+}
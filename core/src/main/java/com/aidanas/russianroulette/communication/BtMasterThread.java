@@ -0,0 +1,154 @@
+package com.aidanas.russianroulette.communication;
+
+
+import com.aidanas.russianroulette.interfaces.Connection;
+import com.aidanas.russianroulette.interfaces.ConnectionAcceptor;
+import com.aidanas.russianroulette.interfaces.ConnectionReceiver;
+import com.aidanas.russianroulette.logging.Logger;
+import com.aidanas.russianroulette.metrics.Histogram;
+import com.aidanas.russianroulette.metrics.Metrics;
+
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Created by: Aidanas Tamasauskas
+ * Created on: 21/04/2016.
+ *
+ * Thread to listen for any incoming connection attempts by other devices. Despite the name it
+ * works with any transport, Bluetooth being the default one (see BtAcceptor).
+ *
+ * The thread only accepts. Every accepted connection is handed to a small pool of handshake
+ * threads which pass it on to the receiver, setting up its streams and looking up the peer's
+ * name on the way, so a few devices connecting at once are let in side by side rather than
+ * one after another. The receiver leaves registering the player to the game's own thread.
+ */
+public class BtMasterThread extends Thread {
+
+    // Tag, mostly used for logging and debug output.
+    public static final String TAG = BtMasterThread.class.getSimpleName();
+    private static final Logger LOG = Logger.get(Logger.Subsystem.NET, TAG);
+
+    // Default number of connections handed over at once. Bluetooth allows up to seven peers.
+    public static final int DEFAULT_HANDSHAKE_THREADS = 4;
+
+    // Time from accepting a connection to the receiver having it.
+    private static final Histogram HANDSHAKE_NANOS = Metrics.histogram("net.handshake_ns");
+
+    private final ConnectionAcceptor mAcceptor;
+
+    // Connections will be passed to this object.
+    private final ConnectionReceiver mConnectionReceiver;
+
+    // Threads passing the accepted connections on.
+    private final ExecutorService mHandshakes;
+
+    /**
+     * Constructor.
+     * @param acceptor - Listening end of the transport, i.e. BtAcceptor.
+     * @param connectionReceiver - Accepted connections will be passed to this object.
+     */
+    public BtMasterThread(ConnectionAcceptor acceptor, ConnectionReceiver connectionReceiver) {
+        this(acceptor, connectionReceiver, DEFAULT_HANDSHAKE_THREADS);
+    }
+
+    /**
+     * Constructor.
+     * @param acceptor - Listening end of the transport, i.e. BtAcceptor.
+     * @param connectionReceiver - Accepted connections will be passed to this object.
+     * @param handshakeThreads - Number of connections handed over at once.
+     */
+    public BtMasterThread(ConnectionAcceptor acceptor, ConnectionReceiver connectionReceiver,
+                          int handshakeThreads) {
+        if (handshakeThreads < 1){
+            throw new IllegalArgumentException("Handshake threads: " + handshakeThreads);
+        }
+        mAcceptor = acceptor;
+        mConnectionReceiver = connectionReceiver;
+        mHandshakes = Executors.newFixedThreadPool(handshakeThreads, new HandshakeThreads());
+    }
+
+    /**
+     * New thread starts here.
+     */
+    public void run() {
+        if (LOG.isVerbose()) LOG.v("In run(), Thread = " + Thread.currentThread().getName());
+
+        Connection connection;
+
+        /*
+         * Accept as many connections as we can. Passing them to the arbitrator.
+         */
+        while (true) {
+            try {
+                connection = mAcceptor.accept();
+            } catch (IOException e) {
+                // Caused as well by method call to cancel().
+                break;
+            }
+            // If a connection was accepted pass it to the handler.
+            if (connection != null) {
+                mHandshakes.execute(new Handshake(connection, System.nanoTime()));
+            }
+        }
+
+        // Connections accepted so far are still passed on.
+        mHandshakes.shutdown();
+    }
+
+    /**
+     * Closes the acceptor causing the thread to finish.
+     */
+    public void cancel() {
+        try {
+            mAcceptor.close();
+        } catch (IOException e) {
+            // Ignore close exception.
+        }
+    }
+
+    /***********************************************************************************************
+     *                                  Inner Classes
+     **********************************************************************************************/
+
+    /**
+     * Passes an accepted connection on to the receiver.
+     */
+    private class Handshake implements Runnable {
+        private final Connection mConnection;
+
+        // System.nanoTime() of accepting the connection.
+        private final long mAcceptedAt;
+
+        Handshake(Connection connection, long acceptedAt) {
+            mConnection = connection;
+            mAcceptedAt = acceptedAt;
+        }
+
+        @Override
+        public void run() {
+            if (LOG.isVerbose()) LOG.v("In run(), handing over " + mConnection.getPeerId() +
+                    ", Thread = " + Thread.currentThread().getName());
+
+            mConnectionReceiver.receiveConnection(mConnection);
+            HANDSHAKE_NANOS.record(System.nanoTime() - mAcceptedAt);
+        }
+    }
+
+    /**
+     * Names the handshake threads and keeps them from holding the process up.
+     */
+    private static class HandshakeThreads implements ThreadFactory {
+        private final AtomicInteger mCount = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread t = new Thread(r, TAG + "-handshake-" + mCount.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.aidanas.russianroulette.communication;
+
+/**
+ * Created by: Aidanas Tamasauskas
+ * Created on: 21/04/2016.
+ *
+ * Class to model a single inter device Bluetooth message. Messages are put on the wire by
+ * BtMsgCodec, so the payload must be of the type the codec expects for the given message type.
+ *
+ * Server to client messages are changes of the game state (apart from the snapshot, which is the
+ * whole of it). Each one carries a sequence number, so that the clients can notice a missed one.
+ */
+public class BtMsg {
+
+    public static final int MASTER_NOT_LISTENING = 20;
+    public static final int CONNECTED_MASTER_SOCKET = 22;
+
+    public static final int SLAVE_ACK = 10;
+    public static final int SLAVE_CONNECTION_FAIL = 11;
+    public static final int CONNECTED_SLAVE_SOCKET = 12;
+
+    // Local only, never on the wire. Posted by a PeerLink when its connection drops, the payload
+    // is the link itself.
+    public static final int PEER_DISCONNECTED = 30;
+
+    // Server To Client message types. Payload of the STC_PLAYER_* types is the player's address.
+    public static final int STC_NEW_PLAYER   = 501;
+    public static final int STC_PLAYERS_LIST = 502; // StateSnapshot, in reply to a request too.
+    public static final int STC_SERVER_READY = 503;
+    public static final int STC_PLAYER_READY = 504;
+    public static final int STC_ROUND_START  = 505; // RoundStart, one per client.
+    public static final int STC_ROUND_RESULT = 506; // RoundResult.
+    public static final int STC_ROUND_CANCELLED = 507; // Everyone ready is reset.
+    public static final int STC_SERVER_ALIVE = 510;
+    public static final int STC_PLAYER_ALIVE = 511;
+    public static final int STC_SERVER_RESET = 520;
+    public static final int STC_PLAYER_RESET = 521;
+    public static final int STC_PLAYER_LEFT  = 530;
+    public static final int STC_PING         = 540; // ClockProbe.
+    public static final int STC_WELCOME      = 550; // Session, in reply to CTS_JOIN.
+    public static final int STC_LOBBY_INFO   = 560; // LobbyInfo, in reply to CTS_LOBBY_QUERY.
+
+    // Client To Server message types.
+    public static final int CTS_JOIN         = 600; // Session, first on every connection.
+    public static final int CTS_CLIENT_READY = 603;
+    public static final int CTS_CLIENT_ALIVE = 610;
+    public static final int CTS_CLIENT_RESET = 620;
+    public static final int CTS_SNAPSHOT_REQUEST = 630;
+    public static final int CTS_PONG         = 640; // ClockProbe.
+    public static final int CTS_LOBBY_QUERY  = 650; // First on a connection instead of CTS_JOIN.
+
+    // No type is greater than this, they fit an array.
+    public static final int MAX_TYPE = 999;
+
+    // Contents of a message passed between players.
+    public int type;
+    public Object payload; // Must be cast to the type BtMsgCodec decodes for this message type.
+
+    // Sequence number of the game state change, only for the types isVersioned() holds for.
+    public int seq;
+
+    // This filed gets added at the receiving end of the transmission.
+    public String srcMAC;
+
+    // Local only: System.nanoTime() when the message was passed to the receiver.
+    public long receivedAt;
+
+    // Local only: body of the frame the message was decoded from, null if it never was on the
+    // wire. Lets the journal record the message without encoding it again.
+    public byte[] body;
+
+    /**
+     * @param type - Type of the message.
+     * @return - True if the type is one only a server sends, i.e. STC_*.
+     */
+    public static boolean isServerToClient(int type) {
+        return type >= STC_NEW_PLAYER && type < CTS_JOIN;
+    }
+
+    /**
+     * @param type - Type of the message.
+     * @return - True if the type is one only a client sends, i.e. CTS_*.
+     */
+    public static boolean isClientToServer(int type) {
+        return type >= CTS_JOIN && type <= MAX_TYPE;
+    }
+
+    /**
+     * Method to tell if a message of the given type carries a sequence number.
+     * @param type - Type of the message.
+     * @return - True for the game state changes and the snapshot.
+     */
+    public static boolean isVersioned(int type) {
+        switch (type){
+            case STC_NEW_PLAYER:
+            case STC_PLAYERS_LIST:
+            case STC_SERVER_READY:
+            case STC_PLAYER_READY:
+            case STC_SERVER_ALIVE:
+            case STC_PLAYER_ALIVE:
+            case STC_SERVER_RESET:
+            case STC_PLAYER_RESET:
+            case STC_PLAYER_LEFT:
+            case STC_ROUND_RESULT:
+            case STC_ROUND_CANCELLED:
+                return true;
+
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Method to tell if a message of the given type can be dropped without losing information,
+     * i.e. because any later message of the type supersedes it.
+     * @param type - Type of the message.
+     * @return - True if the message can be dropped.
+     */
+    public static boolean isIdempotent(int type) {
+        // A missed delta costs a snapshot round trip and a snapshot answers a single request, so
+        // dropping either is worse than waiting for the peer. A lost probe is just a lost sample.
+        return type == STC_PING;
+    }
+
+    /**
+     * No param constructor.
+     */
+    public BtMsg(){
+        // Fields might be assigned directly at a later time if needed be.
+    }
+
+    /**
+     * Courtesy constructor (fields are public) to initialise fields.
+     * @param type - Type of the message. Must be one of static fields of this class. Used in
+     *             switching block upon reception.
+     * @param payload - Player, address, snapshot, probe, session, round start or result, or null
+     *                depending on the type. Must be cast back upon reception.
+     */
+    public BtMsg(int type, Object payload){
+        this.type = type;
+        this.payload = payload;
+    }
+
+}
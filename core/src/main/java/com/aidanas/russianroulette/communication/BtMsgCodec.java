@@ -0,0 +1,421 @@
+package com.aidanas.russianroulette.communication;
+
+import com.aidanas.russianroulette.game.LobbyInfo;
+import com.aidanas.russianroulette.game.Player;
+import com.aidanas.russianroulette.game.RoundResult;
+import com.aidanas.russianroulette.game.RoundStart;
+import com.aidanas.russianroulette.game.Session;
+import com.aidanas.russianroulette.game.StateSnapshot;
+import com.aidanas.russianroulette.metrics.Histogram;
+import com.aidanas.russianroulette.metrics.Metrics;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.ProtocolException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Created by: Aidanas
+ * Created on: 18/10/2026.
+ *
+ * Class to encode and decode BtMsg objects to and from a compact binary frame. It replaces Java
+ * serialization on the wire so that no class descriptors are sent and no untyped objects are
+ * read back. Every frame has the following layout:
+ *
+ *      | version (1 byte) | type (2 bytes) | body length (4 bytes) | body (length bytes) |
+ *
+ * The layout of the body is decided by the message type, see encodeBody() and decodeBody(). Bodies
+ * of the versioned types (see BtMsg.isVersioned()) start with the sequence number.
+ */
+public final class BtMsgCodec {
+
+    // Tag, mostly used for logging and debug output.
+    public static final String TAG = BtMsgCodec.class.getSimpleName();
+
+    // Version of the wire format. Must be bumped whenever a layout of any frame changes.
+    public static final int VERSION = 6;
+
+    // Size of the frame header in bytes.
+    public static final int HEADER_SIZE = 7;
+
+    // Frames with larger bodies are rejected as corrupt rather than allocated.
+    public static final int MAX_BODY_SIZE = 64 * 1024;
+
+    // Time spent encoding and decoding, the stream I/O excluded.
+    private static final Histogram ENCODE_NANOS = Metrics.histogram("codec.encode_ns");
+    private static final Histogram DECODE_NANOS = Metrics.histogram("codec.decode_ns");
+
+    /**
+     * Static class, no instances.
+     */
+    private BtMsgCodec(){}
+
+    /**
+     * Method to encode a message into a complete frame (header and body).
+     * @param btMsg - Message to be encoded.
+     * @return - Bytes of the frame ready to be written to a stream.
+     */
+    public static byte[] encode(BtMsg btMsg) {
+        long start = System.nanoTime();
+        ByteArrayOutputStream bos = new ByteArrayOutputStream(HEADER_SIZE + 32);
+        try {
+            write(btMsg, bos);
+        } catch (IOException e) {
+            // Writing to memory does not fail.
+            throw new IllegalStateException(e);
+        }
+        byte[] frame = bos.toByteArray();
+        ENCODE_NANOS.record(System.nanoTime() - start);
+        return frame;
+    }
+
+    /**
+     * Method to encode a message and write its frame to the given stream. Stream is not flushed.
+     * @param btMsg - Message to be written.
+     * @param out - Stream to write the frame to.
+     */
+    public static void write(BtMsg btMsg, OutputStream out) throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream(32);
+        encodeBody(btMsg, new DataOutputStream(body));
+
+        DataOutputStream dos = new DataOutputStream(out);
+        dos.writeByte(VERSION);
+        dos.writeShort(btMsg.type);
+        dos.writeInt(body.size());
+        body.writeTo(dos);
+    }
+
+    /**
+     * Method to read a single frame from the stream and decode it. Blocks until the whole frame
+     * is available.
+     * @param in - Stream to read from.
+     * @return - Decoded message. Its srcMAC field is left unset.
+     * @throws ProtocolException - If the frame is not of a supported version or is malformed.
+     * @throws IOException - If the stream fails or is closed.
+     */
+    public static BtMsg read(DataInputStream in) throws IOException {
+        int version = in.readUnsignedByte();
+        if (version != VERSION){
+            throw new ProtocolException("Unsupported frame version: " + version);
+        }
+
+        int type = in.readUnsignedShort();
+        int length = in.readInt();
+        if (length < 0 || length > MAX_BODY_SIZE){
+            throw new ProtocolException("Illegal frame length: " + length);
+        }
+
+        byte[] body = new byte[length];
+        in.readFully(body);
+
+        long start = System.nanoTime();
+        BtMsg btMsg = decode(type, body);
+        DECODE_NANOS.record(System.nanoTime() - start);
+        return btMsg;
+    }
+
+    /**
+     * Method to decode the next frame from a buffer filled by non-blocking reads. Never waits for
+     * more data: the buffer is left untouched if the frame is not complete yet, otherwise its
+     * position is moved past the frame.
+     * @param buf - Buffer in read mode. Must be backed by an array.
+     * @return - Decoded message or null if the buffer does not hold a whole frame.
+     * @throws ProtocolException - If the frame is not of a supported version or is malformed.
+     */
+    public static BtMsg read(ByteBuffer buf) throws IOException {
+        if (buf.remaining() < HEADER_SIZE){
+            return null;
+        }
+
+        int pos = buf.position();
+        int version = buf.get(pos) & 0xFF;
+        if (version != VERSION){
+            throw new ProtocolException("Unsupported frame version: " + version);
+        }
+
+        int type = buf.getShort(pos + 1) & 0xFFFF;
+        int length = buf.getInt(pos + 3);
+        if (length < 0 || length > MAX_BODY_SIZE){
+            throw new ProtocolException("Illegal frame length: " + length);
+        }
+        if (buf.remaining() < HEADER_SIZE + length){
+            return null;
+        }
+
+        long start = System.nanoTime();
+        int offset = buf.arrayOffset() + pos + HEADER_SIZE;
+        BtMsg btMsg = decode(type, Arrays.copyOfRange(buf.array(), offset, offset + length));
+        buf.position(pos + HEADER_SIZE + length);
+        DECODE_NANOS.record(System.nanoTime() - start);
+        return btMsg;
+    }
+
+    /**
+     * Method to decode a frame previously produced by encode().
+     * @param frame - Bytes of the frame including the header.
+     * @return - Decoded message.
+     */
+    public static BtMsg decode(byte[] frame) throws IOException {
+        return read(new DataInputStream(new ByteArrayInputStream(frame)));
+    }
+
+    /**
+     * Method to decode a message body of the given type.
+     * @param type - Type of the message as found in the frame header.
+     * @param body - Bytes of the body, kept by the message decoded.
+     * @return - Decoded message.
+     */
+    public static BtMsg decode(int type, byte[] body) throws IOException {
+        BtMsg btMsg = decode(type, new DataInputStream(new ByteArrayInputStream(body)));
+        btMsg.body = body;
+        return btMsg;
+    }
+
+    /**
+     * Method to decode a message body of the given type.
+     * @param type - Type of the message as found in the frame header.
+     * @param in - Stream holding just the body.
+     * @return - Decoded message.
+     */
+    private static BtMsg decode(int type, DataInputStream in) throws IOException {
+        int seq = BtMsg.isVersioned(type) ? in.readInt() : 0;
+        BtMsg btMsg = new BtMsg(type, decodeBody(type, in));
+        btMsg.seq = seq;
+        return btMsg;
+    }
+
+    /**
+     * Method to write the payload of the message according to its type.
+     * @param btMsg - Message which payload is to be written.
+     * @param out - Destination.
+     */
+    @SuppressWarnings("unchecked")
+    private static void encodeBody(BtMsg btMsg, DataOutputStream out) throws IOException {
+        if (BtMsg.isVersioned(btMsg.type)){
+            out.writeInt(btMsg.seq);
+        }
+
+        switch (btMsg.type){
+
+            case BtMsg.STC_NEW_PLAYER:
+                writePlayer((Player) btMsg.payload, out);
+                break;
+
+            case BtMsg.STC_PLAYER_READY:
+            case BtMsg.STC_PLAYER_ALIVE:
+            case BtMsg.STC_PLAYER_RESET:
+            case BtMsg.STC_PLAYER_LEFT:
+                // The type says what happened, the address says to whom.
+                out.writeUTF((String) btMsg.payload);
+                break;
+
+            case BtMsg.STC_PLAYERS_LIST:
+                StateSnapshot snapshot = (StateSnapshot) btMsg.payload;
+                out.writeUTF(snapshot.getSelfAddress());
+                out.writeByte(snapshot.getMasterState().ordinal());
+                List<Player> players = snapshot.getPlayers();
+                out.writeShort(players.size());
+                for (Player p : players) {
+                    writePlayer(p, out);
+                }
+                break;
+
+            case BtMsg.STC_ROUND_START:
+                RoundStart start = (RoundStart) btMsg.payload;
+                out.writeBoolean(start.isSynced());
+                out.writeLong(start.getTriggerAt());
+                out.writeLong(start.getDelay());
+                out.writeBoolean(start.isResolved());
+                break;
+
+            case BtMsg.STC_ROUND_RESULT:
+                RoundResult result = (RoundResult) btMsg.payload;
+                out.writeBoolean(result.isMasterDead());
+                writeAddresses(result.getAlive(), out);
+                writeAddresses(result.getDead(), out);
+                break;
+
+            case BtMsg.STC_PING:
+                out.writeLong(((ClockProbe) btMsg.payload).t0);
+                break;
+
+            case BtMsg.CTS_PONG:
+                ClockProbe probe = (ClockProbe) btMsg.payload;
+                out.writeLong(probe.t0);
+                out.writeLong(probe.t1);
+                out.writeLong(probe.t2);
+                break;
+
+            case BtMsg.CTS_JOIN:
+            case BtMsg.STC_WELCOME:
+                Session session = (Session) btMsg.payload;
+                out.writeLong(session.getToken());
+                out.writeInt(session.getLastSeq());
+                out.writeByte(session.getState().ordinal());
+                break;
+
+            case BtMsg.STC_LOBBY_INFO:
+                LobbyInfo lobby = (LobbyInfo) btMsg.payload;
+                out.writeShort(lobby.getPlayers());
+                out.writeByte(lobby.getPhase().ordinal());
+                break;
+
+            default:
+                // Rest of the messages carry no payload. The type says it all.
+                if (btMsg.payload != null){
+                    throw new IllegalArgumentException("Message of type " + btMsg.type +
+                            " can not carry a payload!");
+                }
+        }
+    }
+
+    /**
+     * Method to read the payload of the message according to its type.
+     * @param type - Type of the message.
+     * @param in - Source.
+     * @return - Payload object or null if the type carries none.
+     */
+    private static Object decodeBody(int type, DataInputStream in) throws IOException {
+        switch (type){
+
+            case BtMsg.STC_NEW_PLAYER:
+                return readPlayer(in);
+
+            case BtMsg.STC_PLAYER_READY:
+            case BtMsg.STC_PLAYER_ALIVE:
+            case BtMsg.STC_PLAYER_RESET:
+            case BtMsg.STC_PLAYER_LEFT:
+                return in.readUTF();
+
+            case BtMsg.STC_PLAYERS_LIST:
+                String selfAddress = in.readUTF();
+                Player.State masterState = readState(in);
+                int size = in.readUnsignedShort();
+                List<Player> players = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    players.add(readPlayer(in));
+                }
+                return new StateSnapshot(selfAddress, masterState, players);
+
+            case BtMsg.STC_ROUND_START:
+                return new RoundStart(in.readBoolean(), in.readLong(), in.readLong(),
+                        in.readBoolean());
+
+            case BtMsg.STC_ROUND_RESULT:
+                boolean masterDead = in.readBoolean();
+                List<String> alive = readAddresses(in);
+                return new RoundResult(masterDead, alive, readAddresses(in));
+
+            case BtMsg.STC_PING:
+                return new ClockProbe(in.readLong());
+
+            case BtMsg.CTS_PONG:
+                return new ClockProbe(in.readLong(), in.readLong(), in.readLong());
+
+            case BtMsg.CTS_JOIN:
+            case BtMsg.STC_WELCOME:
+                return new Session(in.readLong(), in.readInt(), readState(in));
+
+            case BtMsg.STC_LOBBY_INFO:
+                int lobbyPlayers = in.readUnsignedShort();
+                int phase = in.readUnsignedByte();
+                if (phase >= LobbyInfo.Phase.values().length){
+                    throw new ProtocolException("Unknown lobby phase: " + phase);
+                }
+                return new LobbyInfo(lobbyPlayers, LobbyInfo.Phase.values()[phase]);
+
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Utility method to write a single player.
+     * @param p - Player to be written.
+     * @param out - Destination.
+     */
+    private static void writePlayer(Player p, DataOutputStream out) throws IOException {
+        writeNullableString(p.getName(), out);
+        out.writeUTF(p.getAddress());
+        out.writeByte(p.getState().ordinal());
+    }
+
+    /**
+     * Utility method to read a single player.
+     * @param in - Source.
+     * @return - Player read.
+     */
+    private static Player readPlayer(DataInputStream in) throws IOException {
+        String name = readNullableString(in);
+        String address = in.readUTF();
+        return new Player(name, address, readState(in));
+    }
+
+    /**
+     * Utility method to write a list of player addresses.
+     * @param addresses - Addresses to be written.
+     * @param out - Destination.
+     */
+    private static void writeAddresses(List<String> addresses, DataOutputStream out)
+            throws IOException {
+        out.writeShort(addresses.size());
+        for (String mac : addresses) {
+            out.writeUTF(mac);
+        }
+    }
+
+    /**
+     * Utility method to read a list of player addresses written with writeAddresses().
+     * @param in - Source.
+     * @return - Addresses read.
+     */
+    private static List<String> readAddresses(DataInputStream in) throws IOException {
+        int size = in.readUnsignedShort();
+        List<String> addresses = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            addresses.add(in.readUTF());
+        }
+        return addresses;
+    }
+
+    /**
+     * Utility method to read a player state written as its ordinal.
+     * @param in - Source.
+     * @return - State read.
+     */
+    private static Player.State readState(DataInputStream in) throws IOException {
+        int state = in.readUnsignedByte();
+        if (state >= Player.State.values().length){
+            throw new ProtocolException("Unknown player state: " + state);
+        }
+        return Player.State.values()[state];
+    }
+
+    /**
+     * Utility method to write a string which might be null (i.e. Bluetooth device names).
+     * @param s - String to be written or null.
+     * @param out - Destination.
+     */
+    private static void writeNullableString(String s, DataOutputStream out) throws IOException {
+        out.writeBoolean(s != null);
+        if (s != null){
+            out.writeUTF(s);
+        }
+    }
+
+    /**
+     * Utility method to read a string written with writeNullableString().
+     * @param in - Source.
+     * @return - String read or null.
+     */
+    private static String readNullableString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
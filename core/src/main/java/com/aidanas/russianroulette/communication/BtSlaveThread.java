@@ -0,0 +1,69 @@
+package com.aidanas.russianroulette.communication;
+
+
+import com.aidanas.russianroulette.interfaces.Connection;
+import com.aidanas.russianroulette.interfaces.ConnectionConnector;
+import com.aidanas.russianroulette.interfaces.ConnectionReceiver;
+import com.aidanas.russianroulette.logging.Logger;
+
+import java.io.IOException;
+
+/**
+ * Created by: Aidanas Tamasauskas
+ * Created on: 21/04/2016.
+ *
+ * Class to initiate connection to a remote device. Despite the name it works with any transport,
+ * Bluetooth being the default one (see BtConnector).
+ */
+public class BtSlaveThread extends Thread{
+
+    // Tag, mostly used for logging and debug output.
+    public static final String TAG = BtSlaveThread.class.getSimpleName();
+    private static final Logger LOG = Logger.get(Logger.Subsystem.NET, TAG);
+
+    // Connection will be passed to this object.
+    private final ConnectionReceiver mConnectionReceiver;
+
+    // Knows how to reach the master device.
+    private final ConnectionConnector mConnector;
+
+    /**
+     * Constructor.
+     * @param connector - Connecting end of the transport, i.e. BtConnector.
+     * @param connectionReceiver - Connection will be passed to this object once established.
+     */
+    public BtSlaveThread(ConnectionConnector connector, ConnectionReceiver connectionReceiver) {
+        mConnector = connector;
+        mConnectionReceiver = connectionReceiver;
+    }
+
+    /**
+     * New thread starts here.
+     */
+    public void run() {
+        if (LOG.isVerbose()) LOG.v("In run(), Thread = " + Thread.currentThread().getName());
+
+        /*
+         * Try to connect to the remote device. This is blocking a call! If in the meanwhile
+         * cancel() is called from some other thread this will throw and catch an exception which
+         * will cause the method to return and the thread to finish.
+         */
+        Connection connection;
+        try {
+            connection = mConnector.connect();
+        } catch (IOException connectException) {
+            return;
+        }
+
+        // Connection successfully established, pass it on.
+        mConnectionReceiver.receiveConnection(connection);
+    }
+
+    /**
+     * Call from other thread to terminate the connection attempt.
+     */
+    public void cancel() {
+        mConnector.cancel();
+    }
+
+}
@@ -0,0 +1,176 @@
+package com.aidanas.russianroulette.communication;
+
+
+import com.aidanas.russianroulette.interfaces.Connection;
+import com.aidanas.russianroulette.logging.LogEvent;
+import com.aidanas.russianroulette.logging.Logger;
+import com.aidanas.russianroulette.metrics.Histogram;
+import com.aidanas.russianroulette.metrics.KeyedCounter;
+import com.aidanas.russianroulette.metrics.Metrics;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Created by: Aidanas
+ * Created on: 18/10/2026.
+ *
+ * Thread writing outbound frames of a single connection. Callers only enqueue, so one slow peer
+ * does not hold up the thread broadcasting to everyone else. Whatever is pending when the thread
+ * wakes up is written in one go and flushed once.
+ *
+ * The queue is bounded (see FrameQueue). What happens when it is full is decided by the
+ * OverflowPolicy.
+ */
+public class BtWriterThread extends Thread {
+
+    // Tag, mostly used for logging and debug output.
+    public static final String TAG = BtWriterThread.class.getSimpleName();
+    private static final Logger LOG = Logger.get(Logger.Subsystem.NET, TAG);
+
+    // Messages written by all connections, by type.
+    private static final KeyedCounter MSG_OUT = Metrics.keyedCounter("msg.out", BtMsg.MAX_TYPE + 1);
+
+    private final Connection mConnection;
+    private final OutputStream mOutputStream;
+
+    // Frames waiting to be written.
+    private final FrameQueue mQueue;
+
+    // Bytes written so far and how long frames wait until flushed to the stream.
+    private final AtomicLong mBytesOut = new AtomicLong();
+    private final Histogram mWriteLatency = new Histogram();
+
+    /**
+     * Constructor.
+     * @param connection - Connection the frames are for. Closed if the peer can not keep up and
+     *                   the policy says so, or if writing fails.
+     * @param out - Stream to write to, should be buffered.
+     * @param capacity - Maximum number of frames waiting to be written.
+     * @param policy - What to do when the queue is full.
+     */
+    public BtWriterThread(final Connection connection, OutputStream out, int capacity,
+                          OverflowPolicy policy) {
+        super("Writer " + connection.getPeerId());
+        mConnection = connection;
+        mOutputStream = out;
+        mQueue = new FrameQueue(capacity, policy, new Runnable() {
+            @Override
+            public void run() {
+                closeConnection();
+            }
+        });
+    }
+
+    /**
+     * Method to queue a frame for writing. Returns straight away unless the queue is full and the
+     * policy is BLOCK.
+     * @param frame - Frame to be written.
+     * @return - True if queued, false if the writer is closed (or just got closed by the policy).
+     */
+    public boolean enqueue(BtFrame frame) {
+        return mQueue.enqueue(frame);
+    }
+
+    /**
+     * @return - Number of frames waiting to be written.
+     */
+    public int getQueueDepth() {
+        return mQueue.size();
+    }
+
+    /**
+     * @return - Bytes written to the stream so far.
+     */
+    public long getBytesOut() {
+        return mBytesOut.get();
+    }
+
+    /**
+     * @return - Nanoseconds the oldest frame of every batch waited until flushed.
+     */
+    public Histogram getWriteLatency() {
+        return mWriteLatency;
+    }
+
+    /**
+     * @return - Number of frames dropped by the DROP_OLDEST policy so far.
+     */
+    public long getDroppedCount() {
+        return mQueue.getDroppedCount();
+    }
+
+    /**
+     * Method to stop the writer. Pending frames are discarded.
+     */
+    public void close() {
+        mQueue.close();
+    }
+
+    /**
+     * Writer loop. Runs until closed or a write fails.
+     */
+    @Override
+    public void run() {
+        if (LOG.isVerbose()) LOG.v("In run(), Thread = " + Thread.currentThread().getName());
+
+        List<BtFrame> batch = new ArrayList<>();
+
+        while (mQueue.await()) {
+            long queuedAt = mQueue.drainTo(batch);
+            if (queuedAt < 0){
+                continue;
+            }
+
+            try {
+                int bytes = 0;
+                for (BtFrame frame : batch) {
+                    frame.writeTo(mOutputStream);
+                    bytes += frame.length();
+                    MSG_OUT.increment(frame.type);
+                }
+                mOutputStream.flush();
+                mWriteLatency.record(System.nanoTime() - queuedAt);
+                mBytesOut.addAndGet(bytes);
+                Logger.event(LogEvent.FRAMES_WRITTEN, batch.size(), bytes);
+            } catch (IOException e) {
+                close();
+                closeConnection();
+                return;
+            }
+            batch.clear();
+        }
+    }
+
+    /**
+     * Closes the connection. The reader of the connection notices and reports the peer as
+     * disconnected.
+     */
+    private void closeConnection() {
+        try {
+            mConnection.close();
+        } catch (IOException e) {
+            // Ignore close exception.
+        }
+    }
+
+    /***********************************************************************************************
+     *                                  Inner Classes
+     **********************************************************************************************/
+
+    /**
+     * What to do with a new frame when the queue is full.
+     */
+    public enum OverflowPolicy {
+        // Wait for the writer to catch up. Applies back pressure to the caller.
+        BLOCK,
+        // Drop the oldest frame which is safe to lose (see BtMsg.isIdempotent()). Disconnects the
+        // peer if there is none.
+        DROP_OLDEST,
+        // Give up on the peer.
+        DISCONNECT,
+    }
+}
@@ -0,0 +1,41 @@
+package com.aidanas.russianroulette.communication;
+
+/**
+ * Created by: Aidanas
+ * Created on: 18/10/2026.
+ *
+ * Payload of the ping and pong messages. The server stamps t0 when it sends the ping, the client
+ * echoes it back along with when it received the ping (t1) and sent the pong (t2). Every time is
+ * System.nanoTime() of the device which took it, see PeerClock.
+ */
+public class ClockProbe {
+
+    public final long t0;
+    public final long t1;
+    public final long t2;
+
+    /**
+     * Constructor of a ping.
+     * @param t0 - Server time of sending the ping.
+     */
+    public ClockProbe(long t0) {
+        this(t0, 0, 0);
+    }
+
+    /**
+     * Constructor of a pong.
+     * @param t0 - Server time of sending the ping, as received.
+     * @param t1 - Client time of receiving the ping.
+     * @param t2 - Client time of sending the pong.
+     */
+    public ClockProbe(long t0, long t1, long t2) {
+        this.t0 = t0;
+        this.t1 = t1;
+        this.t2 = t2;
+    }
+
+    @Override
+    public String toString() {
+        return "ClockProbe{t0 = " + t0 + ", t1 = " + t1 + ", t2 = " + t2 + "}";
+    }
+}
@@ -0,0 +1,51 @@
+package com.aidanas.russianroulette.communication;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Created by: Aidanas
+ * Created on: 18/10/2026.
+ *
+ * Input stream counting the bytes read through it. Meant to sit under a buffered stream, so the
+ * counting is done once per chunk rather than per byte.
+ */
+public class CountingInputStream extends FilterInputStream {
+
+    private final AtomicLong mCount = new AtomicLong();
+
+    public CountingInputStream(InputStream in) {
+        super(in);
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = super.read();
+        if (b != -1){
+            mCount.incrementAndGet();
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        int n = super.read(b, off, len);
+        if (n > 0){
+            mCount.addAndGet(n);
+        }
+        return n;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long skipped = super.skip(n);
+        mCount.addAndGet(skipped);
+        return skipped;
+    }
+
+    public long getCount() {
+        return mCount.get();
+    }
+}
@@ -0,0 +1,179 @@
+package com.aidanas.russianroulette.communication;
+
+import com.aidanas.russianroulette.logging.LogEvent;
+import com.aidanas.russianroulette.logging.Logger;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Iterator;
+
+/**
+ * Created by: Aidanas
+ * Created on: 18/10/2026.
+ *
+ * Bounded queue of outbound frames of a single peer, shared by the transports. Callers enqueue,
+ * the transport drains whatever is pending in one go. What happens when the queue is full is
+ * decided by the OverflowPolicy.
+ */
+class FrameQueue {
+
+    // Tag, mostly used for logging and debug output.
+    public static final String TAG = FrameQueue.class.getSimpleName();
+    private static final Logger LOG = Logger.get(Logger.Subsystem.NET, TAG);
+
+    private final int mCapacity;
+    private final BtWriterThread.OverflowPolicy mPolicy;
+
+    // Run (not holding the lock) when the policy gives up on the peer.
+    private final Runnable mOnGiveUp;
+
+    // Frames waiting to be written, guarded by 'this'.
+    private final ArrayDeque<BtFrame> mQueue = new ArrayDeque<>();
+    private boolean mClosed = false;
+    private long mDropped = 0;
+
+    // When the oldest frame in the queue was queued, guarded by 'this'.
+    private long mOldestQueuedAt;
+
+    /**
+     * Constructor.
+     * @param capacity - Maximum number of frames waiting to be written.
+     * @param policy - What to do when the queue is full.
+     * @param onGiveUp - Called after the queue closes itself because the peer can not keep up.
+     */
+    FrameQueue(int capacity, BtWriterThread.OverflowPolicy policy, Runnable onGiveUp) {
+        if (capacity < 1){
+            throw new IllegalArgumentException("Capacity must be greater then 0");
+        }
+        mCapacity = capacity;
+        mPolicy = policy;
+        mOnGiveUp = onGiveUp;
+    }
+
+    /**
+     * Method to queue a frame. Returns straight away unless the queue is full and the policy is
+     * BLOCK. If the policy gives up on the peer, the give up callback is run once the lock is
+     * released, so that the caller never waits on the lock while the peer gets dropped.
+     * @param frame - Frame to be written.
+     * @return - True if queued, false if the queue is closed (or just got closed by the policy).
+     */
+    boolean enqueue(BtFrame frame) {
+        boolean gaveUp = false;
+        synchronized (this) {
+            while (!mClosed && mQueue.size() >= mCapacity) {
+                if (LOG.isVerbose()) LOG.v("In enqueue(), queue full, policy = " + mPolicy);
+                Logger.event(LogEvent.WRITE_QUEUE_FULL, mQueue.size(), mPolicy.ordinal());
+
+                switch (mPolicy) {
+
+                    case BLOCK:
+                        try {
+                            wait();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            return false;
+                        }
+                        break;
+
+                    case DROP_OLDEST:
+                        if (!dropOldestIdempotent()){
+                            // Nothing can be dropped without losing state, the peer is lost.
+                            close();
+                            gaveUp = true;
+                        }
+                        break;
+
+                    case DISCONNECT:
+                        close();
+                        gaveUp = true;
+                        break;
+                }
+            }
+
+            if (!mClosed){
+                if (mQueue.isEmpty()){
+                    mOldestQueuedAt = System.nanoTime();
+                }
+                mQueue.addLast(frame);
+                notifyAll();
+                return true;
+            }
+        }
+
+        // Outside of the lock, the owner may block closing the connection.
+        if (gaveUp){
+            mOnGiveUp.run();
+        }
+        return false;
+    }
+
+    /**
+     * Method to wait until there is something to drain.
+     * @return - False if the queue got closed or the thread interrupted instead.
+     */
+    synchronized boolean await() {
+        while (mQueue.isEmpty() && !mClosed) {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                return false;
+            }
+        }
+        return !mClosed;
+    }
+
+    /**
+     * Method to move every pending frame to the given collection. Wakes up callers blocked by
+     * the BLOCK policy.
+     * @param out - Destination.
+     * @return - When the oldest of the frames drained was queued or -1 if there were none.
+     */
+    synchronized long drainTo(Collection<BtFrame> out) {
+        if (mQueue.isEmpty() || mClosed){
+            return -1;
+        }
+        out.addAll(mQueue);
+        mQueue.clear();
+
+        // Room in the queue again, wake up any blocked callers.
+        notifyAll();
+        return mOldestQueuedAt;
+    }
+
+    /**
+     * Method to close the queue. Pending frames are discarded.
+     */
+    synchronized void close() {
+        mClosed = true;
+        mQueue.clear();
+        notifyAll();
+    }
+
+    synchronized boolean isClosed() {
+        return mClosed;
+    }
+
+    synchronized int size() {
+        return mQueue.size();
+    }
+
+    synchronized long getDroppedCount() {
+        return mDropped;
+    }
+
+    /**
+     * Removes the oldest frame which is safe to drop.
+     * @return - True if a frame was dropped.
+     */
+    private boolean dropOldestIdempotent() {
+        Iterator<BtFrame> it = mQueue.iterator();
+        while (it.hasNext()) {
+            if (BtMsg.isIdempotent(it.next().type)){
+                it.remove();
+                mDropped++;
+                return true;
+            }
+        }
+        return false;
+    }
+}
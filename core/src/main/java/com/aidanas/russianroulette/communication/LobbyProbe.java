@@ -0,0 +1,60 @@
+package com.aidanas.russianroulette.communication;
+
+import com.aidanas.russianroulette.game.LobbyInfo;
+import com.aidanas.russianroulette.interfaces.Connection;
+import com.aidanas.russianroulette.logging.Logger;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Created by: Aidanas
+ * Created on: 18/10/2026.
+ *
+ * Asks a host about its table without joining it, so that a device looking for a game can show
+ * what is going on at every host before the user picks one. Blocks the calling thread; a host
+ * which does not answer is given up on once it closes the connection, which it does to every
+ * connection that does not join within its heartbeat timeout.
+ */
+public final class LobbyProbe {
+
+    // Tag, mostly used for logging and debug output.
+    public static final String TAG = LobbyProbe.class.getSimpleName();
+    private static final Logger LOG = Logger.get(Logger.Subsystem.NET, TAG);
+
+    private LobbyProbe() {
+    }
+
+    /**
+     * Method to ask the host at the other end of a fresh connection about its table. The
+     * connection is closed either way.
+     * @param connection - Connection to the host, nothing sent over it yet.
+     * @return - What the host said.
+     * @throws IOException - If the connection fails before the host answers.
+     */
+    public static LobbyInfo query(Connection connection) throws IOException {
+        if (LOG.isVerbose()) LOG.v("In query(), host = " + connection.getPeerId());
+
+        try {
+            OutputStream out = connection.getOutputStream();
+            BtMsgCodec.write(new BtMsg(BtMsg.CTS_LOBBY_QUERY, null), out);
+            out.flush();
+            DataInputStream in = new DataInputStream(
+                    new BufferedInputStream(connection.getInputStream()));
+            while (true) {
+                BtMsg btMsg = BtMsgCodec.read(in);
+                if (btMsg.type == BtMsg.STC_LOBBY_INFO){
+                    return (LobbyInfo) btMsg.payload;
+                }
+            }
+        } finally {
+            try {
+                connection.close();
+            } catch (IOException e) {
+                // Ignore close exception.
+            }
+        }
+    }
+}
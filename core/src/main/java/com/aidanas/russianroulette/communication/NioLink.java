@@ -0,0 +1,368 @@
+package com.aidanas.russianroulette.communication;
+
+import com.aidanas.russianroulette.interfaces.MessageReceiver;
+import com.aidanas.russianroulette.interfaces.PeerLink;
+import com.aidanas.russianroulette.logging.LogEvent;
+import com.aidanas.russianroulette.logging.Logger;
+import com.aidanas.russianroulette.metrics.Histogram;
+import com.aidanas.russianroulette.metrics.KeyedCounter;
+import com.aidanas.russianroulette.metrics.Metrics;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Created by: Aidanas
+ * Created on: 18/10/2026.
+ *
+ * A single non-blocking TCP connection served by a NioServer. Reads go into a buffer of the link
+ * which is reused for the lifetime of the connection, complete frames are decoded straight out
+ * of it. Writes are queued like with BtWriterThread and copied into an output buffer by the
+ * selector thread, which carries on from where it left off when the socket could not take it
+ * all.
+ *
+ * Apart from write(), cancel() and the getters, everything is called on the selector thread only.
+ */
+public class NioLink implements PeerLink {
+
+    // Tag, mostly used for logging and debug output.
+    public static final String TAG = NioLink.class.getSimpleName();
+    private static final Logger LOG = Logger.get(Logger.Subsystem.NET, TAG);
+
+    // Initial sizes of the buffers in bytes. Grown only if a single frame does not fit.
+    private static final int IN_BUFFER_SIZE = 1024;
+    private static final int OUT_BUFFER_SIZE = 4096;
+
+    // Same counters as the threaded transport.
+    private static final KeyedCounter MSG_IN = Metrics.keyedCounter("msg.in", BtMsg.MAX_TYPE + 1);
+    private static final KeyedCounter MSG_OUT = Metrics.keyedCounter("msg.out", BtMsg.MAX_TYPE + 1);
+
+    private final NioServer mServer;
+    private final SocketChannel mChannel;
+    private final String mPeerId;
+
+    // Frames waiting to be picked up by the selector thread.
+    private final FrameQueue mQueue;
+
+    // Set while the link is waiting in the flush queue of the server.
+    private final AtomicBoolean mFlushRequested = new AtomicBoolean();
+
+    // Round trip time and clock offset of the remote device.
+    private final PeerClock mClock = new PeerClock();
+
+    // Traffic so far, written by the selector thread only.
+    private volatile long mBytesIn = 0;
+    private volatile long mBytesOut = 0;
+    private final Histogram mWriteLatency = new Histogram();
+
+    // Messages received will be passed to this receiver for processing. Set by open().
+    private volatile MessageReceiver mReceiver;
+
+    /*
+     * Selector thread only. Input buffer is kept in write mode between reads, output buffer holds
+     * the bytes the socket has not taken yet. Frames drained from the queue which did not fit in
+     * the output buffer wait in mPending.
+     */
+    private SelectionKey mKey;
+    private ByteBuffer mIn = ByteBuffer.allocate(IN_BUFFER_SIZE);
+    private ByteBuffer mOut = ByteBuffer.allocate(OUT_BUFFER_SIZE);
+    private final ArrayDeque<BtFrame> mPending = new ArrayDeque<>();
+    private boolean mOpened = false;
+    private boolean mClosed = false;
+
+    /**
+     * Constructor.
+     * @param server - Server the channel was accepted by.
+     * @param channel - Connected, non-blocking channel.
+     * @param writeQueueCapacity - Maximum number of frames waiting to be written.
+     * @param overflowPolicy - What to do when the peer falls that many frames behind.
+     * @throws IOException - If the channel is no longer connected.
+     */
+    NioLink(NioServer server, SocketChannel channel, int writeQueueCapacity,
+            BtWriterThread.OverflowPolicy overflowPolicy) throws IOException {
+        mServer = server;
+        mChannel = channel;
+        Socket socket = channel.socket();
+        InetAddress address = socket.getInetAddress();
+        if (address == null){
+            throw new IOException("Connection closed before it was accepted");
+        }
+        mPeerId = address.getHostAddress() + ":" + socket.getPort();
+        mQueue = new FrameQueue(writeQueueCapacity, overflowPolicy, new Runnable() {
+            @Override
+            public void run() {
+                cancel();
+            }
+        });
+    }
+
+    /***********************************************************************************************
+     *                                  Interface Implementations
+     **********************************************************************************************/
+
+    @Override
+    public String getPeerId() {
+        return mPeerId;
+    }
+
+    @Override
+    public String getPeerName() {
+        return mPeerId;
+    }
+
+    @Override
+    public void open(MessageReceiver receiver) {
+        mReceiver = receiver;
+        mServer.execute(new Runnable() {
+            @Override
+            public void run() {
+                mOpened = true;
+                if (mClosed){
+                    // Closed before anyone was listening, tell them now.
+                    passToReceiver(new BtMsg(BtMsg.PEER_DISCONNECTED, NioLink.this));
+                    return;
+                }
+                try {
+                    mKey = mServer.register(NioLink.this, mChannel);
+                } catch (IOException e) {
+                    close();
+                    return;
+                }
+
+                // Frames might have been queued before the channel got registered.
+                flush();
+            }
+        });
+    }
+
+    @Override
+    public void write(BtMsg btMsg) {
+        write(BtFrame.of(btMsg));
+    }
+
+    @Override
+    public void write(BtFrame frame) {
+        if (LOG.isVerbose()) LOG.v("In write(), writing to: " + mPeerId + ", type = " +
+                frame.type + ", bytes = " + frame.length());
+
+        if (mQueue.enqueue(frame) && mFlushRequested.compareAndSet(false, true)){
+            mServer.requestFlush(this);
+        }
+    }
+
+    @Override
+    public void cancel() {
+        mQueue.close();
+        mServer.execute(new Runnable() {
+            @Override
+            public void run() {
+                close();
+            }
+        });
+    }
+
+    @Override
+    public PeerClock getClock() {
+        return mClock;
+    }
+
+    @Override
+    public int getWriteQueueDepth() {
+        return mQueue.size();
+    }
+
+    @Override
+    public long getBytesIn() {
+        return mBytesIn;
+    }
+
+    @Override
+    public long getBytesOut() {
+        return mBytesOut;
+    }
+
+    @Override
+    public long getDroppedCount() {
+        return mQueue.getDroppedCount();
+    }
+
+    @Override
+    public Histogram getWriteLatency() {
+        return mWriteLatency;
+    }
+
+    @Override
+    public String toString() {
+        return mPeerId;
+    }
+
+    /***********************************************************************************************
+     *                                  Selector Thread
+     **********************************************************************************************/
+
+    /**
+     * Called when the server picks the link from its flush queue.
+     */
+    void onFlushRequested() {
+        mFlushRequested.set(false);
+        flush();
+    }
+
+    /**
+     * Method to write out as much of the pending output as the socket takes. Asks the selector
+     * for OP_WRITE if something is left over and stops asking once everything is written.
+     */
+    void flush() {
+        if (mKey == null || mClosed){
+            return;
+        }
+
+        long queuedAt = mQueue.drainTo(mPending);
+        if (queuedAt >= 0){
+            mWriteLatency.record(System.nanoTime() - queuedAt);
+        }
+
+        try {
+            boolean done = writePending();
+            mKey.interestOps(done ? SelectionKey.OP_READ
+                    : SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+        } catch (IOException e) {
+            close();
+        }
+    }
+
+    /**
+     * Method to read whatever the socket has and pass every complete frame to the receiver.
+     */
+    void onReadable() {
+        try {
+            int read = mChannel.read(mIn);
+            if (read < 0){
+                close();
+                return;
+            }
+            mBytesIn += read;
+
+            mIn.flip();
+            BtMsg btMsg;
+            while ((btMsg = BtMsgCodec.read(mIn)) != null) {
+                Logger.event(LogEvent.FRAME_IN, btMsg.type, btMsg.seq);
+                MSG_IN.increment(btMsg.type);
+                passToReceiver(btMsg);
+            }
+            keepPartialFrame();
+
+        } catch (IOException e) {
+            // Closed socket or a malformed frame. Either way the stream can not be trusted.
+            close();
+        }
+    }
+
+    /**
+     * Method to close the channel and report the peer as disconnected. Does nothing if already
+     * closed.
+     */
+    void close() {
+        if (mClosed){
+            return;
+        }
+        if (LOG.isVerbose()) LOG.v("In close(), peer = " + mPeerId);
+        mClosed = true;
+
+        mQueue.close();
+        mPending.clear();
+        if (mKey != null){
+            mKey.cancel();
+        }
+        try {
+            mChannel.close();
+        } catch (IOException e) {
+            // Ignore close exception.
+        }
+        mServer.remove(this);
+
+        // Let the arbitrator know this peer is gone.
+        if (mOpened){
+            passToReceiver(new BtMsg(BtMsg.PEER_DISCONNECTED, this));
+        }
+    }
+
+    /**
+     * Method to move the start of an incomplete frame to the beginning of the input buffer, ready
+     * for the next read. Grows the buffer if the frame is bigger than it.
+     */
+    private void keepPartialFrame() {
+        if (mIn.remaining() >= BtMsgCodec.HEADER_SIZE){
+            // BtMsgCodec.read() has validated the length already.
+            int size = BtMsgCodec.HEADER_SIZE + mIn.getInt(mIn.position() + 3);
+            if (size > mIn.capacity()){
+                ByteBuffer bigger = ByteBuffer.allocate(size);
+                bigger.put(mIn);
+                mIn = bigger;
+                return;
+            }
+        }
+        mIn.compact();
+    }
+
+    /**
+     * Method to copy pending frames into the output buffer and write it to the socket until
+     * either everything is written or the socket stops taking more.
+     * @return - True if nothing is left to be written.
+     */
+    private boolean writePending() throws IOException {
+        int frames = 0;
+        long bytes = 0;
+
+        while (true) {
+            // Pack as many whole frames as fit.
+            BtFrame frame;
+            while ((frame = mPending.peekFirst()) != null && frame.length() <= mOut.remaining()) {
+                mPending.pollFirst();
+                frame.writeTo(mOut);
+                MSG_OUT.increment(frame.type);
+                frames++;
+            }
+
+            if (mOut.position() == 0){
+                if (frame == null){
+                    if (frames > 0){
+                        Logger.event(LogEvent.FRAMES_WRITTEN, frames, bytes);
+                    }
+                    return true;
+                }
+                // Frame bigger than the whole buffer, which then has to grow.
+                mOut = ByteBuffer.allocate(Math.max(frame.length(), mOut.capacity() * 2));
+                continue;
+            }
+
+            mOut.flip();
+            int written = mChannel.write(mOut);
+            bytes += written;
+            mBytesOut += written;
+            boolean all = !mOut.hasRemaining();
+            mOut.compact();
+            if (!all){
+                // Socket buffer is full, carry on when the selector says it is writable.
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Method to pass a received message to the receiver, see BtConnectedThread.passToReceiver().
+     * @param btMsg  - Message to be passed on.
+     */
+    private void passToReceiver(BtMsg btMsg) {
+        btMsg.srcMAC = mPeerId;
+        btMsg.receivedAt = System.nanoTime();
+
+        mReceiver.receiveMessage(btMsg);
+    }
+}
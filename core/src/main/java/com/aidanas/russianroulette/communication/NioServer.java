@@ -0,0 +1,253 @@
+package com.aidanas.russianroulette.communication;
+
+import com.aidanas.russianroulette.interfaces.LinkReceiver;
+import com.aidanas.russianroulette.logging.Logger;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Created by: Aidanas
+ * Created on: 18/10/2026.
+ *
+ * Host side of the LAN transport. A single thread accepts, reads and writes every TCP connection
+ * of the game through a java.nio Selector, so a lobby of hundreds of players does not cost two
+ * threads per player the way BtConnectedThread does. The frames on the wire are the same, clients
+ * connect with a plain TcpConnector.
+ *
+ * Every accepted socket is handed to the LinkReceiver as a NioLink. Nothing is read from it until
+ * the receiver opens the link.
+ */
+public class NioServer extends Thread implements Closeable {
+
+    // Tag, mostly used for logging and debug output.
+    public static final String TAG = NioServer.class.getSimpleName();
+    private static final Logger LOG = Logger.get(Logger.Subsystem.NET, TAG);
+
+    // Maximum number of connections waiting to be accepted.
+    private static final int BACKLOG = 128;
+
+    private final Selector mSelector;
+    private final ServerSocketChannel mServerChannel;
+    private final LinkReceiver mReceiver;
+    private final int mWriteQueueCapacity;
+    private final BtWriterThread.OverflowPolicy mOverflowPolicy;
+
+    /*
+     * Work handed over by other threads. Channels are only ever registered, written and closed
+     * on this thread, so other threads queue a task (or a link to be flushed) and wake the
+     * selector up.
+     */
+    private final ConcurrentLinkedQueue<Runnable> mTasks = new ConcurrentLinkedQueue<>();
+    private final ConcurrentLinkedQueue<NioLink> mFlushes = new ConcurrentLinkedQueue<>();
+
+    // Links accepted and not closed yet. This thread only.
+    private final Set<NioLink> mLinks = new HashSet<>();
+
+    private volatile boolean mClosed = false;
+
+    /**
+     * Constructor. Binds the listening socket straight away, start() the thread to serve it.
+     * @param bindAddress - Local address to listen on or null for all of them.
+     * @param port - Port to listen on or 0 for any free one (see getLocalPort()).
+     * @param receiver - Receiver of the accepted links.
+     * @param writeQueueCapacity - Maximum number of frames waiting to be written to one peer.
+     * @param overflowPolicy - What to do when a peer falls that many frames behind.
+     */
+    public NioServer(InetAddress bindAddress, int port, LinkReceiver receiver,
+                     int writeQueueCapacity, BtWriterThread.OverflowPolicy overflowPolicy)
+            throws IOException {
+        super(TAG);
+        mSelector = Selector.open();
+        mServerChannel = ServerSocketChannel.open();
+        mServerChannel.socket().bind(new InetSocketAddress(bindAddress, port), BACKLOG);
+        mServerChannel.configureBlocking(false);
+        mServerChannel.register(mSelector, SelectionKey.OP_ACCEPT);
+        mReceiver = receiver;
+        mWriteQueueCapacity = writeQueueCapacity;
+        mOverflowPolicy = overflowPolicy;
+    }
+
+    /**
+     * @return - Port the server is listening on.
+     */
+    public int getLocalPort() {
+        return mServerChannel.socket().getLocalPort();
+    }
+
+    /**
+     * Selector loop. Runs until closed.
+     */
+    @Override
+    public void run() {
+        if (LOG.isVerbose()) LOG.v("In run(), Thread = " + Thread.currentThread().getName());
+
+        try {
+            while (!mClosed) {
+                // Only the selector failing takes every link down, a single peer never does.
+                mSelector.select();
+                runTasks();
+
+                Iterator<SelectionKey> it = mSelector.selectedKeys().iterator();
+                while (it.hasNext()) {
+                    SelectionKey key = it.next();
+                    it.remove();
+                    if (!key.isValid()){
+                        continue;
+                    }
+
+                    if (key.isAcceptable()){
+                        accept();
+                        continue;
+                    }
+
+                    NioLink link = (NioLink) key.attachment();
+                    try {
+                        if (key.isReadable()){
+                            link.onReadable();
+                        }
+                        if (key.isValid() && key.isWritable()){
+                            link.flush();
+                        }
+                    } catch (RuntimeException e) {
+                        LOG.e("Serving " + link.getPeerId() + " failed, closing its link", e);
+                        link.close();
+                    }
+                }
+            }
+        } catch (IOException e) {
+            LOG.e("Selector failed, closing all links", e);
+        } finally {
+            for (NioLink link : new ArrayList<>(mLinks)) {
+                link.close();
+            }
+            try {
+                mServerChannel.close();
+                mSelector.close();
+            } catch (IOException e) {
+                // Ignore close exception.
+            }
+        }
+    }
+
+    /**
+     * Method to stop listening and close every link. Can be called from any thread.
+     */
+    @Override
+    public void close() {
+        mClosed = true;
+        mSelector.wakeup();
+    }
+
+    /**
+     * Method to run a task on the selector thread. Dropped if the server is closed.
+     * @param task - Task to be run.
+     */
+    void execute(Runnable task) {
+        mTasks.add(task);
+        mSelector.wakeup();
+    }
+
+    /**
+     * Method to have the frames queued to the link written out by the selector thread.
+     * @param link - Link which queue is not empty.
+     */
+    void requestFlush(NioLink link) {
+        mFlushes.add(link);
+        mSelector.wakeup();
+    }
+
+    /**
+     * Method for the links to register their channels. Selector thread only.
+     * @param link - Link being opened.
+     * @param channel - Its channel.
+     * @return - Key of the channel.
+     */
+    SelectionKey register(NioLink link, SocketChannel channel) throws IOException {
+        return channel.register(mSelector, SelectionKey.OP_READ, link);
+    }
+
+    /**
+     * Method for the links to unregister themselves once closed. Selector thread only.
+     * @param link - Link closed.
+     */
+    void remove(NioLink link) {
+        mLinks.remove(link);
+    }
+
+    /**
+     * Runs the tasks and flushes queued by other threads since the last select.
+     */
+    private void runTasks() {
+        Runnable task;
+        while ((task = mTasks.poll()) != null) {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                // The rest of the links are served on this thread too, keep serving them.
+                LOG.e("Task " + task + " threw", e);
+            }
+        }
+
+        NioLink link;
+        while ((link = mFlushes.poll()) != null) {
+            try {
+                link.onFlushRequested();
+            } catch (RuntimeException e) {
+                LOG.e("Flushing " + link.getPeerId() + " failed, closing its link", e);
+                link.close();
+            }
+        }
+    }
+
+    /**
+     * Accepts every pending connection and hands it over to the receiver. A connection which
+     * fails on the way in is closed on its own, the rest are not affected.
+     */
+    private void accept() {
+        while (true) {
+            SocketChannel channel;
+            try {
+                channel = mServerChannel.accept();
+            } catch (IOException e) {
+                // I.e. out of file descriptors or the peer aborted, the next select tries again.
+                LOG.w("Accepting a connection failed: " + e);
+                return;
+            }
+            if (channel == null){
+                return;
+            }
+
+            NioLink link;
+            try {
+                channel.configureBlocking(false);
+                channel.socket().setTcpNoDelay(true); // Messages are small and latency sensitive.
+                link = new NioLink(this, channel, mWriteQueueCapacity, mOverflowPolicy);
+            } catch (IOException | RuntimeException e) {
+                // Most likely reset by the peer already.
+                LOG.w("Dropped a connection failing on the way in: " + e);
+                try {
+                    channel.close();
+                } catch (IOException ce) {
+                    // Ignore close exception.
+                }
+                continue;
+            }
+
+            if (LOG.isVerbose()) LOG.v("In accept(), peer = " + link.getPeerId());
+            mLinks.add(link);
+            mReceiver.receiveLink(link);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.aidanas.russianroulette.communication;
+
+import com.aidanas.russianroulette.metrics.Histogram;
+
+/**
+ * Created by: Aidanas
+ * Created on: 18/10/2026.
+ *
+ * Round trip time and clock offset of a peer, estimated from ping/pong exchanges the same way NTP
+ * does. Out of the last WINDOW samples the one with the shortest round trip is trusted, as it
+ * suffered the least queueing and so its offset is the most accurate. Safe to use from any
+ * thread.
+ */
+public class PeerClock {
+
+    // Number of recent samples the estimate is picked from.
+    private static final int WINDOW = 8;
+
+    // Recent samples, guarded by 'this'.
+    private final long[] mRtts = new long[WINDOW];
+    private final long[] mOffsets = new long[WINDOW];
+    private int mSamples = 0;
+
+    // Current estimate, guarded by 'this'.
+    private long mRtt = -1;
+    private long mOffset = 0;
+
+    // All the round trips measured, in nanoseconds.
+    private final Histogram mRttHistogram = new Histogram();
+
+    /**
+     * Method to add a sample.
+     * @param t0 - Local time of sending the ping.
+     * @param t1 - Peer time of receiving it.
+     * @param t2 - Peer time of sending the pong.
+     * @param t3 - Local time of receiving the pong.
+     * @return - Round trip time of the sample in nanoseconds, or -1 if it was discarded.
+     */
+    public synchronized long onPong(long t0, long t1, long t2, long t3) {
+        long rtt = (t3 - t0) - (t2 - t1);
+        if (rtt < 0){
+            // Garbled or forged times.
+            return -1;
+        }
+        long offset = ((t1 - t0) + (t2 - t3)) / 2;
+
+        int i = mSamples++ % WINDOW;
+        mRtts[i] = rtt;
+        mOffsets[i] = offset;
+
+        int best = 0;
+        for (int j = 1; j < Math.min(mSamples, WINDOW); j++) {
+            if (mRtts[j] < mRtts[best]){
+                best = j;
+            }
+        }
+        mRtt = mRtts[best];
+        mOffset = mOffsets[best];
+
+        mRttHistogram.record(rtt);
+        return rtt;
+    }
+
+    public synchronized boolean hasEstimate() {
+        return mRtt >= 0;
+    }
+
+    /**
+     * @return - Best recent round trip time in nanoseconds, or -1 if not measured yet.
+     */
+    public synchronized long getRtt() {
+        return mRtt;
+    }
+
+    /**
+     * @return - Nanoseconds to add to a local time to get the peer's time.
+     */
+    public synchronized long getOffset() {
+        return mOffset;
+    }
+
+    /**
+     * Method to convert a local time to the peer's clock.
+     * @param localNanos - Local System.nanoTime() based time.
+     * @return - The same instant on the peer's System.nanoTime() clock.
+     */
+    public long toPeerTime(long localNanos) {
+        return localNanos + getOffset();
+    }
+
+    public Histogram getRttHistogram() {
+        return mRttHistogram;
+    }
+}
@@ -0,0 +1,88 @@
+package com.aidanas.russianroulette.communication;
+
+/**
+ * Created by: Aidanas
+ * Created on: 18/10/2026.
+ *
+ * Liveness of a peer, judged by how long it has been silent. The server pings every client
+ * periodically and the clients answer, so a peer which stays silent for a few intervals has
+ * most likely walked out of range, long before a blocking read on its socket would fail.
+ * Updated on a single thread, the state can be read from any.
+ */
+public class PeerLiveness {
+
+    // System.nanoTime() of the last message received from the peer.
+    private volatile long mLastHeard;
+
+    private volatile State mState = State.ALIVE;
+
+    /**
+     * Constructor.
+     * @param now - System.nanoTime() of the peer connecting, it counts as heard from.
+     */
+    public PeerLiveness(long now) {
+        mLastHeard = now;
+    }
+
+    /**
+     * Method to record a message received from the peer. A suspect peer is alive again, a dead
+     * one stays dead.
+     * @param at - System.nanoTime() of receiving the message.
+     */
+    public void heard(long at) {
+        if (at - mLastHeard > 0){
+            mLastHeard = at;
+        }
+        if (mState == State.SUSPECT){
+            mState = State.ALIVE;
+        }
+    }
+
+    /**
+     * Method to judge the peer's liveness by its silence so far.
+     * @param now - Current System.nanoTime().
+     * @param suspectAfter - Nanoseconds of silence the peer becomes suspect after.
+     * @param deadAfter - Nanoseconds of silence the peer is given up on after.
+     * @return - State of the peer.
+     */
+    public State check(long now, long suspectAfter, long deadAfter) {
+        if (mState == State.DEAD){
+            return State.DEAD;
+        }
+        long silence = getSilence(now);
+        if (silence > deadAfter){
+            mState = State.DEAD;
+        } else if (silence > suspectAfter){
+            mState = State.SUSPECT;
+        }
+        return mState;
+    }
+
+    /**
+     * @param now - Current System.nanoTime().
+     * @return - Nanoseconds since the peer was last heard from.
+     */
+    public long getSilence(long now) {
+        return now - mLastHeard;
+    }
+
+    public State getState() {
+        return mState;
+    }
+
+    /***********************************************************************************************
+     *                          Inner Classes
+     **********************************************************************************************/
+
+    /**
+     * Liveness of a peer.
+     */
+    public enum State {
+        // Heard from recently.
+        ALIVE,
+        // Missed a couple of heartbeats, might just be a slow link.
+        SUSPECT,
+        // Silent for too long, the connection is to be closed.
+        DEAD,
+    }
+}
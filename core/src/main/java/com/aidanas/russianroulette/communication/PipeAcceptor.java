@@ -0,0 +1,73 @@
+package com.aidanas.russianroulette.communication;
+
+import com.aidanas.russianroulette.interfaces.Connection;
+import com.aidanas.russianroulette.interfaces.ConnectionAcceptor;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.LinkedList;
+
+/**
+ * Created by: Aidanas
+ * Created on: 18/10/2026.
+ *
+ * Acceptor of in-process connections. Peers connect to it through a PipeConnector.
+ */
+public class PipeAcceptor implements ConnectionAcceptor {
+
+    // Identity of the host as seen by the connecting peers.
+    private final String mHostId;
+    private final String mHostName;
+
+    // Host ends of connections waiting to be accepted.
+    private final LinkedList<Connection> mPending = new LinkedList<>();
+    private boolean mClosed = false;
+
+    /**
+     * Constructor.
+     * @param hostId - Peer id the connecting peers will see for the host.
+     * @param hostName - Peer name the connecting peers will see for the host.
+     */
+    public PipeAcceptor(String hostId, String hostName) {
+        mHostId = hostId;
+        mHostName = hostName;
+    }
+
+    @Override
+    public synchronized Connection accept() throws IOException {
+        while (mPending.isEmpty()) {
+            if (mClosed){
+                throw new IOException("Acceptor closed");
+            }
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException();
+            }
+        }
+        return mPending.removeFirst();
+    }
+
+    @Override
+    public synchronized void close() {
+        mClosed = true;
+        notifyAll();
+    }
+
+    /**
+     * Method used by PipeConnector to establish a connection with this acceptor.
+     * @param peerId - Id of the connecting peer.
+     * @param peerName - Name of the connecting peer.
+     * @return - Peer end of the new connection.
+     */
+    synchronized Connection connect(String peerId, String peerName) throws IOException {
+        if (mClosed){
+            throw new IOException("Connection refused, acceptor closed");
+        }
+        PipeConnection[] ends = PipeConnection.pair(mHostId, mHostName, peerId, peerName);
+        mPending.addLast(ends[0]);
+        notifyAll();
+        return ends[1];
+    }
+}
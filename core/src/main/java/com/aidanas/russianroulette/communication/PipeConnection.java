@@ -0,0 +1,203 @@
+package com.aidanas.russianroulette.communication;
+
+import com.aidanas.russianroulette.interfaces.Connection;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+
+/**
+ * Created by: Aidanas
+ * Created on: 18/10/2026.
+ *
+ * In-process connection. Two of them are created together by pair(), bytes written to one come
+ * out of the other. Used to run the whole game protocol in a single process, i.e. in load tests
+ * and benchmarks, without any radio or network involved.
+ */
+public class PipeConnection implements Connection {
+
+    // Bytes each direction can hold before the writer blocks.
+    public static final int PIPE_CAPACITY = 16 * 1024;
+
+    private final Pipe mIn;
+    private final Pipe mOut;
+    private final String mPeerId;
+    private final String mPeerName;
+
+    /**
+     * Constructor. Use pair() to get connected instances.
+     */
+    private PipeConnection(Pipe in, Pipe out, String peerId, String peerName) {
+        mIn = in;
+        mOut = out;
+        mPeerId = peerId;
+        mPeerName = peerName;
+    }
+
+    /**
+     * Method to create two connected ends of an in-process connection.
+     * @param idA - Peer id of the first end, as seen by the second one.
+     * @param nameA - Peer name of the first end, as seen by the second one.
+     * @param idB - Peer id of the second end, as seen by the first one.
+     * @param nameB - Peer name of the second end, as seen by the first one.
+     * @return - Array of two connections, the ends A and B.
+     */
+    public static PipeConnection[] pair(String idA, String nameA, String idB, String nameB) {
+        Pipe aToB = new Pipe(PIPE_CAPACITY);
+        Pipe bToA = new Pipe(PIPE_CAPACITY);
+        return new PipeConnection[]{
+                new PipeConnection(bToA, aToB, idB, nameB),
+                new PipeConnection(aToB, bToA, idA, nameA)
+        };
+    }
+
+    @Override
+    public InputStream getInputStream() {
+        return mIn.mInputStream;
+    }
+
+    @Override
+    public OutputStream getOutputStream() {
+        return mOut.mOutputStream;
+    }
+
+    @Override
+    public String getPeerId() {
+        return mPeerId;
+    }
+
+    @Override
+    public String getPeerName() {
+        return mPeerName;
+    }
+
+    @Override
+    public void close() {
+        mIn.close();
+        mOut.close();
+    }
+
+    @Override
+    public String toString() {
+        return mPeerId;
+    }
+
+    /***********************************************************************************************
+     *                                  Inner Classes
+     **********************************************************************************************/
+
+    /**
+     * One direction of the connection. A bounded ring buffer with a blocking reader and writer.
+     * Unlike java.io.PipedInputStream it does not care which threads write and read it.
+     */
+    private static class Pipe {
+
+        private final byte[] mBuffer;
+        private int mHead = 0;  // Next byte to be read.
+        private int mCount = 0; // Bytes available for reading.
+        private boolean mClosed = false;
+
+        private final InputStream mInputStream = new InputStream() {
+            @Override
+            public int read() throws IOException {
+                byte[] b = new byte[1];
+                return read(b, 0, 1) == -1 ? -1 : b[0] & 0xFF;
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                return Pipe.this.read(b, off, len);
+            }
+
+            @Override
+            public int available() {
+                synchronized (Pipe.this) {
+                    return mCount;
+                }
+            }
+
+            @Override
+            public void close() {
+                Pipe.this.close();
+            }
+        };
+
+        private final OutputStream mOutputStream = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                write(new byte[]{(byte) b}, 0, 1);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                Pipe.this.write(b, off, len);
+            }
+
+            @Override
+            public void close() {
+                Pipe.this.close();
+            }
+        };
+
+        Pipe(int capacity) {
+            mBuffer = new byte[capacity];
+        }
+
+        synchronized int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0){
+                return 0;
+            }
+            while (mCount == 0) {
+                if (mClosed){
+                    return -1;
+                }
+                waitUninterruptedIO();
+            }
+
+            int n = Math.min(len, mCount);
+            for (int i = 0; i < n; i++) {
+                b[off + i] = mBuffer[(mHead + i) % mBuffer.length];
+            }
+            mHead = (mHead + n) % mBuffer.length;
+            mCount -= n;
+            notifyAll();
+            return n;
+        }
+
+        synchronized void write(byte[] b, int off, int len) throws IOException {
+            while (len > 0) {
+                while (mCount == mBuffer.length && !mClosed) {
+                    waitUninterruptedIO();
+                }
+                if (mClosed){
+                    throw new IOException("Pipe closed");
+                }
+
+                int n = Math.min(len, mBuffer.length - mCount);
+                int tail = (mHead + mCount) % mBuffer.length;
+                for (int i = 0; i < n; i++) {
+                    mBuffer[(tail + i) % mBuffer.length] = b[off + i];
+                }
+                mCount += n;
+                off += n;
+                len -= n;
+                notifyAll();
+            }
+        }
+
+        synchronized void close() {
+            mClosed = true;
+            notifyAll();
+        }
+
+        private void waitUninterruptedIO() throws InterruptedIOException {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException();
+            }
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.aidanas.russianroulette.communication;
+
+import com.aidanas.russianroulette.interfaces.Connection;
+import com.aidanas.russianroulette.interfaces.ConnectionConnector;
+
+import java.io.IOException;
+
+/**
+ * Created by: Aidanas
+ * Created on: 18/10/2026.
+ *
+ * Connector to a PipeAcceptor within the same process.
+ */
+public class PipeConnector implements ConnectionConnector {
+
+    private final PipeAcceptor mAcceptor;
+    private final String mPeerId;
+    private final String mPeerName;
+
+    /**
+     * Constructor.
+     * @param acceptor - Acceptor of the host to connect to.
+     * @param peerId - Id this peer will be known by on the host.
+     * @param peerName - Name this peer will be known by on the host.
+     */
+    public PipeConnector(PipeAcceptor acceptor, String peerId, String peerName) {
+        mAcceptor = acceptor;
+        mPeerId = peerId;
+        mPeerName = peerName;
+    }
+
+    @Override
+    public Connection connect() throws IOException {
+        return mAcceptor.connect(mPeerId, mPeerName);
+    }
+
+    @Override
+    public void cancel() {
+        // Connecting in-process never blocks, nothing to abort.
+    }
+}
@@ -0,0 +1,134 @@
+package com.aidanas.russianroulette.communication;
+
+import com.aidanas.russianroulette.interfaces.Connection;
+import com.aidanas.russianroulette.interfaces.ConnectionConnector;
+import com.aidanas.russianroulette.interfaces.ConnectionReceiver;
+import com.aidanas.russianroulette.interfaces.ConnectorFactory;
+import com.aidanas.russianroulette.logging.Logger;
+
+import java.io.IOException;
+
+/**
+ * Created by: Aidanas
+ * Created on: 18/10/2026.
+ *
+ * Thread to reconnect to the master device after the connection dropped. Retries with a backoff,
+ * starting short as most drops are a brief loss of signal, until connected or the deadline
+ * passes. Like BtSlaveThread, passes the connection on once established.
+ */
+public class Redialer extends Thread {
+
+    // Tag, mostly used for logging and debug output.
+    public static final String TAG = Redialer.class.getSimpleName();
+    private static final Logger LOG = Logger.get(Logger.Subsystem.NET, TAG);
+
+    // Milliseconds to wait after the first failed attempt, doubled after every one up to the max.
+    static final long INITIAL_BACKOFF = 50;
+    static final long MAX_BACKOFF = 1000;
+
+    private final ConnectorFactory mFactory;
+    private final ConnectionReceiver mConnectionReceiver;
+    private final long mDeadline;
+
+    // Attempt in progress, null if none. Guarded by 'this'.
+    private ConnectionConnector mConnector;
+    private boolean mCancelled = false;
+
+    /**
+     * Constructor.
+     * @param factory - Makes a connector for every attempt.
+     * @param connectionReceiver - Connection will be passed to this object once established.
+     * @param deadline - Milliseconds to keep trying for.
+     */
+    public Redialer(ConnectorFactory factory, ConnectionReceiver connectionReceiver,
+                    long deadline) {
+        super("Redialer");
+        mFactory = factory;
+        mConnectionReceiver = connectionReceiver;
+        mDeadline = deadline;
+    }
+
+    /**
+     * New thread starts here.
+     */
+    @Override
+    public void run() {
+        if (LOG.isVerbose()) LOG.v("In run(), Thread = " + Thread.currentThread().getName());
+
+        long giveUpAt = System.nanoTime() + mDeadline * 1000000L;
+        long backoff = INITIAL_BACKOFF;
+        int attempts = 0;
+        while (true) {
+            attempts++;
+            Connection connection = attempt();
+            if (connection != null){
+                LOG.i("Reconnected after " + attempts + " attempts");
+                mConnectionReceiver.receiveConnection(connection);
+                return;
+            }
+
+            long left = (giveUpAt - System.nanoTime()) / 1000000L;
+            if (isCancelled() || left <= 0){
+                break;
+            }
+            try {
+                Thread.sleep(Math.min(backoff, left));
+            } catch (InterruptedException e) {
+                break;
+            }
+            backoff = Math.min(2 * backoff, MAX_BACKOFF);
+        }
+        LOG.w("Gave up reconnecting after " + attempts + " attempts");
+    }
+
+    /**
+     * Makes a single connection attempt.
+     * @return - Connection or null if it failed or the thread was cancelled.
+     */
+    private Connection attempt() {
+        ConnectionConnector connector;
+        try {
+            connector = mFactory.newConnector();
+        } catch (IOException e) {
+            return null;
+        }
+        synchronized (this) {
+            if (mCancelled){
+                return null;
+            }
+            mConnector = connector;
+        }
+
+        try {
+            Connection connection = connector.connect();
+            synchronized (this) {
+                mConnector = null;
+                if (!mCancelled){
+                    return connection;
+                }
+            }
+            // Cancelled while connecting, no one wants it any more.
+            connection.close();
+        } catch (IOException e) {
+            if (LOG.isDebug()) LOG.d("Reconnect attempt failed: " + e.getMessage());
+        }
+        return null;
+    }
+
+    private synchronized boolean isCancelled() {
+        return mCancelled;
+    }
+
+    /**
+     * Call from other thread to stop reconnecting. A connection made meanwhile is closed.
+     */
+    public void cancel() {
+        synchronized (this) {
+            mCancelled = true;
+            if (mConnector != null){
+                mConnector.cancel();
+            }
+        }
+        interrupt();
+    }
+}
@@ -0,0 +1,45 @@
+package com.aidanas.russianroulette.communication;
+
+import com.aidanas.russianroulette.interfaces.Connection;
+import com.aidanas.russianroulette.interfaces.ConnectionAcceptor;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+
+/**
+ * Created by: Aidanas
+ * Created on: 18/10/2026.
+ *
+ * Acceptor listening for TCP connections, i.e. on loopback or over the LAN.
+ */
+public class TcpAcceptor implements ConnectionAcceptor {
+
+    private final ServerSocket mServerSocket;
+
+    /**
+     * Constructor. Binds the listening socket straight away.
+     * @param bindAddress - Local address to listen on or null for all of them.
+     * @param port - Port to listen on or 0 for any free one (see getLocalPort()).
+     */
+    public TcpAcceptor(InetAddress bindAddress, int port) throws IOException {
+        mServerSocket = new ServerSocket(port, 50, bindAddress);
+    }
+
+    /**
+     * @return - Port the acceptor is listening on.
+     */
+    public int getLocalPort() {
+        return mServerSocket.getLocalPort();
+    }
+
+    @Override
+    public Connection accept() throws IOException {
+        return new TcpConnection(mServerSocket.accept());
+    }
+
+    @Override
+    public void close() throws IOException {
+        mServerSocket.close();
+    }
+}
@@ -0,0 +1,60 @@
+package com.aidanas.russianroulette.communication;
+
+import com.aidanas.russianroulette.interfaces.Connection;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+
+/**
+ * Created by: Aidanas
+ * Created on: 18/10/2026.
+ *
+ * Connection over a connected TCP socket. Peers are identified by their "host:port".
+ */
+public class TcpConnection implements Connection {
+
+    private final Socket mSocket;
+    private final String mPeerId;
+
+    /**
+     * Constructor.
+     * @param socket - A connected TCP socket.
+     */
+    public TcpConnection(Socket socket) throws IOException {
+        mSocket = socket;
+        mSocket.setTcpNoDelay(true); // Messages are small and latency sensitive.
+        mPeerId = socket.getInetAddress().getHostAddress() + ":" + socket.getPort();
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        return mSocket.getInputStream();
+    }
+
+    @Override
+    public OutputStream getOutputStream() throws IOException {
+        return mSocket.getOutputStream();
+    }
+
+    @Override
+    public String getPeerId() {
+        return mPeerId;
+    }
+
+    @Override
+    public String getPeerName() {
+        return mPeerId;
+    }
+
+    @Override
+    public void close() throws IOException {
+        mSocket.close();
+    }
+
+    @Override
+    public String toString() {
+        return mPeerId;
+    }
+}
@@ -0,0 +1,52 @@
+package com.aidanas.russianroulette.communication;
+
+import com.aidanas.russianroulette.interfaces.Connection;
+import com.aidanas.russianroulette.interfaces.ConnectionConnector;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+
+/**
+ * Created by: Aidanas
+ * Created on: 18/10/2026.
+ *
+ * Connector to a game hosted over TCP.
+ */
+public class TcpConnector implements ConnectionConnector {
+
+    // Milliseconds to wait for the host to answer.
+    private static final int CONNECT_TIMEOUT = 5000;
+
+    private final InetSocketAddress mHostAddress;
+    private final Socket mSocket = new Socket();
+
+    /**
+     * Constructor.
+     * @param host - Host name or address of the hosting device.
+     * @param port - Port the host is listening on.
+     */
+    public TcpConnector(String host, int port) {
+        mHostAddress = new InetSocketAddress(host, port);
+    }
+
+    @Override
+    public Connection connect() throws IOException {
+        try {
+            mSocket.connect(mHostAddress, CONNECT_TIMEOUT);
+        } catch (IOException connectException) {
+            cancel();
+            throw connectException;
+        }
+        return new TcpConnection(mSocket);
+    }
+
+    @Override
+    public void cancel() {
+        try {
+            mSocket.close();
+        } catch (IOException e) {
+            // Ignore close exception.
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.aidanas.russianroulette.discovery;
+
+import com.aidanas.russianroulette.game.LobbyInfo;
+import com.aidanas.russianroulette.logging.Logger;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Created by: Aidanas
+ * Created on: 18/10/2026.
+ *
+ * Hosts found so far, kept in a file so that the next time the user looks for a game the hosts
+ * are shown straight away, while they are being looked for again. Hosts not seen for longer than
+ * the given age are forgotten. Layout of the file:
+ *
+ *      | magic (4) | version (4) | count (4) | records... |
+ *
+ * and of every record:
+ *
+ *      | address | has name (1) | name | players (2) | phase (1) | seen at, wall clock ms (8) |
+ *
+ * The file is written to a temporary one first and renamed over, so it is never half written.
+ * One that can not be read is taken for empty, it is only a cache.
+ */
+public class HostCache {
+
+    // Tag, mostly used for logging and debug output.
+    public static final String TAG = HostCache.class.getSimpleName();
+    private static final Logger LOG = Logger.get(Logger.Subsystem.NET, TAG);
+
+    static final int MAGIC = 0x52524831; // "RRH1"
+    static final int VERSION = 1;
+
+    private final File mFile;
+    private final long mMaxAge;
+
+    // Hosts by address. Guarded by this.
+    private final Map<String, HostRecord> mHosts = new LinkedHashMap<>();
+
+    /**
+     * Constructor. Nothing is read until load() is called.
+     * @param file - File to keep the hosts in.
+     * @param maxAgeMillis - Milliseconds after a host was last seen it is forgotten.
+     */
+    public HostCache(File file, long maxAgeMillis) {
+        mFile = file;
+        mMaxAge = maxAgeMillis;
+    }
+
+    /**
+     * Method to read the hosts saved last time, replacing any in memory.
+     * @param now - Current System.currentTimeMillis().
+     * @return - Hosts not too old, most recently seen first.
+     */
+    public synchronized List<HostRecord> load(long now) {
+        if (LOG.isVerbose()) LOG.v("In load(), file = " + mFile);
+
+        mHosts.clear();
+        DataInputStream in;
+        try {
+            in = new DataInputStream(new BufferedInputStream(new FileInputStream(mFile)));
+        } catch (FileNotFoundException e) {
+            // Never saved.
+            return getHosts(now);
+        }
+        try {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION){
+                throw new IOException("Not a host cache of this version");
+            }
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                HostRecord record = readRecord(in);
+                mHosts.put(record.getAddress(), record);
+            }
+        } catch (IOException e) {
+            LOG.w("Failed to read " + mFile + ", starting afresh", e);
+            mHosts.clear();
+        } finally {
+            try {
+                in.close();
+            } catch (IOException e) {
+                // Ignore close exception.
+            }
+        }
+        return getHosts(now);
+    }
+
+    /**
+     * Method to remember a host, replacing what was known about it.
+     * @param record - Host as seen just now.
+     */
+    public synchronized void put(HostRecord record) {
+        mHosts.put(record.getAddress(), record);
+    }
+
+    /**
+     * @param now - Current System.currentTimeMillis().
+     * @return - Hosts not too old, most recently seen first.
+     */
+    public synchronized List<HostRecord> getHosts(long now) {
+        List<HostRecord> hosts = new ArrayList<>(mHosts.size());
+        for (HostRecord record : mHosts.values()) {
+            if (now - record.getSeenAt() <= mMaxAge){
+                hosts.add(record);
+            }
+        }
+        Collections.sort(hosts, new Comparator<HostRecord>() {
+            @Override
+            public int compare(HostRecord a, HostRecord b) {
+                return a.getSeenAt() < b.getSeenAt() ? 1 : a.getSeenAt() > b.getSeenAt() ? -1 : 0;
+            }
+        });
+        return hosts;
+    }
+
+    /**
+     * Method to write the hosts not too old to the file.
+     * @param now - Current System.currentTimeMillis().
+     * @throws IOException - If the file can not be written, the old one is left as it was.
+     */
+    public synchronized void save(long now) throws IOException {
+        if (LOG.isVerbose()) LOG.v("In save(), hosts = " + mHosts.size());
+
+        List<HostRecord> hosts = getHosts(now);
+        File tmp = new File(mFile.getPath() + ".tmp");
+        DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(new FileOutputStream(tmp)));
+        try {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(hosts.size());
+            for (HostRecord record : hosts) {
+                writeRecord(record, out);
+            }
+        } finally {
+            out.close();
+        }
+        if (!tmp.renameTo(mFile)){
+            tmp.delete();
+            throw new IOException("Failed to replace " + mFile);
+        }
+    }
+
+    /**
+     * Utility method to write a single host.
+     * @param record - Host to be written.
+     * @param out - Destination.
+     */
+    private static void writeRecord(HostRecord record, DataOutputStream out) throws IOException {
+        out.writeUTF(record.getAddress());
+        out.writeBoolean(record.getName() != null);
+        if (record.getName() != null){
+            out.writeUTF(record.getName());
+        }
+        out.writeShort(record.getLobby().getPlayers());
+        out.writeByte(record.getLobby().getPhase().ordinal());
+        out.writeLong(record.getSeenAt());
+    }
+
+    /**
+     * Utility method to read a single host.
+     * @param in - Source.
+     * @return - Host read.
+     */
+    private static HostRecord readRecord(DataInputStream in) throws IOException {
+        String address = in.readUTF();
+        String name = in.readBoolean() ? in.readUTF() : null;
+        int players = in.readUnsignedShort();
+        int phase = in.readUnsignedByte();
+        if (phase >= LobbyInfo.Phase.values().length){
+            throw new IOException("Unknown lobby phase: " + phase);
+        }
+        LobbyInfo lobby = new LobbyInfo(players, LobbyInfo.Phase.values()[phase]);
+        return new HostRecord(address, name, lobby, in.readLong());
+    }
+}
@@ -0,0 +1,61 @@
+package com.aidanas.russianroulette.discovery;
+
+import com.aidanas.russianroulette.game.LobbyInfo;
+
+/**
+ * Created by: Aidanas
+ * Created on: 18/10/2026.
+ *
+ * A host found hosting the game, along with what it said about its table and when.
+ */
+public class HostRecord {
+
+    private final String mAddress;
+
+    // Might be null, Bluetooth devices do not always tell their names.
+    private final String mName;
+
+    private final LobbyInfo mLobby;
+
+    // System.currentTimeMillis() of the host answering, survives restarts unlike nanoTime().
+    private final long mSeenAt;
+
+    /**
+     * Constructor.
+     * @param address - Address to connect to the host at.
+     * @param name - Human readable name of the host, might be null.
+     * @param lobby - What the host said about its table.
+     * @param seenAt - System.currentTimeMillis() of the host saying it.
+     */
+    public HostRecord(String address, String name, LobbyInfo lobby, long seenAt) {
+        mAddress = address;
+        mName = name;
+        mLobby = lobby;
+        mSeenAt = seenAt;
+    }
+
+    /***********************************************************************************************
+     *                          Getters and Setters
+     **********************************************************************************************/
+
+    public String getAddress() {
+        return mAddress;
+    }
+
+    public String getName() {
+        return mName;
+    }
+
+    public LobbyInfo getLobby() {
+        return mLobby;
+    }
+
+    public long getSeenAt() {
+        return mSeenAt;
+    }
+
+    @Override
+    public String toString() {
+        return mName + "(" + mAddress + ", " + mLobby + ", seenAt = " + mSeenAt + ")";
+    }
+}
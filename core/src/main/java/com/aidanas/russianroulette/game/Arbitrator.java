@@ -0,0 +1,2041 @@
+package com.aidanas.russianroulette.game;
+
+import com.aidanas.russianroulette.communication.BtConnectedThread;
+import com.aidanas.russianroulette.communication.BtFrame;
+import com.aidanas.russianroulette.communication.BtMasterThread;
+import com.aidanas.russianroulette.communication.BtMsg;
+import com.aidanas.russianroulette.communication.BtWriterThread;
+import com.aidanas.russianroulette.communication.ClockProbe;
+import com.aidanas.russianroulette.communication.PeerClock;
+import com.aidanas.russianroulette.communication.PeerLiveness;
+import com.aidanas.russianroulette.communication.Redialer;
+import com.aidanas.russianroulette.interfaces.Connection;
+import com.aidanas.russianroulette.interfaces.ConnectorFactory;
+import com.aidanas.russianroulette.interfaces.ConnectionReceiver;
+import com.aidanas.russianroulette.interfaces.GameObserver;
+import com.aidanas.russianroulette.interfaces.LinkReceiver;
+import com.aidanas.russianroulette.interfaces.MessageReceiver;
+import com.aidanas.russianroulette.interfaces.PeerLink;
+import com.aidanas.russianroulette.interfaces.RandomSource;
+import com.aidanas.russianroulette.interfaces.Scheduler;
+import com.aidanas.russianroulette.journal.Journal;
+import com.aidanas.russianroulette.logging.LogEvent;
+import com.aidanas.russianroulette.logging.Logger;
+import com.aidanas.russianroulette.metrics.Counter;
+import com.aidanas.russianroulette.metrics.Histogram;
+import com.aidanas.russianroulette.metrics.Metrics;
+import com.aidanas.russianroulette.scheduling.EventLoop;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.security.SecureRandom;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Created by: Aidanas
+ * Created on: 21/04/2016.
+ *
+ * Class to contain the Russian Roulette game logic.
+ *
+ * The server owns the game state. Every change to it goes out to the clients as a delta stamped
+ * with a sequence number; a client which notices a gap asks for a snapshot instead. The server
+ * keeps probing the round trip time and clock offset of every client, so that it can start a
+ * round by telling each of them when to pull the trigger in its own clock.
+ *
+ * Normally every device spins its own gun and announces its survival. Optionally the server
+ * resolves the whole round itself and announces all the outcomes in a single message, see
+ * setServerResolved().
+ *
+ * A dedicated server (see setDedicated()) hosts the game without playing it, i.e. a headless
+ * server on a JVM.
+ *
+ * Every connection opens with a join handshake. The server issues each new player a session
+ * token, which lets a client whose connection drops come back as the same player within a grace
+ * period: its new link is swapped in and it gets only the changes it missed, see resume().
+ *
+ * The server's clock probes double as heartbeats. Both ends close a connection the other end has
+ * been silent on for too long (see setHeartbeat()), rather than wait for a read on it to fail.
+ *
+ * Nothing here depends on Android. The game runs on a Scheduler and reports to a GameObserver,
+ * which the app backs with a Handler and a Messenger.
+ */
+public class Arbitrator implements ConnectionReceiver, LinkReceiver, MessageReceiver {
+
+    // Tag, mostly used for logging and debug output.
+    public static final String TAG = BtMasterThread.class.getSimpleName();
+    private static final Logger LOG = Logger.get(Logger.Subsystem.GAME, TAG);
+
+    // Events passed to the GameObserver to update UI elements.
+    public static final int MSG_UI_UPDATE_PLAYER_LIST = 40; // PlayerListDiff.
+    public static final int MSG_UI_ALL_READY = 41;
+    public static final int MSG_UI_ALIVE = 42;
+    public static final int MSG_UI_DEAD = 43;
+    public static final int MSG_UI_ROUND_CANCELLED = 44;
+
+    // How many bullets a gun CAN have?
+    private static final int GUN_CAPACITY = 6;
+
+    // Bullets in the cylinder. Usually 1 :)
+    private static final int BULLETS = 1;
+
+    // Defaults for the outbound queue of every connection.
+    public static final int DEFAULT_WRITE_QUEUE_CAPACITY = 128;
+    public static final BtWriterThread.OverflowPolicy DEFAULT_OVERFLOW_POLICY =
+            BtWriterThread.OverflowPolicy.DROP_OLDEST;
+
+    // Default milliseconds to wait before the trigger is pulled.
+    public static final long DEFAULT_THRILL_DELAY = 1000;
+
+    // Default milliseconds between heartbeats, i.e. clock probes of the clients.
+    public static final long DEFAULT_HEARTBEAT_INTERVAL = 1000;
+
+    // Default milliseconds of silence a peer's connection is closed after.
+    public static final long DEFAULT_HEARTBEAT_TIMEOUT = 5000;
+
+    // Heartbeats a peer can miss before it is suspect.
+    private static final int SUSPECT_AFTER_BEATS = 2;
+
+    // Round trip times of all the clock probes.
+    private static final Histogram RTT_NANOS = Metrics.histogram("net.rtt_ns");
+
+    // Time from this player's readyUp() to the gun being spun, i.e. waiting for the others.
+    private static final Histogram READY_TO_PLAY_NANOS = Metrics.histogram("game.ready_to_play_ns");
+
+    // Time a received message waits in the scheduler's queue.
+    private static final Histogram HANDLER_LATENCY_NANOS =
+            Metrics.histogram("game.handler_latency_ns");
+
+    // Peers turned away because the table was full, see setMaxPlayers().
+    private static final Counter PLAYERS_REJECTED = Metrics.counter("game.players_rejected");
+
+    // Connections closed as their peer had been silent for too long.
+    private static final Counter PEERS_TIMED_OUT = Metrics.counter("net.peers_timed_out");
+
+    // Default milliseconds a player whose connection dropped keeps its seat for.
+    public static final long DEFAULT_RESUME_GRACE = 10000;
+
+    // Milliseconds a client keeps redialling the server for after its connection drops.
+    public static final long REDIAL_DEADLINE = 10000;
+
+    // Changes of the game state kept to be replayed to resuming clients.
+    private static final int HISTORY_SIZE = 256;
+
+    // Time from a player's connection dropping to it resuming its session.
+    private static final Histogram RESUME_GAP_NANOS = Metrics.histogram("game.resume_gap_ns");
+
+    // Sessions resumed and the ones which had to start over with a snapshot.
+    private static final Counter SESSIONS_RESUMED = Metrics.counter("game.sessions_resumed");
+    private static final Counter RESUME_SNAPSHOTS = Metrics.counter("game.resume_snapshots");
+
+    // Flag to be set for the device acting as a server of the game.
+    private final boolean mIsServer;
+
+    /*
+     * Flag indicating that the current device is ready. Only accessed on the arbitrator's thread,
+     * so that a ready message from a peer can not see it set before readyUp() is processed.
+     */
+    private boolean mIsReady = false;
+
+    /*
+     * Milliseconds to wait before the trigger is pulled. Volatile as set from any thread. Only the
+     * server's counts, clients are told when to pull.
+     */
+    private volatile long mThrillDelay = DEFAULT_THRILL_DELAY;
+
+    /*
+     * System.nanoTime() of the readyUp() call for the coming round, 0 if this device has not
+     * readied up for it. Volatile as set from the caller's thread.
+     */
+    private volatile long mReadyUpAt;
+
+    // Outbound queue settings for connections made from now on. Guarded by 'this'.
+    private int mWriteQueueCapacity = DEFAULT_WRITE_QUEUE_CAPACITY;
+    private BtWriterThread.OverflowPolicy mOverflowPolicy = DEFAULT_OVERFLOW_POLICY;
+
+    // Server only: sequence number of the last change made to the game state.
+    private int mStateSeq = 0;
+
+    // Server only: state of this device's player as announced to the clients.
+    private Player.State mSelfState = Player.State.RESET;
+
+    // Client only: version of the game state applied so far.
+    private final StateSequence mSync = new StateSequence();
+
+    // Client only: address the server knows this device by. Comes with the first snapshot.
+    private String mSelfAddress;
+
+    // The gun, reloaded and spun every round. Arbitrator's thread only.
+    private Gun mGun = new Gun(GUN_CAPACITY);
+
+    // Set while the trigger pull scheduled by playGame() is pending. Arbitrator's thread only.
+    private boolean mRoundPending = false;
+
+    // Server only: resolve the rounds here. Volatile as set from any thread.
+    private volatile boolean mServerResolved = false;
+
+    // Server only: this device hosts the game without a player of its own. Volatile as set from
+    // any thread.
+    private volatile boolean mDedicated = false;
+
+    // Server only: most clients seated at once, more are turned away. Volatile as set from any
+    // thread.
+    private volatile int mMaxPlayers = Integer.MAX_VALUE;
+
+    // Server only: milliseconds a player whose connection dropped keeps its seat for. Volatile as
+    // set from any thread.
+    private volatile long mResumeGrace = DEFAULT_RESUME_GRACE;
+
+    // Milliseconds between heartbeats and of silence a peer is given up on after. Volatile as set
+    // from any thread.
+    private volatile long mHeartbeatInterval = DEFAULT_HEARTBEAT_INTERVAL;
+    private volatile long mHeartbeatTimeout = DEFAULT_HEARTBEAT_TIMEOUT;
+
+    // Liveness of the seated peers by address. Changed on the arbitrator's thread only, read from
+    // any.
+    private final Map<String, PeerLiveness> mLiveness = new ConcurrentHashMap<>();
+
+    /*
+     * Server only, changed on the arbitrator's thread only. Links are pending until their peer
+     * joins. Seated players are known by the address of the link they joined on, which their
+     * later links map to.
+     */
+    private final Map<String, PeerLink> mPendingLinks = new ConcurrentHashMap<>();
+    private final Map<String, Long> mPendingSince = new HashMap<>();
+    private final Map<String, String> mLinkAddresses = new HashMap<>();
+
+    // Server only, arbitrator's thread only: sessions by token and the other way around.
+    private final Map<Long, String> mSessions = new HashMap<>();
+    private final Map<String, Long> mSessionTokens = new HashMap<>();
+    private SecureRandom mTokenSource;
+
+    // Server only, arbitrator's thread only: seats of the players whose connection dropped.
+    private final Map<String, Eviction> mEvictions = new HashMap<>();
+
+    // Server only, arbitrator's thread only: latest changes of the game state, oldest first.
+    private final ArrayDeque<Change> mHistory = new ArrayDeque<>(HISTORY_SIZE);
+
+    // Client only: token of the session, NO_TOKEN until the server has issued one.
+    private long mSessionToken = Session.NO_TOKEN;
+
+    // Client only: makes a connection to the server again, null to give up once it drops.
+    // Volatile as set from any thread.
+    private volatile ConnectorFactory mReconnect;
+
+    // Client only: redialling the server, null if not. Guarded by 'this'.
+    private Redialer mRedialer;
+
+    // Set once shut down, nothing is to be redialled after. Guarded by 'this'.
+    private boolean mShutdown = false;
+
+    /*
+     * Round in progress is resolved by the server. Its outcome is applied to the game state as
+     * soon as it is known but only revealed when the trigger is pulled. Arbitrator's thread only.
+     */
+    private boolean mResolvedRound = false;
+    private RoundResult mResult;
+
+    // Client only: the trigger was pulled before the outcome arrived. Arbitrator's thread only.
+    private boolean mRevealDue = false;
+
+    // The trigger pull, the same object every round.
+    private final Runnable mTrigger = new Runnable() {
+        @Override
+        public void run() {
+            mRoundPending = false;
+
+            // The server has decided already, it is only to be revealed.
+            if (mResolvedRound){
+                if (mResult != null){
+                    revealResult();
+                } else {
+                    mRevealDue = true;
+                }
+                return;
+            }
+
+            // The moment of truth.
+            boolean dead = mGun.pullTheTrigger();
+            Logger.event(LogEvent.TRIGGER_PULLED, dead ? 1 : 0, 0);
+            if (dead){
+                dead();
+            } else {
+                alive();
+            }
+        }
+    };
+
+    /*
+     * Heartbeat, started with the first peer. The server probes the clocks of the clients, which
+     * is what keeps them hearing from it, and every end checks on the liveness of its peers. One
+     * task for all the peers.
+     */
+    private boolean mHeartbeating = false;
+    private final Runnable mHeartbeat = new Runnable() {
+        @Override
+        public void run() {
+            if (mIsServer){
+                broadcast(new BtMsg(BtMsg.STC_PING, new ClockProbe(System.nanoTime())),
+                        Collections.<String>emptySet());
+            }
+            checkLiveness();
+            mScheduler.postDelayed(this, mHeartbeatInterval);
+        }
+    };
+
+    // Master player and is socket (remains null if this device is the master).
+    private Player mMasterPlayer;
+
+    // To communicate with activity.
+    private final GameObserver mObserver;
+
+    // Links to the peers, by address. Only server would contains more than one item in it. Changed
+    // on the arbitrator's thread only, read from any.
+    private final Map<String, PeerLink> mLinks = new ConcurrentHashMap<>();
+
+    // Players currently in the game.
+    private final PlayerRegistry mPlayers = new PlayerRegistry();
+
+    // Player list as last passed to the UI. Arbitrator's thread only.
+    private PlayerListSnapshot mShownPlayers = PlayerListSnapshot.EMPTY;
+
+    // Runs everything touching the game state, one task at a time.
+    private final Scheduler mScheduler;
+
+    /**
+     * Constructor for an arbitrator with a thread of its own.
+     * @param isServer - Is the device running as the server of the game?
+     * @param observer - Gets the UI events of the game, see MSG_UI_*.
+     */
+    public Arbitrator(boolean isServer, GameObserver observer){
+        this(isServer, observer, EventLoop.startDedicated("Arbitrators' Thread"));
+    }
+
+    /**
+     * Constructor for an arbitrator which runs on the given scheduler, i.e. on a looper shared
+     * with other games (see services.LooperPool). The game state is only ever touched by the
+     * scheduler's tasks.
+     * @param isServer - Is the device running as the server of the game?
+     * @param observer - Gets the UI events of the game, see MSG_UI_*.
+     * @param scheduler - Scheduler to run on. Shut down along with the arbitrator.
+     */
+    public Arbitrator(boolean isServer, GameObserver observer, Scheduler scheduler){
+        mIsServer = isServer;
+        mObserver = observer;
+        mScheduler = scheduler;
+    }
+
+    /**
+     * Method to stop the arbitrator. Closes all connections and shuts the scheduler down, dropping
+     * everything still queued. The object can not be used afterwards.
+     */
+    public synchronized void shutdown() {
+        if (LOG.isVerbose()) LOG.v("In shutdown(), Thread = " + Thread.currentThread().getName());
+
+        mShutdown = true;
+        if (mRedialer != null){
+            mRedialer.cancel();
+        }
+        for (PeerLink t : mLinks.values()) {
+            t.cancel();
+        }
+        for (PeerLink t : mPendingLinks.values()) {
+            t.cancel();
+        }
+        mScheduler.shutdown();
+    }
+
+    /**
+     * Method to change the delay between all players being ready and the trigger being pulled.
+     * Takes effect from the next round. Has no effect on clients, the server decides.
+     * @param millis - Delay in milliseconds, 0 for none.
+     */
+    public void setThrillDelay(long millis) {
+        if (millis < 0){
+            throw new IllegalArgumentException("Thrill delay can not be negative");
+        }
+        mThrillDelay = millis;
+    }
+
+    /**
+     * Method to make the server resolve the rounds: it spins the gun for every player and
+     * announces all the outcomes in one message, rather than every device spinning its own and
+     * every survivor's announcement being relayed to everyone. Takes effect from the next round.
+     * Has no effect on clients, the server tells them how each round is played.
+     * @param resolved - True to resolve the rounds on the server.
+     */
+    public void setServerResolved(boolean resolved) {
+        mServerResolved = resolved;
+    }
+
+    /**
+     * Method to make the server host the game without taking part in it: the rounds start once
+     * every client is ready and the server resolves them (see setServerResolved()), leaving its
+     * own player alive. Takes effect from the next round. Has no effect on clients.
+     * @param dedicated - True to host without playing.
+     */
+    public void setDedicated(boolean dedicated) {
+        mDedicated = dedicated;
+    }
+
+    /**
+     * Method to limit the number of clients seated at once. New clients joining a full table are
+     * disconnected straight away, the ones resuming their session keep their seat. Has no effect
+     * on clients.
+     * @param maxPlayers - Most clients seated at once.
+     */
+    public void setMaxPlayers(int maxPlayers) {
+        if (maxPlayers < 1){
+            throw new IllegalArgumentException("A table seats at least one player");
+        }
+        mMaxPlayers = maxPlayers;
+    }
+
+    /**
+     * Method to change how long a player whose connection dropped keeps its seat for, waiting for
+     * it to resume its session. Takes effect for the connections dropping from now on. Has no
+     * effect on clients.
+     * @param millis - Grace period in milliseconds, 0 for the player to leave straight away.
+     */
+    public void setResumeGrace(long millis) {
+        if (millis < 0){
+            throw new IllegalArgumentException("Resume grace can not be negative");
+        }
+        mResumeGrace = millis;
+    }
+
+    /**
+     * Method to change how often the peers are checked on and how long a silent peer is waited
+     * for before its connection is closed. The server pings the clients every interval, so both
+     * ends should use the same settings. Takes effect from the next heartbeat.
+     * @param intervalMillis - Milliseconds between heartbeats.
+     * @param timeoutMillis - Milliseconds of silence a peer is given up on after. Must be longer
+     *                      than a few intervals, or a peer merely slow to answer is given up on.
+     */
+    public void setHeartbeat(long intervalMillis, long timeoutMillis) {
+        if (intervalMillis <= 0 || timeoutMillis <= intervalMillis){
+            throw new IllegalArgumentException("Heartbeat timeout must be longer than its " +
+                    "interval, which must be positive");
+        }
+        mHeartbeatInterval = intervalMillis;
+        mHeartbeatTimeout = timeoutMillis;
+    }
+
+    /**
+     * Method to make a client reconnect to the server whenever its connection drops, resuming its
+     * session. It redials for REDIAL_DEADLINE at most. Has no effect on the server.
+     * @param factory - Makes a connector to the server for every attempt, null for no reconnect.
+     */
+    public void setReconnect(ConnectorFactory factory) {
+        mReconnect = factory;
+    }
+
+    /**
+     * Method to change where the randomness of the game comes from, i.e. a SeededRandomSource to
+     * replay a game. Takes effect from the next round.
+     * @param random - Source of the randomness.
+     */
+    public void setRandomSource(final RandomSource random) {
+        mScheduler.post(new Runnable() {
+            @Override
+            public void run() {
+                mGun = new Gun(GUN_CAPACITY, random);
+            }
+        });
+    }
+
+    /**
+     * Method to size the outbound queue for a lobby. Everyone joining at once puts an announcement
+     * per player in every queue, on top of the usual traffic, which the default does not allow
+     * for beyond a few dozen players.
+     * @param players - Number of players expected.
+     * @return - Capacity of the outbound queue of every connection.
+     */
+    public static int writeQueueCapacityFor(int players) {
+        return Math.max(DEFAULT_WRITE_QUEUE_CAPACITY, 4 * players);
+    }
+
+    /**
+     * Method to configure the outbound queue of connections made from now on.
+     * @param capacity - Maximum number of frames waiting to be written to a single peer.
+     * @param policy - What to do when a peer falls that many frames behind.
+     */
+    public synchronized void setWriteQueue(int capacity, BtWriterThread.OverflowPolicy policy) {
+        mWriteQueueCapacity = capacity;
+        mOverflowPolicy = policy;
+    }
+
+    /**
+     * Method to obtain the number of frames waiting to be written to every connected peer.
+     * Can be called from any thread.
+     * @return - Map of peer address to its write queue depth.
+     */
+    public synchronized Map<String, Integer> getWriteQueueDepths() {
+        Map<String, Integer> depths = new HashMap<>();
+        for (Map.Entry<String, PeerLink> e : mLinks.entrySet()) {
+            depths.put(e.getKey(), e.getValue().getWriteQueueDepth());
+        }
+        return depths;
+    }
+
+    /**
+     * Method to obtain the best recent round trip time to every connected peer. Server only, as
+     * the server is the one probing. Can be called from any thread.
+     * @return - Map of peer address to its round trip time in nanoseconds. Peers not measured yet
+     * are left out.
+     */
+    public Map<String, Long> getPeerRtts() {
+        Map<String, Long> rtts = new HashMap<>();
+        for (Map.Entry<String, PeerLink> e : mLinks.entrySet()) {
+            PeerClock clock = e.getValue().getClock();
+            if (clock.hasEstimate()){
+                rtts.put(e.getKey(), clock.getRtt());
+            }
+        }
+        return rtts;
+    }
+
+    /**
+     * Method to obtain the number of messages waiting to be processed on the arbitrator's thread.
+     * Can be called from any thread.
+     * @return - Current depth of the scheduler queue.
+     */
+    public int getQueueDepth() {
+        return mScheduler.getQueueDepth();
+    }
+
+    /**
+     * Method to obtain the number of players in the game, not counting this device. Can be called
+     * from any thread.
+     * @return - Number of players.
+     */
+    public int getPlayerCount() {
+        return mPlayers.size();
+    }
+
+    /**
+     * Method to obtain the number of peers connected but not joined yet. Server only, can be
+     * called from any thread.
+     * @return - Number of pending links.
+     */
+    public int getPendingCount() {
+        return mPendingLinks.size();
+    }
+
+    /**
+     * Method to obtain the liveness of every connected peer. Can be called from any thread.
+     * @return - Map of peer address to its liveness.
+     */
+    public Map<String, PeerLiveness.State> getPeerLiveness() {
+        Map<String, PeerLiveness.State> liveness = new HashMap<>();
+        for (Map.Entry<String, PeerLiveness> e : mLiveness.entrySet()) {
+            liveness.put(e.getKey(), e.getValue().getState());
+        }
+        return liveness;
+    }
+
+    /**
+     * Method to print the state of the game: players, scheduler queue and every connection's
+     * traffic. Can be called from any thread.
+     * @param pw - Destination.
+     */
+    public void dump(PrintWriter pw) {
+        pw.println("Arbitrator: " + (mIsServer ? "server" : "client") + ", players = " +
+                mPlayers.size() + ", scheduler queue = " + getQueueDepth());
+        for (Map.Entry<String, PeerLink> e : mLinks.entrySet()) {
+            PeerLink t = e.getValue();
+            pw.println("  Peer " + e.getKey() + ": in = " + t.getBytesIn() + "B, out = " +
+                    t.getBytesOut() + "B, write queue = " + t.getWriteQueueDepth() +
+                    ", dropped = " + t.getDroppedCount());
+            PeerLiveness liveness = mLiveness.get(e.getKey());
+            if (liveness != null){
+                pw.println("    liveness = " + liveness.getState() + ", silent for " +
+                        liveness.getSilence(System.nanoTime()) / 1000000 + "ms");
+            }
+            pw.println("    write latency: " + t.getWriteLatency().summaryMicros());
+            PeerClock clock = t.getClock();
+            if (clock.hasEstimate()){
+                pw.println("    rtt = " + clock.getRtt() / 1000 + "us, offset = " +
+                        clock.getOffset() / 1000 + "us, samples: " +
+                        clock.getRttHistogram().summaryMicros());
+            }
+        }
+    }
+
+    /**
+     * Method to mark current device as ready. It makes sure the processing get done on a separate
+     * from UI thread.
+     */
+    public void readyUp() {
+        if (LOG.isVerbose()) LOG.v("In readyUp(), Thread = " + Thread.currentThread().getName());
+
+        mReadyUpAt = System.nanoTime();
+
+        // Release the calling thread by delegating further processing to the arbitrator's thread.
+        mScheduler.post(new Runnable() {
+            @Override
+            public void run() {
+                if (LOG.isVerbose()) LOG.v("[ANON] In run(), Thread = " +
+                        Thread.currentThread().getName());
+
+                // Mrk this player as 'ready'.
+                mIsReady = true;
+
+                // Send the ready bluetooth message to all devices in the game.
+                if (mIsServer){
+                    setSelfState(Player.State.READY);
+                    sendToClients(BtMsg.STC_SERVER_READY, null);
+                } else {
+                    sendToMaster(BtMsg.CTS_CLIENT_READY, null);
+                }
+
+                // Is it time to spin the gun yet? The server decides.
+                if (mIsServer && allReady()){
+                    startRound();
+                }
+            }
+        });
+    }
+
+    /**
+     * Method to mark current device as reset. It makes sure the processing get done on a separate
+     * from UI thread.
+     */
+    public void reset() {
+        if (LOG.isVerbose()) LOG.v("In reset(), Thread = " + Thread.currentThread().getName());
+
+        mReadyUpAt = 0;
+
+        // Release the calling thread by delegating further processing to the arbitrator's thread.
+        mScheduler.post(new Runnable() {
+            @Override
+            public void run() {
+                if (LOG.isVerbose()) LOG.v("[ANON] In run(), Thread = " +
+                        Thread.currentThread().getName());
+
+                // Mrk this player as not 'ready'.
+                mIsReady = false;
+
+                // Send the player reset bluetooth message to all devices in the game.
+                if (mIsServer){
+                    setSelfState(Player.State.RESET);
+                    sendToClients(BtMsg.STC_SERVER_RESET, null);
+                } else {
+                    sendToMaster(BtMsg.CTS_CLIENT_RESET, null);
+                }
+            }
+        });
+    }
+
+    /**
+     * Utility method to check if all players are in the 'ready' state.
+     * @return - True if all players are ready, false otherwise.
+     */
+    private boolean allReady() {
+        if (LOG.isVerbose()) LOG.v("In allReady(), Thread = " +
+                Thread.currentThread().getName());
+
+        /*
+         * Return false if any of the players are not ready yet. The dead play no more, nor do the
+         * ones whose connection is down: waiting for them could take as long as the grace period.
+         */
+        boolean anyReady = false;
+        for (Player p: mPlayers.snapshot()) {
+            if (isDetached(p.getAddress())){
+                continue;
+            }
+            if (p.isReady()){
+                anyReady = true;
+            } else if (p.getState() != Player.State.DEAD){
+                return false;
+            }
+        }
+
+        // A dedicated server does not play, someone else has to.
+        if (mIsServer && mDedicated){
+            return anyReady;
+        }
+
+        // True if all and this player are ready.
+        return mIsReady;
+    }
+
+    /**
+     * Method to start a round once everyone is ready. Server only. Picks the instant the trigger
+     * is pulled on all devices and tells every client when it is in the client's clock. The
+     * instant is far enough for the message to reach the slowest client in time.
+     */
+    private void startRound() {
+        if (LOG.isVerbose()) LOG.v("In startRound(), Thread = " + Thread.currentThread().getName());
+
+        if (mRoundPending){
+            return;
+        }
+
+        // A whole round trip leaves twice the one way delay for the message to arrive.
+        long lead = mThrillDelay * 1000000L;
+        for (PeerLink t : mLinks.values()) {
+            lead = Math.max(lead, t.getClock().getRtt());
+        }
+        long triggerAt = System.nanoTime() + lead;
+
+        // Every client gets the instant in its own clock, so this one can not be a broadcast.
+        boolean resolved = mServerResolved || mDedicated;
+        for (Map.Entry<String, PeerLink> e : mLinks.entrySet()) {
+            Player p = mPlayers.get(e.getKey());
+            if (p == null || !p.isReady()){
+                continue;
+            }
+            PeerClock clock = e.getValue().getClock();
+            boolean synced = clock.hasEstimate();
+            send(e.getValue(), new BtMsg(BtMsg.STC_ROUND_START, new RoundStart(synced,
+                    synced ? clock.toPeerTime(triggerAt) : 0, lead, resolved)));
+        }
+
+        // Everyone's fate in one message, ahead of the trigger time.
+        if (resolved){
+            mResult = resolveRound();
+            sendToClients(BtMsg.STC_ROUND_RESULT, mResult);
+        }
+        playGame(triggerAt, resolved);
+    }
+
+    /**
+     * Method to decide the outcome of the round for every player who is ready and connected, this
+     * device's included unless it is dedicated. Server only. The outcome is applied to the game
+     * state straight away.
+     * @return - Outcome of the round.
+     */
+    private RoundResult resolveRound() {
+        List<String> alive = new ArrayList<>();
+        List<String> dead = new ArrayList<>();
+        for (Player p : mPlayers.snapshot()) {
+            if (p.isReady() && !isDetached(p.getAddress())){
+                (spinAndPull() ? dead : alive).add(p.getAddress());
+            }
+        }
+        RoundResult result = new RoundResult(!mDedicated && spinAndPull(), alive, dead);
+        applyResult(result);
+        Logger.event(LogEvent.ROUND_RESOLVED, result.size(),
+                dead.size() + (result.isMasterDead() ? 1 : 0));
+        return result;
+    }
+
+    /**
+     * Utility method to play a round with the gun.
+     * @return - True if the shot was live.
+     */
+    private boolean spinAndPull() {
+        mGun.loadBullets(BULLETS);
+        mGun.spinCylinder();
+        return mGun.pullTheTrigger();
+    }
+
+    /**
+     * Method to apply the outcome of a round to the game state, without telling the UI.
+     * @param result - Outcome decided by the server.
+     */
+    private void applyResult(RoundResult result) {
+        /*
+         * A dedicated server sits the rounds out, so its player is left as it is. Clients can tell
+         * by it not being ready.
+         */
+        Player.State masterState = result.isMasterDead() ? Player.State.DEAD : Player.State.ALIVE;
+        if (mIsServer){
+            if (!mDedicated){
+                setSelfState(masterState);
+            }
+        } else if (mMasterPlayer.isReady()){
+            if (masterState == Player.State.DEAD){
+                mMasterPlayer.setDead();
+            } else {
+                mMasterPlayer.setAlive();
+            }
+        }
+
+        // Clients do not keep a player for themselves.
+        for (String mac : result.getAlive()) {
+            Player p = mPlayers.get(mac);
+            if (p != null){
+                p.setAlive();
+            }
+        }
+        for (String mac : result.getDead()) {
+            Player p = mPlayers.get(mac);
+            if (p != null){
+                p.setDead();
+            }
+        }
+    }
+
+    /**
+     * Method to show the outcome of a round resolved by the server, once the trigger is pulled.
+     */
+    private void revealResult() {
+        if (LOG.isVerbose()) LOG.v("In revealResult(), Thread = " +
+                Thread.currentThread().getName());
+
+        boolean dead = mIsServer ? mResult.isMasterDead() : mResult.isDead(mSelfAddress);
+        mResult = null;
+        mResolvedRound = false;
+        mRevealDue = false;
+
+        Logger.event(LogEvent.TRIGGER_PULLED, dead ? 1 : 0, 0);
+        updateUiPlayerList();
+        postToUi(dead ? MSG_UI_DEAD : MSG_UI_ALIVE, null);
+    }
+
+    /**
+     * This method contains the logic of a russian roulette game.
+     * All devices must be in 'ready' mode before calling this method! The trigger is pulled at
+     * the given instant, meanwhile the arbitrator's thread keeps processing other messages.
+     * @param triggerAt - System.nanoTime() at which to pull the trigger.
+     * @param resolved - Is the outcome decided by the server rather than this device's gun?
+     */
+    private void playGame(long triggerAt, boolean resolved) {
+        if (LOG.isVerbose()) LOG.v("In playGame(), Thread = " + Thread.currentThread().getName());
+
+        // Only one round at a time.
+        if (mRoundPending){
+            return;
+        }
+
+        // Change title of the activity to "Playing...".
+        postToUi(MSG_UI_ALL_READY, null);
+
+        mResolvedRound = resolved;
+        if (!resolved){
+            mGun.loadBullets(BULLETS);
+            mGun.spinCylinder();
+        }
+        long delay = Math.max(0, triggerAt - System.nanoTime()) / 1000000L;
+        Logger.event(LogEvent.ROUND_STARTED, mPlayers.size(), delay);
+
+        // Only if this device readied up for this very round, i.e. not on a dedicated server.
+        long readyUpAt = mReadyUpAt;
+        if (readyUpAt != 0){
+            READY_TO_PLAY_NANOS.record(System.nanoTime() - readyUpAt);
+            mReadyUpAt = 0;
+        }
+
+        mRoundPending = true;
+        mScheduler.postDelayed(mTrigger, delay);
+    }
+
+    /**
+     * Method to abandon the round in progress, if any, before the trigger is pulled. The player
+     * is no longer ready and has to ready up again. The server calls the round off for everyone:
+     * all the players ready are reset and the clients are told to abandon the round too.
+     */
+    private void cancelRound() {
+        if (LOG.isVerbose()) LOG.v("In cancelRound(), pending = " + mRoundPending);
+
+        // Once the server has announced the outcome it stands, whoever leaves.
+        if (!(mRoundPending || mRevealDue) || (mIsServer && mResolvedRound)){
+            return;
+        }
+        if (mIsServer){
+            resetReadyPlayers();
+            setSelfState(Player.State.RESET);
+            sendToClients(BtMsg.STC_ROUND_CANCELLED, null);
+        }
+        mScheduler.cancel(mTrigger);
+        mRoundPending = false;
+        mRevealDue = false;
+        mResolvedRound = false;
+        mResult = null;
+        mIsReady = false;
+        mReadyUpAt = 0;
+        Logger.event(LogEvent.ROUND_CANCELLED, mPlayers.size(), 0);
+        postToUi(MSG_UI_ROUND_CANCELLED, null);
+    }
+
+    /**
+     * Method to reset every player who is ready, i.e. the ones taking part in a round which has
+     * been called off.
+     */
+    private void resetReadyPlayers() {
+        boolean changed = false;
+        for (Player p : mPlayers.snapshot()) {
+            if (p.isReady()){
+                p.cancelReady();
+                changed = true;
+            }
+        }
+        if (changed){
+            updateUiPlayerList();
+        }
+    }
+
+    /**
+     * Method gets called if the player lost the game.
+     */
+    private void dead() {
+        if (LOG.isVerbose()) LOG.v("In dead(), Thread = " + Thread.currentThread().getName());
+
+        postToUi(MSG_UI_DEAD, null);
+    }
+
+    /**
+     * Method gets called if this player remained alive after a round of the game.
+     */
+    private void alive() {
+        if (LOG.isVerbose()) LOG.v("In alive(), Thread = " + Thread.currentThread().getName());
+
+        postToUi(MSG_UI_ALIVE, null);
+
+        // Inform others about the outcome of your game.
+        if (mIsServer){
+            notifyClientsServerAlive();
+        } else {
+            notifyServerClientAlive();
+        }
+    }
+
+    /**
+     * Method to process a newly come device.
+     * @param link - Link to the new device.
+     */
+    private void newPlayer(PeerLink link) {
+        if (LOG.isVerbose()) LOG.v("In newPlayer(), link = " + link.getPeerId());
+
+        // If running as the host then update UI and inform other clients.
+        if (mIsServer){
+            Player p = makePlayerFromLink(link);
+            mPlayers.add(p);
+            updateUiPlayerList();
+            notifyClientsNewPlayer(p);
+            Logger.event(LogEvent.PLAYER_JOINED, mPlayers.size(), mStateSeq);
+            sendSnapshot(p.getAddress());
+
+            // Measure the newcomer's clock right away, the rest get probed periodically.
+            send(mLinks.get(p.getAddress()),
+                    new BtMsg(BtMsg.STC_PING, new ClockProbe(System.nanoTime())));
+            startHeartbeat();
+        }
+    }
+
+    /**
+     * Method to seat the peer of a pending link as it joins the game. Server only. A peer with a
+     * session of a player still seated resumes it, any other is a new player.
+     * @param link - Link the peer joined on.
+     * @param session - Session the peer presents.
+     */
+    private void join(PeerLink link, Session session) {
+        if (LOG.isVerbose()) LOG.v("In join(), link = " + link.getPeerId() + ", lastSeq = " +
+                session.getLastSeq());
+
+        String address = mSessions.get(session.getToken());
+        if (address != null){
+            resume(link, address, session.getLastSeq());
+            return;
+        }
+
+        if (mPlayers.size() >= mMaxPlayers){
+            LOG.d("Table full, turning away " + link.getPeerId());
+            PLAYERS_REJECTED.increment();
+            link.cancel();
+            return;
+        }
+
+        // The player is known by the address of the link it joined on for as long as it stays.
+        // A seat still held under it is the same device's, starting over.
+        address = link.getPeerId();
+        if (mPlayers.contains(address)){
+            playerLeft(address);
+        }
+        long token = newToken();
+        mSessions.put(token, address);
+        mSessionTokens.put(address, token);
+        mLinks.put(address, link);
+        mLinkAddresses.put(address, address);
+        mLiveness.put(address, new PeerLiveness(System.nanoTime()));
+
+        // Ahead of the snapshot, so that the client knows a new session starts.
+        send(link, new BtMsg(BtMsg.STC_WELCOME,
+                new Session(token, mStateSeq, Player.State.RESET)));
+        newPlayer(link);
+    }
+
+    /**
+     * Method to give a player whose connection dropped its seat back. Server only. The new link
+     * takes the place of the old one and the client gets the changes made since the last one it
+     * applied, or a snapshot if they are no longer kept.
+     * @param link - New link to the player.
+     * @param address - Address of the player.
+     * @param lastSeq - Sequence number of the last change the client applied or Session.NO_SEQ.
+     */
+    private void resume(PeerLink link, String address, int lastSeq) {
+        if (LOG.isVerbose()) LOG.v("In resume(), address = " + address + ", link = " +
+                link.getPeerId() + ", lastSeq = " + lastSeq);
+
+        // Might still be up, i.e. the client noticed the drop before the server did.
+        PeerLink old = mLinks.put(address, link);
+        if (old != null){
+            mLinkAddresses.remove(old.getPeerId());
+            old.cancel();
+        }
+        mLinkAddresses.put(link.getPeerId(), address);
+        mLiveness.put(address, new PeerLiveness(System.nanoTime()));
+
+        Eviction eviction = mEvictions.remove(address);
+        if (eviction != null){
+            mScheduler.cancel(eviction);
+            RESUME_GAP_NANOS.record(System.nanoTime() - eviction.detachedAt);
+        }
+
+        Player p = mPlayers.get(address);
+        send(link, new BtMsg(BtMsg.STC_WELCOME,
+                new Session(mSessionTokens.get(address), mStateSeq, p.getState())));
+        int replayed = catchUp(link, address, lastSeq);
+        SESSIONS_RESUMED.increment();
+        Logger.event(LogEvent.SESSION_RESUMED, replayed, lastSeq);
+
+        send(link, new BtMsg(BtMsg.STC_PING, new ClockProbe(System.nanoTime())));
+    }
+
+    /**
+     * Method to send a resuming client the changes of the game state made since the last one it
+     * applied. Sends a snapshot instead if some of them are no longer kept. Server only.
+     * @param link - Link to the client.
+     * @param address - Address of the client.
+     * @param lastSeq - Sequence number of the last change the client applied or Session.NO_SEQ.
+     * @return - Number of changes replayed, -1 if a snapshot was sent.
+     */
+    private int catchUp(PeerLink link, String address, int lastSeq) {
+        Change oldest = mHistory.peekFirst();
+        boolean kept = lastSeq == mStateSeq ||
+                (oldest != null && oldest.seq - lastSeq <= 1 && mStateSeq - lastSeq > 0);
+        if (lastSeq == Session.NO_SEQ || !kept){
+            RESUME_SNAPSHOTS.increment();
+            sendSnapshot(address);
+            return -1;
+        }
+
+        // The ones which left the client out leave a gap, which it fills with a snapshot request.
+        int replayed = 0;
+        for (Change change : mHistory) {
+            if (change.seq - lastSeq > 0 && !change.excluded.contains(address)){
+                Journal.sent(link.getPeerId(), change.frame);
+                link.write(change.frame);
+                replayed++;
+            }
+        }
+        return replayed;
+    }
+
+    /**
+     * Method to process the connection to a player dropping. Server only. The player keeps its
+     * seat for the resume grace period, it leaves if it does not come back by then.
+     * @param address - Address of the player.
+     */
+    private void detach(String address) {
+        if (LOG.isVerbose()) LOG.v("In detach(), address = " + address);
+
+        mLinks.remove(address);
+        mLiveness.remove(address);
+        if (mResumeGrace == 0 || !mPlayers.contains(address)){
+            playerLeft(address);
+            return;
+        }
+        Eviction eviction = new Eviction(address);
+        mEvictions.put(address, eviction);
+        mScheduler.postDelayed(eviction, mResumeGrace);
+        Logger.event(LogEvent.PLAYER_DETACHED, mPlayers.size(), mStateSeq);
+    }
+
+    /**
+     * Method to start the heartbeat unless it runs already.
+     */
+    private void startHeartbeat() {
+        if (!mHeartbeating){
+            mHeartbeating = true;
+            mScheduler.postDelayed(mHeartbeat, mHeartbeatInterval);
+        }
+    }
+
+    /**
+     * Method to record a message received from a peer as a sign of its liveness.
+     * @param address - Address of the peer.
+     * @param receivedAt - System.nanoTime() of receiving the message, 0 if not known.
+     */
+    private void heardFrom(String address, long receivedAt) {
+        PeerLiveness liveness = mLiveness.get(address);
+        if (liveness != null){
+            liveness.heard(receivedAt != 0 ? receivedAt : System.nanoTime());
+        }
+    }
+
+    /**
+     * Method to check on the liveness of every peer, closing the connections of the ones silent
+     * for too long. What follows is the same as for any dropped connection: the server keeps the
+     * player's seat for the resume grace period, a client redials. Links which have not joined
+     * within the timeout are closed too.
+     */
+    private void checkLiveness() {
+        long now = System.nanoTime();
+        long timeout = mHeartbeatTimeout * 1000000L;
+        long suspectAfter = Math.min(SUSPECT_AFTER_BEATS * mHeartbeatInterval * 1000000L, timeout);
+
+        for (Map.Entry<String, PeerLiveness> e : mLiveness.entrySet()) {
+            PeerLiveness liveness = e.getValue();
+            PeerLiveness.State before = liveness.getState();
+            PeerLiveness.State state = liveness.check(now, suspectAfter, timeout);
+            if (state == before){
+                continue;
+            }
+
+            long silence = liveness.getSilence(now) / 1000000L;
+            if (state == PeerLiveness.State.SUSPECT){
+                LOG.d("No word from " + e.getKey() + " for " + silence + "ms");
+                continue;
+            }
+            LOG.i("No word from " + e.getKey() + " for " + silence + "ms, disconnecting");
+            PEERS_TIMED_OUT.increment();
+            Logger.event(LogEvent.PEER_TIMED_OUT, silence, mStateSeq);
+            PeerLink link = mLinks.get(e.getKey());
+            if (link != null){
+                link.cancel();
+            }
+        }
+
+        for (Map.Entry<String, Long> e : mPendingSince.entrySet()) {
+            PeerLink link = mPendingLinks.get(e.getKey());
+            if (link != null && now - e.getValue() > timeout){
+                // Leaves the map with its PEER_DISCONNECTED.
+                link.cancel();
+            }
+        }
+    }
+
+    /**
+     * Utility method to tell if a player's connection is down. Server only.
+     * @param address - Address of the player.
+     * @return - True if the player is waiting to resume its session.
+     */
+    private boolean isDetached(String address) {
+        return mEvictions.containsKey(address);
+    }
+
+    /**
+     * Utility method to issue a session token. Unguessable, so that no one can take over someone
+     * else's seat.
+     * @return - New token, never Session.NO_TOKEN.
+     */
+    private long newToken() {
+        if (mTokenSource == null){
+            mTokenSource = new SecureRandom();
+        }
+        long token;
+        do {
+            token = mTokenSource.nextLong();
+        } while (token == Session.NO_TOKEN || mSessions.containsKey(token));
+        return token;
+    }
+
+    /**
+     * Method to tell which player a message came from. Server only. Messages arrive stamped with
+     * the address of the link they came on, which is the player's only if it has not resumed. A
+     * pending link's join or lobby query is processed here, anything else it sends is dropped.
+     * @param btMsg - Message received. Its srcMAC is replaced by the address of the player.
+     * @return - True if the message came from a seated player and is to be processed.
+     */
+    private boolean resolveSender(BtMsg btMsg) {
+        String peerId = btMsg.srcMAC;
+
+        // Only a server sends these, whatever a peer means by sending one it is not to be acted on.
+        if (BtMsg.isServerToClient(btMsg.type)){
+            LOG.w("Dropped message of type " + btMsg.type + " from client " + peerId);
+            return false;
+        }
+
+        if (btMsg.type == BtMsg.CTS_JOIN){
+            PeerLink link = mPendingLinks.remove(peerId);
+            mPendingSince.remove(peerId);
+            if (link != null){
+                join(link, (Session) btMsg.payload);
+            }
+            return false;
+        }
+
+        // Someone deciding whether to join. The link stays pending until the peer hangs up.
+        if (btMsg.type == BtMsg.CTS_LOBBY_QUERY){
+            PeerLink link = mPendingLinks.get(peerId);
+            if (link != null){
+                send(link, new BtMsg(BtMsg.STC_LOBBY_INFO, new LobbyInfo(mPlayers.size(),
+                        mRoundPending ? LobbyInfo.Phase.PLAYING : LobbyInfo.Phase.LOBBY)));
+            }
+            return false;
+        }
+
+        if (btMsg.type == BtMsg.PEER_DISCONNECTED){
+            // A link which has been replaced is of no concern, the player is on another one.
+            PeerLink gone = (PeerLink) btMsg.payload;
+            if (mPendingLinks.get(peerId) == gone){
+                mPendingLinks.remove(peerId);
+                mPendingSince.remove(peerId);
+                return false;
+            }
+            String address = mLinkAddresses.get(peerId);
+            if (address == null || mLinks.get(address) != gone){
+                return false;
+            }
+            mLinkAddresses.remove(peerId);
+            btMsg.srcMAC = address;
+            return true;
+        }
+
+        // Whatever a peer which has not joined sends is of no concern.
+        String address = mLinkAddresses.get(peerId);
+        if (address == null){
+            return false;
+        }
+        btMsg.srcMAC = address;
+        return true;
+    }
+
+    /**
+     * Method to process the server's answer to joining. Client only. A token other than the one
+     * presented means a new session, numbering the changes afresh: the snapshot following it is
+     * taken whatever its sequence number.
+     * @param session - Session as the server has it.
+     */
+    private void onWelcome(Session session) {
+        if (LOG.isVerbose()) LOG.v("In onWelcome(), session = " + session);
+
+        boolean resumed = session.getToken() == mSessionToken;
+        if (!resumed){
+            mSessionToken = session.getToken();
+            mSync.reset();
+            return;
+        }
+        Logger.event(LogEvent.SESSION_RESUMED, 0, mSync.getLast());
+
+        // Readying up while the connection was down never reached the server.
+        if (mIsReady && session.getState() == Player.State.RESET){
+            sendToMaster(BtMsg.CTS_CLIENT_READY, null);
+        }
+    }
+
+    /**
+     * Method to start reconnecting to the server, if a way to is set and a session to resume
+     * exists. Client only.
+     */
+    private synchronized void redial() {
+        ConnectorFactory factory = mReconnect;
+        if (factory == null || mSessionToken == Session.NO_TOKEN || mShutdown){
+            return;
+        }
+        if (mRedialer != null){
+            mRedialer.cancel();
+        }
+        mRedialer = new Redialer(factory, this, REDIAL_DEADLINE);
+        mRedialer.start();
+    }
+
+    /**
+     * Method to process the answer to a clock probe. Server only.
+     * @param mac - Address of the client.
+     * @param probe - Times of the probe, see ClockProbe.
+     * @param receivedAt - Local time of receiving the answer.
+     */
+    private void onPong(String mac, ClockProbe probe, long receivedAt) {
+        PeerLink t = mLinks.get(mac);
+        if (t == null){
+            return;
+        }
+
+        long rtt = t.getClock().onPong(probe.t0, probe.t1, probe.t2, receivedAt);
+        if (rtt >= 0){
+            RTT_NANOS.record(rtt);
+        }
+    }
+
+    /**
+     * Method to process a device which has gone. Server only, clients learn about it from the
+     * server.
+     * @param mac - Address of the device.
+     */
+    private void playerLeft(String mac) {
+        if (LOG.isVerbose()) LOG.v("In playerLeft(), mac = " + mac);
+
+        mLinks.remove(mac);
+        mLiveness.remove(mac);
+        Eviction eviction = mEvictions.remove(mac);
+        if (eviction != null){
+            mScheduler.cancel(eviction);
+        }
+        Long token = mSessionTokens.remove(mac);
+        if (token != null){
+            mSessions.remove(token);
+        }
+        Player p = mPlayers.remove(mac);
+        if (p != null){
+            updateUiPlayerList();
+            sendToClients(BtMsg.STC_PLAYER_LEFT, mac);
+            Logger.event(LogEvent.PLAYER_LEFT, mPlayers.size(), mStateSeq);
+
+            // Can not play a round with someone who is gone.
+            if (p.isReady()){
+                cancelRound();
+            }
+        }
+    }
+
+    /**
+     * Utility method to instantiate and initialise a player object from a given link.
+     * @param link - Established link.
+     * @return - Player object.
+     */
+    private Player makePlayerFromLink(PeerLink link) {
+        if (LOG.isVerbose()) LOG.v("In makePlayerFromLink(), link = " + link.getPeerId());
+
+        return new Player(link.getPeerName(), link.getPeerId());
+    }
+
+    /**
+     * Method to send a snapshot of the game state to a client. Sent to the newly arrived players
+     * and to the ones which have missed a change.
+     * @param mac - Address of the client.
+     */
+    private void sendSnapshot(String mac) {
+        if (LOG.isVerbose()) LOG.v("In sendSnapshot(), mac = " + mac + ", seq = " + mStateSeq);
+
+        PeerLink t = mLinks.get(mac);
+        if (t == null){
+            return;
+        }
+
+        // List should contain all but the receiving players.
+        List<Player> players = new ArrayList<>(mPlayers.size());
+        for (Player p : mPlayers.snapshot()) {
+            if (!p.getAddress().equals(mac)){
+                players.add(p);
+            }
+        }
+
+        // Construct and send the message.
+        BtMsg btMsg = new BtMsg(BtMsg.STC_PLAYERS_LIST,
+                new StateSnapshot(mac, mSelfState, players));
+        btMsg.seq = mStateSeq;
+        send(t, btMsg);
+        Logger.event(LogEvent.SNAPSHOT_SENT, players.size(), mStateSeq);
+    }
+
+    /**
+     * Method to bring the game state in line with a snapshot received from the server.
+     * @param snapshot - Game state as the server sees it.
+     */
+    private void applySnapshot(StateSnapshot snapshot) {
+        if (LOG.isVerbose()) LOG.v("In applySnapshot(), players = " +
+                snapshot.getPlayers().size() + ", seq = " + mSync.getLast());
+
+        mSelfAddress = snapshot.getSelfAddress();
+        mMasterPlayer.setState(snapshot.getMasterState());
+
+        // Update the players known already, add the rest.
+        Set<String> present = new HashSet<>();
+        for (Player p : snapshot.getPlayers()) {
+            present.add(p.getAddress());
+            Player known = mPlayers.get(p.getAddress());
+            if (known == null){
+                mPlayers.add(p);
+            } else {
+                known.setState(p.getState());
+            }
+        }
+
+        // Drop the ones which are gone.
+        for (Player p : mPlayers.snapshot()) {
+            if (p != mMasterPlayer && !present.contains(p.getAddress())){
+                mPlayers.remove(p.getAddress());
+            }
+        }
+        updateUiPlayerList();
+    }
+
+    /**
+     * Method to check a change of the game state against the ones applied so far. Client only.
+     * Requests a snapshot if some changes went missing.
+     * @param btMsg - Delta or snapshot received from the server.
+     * @return - True if it should be applied, false if it is to be dropped.
+     */
+    private boolean inSequence(BtMsg btMsg) {
+        if (btMsg.type == BtMsg.STC_PLAYERS_LIST){
+            return mSync.onSnapshot(btMsg.seq);
+        }
+
+        switch (mSync.onDelta(btMsg.seq)){
+
+            case APPLY:
+                return true;
+
+            case RESYNC:
+                if (LOG.isVerbose()) LOG.v("In inSequence(), missed changes before seq = " +
+                        btMsg.seq + ", requesting a snapshot");
+                Logger.event(LogEvent.RESYNC, mSync.getLast(), btMsg.seq);
+                sendToMaster(BtMsg.CTS_SNAPSHOT_REQUEST, null);
+                return false;
+
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Method to tell if an address received from the server is this device's. The server tells
+     * each client about its own changes too, so that no client sees a gap in the sequence.
+     * @param mac - Address to be checked.
+     * @return - True if it is the address of this device.
+     */
+    private boolean isSelf(String mac) {
+        return mac.equals(mSelfAddress);
+    }
+
+    /**
+     * Method to inform all clients that a new player has arrived.
+     * @param player - New player.
+     */
+    private void notifyClientsNewPlayer(Player player) {
+        if (LOG.isVerbose()) LOG.v("In notifyClientsNewPlayer(), player = " + player.getName());
+
+        sendToClientsButOne(BtMsg.STC_NEW_PLAYER, player, player);
+    }
+
+    /**
+     * Method to notify all clients that one of the players changed their status to 'ready'. The
+     * method uses the MAC address of the player to identify it.
+     * @param mac - Mac address of the Player who has changed their status to 'Ready'
+     */
+    private void notifyClientsPlayerReadyByMAC(String  mac) {
+        if (LOG.isVerbose()) LOG.v("In notifyClientsPlayerReadyByMAC(), mac = " + mac +
+                ", Thread = " + Thread.currentThread().getName());
+
+        Player p = getPlayerByMac(mac);
+        if (p == null){
+            throw new IllegalStateException("Player to be marked as READY not found! MAC:" + mac);
+        } else {
+            sendToClients(BtMsg.STC_PLAYER_READY, mac);
+        }
+    }
+
+    /**
+     * Method sends messages to all clients indicating that the host has played a round of
+     * the game and is yet alive.
+     */
+    private void notifyClientsServerAlive() {
+        if (LOG.isVerbose()) LOG.v("In notifyClientsServerAlive(), Thread = " +
+                Thread.currentThread().getName());
+
+        setSelfState(Player.State.ALIVE);
+        sendToClients(BtMsg.STC_SERVER_ALIVE, null);
+    }
+
+    /**
+     * Method sends messages to all clients indicating that the host has played a round of
+     * the game and is yet alive.
+     * @param mac - Adress of the player who has survived the round.
+     */
+    private void notifyClientsPlayerAliveByMAC(String mac) {
+        if (LOG.isVerbose()) LOG.v("In notifyClientsPlayerAliveByMAC(), mac = " + mac +
+                "Thread = " + Thread.currentThread().getName());
+
+        Player p = getPlayerByMac(mac);
+        if (p == null){
+            throw new IllegalStateException("Player to be marked as ALIVE not found! MAC:" + mac);
+        } else {
+            sendToClients(BtMsg.STC_PLAYER_ALIVE, mac);
+        }
+    }
+
+    /**
+     * Method sends a message to the server device indicating that this player has played a round of
+     * the game and is yet alive.
+     */
+    private void notifyServerClientAlive() {
+        if (LOG.isVerbose()) LOG.v("In notifyServerClientAlive(), Thread = " +
+                Thread.currentThread().getName());
+
+        sendToMaster(BtMsg.CTS_CLIENT_ALIVE, null);
+    }
+
+    /**
+     * Method sends messages to all clients indicating that a player has transitioned to reset
+     * state.
+     * @param mac - Address of the player who wants to play another round.
+     */
+    private void notifyClientsPlayerResetByMAC(String mac) {
+        if (LOG.isVerbose()) LOG.v("In notifyClientsPlayerResetByMAC(), mac = " + mac +
+                "Thread = " + Thread.currentThread().getName());
+
+        Player p = getPlayerByMac(mac);
+        if (p == null){
+            throw new IllegalStateException("Player to be marked as RESET not found! MAC:" + mac);
+        } else {
+            sendToClients(BtMsg.STC_PLAYER_RESET, mac);
+        }
+    }
+
+    /**
+     * Utility method to construct a BtMsg with given arguments as fields and send it to all clients
+     * of this master. Obviously, this should only be called from the master devices.
+     * @param type - One of the BtMsg constants indicating type. Used in a switch upon reception.
+     * @param payload - Payload of the type BtMsgCodec expects for the message type.
+     */
+    private void sendToClients(int type, Object payload) {
+        if (LOG.isVerbose()) LOG.v("In sendToClients(), type = " + type + ", payload = " +
+                payload + ", Thread = " +Thread.currentThread().getName());
+
+        broadcast(nextStateChange(type, payload), Collections.<String>emptySet());
+    }
+
+    /**
+     * Utility method to construct a BtMsg with given arguments as fields and send it to all but one
+     * clients of this master. Obviously, this should only be called from the master devices.
+     * @param type - One of the BtMsg constants indicating type. Used in a switch upon reception.
+     * @param payload - Payload of the type BtMsgCodec expects for the message type.
+     * @param player - The player which will be excluded from recipient list of this message.
+     */
+    private void sendToClientsButOne(int type, Object payload, Player player) {
+        if (LOG.isVerbose()) LOG.v("In sendToClientsButOne(), type = " + type + ", payload = " +
+                payload + ", Thread = " +Thread.currentThread().getName());
+
+        broadcast(nextStateChange(type, payload), Collections.singleton(player.getAddress()));
+    }
+
+    /**
+     * Utility method to construct a message for a change of the game state, stamped with the next
+     * sequence number. Server only.
+     * @param type - One of the versioned BtMsg types.
+     * @param payload - Payload of the type BtMsgCodec expects for the message type.
+     * @return - Message to be sent.
+     */
+    private BtMsg nextStateChange(int type, Object payload) {
+        BtMsg btMsg = new BtMsg(type, payload);
+        btMsg.seq = ++mStateSeq;
+        return btMsg;
+    }
+
+    /**
+     * Utility method to send a message to all connected peers but the excluded ones. The message
+     * is encoded once, every peer gets written the same frame. Changes of the game state are kept
+     * in the history too.
+     * @param btMsg - Message to be sent.
+     * @param excluded - Addresses of the peers which should not receive the message.
+     */
+    private void broadcast(BtMsg btMsg, Collection<String> excluded) {
+        BtFrame frame = BtFrame.of(btMsg);
+        Journal.sent(Journal.EVERYONE, frame);
+
+        // Kept for the clients whose connection is down, see catchUp().
+        if (BtMsg.isVersioned(btMsg.type)){
+            if (mHistory.size() == HISTORY_SIZE){
+                mHistory.removeFirst();
+            }
+            mHistory.addLast(new Change(btMsg.seq, frame, excluded));
+        }
+
+        for (Map.Entry<String, PeerLink> e : mLinks.entrySet()) {
+            if (!excluded.contains(e.getKey())){
+                e.getValue().write(frame);
+            }
+        }
+    }
+
+    /**
+     * Utility method to send a message to a single peer.
+     * @param link - Link to the peer.
+     * @param btMsg - Message to be sent.
+     */
+    private void send(PeerLink link, BtMsg btMsg) {
+        BtFrame frame = BtFrame.of(btMsg);
+        Journal.sent(link.getPeerId(), frame);
+        link.write(frame);
+    }
+
+    /**
+     * Utility method to change the state of this device's player. Server only, clients keep none.
+     * @param state - New state.
+     */
+    private void setSelfState(Player.State state) {
+        Journal.stateChanged(Journal.SELF, mSelfState, state);
+        mSelfState = state;
+    }
+
+    /**
+     * Utility method to construct a BtMsg with given arguments as fields and send it to the master
+     * device.
+     * @param type - One of the BtMsg constants indicating type. Used in a switch upon reception.
+     * @param payload - Payload of the type BtMsgCodec expects for the message type.
+     */
+    private void sendToMaster(int type, Object payload){
+        if (LOG.isVerbose()) LOG.v("In sendToMaster(), type = " + type + ", payload = " + payload +
+                ", Thread = " +Thread.currentThread().getName());
+
+        BtMsg btMsg = new BtMsg(type, payload);
+        send(mLinks.get(mMasterPlayer.getAddress()), btMsg);
+    }
+
+    /**
+     * Method to mark a player as being 'ready'.
+     * @param p - The player to be marked as ready.
+     */
+    private void markPlayerReady(Player p) {
+        if (LOG.isVerbose()) LOG.v("In markPlayerReady(), player = " + p.getName() +
+                ", Thread = " + Thread.currentThread().getName());
+
+        Player player = getMatchingPlayer(p);
+        if (player != null){
+            player.setReady();
+            updateUiPlayerList();
+        }
+    }
+
+    /**
+     * Method to mark a player with a given mac address as being 'ready'.
+     * @param mac - The player to be marked as ready.
+     */
+    private void markPlayerReadyByMAC(String mac) {
+        if (LOG.isVerbose()) LOG.v("In markPlayerReadyByMAC(), mac = " + mac +
+                ", Thread = " + Thread.currentThread().getName());
+
+        Player p = getPlayerByMac(mac);
+        if (p == null){
+            throw new IllegalStateException("Player to be marked as READY not found! MAC:" + mac);
+        } else {
+            markPlayerReady(p);
+        }
+    }
+
+    /**
+     * Method marks a player as being in an 'alive' state.
+     * @param player - Player indicating that it is still alive after a round was played.
+     */
+    private void markPlayerAlive(Player player) {
+        if (LOG.isVerbose()) LOG.v("In markPlayerAlive(), player = " + player.getName() +
+                ", Thread = " + Thread.currentThread().getName());
+
+        Player p = getMatchingPlayer(player);
+        if (p == null) {
+            throw new IllegalStateException("Player to be marked as ALIVE not found! Player:" +
+                    player.getName());
+        } else {
+            p.setAlive();
+            updateUiPlayerList();
+        }
+    }
+
+    /**
+     * Method marks a player with specified mac address as being in an 'alive' state.
+     * @param mac - Mac address of the player indicating that it is still alive after a round was
+     *            played.
+     */
+    private void markPlayerAliveByMAC(String mac) {
+        if (LOG.isVerbose()) LOG.v("In markPlayerAliveByMAC(), mac = " + mac +
+                ", Thread = " + Thread.currentThread().getName());
+
+        Player p = getPlayerByMac(mac);
+        if (p == null) {
+            throw new IllegalStateException("Player to be marked as ALIVE not found! MAC:" + mac);
+        } else {
+            markPlayerAlive(p);
+        }
+    }
+
+    /**
+     * Method marks a player as in 'reset' state. Meaning that it is wishing to play another round
+     * of the game.
+     * @param player - Player which desires to play another round.
+     */
+    private void markPlayerReset(Player player) {
+        if (LOG.isVerbose()) LOG.v("In markPlayerReset(), player = " + player.getName() +
+                ", Thread = " + Thread.currentThread().getName());
+
+        Player p = getMatchingPlayer(player);
+        if (p == null) {
+            throw new IllegalStateException("Player to be marked as RESET not found! Player:" +
+                    player.getName());
+        } else {
+            p.setReset();
+            updateUiPlayerList();
+        }
+    }
+
+    /**
+     * Method marks a player with specified mac as in 'reset' state. Delegates to markPlayerReset()
+     * after the player has been acquired.
+     * @param mac - Address of the Player which desires to play another round.
+     */
+    private void markPlayerResetByMAC(String mac) {
+        if (LOG.isVerbose()) LOG.v("In markPlayerReset(), mac = " + mac +
+                ", Thread = " + Thread.currentThread().getName());
+
+        Player p = getPlayerByMac(mac);
+        if (p == null) {
+            throw new IllegalStateException("Player to be marked as RESET not found! MAC:" + mac);
+        } else {
+            markPlayerReset(p);
+        }
+     }
+
+    /**
+     * Method to obtain the player with a given mac address.
+     * @param srcMAC - Mac address of the player to be found.
+     * @return - Player from the mPlayers with a matching MAC address OR 'null' if not found.
+     */
+    private Player getPlayerByMac(String srcMAC) {
+        if (LOG.isVerbose()) LOG.v("In getPlayerByMac(), srcMAC = " + srcMAC +
+                ", Thread = " + Thread.currentThread().getName());
+
+        return mPlayers.get(srcMAC);
+    }
+
+    /**
+     * Method to get a Player object from the mPlayers with the matching details (address). Players
+     * received from the server are copies, so they have to be matched to our own instances.
+     * @param player - Player reference to be found.
+     * @return - Player object corresponding to the one provided as the argument OR 'null' if not
+     * found.
+     */
+    private Player getMatchingPlayer(Player player){
+        if (LOG.isVerbose()) LOG.v("In getMatchingPlayer(), player = " + player.getName() +
+                ", Thread = " + Thread.currentThread().getName());
+
+        return mPlayers.get(player.getAddress());
+    }
+
+    /**
+     * Method to update player list on the UI. The UI gets a copy of the players rather than the
+     * players themselves, which keep changing on this thread, along with what changed since the
+     * last copy. Nothing is passed if nothing changed.
+     */
+    private void updateUiPlayerList() {
+        if (LOG.isVerbose()) LOG.v("In updateUiPlayerList()");
+
+        PlayerListSnapshot next = PlayerListSnapshot.of(mShownPlayers.getVersion() + 1,
+                mPlayers.snapshot());
+        PlayerListDiff diff = PlayerListDiff.between(mShownPlayers, next);
+        if (diff.isEmpty()){
+            return;
+        }
+        mShownPlayers = next;
+        postToUi(MSG_UI_UPDATE_PLAYER_LIST, diff);
+    }
+
+    /**
+     * Utility method to pass an event on to the UI.
+     * @param what - Type of the event, see MSG_UI_*.
+     * @param obj - Arbitrary object to be delivered along.
+     */
+    private void postToUi(int what, Object obj){
+        if (LOG.isVerbose()) LOG.v("In postToUi(), what = " + what + ", obj = " + obj +
+                ", Thread = " + Thread.currentThread().getName());
+
+        mObserver.onGameEvent(what, obj);
+    }
+
+    /***********************************************************************************************
+     *                                  Interface Implementations
+     **********************************************************************************************/
+
+    /**
+     * Callback method which is called when connection is established providing it as an argument.
+     * @param connection - Established connection, over any transport.
+     */
+    @Override
+    public void receiveConnection(final Connection connection) {
+        if (LOG.isVerbose()) LOG.v("In receiveConnection(), Adding connection to:" +
+                connection.getPeerId() + ", Thread = " + Thread.currentThread().getName());
+
+        // Several connections can be set up at once, see BtMasterThread.
+        int writeQueueCapacity;
+        BtWriterThread.OverflowPolicy overflowPolicy;
+        synchronized (this) {
+            writeQueueCapacity = mWriteQueueCapacity;
+            overflowPolicy = mOverflowPolicy;
+        }
+
+        // For every connection spawn a new thread for reading data.
+        final BtConnectedThread t;
+        try {
+            t = new BtConnectedThread(connection, writeQueueCapacity, overflowPolicy);
+        } catch (IOException e) {
+            LOG.w("Failed to set up the connection to " + connection.getPeerId(), e);
+            return;
+        }
+        receiveLink(t);
+    }
+
+    /**
+     * Callback method which is called when a link is established, either wrapping a connection
+     * (see receiveConnection()) or made by a transport framing messages itself (i.e. NioServer).
+     * @param link - Established link.
+     */
+    @Override
+    public synchronized void receiveLink(final PeerLink link) {
+        if (LOG.isVerbose()) LOG.v("In receiveLink(), Adding link to:" + link.getPeerId() +
+                ", Thread = " + Thread.currentThread().getName());
+
+        /*
+         * The player is registered on the arbitrator's thread, which owns the game state. Posted
+         * before the link is opened, so nothing the peer sends can overtake it.
+         */
+        mScheduler.post(new Runnable() {
+            @Override
+            public void run() {
+                // Server seats the peer once it joins, see join().
+                if (mIsServer){
+                    mPendingLinks.put(link.getPeerId(), link);
+                    mPendingSince.put(link.getPeerId(), System.nanoTime());
+                    startHeartbeat();
+                    return;
+                }
+
+                /*
+                 * Client just adds the link as a player saving a reference to the player as
+                 * 'MasterPlayer'. Back after a dropped connection the master is the same one, only
+                 * the link to it is new.
+                 */
+                if (mMasterPlayer == null){
+                    mPlayers.add(mMasterPlayer = makePlayerFromLink(link));
+                    updateUiPlayerList();
+                }
+                mLinks.put(mMasterPlayer.getAddress(), link);
+                mLiveness.put(mMasterPlayer.getAddress(), new PeerLiveness(System.nanoTime()));
+                startHeartbeat();
+                sendToMaster(BtMsg.CTS_JOIN, new Session(mSessionToken,
+                        mSync.isSynced() ? mSync.getLast() : Session.NO_SEQ, Player.State.RESET));
+            }
+        });
+        link.open(this);
+    }
+
+    /**
+     * Callback method which is called on the transport's thread for every message received.
+     * Processing is handed over to the arbitrator's thread.
+     * @param btMsg - Message received, stamped with its sender.
+     */
+    @Override
+    public void receiveMessage(final BtMsg btMsg) {
+        Journal.received(btMsg.srcMAC, btMsg);
+        mScheduler.post(new Runnable() {
+            @Override
+            public void run() {
+                handleMessage(btMsg);
+            }
+        });
+    }
+
+    /**
+     * Method processes the messages received from the peers. Arbitrator's thread only.
+     * @param btMsg - Message received. Fields of interest : 'type' and 'payload'.
+     */
+    private void handleMessage(BtMsg btMsg){
+        if (LOG.isVerbose()) LOG.v("In handleMessage(), btMsg.type = " + btMsg.type +
+                ", btMsg.payload = " + btMsg.payload + ", Thread = " +
+                Thread.currentThread().getName());
+
+        if (btMsg.receivedAt != 0){
+            HANDLER_LATENCY_NANOS.record(System.nanoTime() - btMsg.receivedAt);
+        }
+
+        if (mIsServer && !resolveSender(btMsg)){
+            return;
+        }
+        if (!mIsServer && BtMsg.isClientToServer(btMsg.type)){
+            LOG.w("Dropped message of type " + btMsg.type + " from server " + btMsg.srcMAC);
+            return;
+        }
+        if (btMsg.type != BtMsg.PEER_DISCONNECTED){
+            heardFrom(mIsServer ? btMsg.srcMAC : mMasterPlayer.getAddress(), btMsg.receivedAt);
+        }
+
+        // Changes of the game state are applied strictly in order.
+        if (BtMsg.isVersioned(btMsg.type) && !inSequence(btMsg)){
+            return;
+        }
+
+        // Switch on the type of the BtMsg.
+        switch (btMsg.type){
+
+            case BtMsg.STC_NEW_PLAYER:
+                mPlayers.add((Player)btMsg.payload);
+                updateUiPlayerList();
+                break;
+
+            case BtMsg.STC_PLAYERS_LIST:
+                applySnapshot((StateSnapshot) btMsg.payload);
+                break;
+
+            case BtMsg.STC_SERVER_READY:
+                markPlayerReady(mMasterPlayer);
+                break;
+
+            case BtMsg.STC_PLAYER_READY:
+                if (isSelf((String) btMsg.payload)){
+                    break;
+                }
+                markPlayerReadyByMAC((String) btMsg.payload);
+                break;
+
+            case BtMsg.STC_ROUND_START:
+                RoundStart start = (RoundStart) btMsg.payload;
+                playGame(start.isSynced() ? start.getTriggerAt() :
+                        btMsg.receivedAt + start.getDelay(), start.isResolved());
+                break;
+
+            case BtMsg.STC_ROUND_RESULT:
+                RoundResult result = (RoundResult) btMsg.payload;
+                applyResult(result);
+                if (!mResolvedRound){
+                    // This device sat the round out, nothing to reveal.
+                    updateUiPlayerList();
+                } else {
+                    mResult = result;
+                    if (mRevealDue){
+                        revealResult();
+                    }
+                }
+                break;
+
+            case BtMsg.STC_ROUND_CANCELLED:
+                resetReadyPlayers();
+                cancelRound();
+                break;
+
+            case BtMsg.STC_WELCOME:
+                onWelcome((Session) btMsg.payload);
+                break;
+
+            case BtMsg.STC_PING:
+                ClockProbe ping = (ClockProbe) btMsg.payload;
+                sendToMaster(BtMsg.CTS_PONG,
+                        new ClockProbe(ping.t0, btMsg.receivedAt, System.nanoTime()));
+                break;
+
+            case BtMsg.STC_SERVER_ALIVE:
+                markPlayerAlive(mMasterPlayer);
+                break;
+
+            case BtMsg.STC_PLAYER_ALIVE:
+                if (!isSelf((String) btMsg.payload)){
+                    markPlayerAliveByMAC((String) btMsg.payload);
+                }
+                break;
+
+            case BtMsg.STC_SERVER_RESET:
+                markPlayerReset(mMasterPlayer);
+                break;
+
+            case BtMsg.STC_PLAYER_RESET:
+                if (!isSelf((String) btMsg.payload)){
+                    markPlayerResetByMAC((String) btMsg.payload);
+                }
+                break;
+
+            case BtMsg.STC_PLAYER_LEFT:
+                if (mPlayers.remove((String) btMsg.payload) != null){
+                    updateUiPlayerList();
+                }
+                break;
+
+            case BtMsg.CTS_CLIENT_READY:
+                markPlayerReadyByMAC(btMsg.srcMAC);
+                notifyClientsPlayerReadyByMAC(btMsg.srcMAC);
+                // Is it time to spin the gun yet?
+                if (allReady()){
+                    startRound();
+                }
+                break;
+
+            case BtMsg.CTS_CLIENT_ALIVE:
+                markPlayerAliveByMAC(btMsg.srcMAC);
+                notifyClientsPlayerAliveByMAC(btMsg.srcMAC);
+                break;
+
+            case BtMsg.CTS_CLIENT_RESET:
+                markPlayerResetByMAC(btMsg.srcMAC);
+                notifyClientsPlayerResetByMAC(btMsg.srcMAC);
+                break;
+
+            case BtMsg.CTS_SNAPSHOT_REQUEST:
+                sendSnapshot(btMsg.srcMAC);
+                break;
+
+            case BtMsg.CTS_PONG:
+                onPong(btMsg.srcMAC, (ClockProbe) btMsg.payload, btMsg.receivedAt);
+                break;
+
+            case BtMsg.PEER_DISCONNECTED:
+                if (mIsServer){
+                    /*
+                     * A player waiting to resume keeps its part in the round, the round is only
+                     * called off once it leaves (see playerLeft()). The rest might have been
+                     * waiting for just this one.
+                     */
+                    detach(btMsg.srcMAC);
+                    if (allReady()){
+                        startRound();
+                    }
+                    break;
+                }
+                if (mLinks.get(mMasterPlayer.getAddress()) == btMsg.payload){
+                    // The dead link stays in place until a new one is up, writes to it are dropped.
+                    redial();
+                }
+                // Can not play a round without the server.
+                cancelRound();
+                break;
+        }
+    }
+
+    /***********************************************************************************************
+     *                                  Inner Classes
+     **********************************************************************************************/
+
+    /**
+     * A change of the game state as broadcast, kept to be replayed.
+     */
+    private static class Change {
+        final int seq;
+        final BtFrame frame;
+
+        // Addresses of the clients the change was not sent to.
+        final Collection<String> excluded;
+
+        Change(int seq, BtFrame frame, Collection<String> excluded) {
+            this.seq = seq;
+            this.frame = frame;
+            this.excluded = excluded;
+        }
+    }
+
+    /**
+     * Takes the seat of a player whose connection dropped away, unless it resumes its session
+     * first. Posted once the connection drops, cancelled on a resume.
+     */
+    private class Eviction implements Runnable {
+        final String address;
+        final long detachedAt = System.nanoTime();
+
+        Eviction(String address) {
+            this.address = address;
+        }
+
+        @Override
+        public void run() {
+            if (LOG.isVerbose()) LOG.v("In run(), evicting " + address);
+
+            mEvictions.remove(address);
+            playerLeft(address);
+        }
+    }
+}
@@ -1,11 +1,10 @@
 package com.aidanas.russianroulette.game;
 
-import android.bluetooth.BluetoothSocket;
-import android.util.Log;
 
-import com.aidanas.russianroulette.Const;
 import com.aidanas.russianroulette.communication.BtMasterThread;
-import com.aidanas.russianroulette.interfaces.BluetoothSocketReceiver;
+import com.aidanas.russianroulette.interfaces.Connection;
+import com.aidanas.russianroulette.interfaces.ConnectionReceiver;
+import com.aidanas.russianroulette.logging.Logger;
 
 import java.util.ArrayList;
 import java.util.Collections;
@@ -18,17 +17,18 @@ import java.util.List;
  * Class to contain the Russian Roulette game logic. This class should be instantiated and run only
  * on a device running as a client (NOT as the host of the game!)
  */
-public class ArbitratorDummy implements BluetoothSocketReceiver{
+public class ArbitratorDummy implements ConnectionReceiver{
 
     // Tag, mostly used for logging and debug output.
     public static final String TAG = BtMasterThread.class.getSimpleName();
+    private static final Logger LOG = Logger.get(Logger.Subsystem.GAME, TAG);
 
     // Flag to be set for the device acting as a server of the game.
     private final boolean mIsServer;
 
-    // Holds a list of connected sockets. Only server would contains more than one item in it.
-    private final List<BluetoothSocket> mConnectedSockets =
-            Collections.synchronizedList(new ArrayList<BluetoothSocket>());
+    // Holds a list of connections. Only server would contains more than one item in it.
+    private final List<Connection> mConnections =
+            Collections.synchronizedList(new ArrayList<Connection>());
 
     /**
      * Constructor.
@@ -43,16 +43,14 @@ public class ArbitratorDummy implements BluetoothSocketReceiver{
      **********************************************************************************************/
 
     /**
-     * Callback method which is called when connection is established providing a connected
-     * Bluetooth socket as an argument.
-     * @param bluetoothSocket - Connected Bluetooth socket.
+     * Callback method which is called when connection is established providing it as an argument.
+     * @param connection - Established connection.
      */
     @Override
-    public synchronized void receiveSocket(BluetoothSocket bluetoothSocket) {
-        if (Const.DEBUG) Log.v(TAG, "In receiveSocket(), Adding connected socket to:" +
-                bluetoothSocket.getRemoteDevice().getAddress() + ", Thread = " +
-                Thread.currentThread().getName());
+    public synchronized void receiveConnection(Connection connection) {
+        if (LOG.isVerbose()) LOG.v("In receiveConnection(), Adding connection to:" +
+                connection.getPeerId() + ", Thread = " + Thread.currentThread().getName());
 
-        mConnectedSockets.add(bluetoothSocket);
+        mConnections.add(connection);
     }
 }
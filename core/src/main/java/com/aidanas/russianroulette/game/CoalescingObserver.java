@@ -0,0 +1,147 @@
+package com.aidanas.russianroulette.game;
+
+import com.aidanas.russianroulette.interfaces.FrameScheduler;
+import com.aidanas.russianroulette.interfaces.GameObserver;
+import com.aidanas.russianroulette.logging.Logger;
+import com.aidanas.russianroulette.metrics.Counter;
+import com.aidanas.russianroulette.metrics.Metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Created by: Aidanas
+ * Created on: 18/10/2026.
+ *
+ * Passes the events of a game on to another observer at most once a frame. A burst of players
+ * getting ready would otherwise have the UI thread refresh the list for every one of them within
+ * a few milliseconds, most of which nobody would ever see. Until the next frame the player list
+ * updates are merged into one spanning all of them, and an event already waiting is moved to the
+ * back rather than queued again, so a frame handles at most one list update and one of each
+ * other event however big the lobby and however many events it had.
+ *
+ * The observer passed to is called on the thread of the frames, i.e. the UI thread.
+ */
+public class CoalescingObserver implements GameObserver {
+
+    // Tag, mostly used for logging and debug output.
+    public static final String TAG = CoalescingObserver.class.getSimpleName();
+    private static final Logger LOG = Logger.get(Logger.Subsystem.UI, TAG);
+
+    // Events which never reached the UI on their own, merged into or replaced by later ones.
+    private static final Counter COALESCED = Metrics.counter("ui.events_coalesced");
+
+    private final GameObserver mObserver;
+    private final FrameScheduler mFrames;
+
+    // Changes to the player list since the last frame, null if none. Guarded by this.
+    private PlayerListDiff mPendingList;
+
+    // Other events since the last frame, in the order they were last posted. Guarded by this.
+    private final List<Event> mPendingEvents = new ArrayList<>();
+
+    // True if a frame is posted and yet to run. Guarded by this.
+    private boolean mFramePosted = false;
+
+    private final Runnable mFrame = new Runnable() {
+        @Override
+        public void run() {
+            deliver();
+        }
+    };
+
+    /**
+     * Constructor.
+     * @param observer - Observer to pass the events on to.
+     * @param frames - Frames to pass them on at.
+     */
+    public CoalescingObserver(GameObserver observer, FrameScheduler frames) {
+        mObserver = observer;
+        mFrames = frames;
+    }
+
+    /**
+     * Method to pass on everything pending since the last frame. The player list goes first so
+     * that the other events find it up to date.
+     */
+    private void deliver() {
+        PlayerListDiff list;
+        Event[] events;
+        synchronized (this) {
+            list = mPendingList;
+            events = mPendingEvents.toArray(new Event[mPendingEvents.size()]);
+            mPendingList = null;
+            mPendingEvents.clear();
+            mFramePosted = false;
+        }
+        if (LOG.isVerbose()) LOG.v("In deliver(), list = " + list + ", events = " + events.length);
+
+        if (list != null){
+            mObserver.onGameEvent(Arbitrator.MSG_UI_UPDATE_PLAYER_LIST, list);
+        }
+        for (Event e : events) {
+            mObserver.onGameEvent(e.mWhat, e.mObj);
+        }
+    }
+
+    /***********************************************************************************************
+     *                                  Interface Implementations
+     **********************************************************************************************/
+
+    @Override
+    public void onGameEvent(int what, Object obj) {
+        synchronized (this) {
+            if (what == Arbitrator.MSG_UI_UPDATE_PLAYER_LIST){
+                PlayerListDiff diff = (PlayerListDiff) obj;
+                if (mPendingList != null){
+                    diff = PlayerListDiff.between(mPendingList.getFrom(), diff.getTo());
+                    COALESCED.increment();
+                }
+                mPendingList = diff;
+            } else {
+                Event event = new Event(what, obj);
+                if (mPendingEvents.remove(event)){
+                    COALESCED.increment();
+                }
+                mPendingEvents.add(event);
+            }
+            if (mFramePosted){
+                return;
+            }
+            mFramePosted = true;
+        }
+        mFrames.postFrame(mFrame);
+    }
+
+    /***********************************************************************************************
+     *                                  Inner Classes
+     **********************************************************************************************/
+
+    /**
+     * An event other than a player list update, equal to another if both say the same.
+     */
+    private static final class Event {
+        private final int mWhat;
+        private final Object mObj;
+
+        Event(int what, Object obj) {
+            mWhat = what;
+            mObj = obj;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Event)){
+                return false;
+            }
+            Event other = (Event) o;
+            return mWhat == other.mWhat &&
+                    (mObj == null ? other.mObj == null : mObj.equals(other.mObj));
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * mWhat + (mObj == null ? 0 : mObj.hashCode());
+        }
+    }
+}
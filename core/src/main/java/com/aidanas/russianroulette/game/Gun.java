@@ -1,21 +1,20 @@
 package com.aidanas.russianroulette.game;
 
-import android.util.Log;
-
-import com.aidanas.russianroulette.Const;
-
-import java.security.SecureRandom;
+import com.aidanas.russianroulette.interfaces.RandomSource;
+import com.aidanas.russianroulette.logging.Logger;
 
 /**
  * Created by: Aidanas
  * Created on: 22/04/2016.
  *
- * Class to model the behavior of a gun in a Russian Roulette game.
+ * Class to model the behavior of a gun in a Russian Roulette game. A gun can be reloaded and spun
+ * for as many rounds as needed.
  */
 public class Gun {
 
     // Tag, mostly used for logging and debug output.
     public static final String TAG = Gun.class.getSimpleName();
+    private static final Logger LOG = Logger.get(Logger.Subsystem.GAME, TAG);
 
     // How many bullets can this gun hold?
     private final int mCapacity;
@@ -23,8 +22,8 @@ public class Gun {
     // Number of bullets loaded.
     private int mBulletsLoaded;
 
-    // Random number generator.
-    private final SecureRandom srnd = new SecureRandom();
+    // Random number generator, shared.
+    private final RandomSource mRandom;
 
     // Hold the number of the cylinder slot at which the hammer is pointing.
     private int mHammer = 1;
@@ -34,11 +33,21 @@ public class Gun {
      * @param capacity - Bullet capacity of this gun. Default = 6.
      */
     public Gun(int capacity){
+        this(capacity, SecureRandomSource.shared());
+    }
+
+    /**
+     * Constructor.
+     * @param capacity - Bullet capacity of this gun. Default = 6.
+     * @param random - Decides where the cylinder stops.
+     */
+    public Gun(int capacity, RandomSource random){
         if (capacity < 1){
             throw new IllegalArgumentException("Capacity must be greater then 0");
         }
 
         mCapacity = capacity;
+        mRandom = random;
     }
 
     /**
@@ -50,10 +59,10 @@ public class Gun {
     }
 
     /**
-     * Method to model the cylinder spin action.
+     * Method to model the cylinder spin action. Every chamber is equally likely.
      */
     public void spinCylinder(){
-        mHammer = srnd.nextInt(mCapacity-1)+1; //-1+1 to cater for 0 index.
+        mHammer = mRandom.nextInt(mCapacity) + 1; // Chambers are numbered from 1.
     }
 
     /**
@@ -61,7 +70,7 @@ public class Gun {
      * @return - Returns true if the shot was live or false if it was empty.
      */
     public boolean pullTheTrigger() {
-        if (Const.DEBUG) Log.v(TAG, "In pullTheTrigger(), hammer@ = " + mHammer +
+        if (LOG.isVerbose()) LOG.v("In pullTheTrigger(), hammer@ = " + mHammer +
                 ", bullets = " + mBulletsLoaded);
 
         return mHammer <= mBulletsLoaded;
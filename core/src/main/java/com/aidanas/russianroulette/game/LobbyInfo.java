@@ -0,0 +1,57 @@
+package com.aidanas.russianroulette.game;
+
+/**
+ * Created by: Aidanas
+ * Created on: 18/10/2026.
+ *
+ * What a host tells a device looking for a game to join, without it joining: how many players
+ * there are and whether a round is being played. Sent in reply to BtMsg.CTS_LOBBY_QUERY.
+ */
+public class LobbyInfo {
+
+    // Number of players at the table, the host's own included.
+    private final int mPlayers;
+
+    private final Phase mPhase;
+
+    /**
+     * Constructor.
+     * @param players - Number of players at the table.
+     * @param phase - What the table is doing.
+     */
+    public LobbyInfo(int players, Phase phase) {
+        mPlayers = players;
+        mPhase = phase;
+    }
+
+    /***********************************************************************************************
+     *                          Getters and Setters
+     **********************************************************************************************/
+
+    public int getPlayers() {
+        return mPlayers;
+    }
+
+    public Phase getPhase() {
+        return mPhase;
+    }
+
+    @Override
+    public String toString() {
+        return "LobbyInfo(players = " + mPlayers + ", phase = " + mPhase + ")";
+    }
+
+    /***********************************************************************************************
+     *                          Inner Classes
+     **********************************************************************************************/
+
+    /**
+     * What a table is doing.
+     */
+    public enum Phase {
+        // Waiting for the players to get ready, anyone joining plays the next round.
+        LOBBY,
+        // A round is being played, anyone joining waits for it to end.
+        PLAYING,
+    }
+}
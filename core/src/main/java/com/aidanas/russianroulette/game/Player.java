@@ -1,6 +1,7 @@
 package com.aidanas.russianroulette.game;
 
-import java.io.Serializable;
+import com.aidanas.russianroulette.journal.Journal;
+
 import java.util.Comparator;
 
 /**
@@ -10,7 +11,7 @@ import java.util.Comparator;
  * Class to model a single player in the game. It will be used by the Arbitrator. The player is
  * modeled as FSM with the four distinct states specified as enum values.
  */
-public class Player implements Serializable{
+public class Player {
 
     // Must be unique among players.
     private final String mName;
@@ -28,6 +29,18 @@ public class Player implements Serializable{
         mAddress = address;
     }
 
+    /**
+     * Constructor used when a player is received from a remote device.
+     * @param name - Name of the player.
+     * @param address - Address of the device of the player.
+     * @param state - State the player is currently in.
+     */
+    public Player(String name, String address, State state){
+        mName = name;
+        mAddress = address;
+        mState = state;
+    }
+
     /***********************************************************************************************
      *                          Getters and Setters
      **********************************************************************************************/
@@ -40,6 +53,10 @@ public class Player implements Serializable{
         return mAddress;
     }
 
+    public State getState(){
+        return mState;
+    }
+
     public boolean isReady(){
         return mState == State.READY;
     }
@@ -53,7 +70,7 @@ public class Player implements Serializable{
             throw new IllegalStateException("Players can transition to READY state only from " +
                     "READY state!");
         }
-        mState = State.READY;
+        changeState(State.READY);
     }
 
     public void setAlive() {
@@ -61,7 +78,33 @@ public class Player implements Serializable{
             throw new IllegalStateException("Players can transition to ALIVE state only from " +
                     "READY state!");
         }
-        mState = State.ALIVE;
+        changeState(State.ALIVE);
+    }
+
+    public void setDead() {
+        if (!(mState == State.READY)){
+            throw new IllegalStateException("Players can transition to DEAD state only from " +
+                    "READY state!");
+        }
+        changeState(State.DEAD);
+    }
+
+    /**
+     * Method to set the state without checking the transition. Used when the state is taken from
+     * a snapshot of the server rather than reached through the game.
+     * @param state - New state.
+     */
+    void setState(State state) {
+        changeState(state);
+    }
+
+    /**
+     * Method to move to a new state, recording the transition in the journal.
+     * @param state - New state.
+     */
+    private void changeState(State state) {
+        Journal.stateChanged(mAddress, mState, state);
+        mState = state;
     }
 
     public void setReset() {
@@ -69,7 +112,23 @@ public class Player implements Serializable{
             throw new IllegalStateException("Players can transition to RESET state only from " +
                     "ALIVE state!");
         }
-        mState = State.RESET;
+        changeState(State.RESET);
+    }
+
+    /**
+     * Method to take back being ready, i.e. when the round the player was ready for is called off.
+     */
+    public void cancelReady() {
+        if (!(mState == State.READY)){
+            throw new IllegalStateException("Players can only cancel being ready from READY " +
+                    "state!");
+        }
+        changeState(State.RESET);
+    }
+
+    @Override
+    public String toString() {
+        return mName + "(" + mAddress + ", " + mState + ")";
     }
 
     /***********************************************************************************************
@@ -0,0 +1,144 @@
+package com.aidanas.russianroulette.game;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Created by: Aidanas
+ * Created on: 18/10/2026.
+ *
+ * Difference between two snapshots of the player list, worked out off the UI thread so that the
+ * UI only has to touch the rows which changed. Players normally keep the order they joined in, so
+ * the players who left and the ones who joined are all there is to a change of the membership; the
+ * rest of the players can only have changed state. Diffs merged over a leave and a rejoin can
+ * move a player though, a change of the order of the kept players is structural as well.
+ */
+public final class PlayerListDiff {
+
+    private final PlayerListSnapshot mFrom;
+    private final PlayerListSnapshot mTo;
+
+    // Positions in mFrom of the players removed and in mTo of the ones inserted, ascending.
+    private final List<Integer> mRemoved;
+    private final List<Integer> mInserted;
+
+    // True if some of the players kept are in a different order relative to each other.
+    private final boolean mReordered;
+
+    // Positions in mTo of the players whose row changed, ascending, as the order is kept. Only if
+    // none were removed, inserted or moved, the positions would not tell much otherwise.
+    private final List<Integer> mChanged;
+
+    private PlayerListDiff(PlayerListSnapshot from, PlayerListSnapshot to, List<Integer> removed,
+                           List<Integer> inserted, boolean reordered, List<Integer> changed) {
+        mFrom = from;
+        mTo = to;
+        mRemoved = removed;
+        mInserted = inserted;
+        mReordered = reordered;
+        mChanged = changed;
+    }
+
+    /**
+     * Method to work out the difference between two snapshots.
+     * @param from - Snapshot shown so far.
+     * @param to - Snapshot to be shown.
+     * @return - Difference between the two.
+     */
+    public static PlayerListDiff between(PlayerListSnapshot from, PlayerListSnapshot to) {
+        Map<String, Integer> toPositions = new HashMap<>(to.size() * 2);
+        for (int i = 0; i < to.size(); i++) {
+            toPositions.put(to.get(i).getAddress(), i);
+        }
+
+        List<Integer> removed = new ArrayList<>();
+        boolean[] kept = new boolean[to.size()];
+        List<Integer> changed = new ArrayList<>();
+        boolean reordered = false;
+        int lastKept = -1;
+        for (int i = 0; i < from.size(); i++) {
+            PlayerListSnapshot.Row row = from.get(i);
+            Integer position = toPositions.get(row.getAddress());
+            if (position == null){
+                removed.add(i);
+                continue;
+            }
+            kept[position] = true;
+
+            // Kept players must show up in mTo in the order they had in mFrom.
+            if (position < lastKept){
+                reordered = true;
+            }
+            lastKept = position;
+            if (!row.sameAs(to.get(position))){
+                changed.add(position);
+            }
+        }
+
+        List<Integer> inserted = new ArrayList<>();
+        for (int i = 0; i < kept.length; i++) {
+            if (!kept[i]){
+                inserted.add(i);
+            }
+        }
+        if (!removed.isEmpty() || !inserted.isEmpty() || reordered){
+            changed = Collections.emptyList();
+        }
+        return new PlayerListDiff(from, to, Collections.unmodifiableList(removed),
+                Collections.unmodifiableList(inserted), reordered,
+                Collections.unmodifiableList(changed));
+    }
+
+    /**
+     * @return - True if nothing changed.
+     */
+    public boolean isEmpty() {
+        return !isStructural() && mChanged.isEmpty();
+    }
+
+    /**
+     * @return - True if players were removed, inserted or moved, rather than only some changing
+     * state.
+     */
+    public boolean isStructural() {
+        return !mRemoved.isEmpty() || !mInserted.isEmpty() || mReordered;
+    }
+
+    /***********************************************************************************************
+     *                          Getters and Setters
+     **********************************************************************************************/
+
+    public PlayerListSnapshot getFrom() {
+        return mFrom;
+    }
+
+    public PlayerListSnapshot getTo() {
+        return mTo;
+    }
+
+    public List<Integer> getRemoved() {
+        return mRemoved;
+    }
+
+    public List<Integer> getInserted() {
+        return mInserted;
+    }
+
+    public boolean isReordered() {
+        return mReordered;
+    }
+
+    public List<Integer> getChanged() {
+        return mChanged;
+    }
+
+    @Override
+    public String toString() {
+        return "PlayerListDiff(" + mFrom.getVersion() + " -> " + mTo.getVersion() + ", removed = " +
+                mRemoved + ", inserted = " + mInserted + ", reordered = " + mReordered +
+                ", changed = " + mChanged + ")";
+    }
+}
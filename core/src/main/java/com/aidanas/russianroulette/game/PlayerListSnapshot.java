@@ -0,0 +1,118 @@
+package com.aidanas.russianroulette.game;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Created by: Aidanas
+ * Created on: 18/10/2026.
+ *
+ * Immutable copy of the list of players as shown by the UI. Players are owned by the Arbitrator's
+ * thread and keep changing, so the UI gets copies of their state instead, numbered so that it can
+ * tell whether a diff (see PlayerListDiff) follows on from what it shows.
+ */
+public final class PlayerListSnapshot {
+
+    // Nothing shown yet.
+    public static final PlayerListSnapshot EMPTY =
+            new PlayerListSnapshot(0, Collections.<Row>emptyList());
+
+    private final int mVersion;
+    private final List<Row> mRows;
+
+    private PlayerListSnapshot(int version, List<Row> rows) {
+        mVersion = version;
+        mRows = rows;
+    }
+
+    /**
+     * Method to copy the players as they are now. Arbitrator's thread only.
+     * @param version - Version of the copy, one more than the last one.
+     * @param players - Players in the order they are shown.
+     * @return - Copy of the players.
+     */
+    public static PlayerListSnapshot of(int version, List<Player> players) {
+        List<Row> rows = new ArrayList<>(players.size());
+        for (Player p : players) {
+            rows.add(new Row(p.getName(), p.getAddress(), p.getState()));
+        }
+        return new PlayerListSnapshot(version, Collections.unmodifiableList(rows));
+    }
+
+    /***********************************************************************************************
+     *                          Getters and Setters
+     **********************************************************************************************/
+
+    public int getVersion() {
+        return mVersion;
+    }
+
+    /**
+     * @return - Immutable list of the rows, in the order they are shown.
+     */
+    public List<Row> getRows() {
+        return mRows;
+    }
+
+    public int size() {
+        return mRows.size();
+    }
+
+    public Row get(int position) {
+        return mRows.get(position);
+    }
+
+    /***********************************************************************************************
+     *                          Inner Classes
+     **********************************************************************************************/
+
+    /**
+     * A player as it was when the snapshot was taken.
+     */
+    public static final class Row {
+        private final String mName;
+        private final String mAddress;
+        private final Player.State mState;
+
+        Row(String name, String address, Player.State state) {
+            mName = name;
+            mAddress = address;
+            mState = state;
+        }
+
+        public String getName() {
+            return mName;
+        }
+
+        public String getAddress() {
+            return mAddress;
+        }
+
+        public Player.State getState() {
+            return mState;
+        }
+
+        public boolean isReady() {
+            return mState == Player.State.READY;
+        }
+
+        public boolean isAlive() {
+            return mState == Player.State.ALIVE;
+        }
+
+        /**
+         * @param other - Row of the same player.
+         * @return - True if the row looks the same as the other one.
+         */
+        boolean sameAs(Row other) {
+            return mState == other.mState &&
+                    (mName == null ? other.mName == null : mName.equals(other.mName));
+        }
+
+        @Override
+        public String toString() {
+            return mName + "(" + mAddress + ", " + mState + ")";
+        }
+    }
+}
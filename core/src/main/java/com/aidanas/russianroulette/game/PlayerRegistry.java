@@ -0,0 +1,89 @@
+package com.aidanas.russianroulette.game;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Created by: Aidanas
+ * Created on: 18/10/2026.
+ *
+ * Players currently in the game, keyed by the address of their device. Lookups by address take
+ * constant time regardless of the lobby size, iteration follows the order in which players
+ * joined. Not thread safe, meant to be owned by the Arbitrator's handler thread. Only the size can
+ * be read from any thread, i.e. for stats.
+ */
+public class PlayerRegistry {
+
+    private final Map<String, Player> mPlayers = new LinkedHashMap<>();
+
+    // Number of players, kept apart from the map so that it can be read from any thread.
+    private volatile int mSize;
+
+    // Cached result of snapshot(), dropped whenever the membership changes.
+    private List<Player> mSnapshot;
+
+    /**
+     * Method to add a player. Players are identified by their address, the name is for display
+     * only and need not be unique.
+     * @param player - Player to be added.
+     * @return - True if added, false if a player with the same address is already present.
+     */
+    public boolean add(Player player) {
+        if (mPlayers.containsKey(player.getAddress())){
+            return false;
+        }
+        mPlayers.put(player.getAddress(), player);
+        mSize = mPlayers.size();
+        mSnapshot = null;
+        return true;
+    }
+
+    /**
+     * Method to remove the player with the given address.
+     * @param address - Address of the player.
+     * @return - Removed player or null if there was none.
+     */
+    public Player remove(String address) {
+        Player p = mPlayers.remove(address);
+        if (p != null){
+            mSize = mPlayers.size();
+            mSnapshot = null;
+        }
+        return p;
+    }
+
+    /**
+     * Method to obtain the player with a given address.
+     * @param address - Address of the player to be found.
+     * @return - Player with the matching address OR 'null' if not found.
+     */
+    public Player get(String address) {
+        return mPlayers.get(address);
+    }
+
+    public boolean contains(String address) {
+        return mPlayers.containsKey(address);
+    }
+
+    /**
+     * @return - Number of players. Can be called from any thread.
+     */
+    public int size() {
+        return mSize;
+    }
+
+    /**
+     * Method to obtain all the players in the order they joined. The returned list is immutable
+     * and shared between calls until the membership changes, so it is cheap to call often.
+     * @return - Immutable list of players.
+     */
+    public List<Player> snapshot() {
+        if (mSnapshot == null){
+            mSnapshot = Collections.unmodifiableList(new ArrayList<>(mPlayers.values()));
+        }
+        return mSnapshot;
+    }
+}
@@ -0,0 +1,70 @@
+package com.aidanas.russianroulette.game;
+
+import java.util.List;
+
+/**
+ * Created by: Aidanas
+ * Created on: 18/10/2026.
+ *
+ * Payload of the message the server announces the outcome of a round with, when it resolves the
+ * rounds itself (see Arbitrator.setServerResolved()). Holds the outcome of every player who took
+ * part, the server included.
+ */
+public class RoundResult {
+
+    // Did the server's own player die?
+    private final boolean mMasterDead;
+
+    // Addresses of the clients who survived and who did not.
+    private final List<String> mAlive;
+    private final List<String> mDead;
+
+    /**
+     * Constructor.
+     * @param masterDead - Did the server's player die?
+     * @param alive - Addresses of the surviving clients.
+     * @param dead - Addresses of the dead clients.
+     */
+    public RoundResult(boolean masterDead, List<String> alive, List<String> dead) {
+        mMasterDead = masterDead;
+        mAlive = alive;
+        mDead = dead;
+    }
+
+    /**
+     * @param mac - Address of a client.
+     * @return - True if the client took part in the round and died.
+     */
+    public boolean isDead(String mac) {
+        return mDead.contains(mac);
+    }
+
+    /**
+     * @return - Number of players who took part, the server included.
+     */
+    public int size() {
+        return 1 + mAlive.size() + mDead.size();
+    }
+
+    /***********************************************************************************************
+     *                          Getters and Setters
+     **********************************************************************************************/
+
+    public boolean isMasterDead() {
+        return mMasterDead;
+    }
+
+    public List<String> getAlive() {
+        return mAlive;
+    }
+
+    public List<String> getDead() {
+        return mDead;
+    }
+
+    @Override
+    public String toString() {
+        return "RoundResult{masterDead = " + mMasterDead + ", alive = " + mAlive + ", dead = " +
+                mDead + "}";
+    }
+}
@@ -0,0 +1,66 @@
+package com.aidanas.russianroulette.game;
+
+/**
+ * Created by: Aidanas
+ * Created on: 18/10/2026.
+ *
+ * Payload of the message the server starts a round with. The server picks the instant the
+ * trigger is pulled on every device and converts it to each client's clock, so that all of them
+ * pull at the same time no matter when the message arrives. Until the clock of a client is known
+ * it gets a delay to count from the arrival instead. If the server resolves the round, the outcome
+ * follows in a RoundResult and is revealed at the trigger time.
+ */
+public class RoundStart {
+
+    // Whether mTriggerAt is valid.
+    private final boolean mSynced;
+
+    // Whether the server decides the outcome rather than the receiving device.
+    private final boolean mResolved;
+
+    // When to pull the trigger, System.nanoTime() of the receiving device.
+    private final long mTriggerAt;
+
+    // Nanoseconds to wait from the arrival of the message, for when the clock is not known.
+    private final long mDelay;
+
+    /**
+     * Constructor.
+     * @param synced - Is the trigger time in the receiving device's clock known?
+     * @param triggerAt - Trigger time in the receiving device's clock.
+     * @param delay - Nanoseconds to wait from the arrival otherwise.
+     * @param resolved - Is the outcome decided by the server?
+     */
+    public RoundStart(boolean synced, long triggerAt, long delay, boolean resolved) {
+        mSynced = synced;
+        mResolved = resolved;
+        mTriggerAt = triggerAt;
+        mDelay = delay;
+    }
+
+    /***********************************************************************************************
+     *                          Getters and Setters
+     **********************************************************************************************/
+
+    public boolean isSynced() {
+        return mSynced;
+    }
+
+    public long getTriggerAt() {
+        return mTriggerAt;
+    }
+
+    public long getDelay() {
+        return mDelay;
+    }
+
+    public boolean isResolved() {
+        return mResolved;
+    }
+
+    @Override
+    public String toString() {
+        return "RoundStart{synced = " + mSynced + ", triggerAt = " + mTriggerAt + ", delay = " +
+                mDelay + ", resolved = " + mResolved + "}";
+    }
+}
@@ -0,0 +1,65 @@
+package com.aidanas.russianroulette.game;
+
+import com.aidanas.russianroulette.interfaces.RandomSource;
+import com.aidanas.russianroulette.logging.Logger;
+
+import java.security.SecureRandom;
+
+/**
+ * Created by: Aidanas
+ * Created on: 18/10/2026.
+ *
+ * RandomSource backed by a single SecureRandom shared by the whole process. The first use of a
+ * SecureRandom seeds it, which can block for a while on Android, so warmUp() should be called
+ * early on a thread nobody waits for.
+ */
+public final class SecureRandomSource implements RandomSource {
+
+    // Tag, mostly used for logging and debug output.
+    public static final String TAG = SecureRandomSource.class.getSimpleName();
+    private static final Logger LOG = Logger.get(Logger.Subsystem.GAME, TAG);
+
+    private static final SecureRandomSource INSTANCE = new SecureRandomSource();
+
+    // SecureRandom is thread safe.
+    private final SecureRandom mRandom = new SecureRandom();
+
+    /**
+     * Singleton, use shared().
+     */
+    private SecureRandomSource(){}
+
+    /**
+     * @return - The process wide instance.
+     */
+    public static SecureRandomSource shared() {
+        return INSTANCE;
+    }
+
+    /**
+     * Method to seed the shared instance in the background, so that no round has to wait for it.
+     * Returns immediately.
+     */
+    public static void warmUp() {
+        Thread t = new Thread("SecureRandom warm up") {
+            @Override
+            public void run() {
+                long start = System.nanoTime();
+                INSTANCE.mRandom.nextInt();
+                if (LOG.isDebug()) LOG.d("In run(), seeded in " +
+                        (System.nanoTime() - start) / 1000000 + "ms");
+            }
+        };
+        t.setDaemon(true);
+        t.start();
+    }
+
+    /***********************************************************************************************
+     *                                  Interface Implementations
+     **********************************************************************************************/
+
+    @Override
+    public int nextInt(int bound) {
+        return mRandom.nextInt(bound);
+    }
+}
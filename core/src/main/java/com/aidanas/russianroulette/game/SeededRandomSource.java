@@ -0,0 +1,71 @@
+package com.aidanas.russianroulette.game;
+
+import com.aidanas.russianroulette.interfaces.RandomSource;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Created by: Aidanas
+ * Created on: 18/10/2026.
+ *
+ * Deterministic RandomSource for benchmarks, load tests and replays: the same seed always gives
+ * the same sequence of values. SplitMix64 over an atomic counter, so it is lock free. Not fit for
+ * real games, the next values are easy to predict.
+ */
+public final class SeededRandomSource implements RandomSource {
+
+    // Increment of the SplitMix64 counter.
+    private static final long GAMMA = 0x9E3779B97F4A7C15L;
+
+    private final long mSeed;
+    private final AtomicLong mState;
+
+    /**
+     * Constructor.
+     * @param seed - Seed of the sequence.
+     */
+    public SeededRandomSource(long seed) {
+        mSeed = seed;
+        mState = new AtomicLong(seed);
+    }
+
+    /**
+     * @return - Seed the sequence was started with, to replay it.
+     */
+    public long getSeed() {
+        return mSeed;
+    }
+
+    /**
+     * @return - Next 31 random bits.
+     */
+    private int next31() {
+        long z = mState.addAndGet(GAMMA);
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        z = z ^ (z >>> 31);
+        return (int) (z >>> 33);
+    }
+
+    /***********************************************************************************************
+     *                                  Interface Implementations
+     **********************************************************************************************/
+
+    @Override
+    public int nextInt(int bound) {
+        if (bound <= 0){
+            throw new IllegalArgumentException("Bound must be positive");
+        }
+
+        // Same as java.util.Random: values past the last whole multiple of bound are rejected.
+        int r = next31();
+        int m = bound - 1;
+        if ((bound & m) == 0){
+            return (int) ((bound * (long) r) >> 31);
+        }
+        for (int u = r; u - (r = u % bound) + m < 0; u = next31()) {
+            // Rejected, try the next one.
+        }
+        return r;
+    }
+}
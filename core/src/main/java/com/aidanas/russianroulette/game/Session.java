@@ -0,0 +1,61 @@
+package com.aidanas.russianroulette.game;
+
+/**
+ * Created by: Aidanas
+ * Created on: 18/10/2026.
+ *
+ * Payload of the join handshake. A client opens every connection with one, the server answers it
+ * with one of its own. The token is issued by the server when a player first joins; a client
+ * coming back after a dropped connection presents it, along with the last game state change it
+ * applied, to get its seat back and only the changes it missed.
+ */
+public class Session {
+
+    // Token of a client joining for the first time.
+    public static final long NO_TOKEN = 0;
+
+    // Sequence number of a client which has not applied any change and needs a snapshot.
+    public static final int NO_SEQ = -1;
+
+    // Token of the player's session.
+    private final long mToken;
+
+    // Client: last change applied. Server: last change made.
+    private final int mLastSeq;
+
+    // Server: state of the player as the server has it. Client: unused.
+    private final Player.State mState;
+
+    /**
+     * Constructor.
+     * @param token - Token of the session, NO_TOKEN for a new one.
+     * @param lastSeq - Sequence number of the last change applied (made by the server) or NO_SEQ.
+     * @param state - State of the player.
+     */
+    public Session(long token, int lastSeq, Player.State state) {
+        mToken = token;
+        mLastSeq = lastSeq;
+        mState = state;
+    }
+
+    /***********************************************************************************************
+     *                          Getters and Setters
+     **********************************************************************************************/
+
+    public long getToken() {
+        return mToken;
+    }
+
+    public int getLastSeq() {
+        return mLastSeq;
+    }
+
+    public Player.State getState() {
+        return mState;
+    }
+
+    @Override
+    public String toString() {
+        return "Session(lastSeq = " + mLastSeq + ", state = " + mState + ")";
+    }
+}
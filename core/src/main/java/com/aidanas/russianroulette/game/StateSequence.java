@@ -0,0 +1,87 @@
+package com.aidanas.russianroulette.game;
+
+/**
+ * Created by: Aidanas
+ * Created on: 18/10/2026.
+ *
+ * Client side bookkeeping of the game state version. Every change the server makes to the game
+ * state bumps a sequence number and goes out as a delta carrying it. Deltas must be applied one
+ * after another; once one goes missing the client stops applying them and asks for a snapshot,
+ * which brings it back in sync. The client is out of sync until it gets its first snapshot.
+ * Not thread safe, meant to be owned by the Arbitrator's handler thread.
+ */
+public class StateSequence {
+
+    // Sequence number of the last change applied.
+    private int mLast = 0;
+
+    private boolean mSynced = false;
+
+    /**
+     * Method to decide what to do with a delta.
+     * @param seq - Sequence number of the delta.
+     * @return - What to do with it.
+     */
+    public Verdict onDelta(int seq) {
+        if (!mSynced){
+            return Verdict.SKIP;
+        }
+        if (seq - mLast <= 0){
+            // Already covered by a snapshot.
+            return Verdict.SKIP;
+        }
+        if (seq - mLast > 1){
+            mSynced = false;
+            return Verdict.RESYNC;
+        }
+        mLast = seq;
+        return Verdict.APPLY;
+    }
+
+    /**
+     * Method to decide whether to apply a snapshot.
+     * @param seq - Sequence number of the last change included in the snapshot.
+     * @return - True if the snapshot should be applied.
+     */
+    public boolean onSnapshot(int seq) {
+        if (mSynced && seq - mLast <= 0){
+            return false;
+        }
+        mLast = seq;
+        mSynced = true;
+        return true;
+    }
+
+    /**
+     * Method to forget the changes applied, i.e. when the server has started a new session for
+     * the client and numbers the changes afresh. Out of sync until the next snapshot.
+     */
+    public void reset() {
+        mLast = 0;
+        mSynced = false;
+    }
+
+    public boolean isSynced() {
+        return mSynced;
+    }
+
+    public int getLast() {
+        return mLast;
+    }
+
+    /***********************************************************************************************
+     *                          Inner Classes
+     **********************************************************************************************/
+
+    /**
+     * What to do with a delta.
+     */
+    public enum Verdict {
+        // Next in line, apply it.
+        APPLY,
+        // Stale or arriving while waiting for a snapshot, drop it.
+        SKIP,
+        // Some changes were missed, drop it and request a snapshot.
+        RESYNC,
+    }
+}
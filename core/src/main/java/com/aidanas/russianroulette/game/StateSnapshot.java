@@ -0,0 +1,56 @@
+package com.aidanas.russianroulette.game;
+
+import java.util.List;
+
+/**
+ * Created by: Aidanas
+ * Created on: 18/10/2026.
+ *
+ * Full state of the game as the server sees it, sent to a client when it joins or when it has
+ * missed a change. Clients are otherwise kept up to date by small deltas, see StateSequence.
+ */
+public class StateSnapshot {
+
+    // Address of the receiving client as known to the server and to the other clients.
+    private final String mSelfAddress;
+
+    // State of the server's own player.
+    private final Player.State mMasterState;
+
+    // Every other client in the game, the receiving one excluded.
+    private final List<Player> mPlayers;
+
+    /**
+     * Constructor.
+     * @param selfAddress - Address of the receiving client.
+     * @param masterState - State of the server's own player.
+     * @param players - Other clients in the game.
+     */
+    public StateSnapshot(String selfAddress, Player.State masterState, List<Player> players) {
+        mSelfAddress = selfAddress;
+        mMasterState = masterState;
+        mPlayers = players;
+    }
+
+    /***********************************************************************************************
+     *                          Getters and Setters
+     **********************************************************************************************/
+
+    public String getSelfAddress() {
+        return mSelfAddress;
+    }
+
+    public Player.State getMasterState() {
+        return mMasterState;
+    }
+
+    public List<Player> getPlayers() {
+        return mPlayers;
+    }
+
+    @Override
+    public String toString() {
+        return "StateSnapshot{self = " + mSelfAddress + ", master = " + mMasterState +
+                ", players = " + mPlayers + "}";
+    }
+}
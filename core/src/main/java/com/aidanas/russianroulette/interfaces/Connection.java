@@ -0,0 +1,38 @@
+package com.aidanas.russianroulette.interfaces;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Created by: Aidanas
+ * Created on: 18/10/2026.
+ *
+ * A connected, bidirectional byte stream to a remote peer. Implemented for every transport the
+ * game can run over (Bluetooth RFCOMM, TCP and in-process pipes) so the game logic never has to
+ * know which one it is talking through.
+ */
+public interface Connection extends Closeable {
+
+    InputStream getInputStream() throws IOException;
+
+    OutputStream getOutputStream() throws IOException;
+
+    /**
+     * @return - Identifier of the remote peer which is unique among the peers of one transport
+     * (i.e. the MAC address for Bluetooth). Must be cheap to call.
+     */
+    String getPeerId();
+
+    /**
+     * @return - Human readable name of the remote peer. Might involve a lookup and might be null.
+     */
+    String getPeerName();
+
+    /**
+     * Closes the connection. Any thread blocked reading from it gets an IOException.
+     */
+    @Override
+    void close() throws IOException;
+}
@@ -0,0 +1,26 @@
+package com.aidanas.russianroulette.interfaces;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Created by: Aidanas
+ * Created on: 18/10/2026.
+ *
+ * Listening end of a transport. Hands out a Connection for every remote peer which connects.
+ */
+public interface ConnectionAcceptor extends Closeable {
+
+    /**
+     * Blocks until a remote peer connects.
+     * @return - Connection to the peer.
+     * @throws IOException - If the acceptor fails or is closed while waiting.
+     */
+    Connection accept() throws IOException;
+
+    /**
+     * Stops listening. A thread blocked in accept() gets an IOException.
+     */
+    @Override
+    void close() throws IOException;
+}
@@ -0,0 +1,24 @@
+package com.aidanas.russianroulette.interfaces;
+
+import java.io.IOException;
+
+/**
+ * Created by: Aidanas
+ * Created on: 18/10/2026.
+ *
+ * Connecting end of a transport. Knows how to reach a single remote host.
+ */
+public interface ConnectionConnector {
+
+    /**
+     * Blocks until connected to the remote host.
+     * @return - Connection to the host.
+     * @throws IOException - If the host can not be reached or cancel() was called.
+     */
+    Connection connect() throws IOException;
+
+    /**
+     * Aborts the connection attempt. Can be called from any thread.
+     */
+    void cancel();
+}
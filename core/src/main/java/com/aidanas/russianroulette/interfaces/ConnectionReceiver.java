@@ -0,0 +1,12 @@
+package com.aidanas.russianroulette.interfaces;
+
+/**
+ * Created by: Aidanas
+ * Created on: 21/04/2016.
+ *
+ * Callback interface for classes which can accept a connected Connection, regardless of the
+ * transport it was made over. Might be called by several threads at once, see BtMasterThread.
+ */
+public interface ConnectionReceiver {
+    void receiveConnection(Connection connection);
+}
@@ -0,0 +1,19 @@
+package com.aidanas.russianroulette.interfaces;
+
+import java.io.IOException;
+
+/**
+ * Created by: Aidanas
+ * Created on: 18/10/2026.
+ *
+ * Makes connectors to the same remote host over and over, i.e. to reconnect once a connection
+ * drops. A connector is good for a single attempt only.
+ */
+public interface ConnectorFactory {
+
+    /**
+     * @return - New connector to the remote host.
+     * @throws IOException - If the transport is not available.
+     */
+    ConnectionConnector newConnector() throws IOException;
+}
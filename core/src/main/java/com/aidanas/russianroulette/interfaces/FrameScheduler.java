@@ -0,0 +1,16 @@
+package com.aidanas.russianroulette.interfaces;
+
+/**
+ * Created by: Aidanas
+ * Created on: 18/10/2026.
+ *
+ * Runs tasks in step with the display, on the UI thread. On Android this is the Choreographer
+ * (see services.ChoreographerFrameScheduler).
+ */
+public interface FrameScheduler {
+
+    /**
+     * Queues a task to be run once, at the start of the next frame. Can be called from any thread.
+     */
+    void postFrame(Runnable frame);
+}
@@ -0,0 +1,12 @@
+package com.aidanas.russianroulette.interfaces;
+
+/**
+ * Created by: Aidanas
+ * Created on: 18/10/2026.
+ *
+ * Callback interface for whoever presents the game, i.e. the UI. Called on the Arbitrator's
+ * thread, see Arbitrator.MSG_UI_* for the events and what comes with them.
+ */
+public interface GameObserver {
+    void onGameEvent(int what, Object obj);
+}
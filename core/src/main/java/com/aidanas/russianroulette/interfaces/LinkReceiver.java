@@ -0,0 +1,12 @@
+package com.aidanas.russianroulette.interfaces;
+
+/**
+ * Created by: Aidanas
+ * Created on: 18/10/2026.
+ *
+ * Callback interface for classes which can take over a PeerLink. Transports which frame messages
+ * themselves hand over links instead of raw Connections, see ConnectionReceiver.
+ */
+public interface LinkReceiver {
+    void receiveLink(PeerLink link);
+}
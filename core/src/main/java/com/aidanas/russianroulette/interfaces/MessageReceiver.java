@@ -0,0 +1,15 @@
+package com.aidanas.russianroulette.interfaces;
+
+import com.aidanas.russianroulette.communication.BtMsg;
+
+/**
+ * Created by: Aidanas
+ * Created on: 18/10/2026.
+ *
+ * Callback interface for classes which process the messages received by a PeerLink. Called on
+ * the transport's thread, so implementations should hand the message over rather than process it
+ * there.
+ */
+public interface MessageReceiver {
+    void receiveMessage(BtMsg btMsg);
+}
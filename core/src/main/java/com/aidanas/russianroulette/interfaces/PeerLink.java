@@ -0,0 +1,74 @@
+package com.aidanas.russianroulette.interfaces;
+
+import com.aidanas.russianroulette.communication.BtFrame;
+import com.aidanas.russianroulette.communication.BtMsg;
+import com.aidanas.russianroulette.communication.PeerClock;
+import com.aidanas.russianroulette.metrics.Histogram;
+
+/**
+ * Created by: Aidanas
+ * Created on: 18/10/2026.
+ *
+ * A remote peer exchanging framed messages, as seen by the game logic. How the frames are read
+ * and written (a pair of threads per Connection, or one selector thread serving every socket) is
+ * up to the implementation.
+ *
+ * Received messages are passed to the receiver given to open() with their srcMAC and receivedAt
+ * set. The last one is always a BtMsg.PEER_DISCONNECTED carrying the link, which tells it apart
+ * from a later link to the same peer.
+ */
+public interface PeerLink {
+
+    /**
+     * @return - Identifier of the remote peer, see Connection.getPeerId().
+     */
+    String getPeerId();
+
+    /**
+     * @return - Human readable name of the remote peer, might be null.
+     */
+    String getPeerName();
+
+    /**
+     * Starts delivering received messages. Called once.
+     * @param receiver - Receiver to which received messages will be passed.
+     */
+    void open(MessageReceiver receiver);
+
+    /**
+     * Queues a message for the remote peer. Never blocks unless the write queue is full and its
+     * overflow policy says so.
+     */
+    void write(BtMsg btMsg);
+
+    /**
+     * Queues an already encoded message for the remote peer, see write(BtMsg).
+     */
+    void write(BtFrame frame);
+
+    /**
+     * Closes the link. The receiver still gets the PEER_DISCONNECTED message.
+     */
+    void cancel();
+
+    /**
+     * @return - Clock estimate of the remote device, fed by the owner of the link.
+     */
+    PeerClock getClock();
+
+    int getWriteQueueDepth();
+
+    long getBytesIn();
+
+    long getBytesOut();
+
+    /**
+     * @return - Number of frames dropped by the overflow policy so far.
+     */
+    long getDroppedCount();
+
+    /**
+     * @return - Nanoseconds frames wait in the write queue until handed to the transport.
+     */
+    Histogram getWriteLatency();
+}
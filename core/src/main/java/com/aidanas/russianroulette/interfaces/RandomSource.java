@@ -0,0 +1,17 @@
+package com.aidanas.russianroulette.interfaces;
+
+/**
+ * Created by: Aidanas
+ * Created on: 18/10/2026.
+ *
+ * Source of the randomness the game is decided by. Implementations must be safe to share between
+ * threads and must not allocate or block once constructed.
+ */
+public interface RandomSource {
+
+    /**
+     * @param bound - Upper bound, exclusive. Must be positive.
+     * @return - Uniformly distributed value between 0 (inclusive) and bound (exclusive).
+     */
+    int nextInt(int bound);
+}
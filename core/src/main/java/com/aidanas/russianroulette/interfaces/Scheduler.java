@@ -0,0 +1,38 @@
+package com.aidanas.russianroulette.interfaces;
+
+/**
+ * Created by: Aidanas
+ * Created on: 18/10/2026.
+ *
+ * Runs tasks one at a time, in the order posted, on a thread of its own choosing. The game state
+ * of an Arbitrator is only ever touched by the tasks of its scheduler, so it needs no locking.
+ * On Android this is a Handler (see services.HandlerScheduler), elsewhere an EventLoop.
+ */
+public interface Scheduler {
+
+    /**
+     * Queues a task to be run after everything posted before it. Can be called from any thread.
+     */
+    void post(Runnable task);
+
+    /**
+     * Queues a task to be run no sooner than the given delay. Can be called from any thread.
+     */
+    void postDelayed(Runnable task, long delayMillis);
+
+    /**
+     * Removes every pending run of the task.
+     */
+    void cancel(Runnable task);
+
+    /**
+     * @return - Number of tasks posted but not yet run.
+     */
+    int getQueueDepth();
+
+    /**
+     * Drops every pending task and ignores the ones posted from now on. A task already running
+     * is let finish. Frees the thread if the scheduler has one of its own.
+     */
+    void shutdown();
+}
@@ -0,0 +1,504 @@
+package com.aidanas.russianroulette.journal;
+
+import com.aidanas.russianroulette.communication.BtFrame;
+import com.aidanas.russianroulette.communication.BtMsg;
+import com.aidanas.russianroulette.communication.BtMsgCodec;
+import com.aidanas.russianroulette.game.Player;
+import com.aidanas.russianroulette.interfaces.Scheduler;
+import com.aidanas.russianroulette.logging.Logger;
+import com.aidanas.russianroulette.metrics.Counter;
+import com.aidanas.russianroulette.metrics.Histogram;
+import com.aidanas.russianroulette.metrics.Metrics;
+import com.aidanas.russianroulette.scheduling.EventLoop;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Created by: Aidanas
+ * Created on: 18/10/2026.
+ *
+ * Append-only binary journal of every message received and sent and every player state change,
+ * for post-mortems of games which got stuck (see JournalReader). Process wide, like the logger:
+ * once a journal is installed the static methods record into it, until then they do nothing.
+ *
+ * Records are copied straight into a memory-mapped segment file, which costs about as much as
+ * copying them into an array. Segments have a fixed size and the next one is created and mapped
+ * ahead of time on a thread of the journal's own, so the threads recording never wait for the
+ * disk. If they ever get ahead of it the record is dropped instead, leaving a gap in the sequence
+ * numbers. Recording takes a lock of its own, which is never held while the disk is waited for,
+ * neither by force() or close() nor while a segment is made. Segment layout:
+ *
+ *      | magic (4) | version (4) | wall clock ms (8) | System.nanoTime() (8) | records... |
+ *
+ * and of every record:
+ *
+ *      | length (4) | kind (1) | sequence number (8) | System.nanoTime() (8) | body |
+ *
+ * A zero length marks the end of the records in a segment.
+ */
+public class Journal implements Closeable {
+
+    // Tag, mostly used for logging and debug output.
+    public static final String TAG = Journal.class.getSimpleName();
+    private static final Logger LOG = Logger.get(Logger.Subsystem.GAME, TAG);
+
+    static final int MAGIC = 0x52524A31; // "RRJ1"
+    static final int VERSION = 1;
+    static final int SEGMENT_HEADER_SIZE = 24;
+    static final int RECORD_HEADER_SIZE = 21;
+
+    // Kinds of the records.
+    static final byte KIND_RECEIVED = 1;
+    static final byte KIND_SENT = 2;
+    static final byte KIND_STATE = 3;
+
+    // Peer of a sent record which went to every client (but possibly a few).
+    public static final String EVERYONE = "*";
+
+    // Address of the state records of this device's own player.
+    public static final String SELF = "self";
+
+    public static final int DEFAULT_SEGMENT_SIZE = 4 * 1024 * 1024;
+
+    // Segments must hold the largest frame there is.
+    public static final int MIN_SEGMENT_SIZE = 2 * (BtMsgCodec.HEADER_SIZE +
+            BtMsgCodec.MAX_BODY_SIZE);
+
+    static final String SEGMENT_PREFIX = "journal-";
+    static final String SEGMENT_SUFFIX = ".rrj";
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    // Type passed to append() for a body which is not a frame.
+    private static final int NOT_A_FRAME = -1;
+
+    private static final byte[] NO_BYTES = new byte[0];
+
+    // Most peers whose encoded addresses are kept, all are forgotten once there are more.
+    private static final int MAX_PEERS = 256;
+
+    private static final Counter DROPPED = Metrics.counter("journal.dropped");
+    private static final Histogram APPEND_NANOS = Metrics.histogram("journal.append_ns");
+
+    // Journal the static methods record into, null for none.
+    private static volatile Journal sJournal;
+
+    private final File mDir;
+    private final int mSegmentSize;
+    private final int mMaxSegments;
+
+    // Creates, maps and retires the segments.
+    private final Scheduler mScheduler;
+
+    // Addresses of the peers encoded, so that a peer's is not encoded again for every record.
+    private final ConcurrentHashMap<String, byte[]> mPeerBytes = new ConcurrentHashMap<>();
+
+    // Guards the segments, the sequence numbers and mClosed. Held for copying a record only.
+    private final Object mAppendLock = new Object();
+
+    // Segment being written and the one to follow it, once mapped. Guarded by mAppendLock.
+    private Segment mCurrent;
+    private Segment mNext;
+    private boolean mClosed = false;
+
+    // Set while the next segment is being made, close() waits on 'this' for it to be cleared.
+    private final AtomicBoolean mPreparing = new AtomicBoolean();
+
+    // Number of the last segment created. Journal's thread only.
+    private long mLastIndex;
+
+    // Sequence number of the last record, written or dropped. Guarded by mAppendLock.
+    private long mSeq = 0;
+    private long mDropped = 0;
+
+    private final Runnable mPrepare = new Runnable() {
+        @Override
+        public void run() {
+            Segment segment;
+            try {
+                segment = createSegment();
+            } catch (IOException e) {
+                LOG.w("Failed to create a journal segment", e);
+                segment = null;
+            }
+            boolean kept = false;
+            synchronized (mAppendLock) {
+                if (!mClosed && segment != null){
+                    mNext = segment;
+                    kept = true;
+                }
+            }
+            if (!kept && segment != null){
+                segment.close();
+                segment.file.delete();
+            }
+            synchronized (Journal.this) {
+                mPreparing.set(false);
+                Journal.this.notifyAll();
+            }
+            if (kept){
+                deleteOldSegments();
+            }
+        }
+    };
+
+    /**
+     * Constructor. Creates the first segment straight away, after the ones already in the
+     * directory.
+     * @param dir - Directory of the segments. Created if missing.
+     * @param segmentSize - Size of every segment in bytes, at least MIN_SEGMENT_SIZE.
+     * @param maxSegments - Most segments kept in the directory, the oldest are deleted.
+     * @throws IOException - If the first segment can not be created.
+     */
+    public Journal(File dir, int segmentSize, int maxSegments) throws IOException {
+        if (segmentSize < MIN_SEGMENT_SIZE){
+            throw new IllegalArgumentException("Segments must be at least " + MIN_SEGMENT_SIZE +
+                    " bytes");
+        }
+        if (maxSegments < 2){
+            throw new IllegalArgumentException("At least two segments must be kept");
+        }
+        if (!dir.isDirectory() && !dir.mkdirs()){
+            throw new IOException("Can not create " + dir);
+        }
+        mDir = dir;
+        mSegmentSize = segmentSize;
+        mMaxSegments = maxSegments;
+
+        File[] existing = segments(dir);
+        mLastIndex = existing.length == 0 ? 0 : indexOf(existing[existing.length - 1]);
+        mCurrent = createSegment();
+
+        mScheduler = EventLoop.startDedicated(TAG);
+        prepareNext();
+    }
+
+    /**
+     * Method to make the static methods record into the given journal.
+     * @param journal - Journal to record into or null to stop recording. The one replaced is not
+     *                closed.
+     */
+    public static void install(Journal journal) {
+        sJournal = journal;
+    }
+
+    /**
+     * @return - Journal installed or null if there is none.
+     */
+    public static Journal getInstalled() {
+        return sJournal;
+    }
+
+    /**
+     * Method to record a message received. The frame is put back together from the body it was
+     * decoded from, a message which never was on the wire (i.e. PEER_DISCONNECTED) is recorded
+     * with no body.
+     * @param peer - Address of the sender.
+     * @param btMsg - Message received.
+     */
+    public static void received(String peer, BtMsg btMsg) {
+        Journal journal = sJournal;
+        if (journal != null){
+            journal.append(KIND_RECEIVED, peer, btMsg.type,
+                    btMsg.body != null ? btMsg.body : NO_BYTES, null);
+        }
+    }
+
+    /**
+     * Method to record a message sent.
+     * @param peer - Address of the receiver or EVERYONE for a broadcast.
+     * @param frame - Message sent.
+     */
+    public static void sent(String peer, BtFrame frame) {
+        Journal journal = sJournal;
+        if (journal != null){
+            journal.append(KIND_SENT, peer, NOT_A_FRAME, null, frame);
+        }
+    }
+
+    /**
+     * Method to record a player changing state.
+     * @param address - Address of the player or SELF for this device's.
+     * @param from - State before.
+     * @param to - State after.
+     */
+    public static void stateChanged(String address, Player.State from, Player.State to) {
+        Journal journal = sJournal;
+        if (journal != null){
+            journal.append(KIND_STATE, address, NOT_A_FRAME, new byte[]{(byte) from.ordinal(),
+                    (byte) to.ordinal()}, null);
+        }
+    }
+
+    /**
+     * @return - Directory of the segments.
+     */
+    public File getDir() {
+        return mDir;
+    }
+
+    /**
+     * @return - Number of records dropped as the next segment was not ready.
+     */
+    public long getDroppedCount() {
+        synchronized (mAppendLock) {
+            return mDropped;
+        }
+    }
+
+    /**
+     * Method to write the records so far to the disk. Blocks, not to be called on a thread which
+     * must not.
+     */
+    public void force() {
+        Segment current;
+        synchronized (mAppendLock) {
+            current = mCurrent;
+        }
+        // A mapping stays valid after its file is closed, so a segment just rolled off is fine.
+        if (current != null){
+            current.buf.force();
+        }
+    }
+
+    /**
+     * Method to stop recording: the records are written to the disk and the files closed. Records
+     * made afterwards are ignored. Uninstalls the journal if installed.
+     */
+    @Override
+    public void close() {
+        if (LOG.isVerbose()) LOG.v("In close(), Thread = " + Thread.currentThread().getName());
+
+        if (sJournal == this){
+            sJournal = null;
+        }
+        Segment current;
+        Segment next;
+        synchronized (mAppendLock) {
+            if (mClosed){
+                return;
+            }
+            mClosed = true;
+            current = mCurrent;
+            next = mNext;
+            mCurrent = null;
+            mNext = null;
+        }
+
+        // A segment being made would be deleted behind the back of whoever reads the journal.
+        synchronized (this) {
+            while (mPreparing.get()) {
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+        current.buf.force();
+        current.close();
+        if (next != null){
+            next.close();
+            next.file.delete();
+        }
+        mScheduler.shutdown();
+    }
+
+    /**
+     * Copies a record into the current segment, moving on to the next one if it does not fit.
+     * The body is either the frame, the bytes given or, unless the type is NOT_A_FRAME, a frame
+     * of that type with the bytes given as its body.
+     */
+    private void append(byte kind, String peer, int type, byte[] bytes, BtFrame frame) {
+        long start = System.nanoTime();
+        byte[] peerBytes = peerBytes(peer);
+        int length = RECORD_HEADER_SIZE + 2 + peerBytes.length +
+                (frame != null ? frame.length() : bytes.length) +
+                (type != NOT_A_FRAME ? BtMsgCodec.HEADER_SIZE : 0);
+
+        synchronized (mAppendLock) {
+            if (mClosed){
+                return;
+            }
+            long seq = ++mSeq;
+
+            // Room is left for the zero length marking the end.
+            if (mCurrent.buf.remaining() < length + 4 && !roll()){
+                mDropped++;
+                DROPPED.increment();
+                return;
+            }
+
+            MappedByteBuffer buf = mCurrent.buf;
+            buf.putInt(length);
+            buf.put(kind);
+            buf.putLong(seq);
+            buf.putLong(start);
+            buf.putShort((short) peerBytes.length);
+            buf.put(peerBytes);
+            if (frame != null){
+                frame.writeTo(buf);
+            } else {
+                if (type != NOT_A_FRAME){
+                    buf.put((byte) BtMsgCodec.VERSION);
+                    buf.putShort((short) type);
+                    buf.putInt(bytes.length);
+                }
+                buf.put(bytes);
+            }
+        }
+        APPEND_NANOS.record(System.nanoTime() - start);
+    }
+
+    /**
+     * @return - Address of the peer encoded, empty for none.
+     */
+    private byte[] peerBytes(String peer) {
+        if (peer == null){
+            return NO_BYTES;
+        }
+        byte[] bytes = mPeerBytes.get(peer);
+        if (bytes == null){
+            if (mPeerBytes.size() >= MAX_PEERS){
+                // Peers come and go on a server, do not keep every one that ever connected.
+                mPeerBytes.clear();
+            }
+            bytes = peer.getBytes(UTF_8);
+            mPeerBytes.put(peer, bytes);
+        }
+        return bytes;
+    }
+
+    /**
+     * Moves on to the segment prepared ahead of time. Guarded by mAppendLock.
+     * @return - False if it is not ready yet.
+     */
+    private boolean roll() {
+        if (mNext == null){
+            prepareNext();
+            return false;
+        }
+        final Segment full = mCurrent;
+        mCurrent = mNext;
+        mNext = null;
+        prepareNext();
+
+        // Unmapped once garbage collected, the file can be closed right away.
+        mScheduler.post(new Runnable() {
+            @Override
+            public void run() {
+                full.close();
+            }
+        });
+        return true;
+    }
+
+    /**
+     * Has the next segment created on the journal's thread unless that is under way.
+     */
+    private void prepareNext() {
+        if (mPreparing.compareAndSet(false, true)){
+            mScheduler.post(mPrepare);
+        }
+    }
+
+    /**
+     * Creates and maps a segment, its header written.
+     */
+    private Segment createSegment() throws IOException {
+        File file = new File(mDir, String.format(Locale.US, "%s%010d%s", SEGMENT_PREFIX,
+                ++mLastIndex, SEGMENT_SUFFIX));
+        RandomAccessFile raf = new RandomAccessFile(file, "rw");
+        try {
+            raf.setLength(mSegmentSize);
+            MappedByteBuffer buf = raf.getChannel().map(FileChannel.MapMode.READ_WRITE, 0,
+                    mSegmentSize);
+            buf.putInt(MAGIC);
+            buf.putInt(VERSION);
+            buf.putLong(System.currentTimeMillis());
+            buf.putLong(System.nanoTime());
+            return new Segment(file, raf, buf);
+        } catch (IOException e) {
+            raf.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Deletes the oldest segments beyond the number kept. Journal's thread only.
+     */
+    private void deleteOldSegments() {
+        File[] files = segments(mDir);
+        for (int i = 0; i < files.length - mMaxSegments; i++) {
+            if (!files[i].delete()){
+                LOG.w("Failed to delete " + files[i]);
+            }
+        }
+    }
+
+    /**
+     * @param dir - Directory of a journal.
+     * @return - Segments in the directory, oldest first.
+     */
+    static File[] segments(File dir) {
+        File[] files = dir.listFiles();
+        if (files == null){
+            return new File[0];
+        }
+        int n = 0;
+        for (File f : files) {
+            if (f.getName().startsWith(SEGMENT_PREFIX) && f.getName().endsWith(SEGMENT_SUFFIX)){
+                files[n++] = f;
+            }
+        }
+        File[] segments = Arrays.copyOf(files, n);
+
+        // Numbers are zero padded, so the names sort in the order of creation.
+        Arrays.sort(segments);
+        return segments;
+    }
+
+    private static long indexOf(File segment) {
+        String name = segment.getName();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(),
+                name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    /***********************************************************************************************
+     *                                  Inner Classes
+     **********************************************************************************************/
+
+    /**
+     * A segment file and its mapping.
+     */
+    private static class Segment {
+        final File file;
+        final RandomAccessFile raf;
+        final MappedByteBuffer buf;
+
+        Segment(File file, RandomAccessFile raf, MappedByteBuffer buf) {
+            this.file = file;
+            this.raf = raf;
+            this.buf = buf;
+        }
+
+        void close() {
+            try {
+                raf.close();
+            } catch (IOException e) {
+                // Ignore close exception.
+            }
+        }
+    }
+}
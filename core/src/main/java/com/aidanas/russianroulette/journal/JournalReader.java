@@ -0,0 +1,235 @@
+package com.aidanas.russianroulette.journal;
+
+import com.aidanas.russianroulette.communication.BtMsg;
+import com.aidanas.russianroulette.communication.BtMsgCodec;
+import com.aidanas.russianroulette.game.Player;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+
+/**
+ * Created by: Aidanas
+ * Created on: 18/10/2026.
+ *
+ * Reads the records of a Journal back, oldest first, for a post-mortem. The journal may still be
+ * being written, records made after a segment has been read are not seen. From the command line:
+ *
+ *      java -cp core.jar com.aidanas.russianroulette.journal.JournalReader DIR
+ */
+public class JournalReader implements Closeable {
+
+    private final File[] mSegments;
+    private int mNextSegment = 0;
+
+    // Segment being read and the wall clock time of its System.nanoTime() origin.
+    private DataInputStream mIn;
+    private long mRemaining;
+    private long mWallMillis;
+    private long mNanoTime;
+
+    /**
+     * Constructor.
+     * @param dir - Directory the journal was written to.
+     */
+    public JournalReader(File dir) {
+        mSegments = Journal.segments(dir);
+    }
+
+    /**
+     * Method to read the next record.
+     * @return - Record or null if there are no more.
+     * @throws IOException - If a segment can not be read or is not a journal segment.
+     */
+    public Record next() throws IOException {
+        while (true) {
+            if (mIn == null && !openNextSegment()){
+                return null;
+            }
+
+            int length = mRemaining >= 4 ? mIn.readInt() : 0;
+            if (length == 0){
+                // Rest of the segment was never written.
+                close();
+                continue;
+            }
+            if (length < Journal.RECORD_HEADER_SIZE + 2 || length > mRemaining){
+                throw new IOException("Corrupt record of length " + length + " in " +
+                        mSegments[mNextSegment - 1]);
+            }
+            mRemaining -= length;
+
+            byte kind = mIn.readByte();
+            long seq = mIn.readLong();
+            long nanoTime = mIn.readLong();
+            byte[] peer = new byte[mIn.readUnsignedShort()];
+            mIn.readFully(peer);
+            byte[] body = new byte[length - Journal.RECORD_HEADER_SIZE - 2 - peer.length];
+            mIn.readFully(body);
+
+            return new Record(kind, seq, nanoTime, mWallMillis + (nanoTime - mNanoTime) / 1000000,
+                    new String(peer, "UTF-8"), body);
+        }
+    }
+
+    /**
+     * Method to print every record left.
+     * @param pw - Destination.
+     */
+    public void dump(PrintWriter pw) throws IOException {
+        long lastSeq = 0;
+        Record r;
+        while ((r = next()) != null) {
+            if (lastSeq != 0 && r.seq != lastSeq + 1){
+                pw.println("  ... " + (r.seq - lastSeq - 1) + " records dropped");
+            }
+            lastSeq = r.seq;
+            pw.println(r);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (mIn != null){
+            mIn.close();
+            mIn = null;
+        }
+    }
+
+    private boolean openNextSegment() throws IOException {
+        if (mNextSegment == mSegments.length){
+            return false;
+        }
+        File file = mSegments[mNextSegment++];
+        mIn = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+        try {
+            if (mIn.readInt() != Journal.MAGIC){
+                throw new IOException("Not a journal segment: " + file);
+            }
+            int version = mIn.readInt();
+            if (version != Journal.VERSION){
+                throw new IOException("Unsupported journal version " + version + ": " + file);
+            }
+            mWallMillis = mIn.readLong();
+            mNanoTime = mIn.readLong();
+        } catch (EOFException e) {
+            close();
+            throw new IOException("Truncated journal segment: " + file);
+        }
+        mRemaining = file.length() - Journal.SEGMENT_HEADER_SIZE;
+        return true;
+    }
+
+    /**
+     * Prints the journal in the directory given.
+     * @param args - Directory of the journal.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1){
+            System.err.println("Usage: JournalReader DIR");
+            System.exit(2);
+        }
+        PrintWriter pw = new PrintWriter(System.out);
+        JournalReader reader = new JournalReader(new File(args[0]));
+        try {
+            reader.dump(pw);
+        } finally {
+            reader.close();
+            pw.flush();
+        }
+    }
+
+    /***********************************************************************************************
+     *                                  Inner Classes
+     **********************************************************************************************/
+
+    /**
+     * A record of the journal.
+     */
+    public static class Record {
+        public final byte kind;
+        public final long seq;
+
+        // System.nanoTime() when recorded and the wall clock time it corresponds to.
+        public final long nanoTime;
+        public final long wallMillis;
+
+        // Sender, receiver or the player changing state.
+        public final String peer;
+
+        private final byte[] mBody;
+
+        Record(byte kind, long seq, long nanoTime, long wallMillis, String peer, byte[] body) {
+            this.kind = kind;
+            this.seq = seq;
+            this.nanoTime = nanoTime;
+            this.wallMillis = wallMillis;
+            this.peer = peer;
+            mBody = body;
+        }
+
+        public boolean isReceived() {
+            return kind == Journal.KIND_RECEIVED;
+        }
+
+        public boolean isSent() {
+            return kind == Journal.KIND_SENT;
+        }
+
+        public boolean isStateChange() {
+            return kind == Journal.KIND_STATE;
+        }
+
+        /**
+         * @return - Message received or sent.
+         * @throws IOException - If the record holds no message or it can not be decoded.
+         */
+        public BtMsg getMessage() throws IOException {
+            if (isStateChange()){
+                throw new IOException("Record " + seq + " holds no message");
+            }
+            return BtMsgCodec.decode(mBody);
+        }
+
+        /**
+         * @return - State before the change.
+         */
+        public Player.State getFrom() {
+            return Player.State.values()[mBody[0]];
+        }
+
+        /**
+         * @return - State after the change.
+         */
+        public Player.State getTo() {
+            return Player.State.values()[mBody[1]];
+        }
+
+        @Override
+        public String toString() {
+            String time = new SimpleDateFormat("HH:mm:ss.SSS", Locale.US)
+                    .format(new Date(wallMillis));
+            String what;
+            if (isStateChange()){
+                what = "state " + peer + " " + getFrom() + " -> " + getTo();
+            } else {
+                try {
+                    BtMsg btMsg = getMessage();
+                    what = (isReceived() ? "in  " + peer : "out " + peer) + " type = " +
+                            btMsg.type + ", seq = " + btMsg.seq + ", payload = " + btMsg.payload;
+                } catch (IOException e) {
+                    what = "undecodable message: " + e.getMessage();
+                }
+            }
+            return String.format(Locale.US, "%s #%d %s", time, seq, what);
+        }
+    }
+}
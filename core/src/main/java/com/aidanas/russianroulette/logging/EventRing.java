@@ -0,0 +1,89 @@
+package com.aidanas.russianroulette.logging;
+
+import java.io.PrintWriter;
+
+/**
+ * Created by: Aidanas
+ * Created on: 18/10/2026.
+ *
+ * Fixed-size ring buffer of binary event records. Each record is four longs: the time, the thread
+ * and event packed together, and the two values. Recording overwrites the oldest record once the
+ * buffer is full and never allocates.
+ */
+public class EventRing {
+
+    // Longs per record.
+    private static final int SLOTS = 4;
+
+    // Low bits of the second slot hold the event, the rest the thread id.
+    private static final int EVENT_BITS = 16;
+
+    private final int mCapacity;
+    private final long[] mRecords;
+
+    // Number of records ever written, guarded by 'this'.
+    private long mCount = 0;
+
+    /**
+     * Constructor.
+     * @param capacity - Number of records kept.
+     */
+    public EventRing(int capacity) {
+        if (capacity < 1){
+            throw new IllegalArgumentException("Capacity must be greater then 0");
+        }
+        mCapacity = capacity;
+        mRecords = new long[capacity * SLOTS];
+    }
+
+    /**
+     * Method to record an event.
+     * @param event - What happened.
+     * @param a - First value.
+     * @param b - Second value.
+     */
+    public void record(LogEvent event, long a, long b) {
+        long now = System.nanoTime();
+        long threadAndEvent = (Thread.currentThread().getId() << EVENT_BITS) | event.ordinal();
+
+        synchronized (this) {
+            int i = (int) (mCount++ % mCapacity) * SLOTS;
+            mRecords[i] = now;
+            mRecords[i + 1] = threadAndEvent;
+            mRecords[i + 2] = a;
+            mRecords[i + 3] = b;
+        }
+    }
+
+    /**
+     * @return - Number of events recorded since creation, including the overwritten ones.
+     */
+    public synchronized long getCount() {
+        return mCount;
+    }
+
+    /**
+     * Method to print the records, oldest first. Times are relative to the moment of the dump.
+     * @param pw - Destination.
+     */
+    public void dump(PrintWriter pw) {
+        long[] records;
+        long count;
+        synchronized (this) {
+            records = mRecords.clone();
+            count = mCount;
+        }
+        long now = System.nanoTime();
+        int kept = (int) Math.min(count, mCapacity);
+
+        pw.println("Events (" + kept + " of " + count + "):");
+        LogEvent[] events = LogEvent.values();
+        for (long n = count - kept; n < count; n++) {
+            int i = (int) (n % mCapacity) * SLOTS;
+            int event = (int) (records[i + 1] & ((1 << EVENT_BITS) - 1));
+            long thread = records[i + 1] >>> EVENT_BITS;
+            pw.println(String.format("  %10.3fms  t%-4d %s", (records[i] - now) / 1e6, thread,
+                    events[event].format(records[i + 2], records[i + 3])));
+        }
+    }
+}
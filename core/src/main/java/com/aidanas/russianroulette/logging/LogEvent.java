@@ -0,0 +1,50 @@
+package com.aidanas.russianroulette.logging;
+
+/**
+ * Created by: Aidanas
+ * Created on: 18/10/2026.
+ *
+ * Events recorded into the ring buffer by Logger.event(). Every event carries two values, their
+ * names are only needed when the buffer is dumped.
+ */
+public enum LogEvent {
+    FRAME_IN("type", "seq"),
+    FRAMES_WRITTEN("frames", "bytes"),
+    WRITE_QUEUE_FULL("depth", "policy"),
+    PLAYER_JOINED("players", "seq"),
+    PLAYER_LEFT("players", "seq"),
+    PLAYER_DETACHED("players", "seq"),
+    SESSION_RESUMED("replayed", "seq"),
+    PEER_TIMED_OUT("silence_ms", "seq"),
+    SNAPSHOT_SENT("players", "seq"),
+    RESYNC("last", "seq"),
+    ROUND_STARTED("players", "delay"),
+    ROUND_RESOLVED("players", "dead"),
+    ROUND_CANCELLED("players", null),
+    TRIGGER_PULLED("dead", null);
+
+    private final String mFirst;
+    private final String mSecond;
+
+    LogEvent(String first, String second) {
+        mFirst = first;
+        mSecond = second;
+    }
+
+    /**
+     * Method to format the values of the event for a dump.
+     * @param a - First value.
+     * @param b - Second value.
+     * @return - Human readable values.
+     */
+    public String format(long a, long b) {
+        StringBuilder sb = new StringBuilder(name());
+        if (mFirst != null){
+            sb.append(' ').append(mFirst).append('=').append(a);
+        }
+        if (mSecond != null){
+            sb.append(' ').append(mSecond).append('=').append(b);
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,216 @@
+package com.aidanas.russianroulette.logging;
+
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Created by: Aidanas
+ * Created on: 18/10/2026.
+ *
+ * Logging facade of the app. Every class gets its own Logger tagged with the class name and
+ * belonging to a subsystem. Levels are set per subsystem and can be changed at runtime. Messages
+ * are meant to be built behind a level check, so that nothing gets formatted or allocated while
+ * the level is off:
+ *
+ *      if (LOG.isVerbose()) LOG.v("In run(), Thread = " + Thread.currentThread().getName());
+ *
+ * Apart from text messages, notable events are recorded in binary form into a fixed-size ring
+ * buffer (see event()), which costs no allocation and can be dumped on demand.
+ */
+public final class Logger {
+
+    // Number of events kept in the ring buffer.
+    public static final int EVENT_CAPACITY = 1024;
+
+    // Level of every subsystem, indexed by its ordinal.
+    private static final AtomicIntegerArray sLevels =
+            new AtomicIntegerArray(Subsystem.values().length);
+
+    // Where the messages go to. Logcat in the app, see LogcatSink.
+    private static volatile Sink sSink = new StreamSink(System.err);
+
+    private static final EventRing sEvents = new EventRing(EVENT_CAPACITY);
+
+    static {
+        setLevel(Level.INFO);
+    }
+
+    private final Subsystem mSubsystem;
+    private final String mTag;
+
+    /**
+     * Private constructor, use get().
+     */
+    private Logger(Subsystem subsystem, String tag) {
+        mSubsystem = subsystem;
+        mTag = tag;
+    }
+
+    /**
+     * Method to obtain a logger. Meant to be kept in a static field of the class.
+     * @param subsystem - Subsystem the class belongs to.
+     * @param tag - Tag of the messages, usually the class name.
+     * @return - Logger.
+     */
+    public static Logger get(Subsystem subsystem, String tag) {
+        return new Logger(subsystem, tag);
+    }
+
+    public boolean isLoggable(Level level) {
+        return level.ordinal() >= sLevels.get(mSubsystem.ordinal());
+    }
+
+    public boolean isVerbose() {
+        return isLoggable(Level.VERBOSE);
+    }
+
+    public boolean isDebug() {
+        return isLoggable(Level.DEBUG);
+    }
+
+    public void v(String msg) {
+        log(Level.VERBOSE, msg, null);
+    }
+
+    public void d(String msg) {
+        log(Level.DEBUG, msg, null);
+    }
+
+    public void i(String msg) {
+        log(Level.INFO, msg, null);
+    }
+
+    public void w(String msg) {
+        log(Level.WARN, msg, null);
+    }
+
+    public void w(String msg, Throwable tr) {
+        log(Level.WARN, msg, tr);
+    }
+
+    public void e(String msg, Throwable tr) {
+        log(Level.ERROR, msg, tr);
+    }
+
+    private void log(Level level, String msg, Throwable tr) {
+        if (isLoggable(level)){
+            sSink.write(level, mTag, msg, tr);
+        }
+    }
+
+    /***********************************************************************************************
+     *                          Configuration
+     **********************************************************************************************/
+
+    /**
+     * Method to set the level of a subsystem. Takes effect straight away on every thread.
+     * @param subsystem - Subsystem to be changed.
+     * @param level - Lowest level to be logged.
+     */
+    public static void setLevel(Subsystem subsystem, Level level) {
+        sLevels.set(subsystem.ordinal(), level.ordinal());
+    }
+
+    /**
+     * Method to set the level of all subsystems.
+     * @param level - Lowest level to be logged.
+     */
+    public static void setLevel(Level level) {
+        for (Subsystem s : Subsystem.values()) {
+            setLevel(s, level);
+        }
+    }
+
+    public static Level getLevel(Subsystem subsystem) {
+        return Level.values()[sLevels.get(subsystem.ordinal())];
+    }
+
+    public static void setSink(Sink sink) {
+        sSink = sink;
+    }
+
+    /***********************************************************************************************
+     *                          Events
+     **********************************************************************************************/
+
+    /**
+     * Method to record an event into the ring buffer. Recorded regardless of the levels, it does
+     * not allocate.
+     * @param event - What happened.
+     * @param a - First value, see the event for its meaning.
+     * @param b - Second value.
+     */
+    public static void event(LogEvent event, long a, long b) {
+        sEvents.record(event, a, b);
+    }
+
+    /**
+     * Method to print the levels and the events in the ring buffer, oldest first.
+     * @param pw - Destination.
+     */
+    public static void dump(PrintWriter pw) {
+        pw.println("Log levels:");
+        for (Subsystem s : Subsystem.values()) {
+            pw.println("  " + s + " = " + getLevel(s));
+        }
+        sEvents.dump(pw);
+    }
+
+    /***********************************************************************************************
+     *                          Inner Classes
+     **********************************************************************************************/
+
+    /**
+     * Levels in the order of severity.
+     */
+    public enum Level {
+        VERBOSE,
+        DEBUG,
+        INFO,
+        WARN,
+        ERROR,
+        NONE,
+    }
+
+    /**
+     * Parts of the app which can be given different levels.
+     */
+    public enum Subsystem {
+        // Game logic and state.
+        GAME,
+        // Transports, connections and the wire format.
+        NET,
+        // Service keeping the game alive.
+        SERVICE,
+        // Activities and adapters.
+        UI,
+    }
+
+    /**
+     * Destination of the messages.
+     */
+    public interface Sink {
+        void write(Level level, String tag, String msg, Throwable tr);
+    }
+
+    /**
+     * Sink printing to a stream, used until a better one is set.
+     */
+    private static class StreamSink implements Sink {
+
+        private final PrintStream mOut;
+
+        StreamSink(PrintStream out) {
+            mOut = out;
+        }
+
+        @Override
+        public void write(Level level, String tag, String msg, Throwable tr) {
+            mOut.println(level.name().charAt(0) + "/" + tag + ": " + msg);
+            if (tr != null){
+                tr.printStackTrace(mOut);
+            }
+        }
+    }
+}
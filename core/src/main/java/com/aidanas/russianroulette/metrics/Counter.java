@@ -0,0 +1,26 @@
+package com.aidanas.russianroulette.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Created by: Aidanas
+ * Created on: 18/10/2026.
+ *
+ * Monotonic counter, safe to be incremented from any thread.
+ */
+public class Counter {
+
+    private final AtomicLong mCount = new AtomicLong();
+
+    public void increment() {
+        mCount.incrementAndGet();
+    }
+
+    public void add(long n) {
+        mCount.addAndGet(n);
+    }
+
+    public long get() {
+        return mCount.get();
+    }
+}
@@ -0,0 +1,125 @@
+package com.aidanas.russianroulette.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Created by: Aidanas
+ * Created on: 18/10/2026.
+ *
+ * Histogram of non negative values, typically durations in nanoseconds. Values are counted in
+ * buckets by their highest set bit, each power of two split into SUB_BUCKETS linear buckets, so
+ * any value is off by at most 1/SUB_BUCKETS of itself. Recording is lock-free and does not
+ * allocate; reading while recording gives a slightly inconsistent but usable picture.
+ */
+public class Histogram {
+
+    // Each power of two is split into 2^SUB_BITS buckets.
+    private static final int SUB_BITS = 3;
+    public static final int SUB_BUCKETS = 1 << SUB_BITS;
+
+    // Values below SUB_BUCKETS get a bucket each, then SUB_BUCKETS per remaining power of two.
+    private static final int BUCKETS = (64 - SUB_BITS + 1) * SUB_BUCKETS;
+
+    private final AtomicLongArray mBuckets = new AtomicLongArray(BUCKETS);
+    private final AtomicLong mCount = new AtomicLong();
+    private final AtomicLong mSum = new AtomicLong();
+    private final AtomicLong mMax = new AtomicLong();
+
+    /**
+     * Method to record a value. Negative values are recorded as 0.
+     * @param value - Value to be recorded.
+     */
+    public void record(long value) {
+        if (value < 0){
+            value = 0;
+        }
+        mBuckets.incrementAndGet(indexOf(value));
+        mCount.incrementAndGet();
+        mSum.addAndGet(value);
+
+        long max = mMax.get();
+        while (value > max && !mMax.compareAndSet(max, value)) {
+            max = mMax.get();
+        }
+    }
+
+    public long getCount() {
+        return mCount.get();
+    }
+
+    public long getMax() {
+        return mMax.get();
+    }
+
+    public double getMean() {
+        long count = mCount.get();
+        return count == 0 ? 0 : (double) mSum.get() / count;
+    }
+
+    /**
+     * Method to estimate a percentile.
+     * @param p - Percentile in the range [0, 1].
+     * @return - Upper bound of the bucket the percentile falls into, 0 if nothing was recorded.
+     */
+    public long getPercentile(double p) {
+        long count = mCount.get();
+        if (count == 0){
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(p * count));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += mBuckets.get(i);
+            if (seen >= rank){
+                return Math.min(upperBoundOf(i), mMax.get());
+            }
+        }
+        return mMax.get();
+    }
+
+    /**
+     * @return - One line summary with durations converted from nanoseconds to microseconds.
+     */
+    public String summaryMicros() {
+        return String.format("n=%d mean=%.1fus p50=%.1fus p99=%.1fus max=%.1fus", getCount(),
+                getMean() / 1e3, getPercentile(0.5) / 1e3, getPercentile(0.99) / 1e3,
+                getMax() / 1e3);
+    }
+
+    /**
+     * @return - One line summary of plain values.
+     */
+    public String summary() {
+        return String.format("n=%d mean=%.1f p50=%d p99=%d max=%d", getCount(), getMean(),
+                getPercentile(0.5), getPercentile(0.99), getMax());
+    }
+
+    /**
+     * Method to find the bucket of a value.
+     * @param value - Non negative value.
+     * @return - Index of the bucket.
+     */
+    static int indexOf(long value) {
+        if (value < SUB_BUCKETS){
+            return (int) value;
+        }
+        int exp = 63 - Long.numberOfLeadingZeros(value);
+        int sub = (int) (value >>> (exp - SUB_BITS)) & (SUB_BUCKETS - 1);
+        return ((exp - SUB_BITS + 1) << SUB_BITS) + sub;
+    }
+
+    /**
+     * Method to find the largest value counted in a bucket.
+     * @param index - Index of the bucket.
+     * @return - Largest value of the bucket.
+     */
+    static long upperBoundOf(int index) {
+        if (index < SUB_BUCKETS){
+            return index;
+        }
+        int shift = (index >>> SUB_BITS) - 1;
+        long lower = (long) (SUB_BUCKETS + (index & (SUB_BUCKETS - 1))) << shift;
+        return lower + (1L << shift) - 1;
+    }
+}
@@ -0,0 +1,49 @@
+package com.aidanas.russianroulette.metrics;
+
+import java.io.PrintWriter;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Created by: Aidanas
+ * Created on: 18/10/2026.
+ *
+ * Set of counters indexed by a small non negative key, such as a message type. Keys out of range
+ * are all counted under the last one.
+ */
+public class KeyedCounter {
+
+    private final AtomicLongArray mCounts;
+
+    /**
+     * Constructor.
+     * @param size - Keys are expected to be in the range [0, size - 1).
+     */
+    public KeyedCounter(int size) {
+        mCounts = new AtomicLongArray(size);
+    }
+
+    public void increment(int key) {
+        mCounts.incrementAndGet(indexOf(key));
+    }
+
+    public long get(int key) {
+        return mCounts.get(indexOf(key));
+    }
+
+    private int indexOf(int key) {
+        return key >= 0 && key < mCounts.length() ? key : mCounts.length() - 1;
+    }
+
+    /**
+     * Method to print the keys counted at least once.
+     * @param pw - Destination.
+     */
+    public void dump(PrintWriter pw) {
+        for (int i = 0; i < mCounts.length(); i++) {
+            long n = mCounts.get(i);
+            if (n != 0){
+                pw.println("    " + (i == mCounts.length() - 1 ? "other" : i) + " = " + n);
+            }
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.aidanas.russianroulette.metrics;
+
+import java.io.PrintWriter;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Created by: Aidanas
+ * Created on: 18/10/2026.
+ *
+ * Process wide registry of metrics. Metrics are registered once, usually into static fields of
+ * the class recording them, and then recorded into directly:
+ *
+ *      private static final Histogram DECODE = Metrics.histogram("codec.decode_ns");
+ *
+ * Registering the same name twice returns the same metric. Metrics of a single game or
+ * connection are kept by their owners instead, see Arbitrator.dump().
+ */
+public final class Metrics {
+
+    // Guarded by the class.
+    private static final Map<String, Object> sMetrics = new LinkedHashMap<>();
+
+    /**
+     * Static class, no instances.
+     */
+    private Metrics(){}
+
+    public static Counter counter(String name) {
+        return register(name, Counter.class, new Counter());
+    }
+
+    public static Histogram histogram(String name) {
+        return register(name, Histogram.class, new Histogram());
+    }
+
+    public static KeyedCounter keyedCounter(String name, int size) {
+        return register(name, KeyedCounter.class, new KeyedCounter(size));
+    }
+
+    private static synchronized <T> T register(String name, Class<T> type, T metric) {
+        Object existing = sMetrics.get(name);
+        if (existing == null){
+            sMetrics.put(name, metric);
+            return metric;
+        }
+        if (!type.isInstance(existing)){
+            throw new IllegalArgumentException("Metric " + name + " is a " +
+                    existing.getClass().getSimpleName());
+        }
+        return type.cast(existing);
+    }
+
+    /**
+     * Method to print all the registered metrics. Histograms whose names end with "_ns" are
+     * printed in microseconds.
+     * @param pw - Destination.
+     */
+    public static synchronized void dump(PrintWriter pw) {
+        pw.println("Metrics:");
+        for (Map.Entry<String, Object> e : sMetrics.entrySet()) {
+            String name = e.getKey();
+            Object metric = e.getValue();
+
+            if (metric instanceof Counter){
+                pw.println("  " + name + " = " + ((Counter) metric).get());
+            } else if (metric instanceof Histogram){
+                Histogram h = (Histogram) metric;
+                pw.println("  " + name + ": " +
+                        (name.endsWith("_ns") ? h.summaryMicros() : h.summary()));
+            } else if (metric instanceof KeyedCounter){
+                pw.println("  " + name + ":");
+                ((KeyedCounter) metric).dump(pw);
+            }
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package com.aidanas.russianroulette.scheduling;
+
+import com.aidanas.russianroulette.interfaces.Scheduler;
+import com.aidanas.russianroulette.logging.Logger;
+import com.aidanas.russianroulette.metrics.Counter;
+import com.aidanas.russianroulette.metrics.Metrics;
+
+import java.util.Iterator;
+import java.util.PriorityQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Created by: Aidanas
+ * Created on: 18/10/2026.
+ *
+ * Thread running the tasks of any number of Schedulers, in the order they are due. The plain Java
+ * counterpart of an Android Looper, with newScheduler() handing out the Handlers. Lets the game
+ * run on a JVM without Android, i.e. on a server or in tests.
+ */
+public class EventLoop extends Thread {
+
+    // Tag, mostly used for logging and debug output.
+    public static final String TAG = EventLoop.class.getSimpleName();
+    private static final Logger LOG = Logger.get(Logger.Subsystem.GAME, TAG);
+
+    // Tasks which threw, each shared loop would otherwise die with the first one.
+    private static final Counter TASKS_FAILED = Metrics.counter("loop.tasks_failed");
+
+    // Tasks by when they are due, ties broken by the order posted. Guarded by 'this'.
+    private final PriorityQueue<Task> mQueue = new PriorityQueue<>();
+    private long mNextSeq = 0;
+    private boolean mQuit = false;
+
+    /**
+     * Constructor. The loop runs once started.
+     * @param name - Name of the thread.
+     */
+    public EventLoop(String name) {
+        super(name);
+    }
+
+    /**
+     * Method to start a loop serving a single scheduler, which stops the loop when shut down.
+     * @param name - Name of the thread.
+     * @return - Scheduler of the new loop.
+     */
+    public static Scheduler startDedicated(String name) {
+        EventLoop loop = new EventLoop(name);
+        loop.start();
+        return new LoopScheduler(loop, true);
+    }
+
+    /**
+     * Method to obtain another scheduler sharing this loop. Shutting it down only drops its own
+     * tasks.
+     * @return - New scheduler.
+     */
+    public Scheduler newScheduler() {
+        return new LoopScheduler(this, false);
+    }
+
+    /**
+     * Method to stop the loop. Pending tasks of every scheduler are dropped.
+     */
+    public synchronized void quit() {
+        mQuit = true;
+        for (Task t : mQueue) {
+            t.owner.mDepth.decrementAndGet();
+        }
+        mQueue.clear();
+        notifyAll();
+    }
+
+    /**
+     * Loop. Runs until quit.
+     */
+    @Override
+    public void run() {
+        if (LOG.isVerbose()) LOG.v("In run(), Thread = " + Thread.currentThread().getName());
+
+        while (true) {
+            Task task;
+            synchronized (this) {
+                while (true) {
+                    if (mQuit){
+                        return;
+                    }
+                    Task head = mQueue.peek();
+                    long now = System.nanoTime();
+                    if (head != null && head.when - now <= 0){
+                        task = mQueue.poll();
+                        break;
+                    }
+                    try {
+                        if (head == null){
+                            wait();
+                        } else {
+                            long nanos = head.when - now;
+                            wait(nanos / 1000000, (int) (nanos % 1000000));
+                        }
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+            }
+
+            task.owner.mDepth.decrementAndGet();
+            if (!task.owner.mShutdown){
+                try {
+                    task.runnable.run();
+                } catch (RuntimeException e) {
+                    // Other schedulers' tasks are on this thread too, keep serving them.
+                    TASKS_FAILED.increment();
+                    LOG.e("Task " + task.runnable + " threw", e);
+                }
+            }
+        }
+    }
+
+    private synchronized void enqueue(LoopScheduler owner, Runnable runnable, long delayMillis) {
+        if (mQuit || owner.mShutdown){
+            return;
+        }
+        owner.mDepth.incrementAndGet();
+        mQueue.add(new Task(owner, runnable, System.nanoTime() + delayMillis * 1000000L,
+                mNextSeq++));
+        notifyAll();
+    }
+
+    /**
+     * Shuts the scheduler down, see Scheduler.shutdown().
+     */
+    private synchronized void shutdown(LoopScheduler owner) {
+        owner.mShutdown = true;
+        remove(owner, null);
+    }
+
+    /**
+     * Removes pending tasks of the scheduler, the given runnable only or all of them if null.
+     */
+    private synchronized void remove(LoopScheduler owner, Runnable runnable) {
+        Iterator<Task> it = mQueue.iterator();
+        while (it.hasNext()) {
+            Task t = it.next();
+            if (t.owner == owner && (runnable == null || t.runnable == runnable)){
+                it.remove();
+                owner.mDepth.decrementAndGet();
+            }
+        }
+    }
+
+    /***********************************************************************************************
+     *                                  Inner Classes
+     **********************************************************************************************/
+
+    /**
+     * A runnable due at a certain time.
+     */
+    private static class Task implements Comparable<Task> {
+        final LoopScheduler owner;
+        final Runnable runnable;
+        final long when;
+        final long seq;
+
+        Task(LoopScheduler owner, Runnable runnable, long when, long seq) {
+            this.owner = owner;
+            this.runnable = runnable;
+            this.when = when;
+            this.seq = seq;
+        }
+
+        @Override
+        public int compareTo(Task other) {
+            long diff = when - other.when;
+            if (diff != 0){
+                return diff < 0 ? -1 : 1;
+            }
+            return seq < other.seq ? -1 : (seq == other.seq ? 0 : 1);
+        }
+    }
+
+    /**
+     * Scheduler posting to an EventLoop, optionally owning it.
+     */
+    private static class LoopScheduler implements Scheduler {
+        final EventLoop mLoop;
+        final boolean mOwnsLoop;
+        final AtomicInteger mDepth = new AtomicInteger();
+
+        // Set under the loop's lock, read without it by the loop before running a task.
+        volatile boolean mShutdown = false;
+
+        LoopScheduler(EventLoop loop, boolean ownsLoop) {
+            mLoop = loop;
+            mOwnsLoop = ownsLoop;
+        }
+
+        @Override
+        public void post(Runnable task) {
+            postDelayed(task, 0);
+        }
+
+        @Override
+        public void postDelayed(Runnable task, long delayMillis) {
+            mLoop.enqueue(this, task, delayMillis);
+        }
+
+        @Override
+        public void cancel(Runnable task) {
+            mLoop.remove(this, task);
+        }
+
+        @Override
+        public int getQueueDepth() {
+            return mDepth.get();
+        }
+
+        @Override
+        public void shutdown() {
+            mLoop.shutdown(this);
+            if (mOwnsLoop){
+                mLoop.quit();
+            }
+        }
+    }
+}
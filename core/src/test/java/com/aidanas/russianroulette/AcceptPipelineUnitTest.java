@@ -0,0 +1,136 @@
+package com.aidanas.russianroulette;
+
+import com.aidanas.russianroulette.communication.BtMasterThread;
+import com.aidanas.russianroulette.communication.BtMsg;
+import com.aidanas.russianroulette.communication.BtMsgCodec;
+import com.aidanas.russianroulette.communication.PipeAcceptor;
+import com.aidanas.russianroulette.communication.PipeConnector;
+import com.aidanas.russianroulette.game.Arbitrator;
+import com.aidanas.russianroulette.game.Player;
+import com.aidanas.russianroulette.game.Session;
+import com.aidanas.russianroulette.interfaces.Connection;
+import com.aidanas.russianroulette.interfaces.ConnectionReceiver;
+import com.aidanas.russianroulette.interfaces.GameObserver;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit test class to test the accepted connections being handed over side by side.
+ */
+public class AcceptPipelineUnitTest {
+
+    private static final int PEERS = 5;
+
+    // Seconds a handover waits for the others to arrive before taking it they never will.
+    private static final long OVERLAP_TIMEOUT = 5;
+
+    @Test
+    public void burstOfJoinsIsNotSerialised() throws Exception {
+        final CountDownLatch received = new CountDownLatch(PEERS);
+        Overlap overlap = new Overlap(new ConnectionReceiver() {
+            @Override
+            public void receiveConnection(Connection connection) {
+                received.countDown();
+            }
+        });
+        PipeAcceptor acceptor = new PipeAcceptor("host", "Host");
+        BtMasterThread masterThread = new BtMasterThread(acceptor, overlap, PEERS);
+        masterThread.start();
+        try {
+            for (int i = 0; i < PEERS; i++) {
+                new PipeConnector(acceptor, "peer-" + i, "Peer " + i).connect();
+            }
+            assertTrue(received.await(2 * OVERLAP_TIMEOUT, TimeUnit.SECONDS));
+
+            // Handed over one after another, the first would have waited for the rest in vain.
+            assertTrue(overlap.allOverlapped());
+        } finally {
+            masterThread.cancel();
+        }
+    }
+
+    @Test
+    public void burstOfJoinsReachesTheArbitrator() throws Exception {
+        Arbitrator host = new Arbitrator(true, new GameObserver() {
+            @Override
+            public void onGameEvent(int what, Object obj) {
+            }
+        });
+        Overlap overlap = new Overlap(host);
+        PipeAcceptor acceptor = new PipeAcceptor("host", "Host");
+        BtMasterThread masterThread = new BtMasterThread(acceptor, overlap, PEERS);
+        masterThread.start();
+        List<Connection> connections = new ArrayList<>();
+        try {
+            for (int i = 0; i < PEERS; i++) {
+                connections.add(new PipeConnector(acceptor, "peer-" + i, "Peer " + i).connect());
+            }
+            for (int i = 0; i < 500 && host.getPendingCount() != PEERS; i++) {
+                Thread.sleep(10);
+            }
+            assertEquals(PEERS, host.getPendingCount());
+            assertTrue(overlap.allOverlapped());
+
+            for (Connection connection : connections) {
+                BtMsgCodec.write(new BtMsg(BtMsg.CTS_JOIN,
+                        new Session(Session.NO_TOKEN, Session.NO_SEQ, Player.State.RESET)),
+                        connection.getOutputStream());
+            }
+            for (int i = 0; i < 500 && host.getPlayerCount() != PEERS; i++) {
+                Thread.sleep(10);
+            }
+            assertEquals(PEERS, host.getPlayerCount());
+            assertEquals(0, host.getPendingCount());
+        } finally {
+            masterThread.cancel();
+            host.shutdown();
+            for (Connection connection : connections) {
+                connection.close();
+            }
+        }
+    }
+
+    /***********************************************************************************************
+     *                                  Inner Classes
+     **********************************************************************************************/
+
+    /**
+     * Holds every handover back until all PEERS of them are under way, then passes the
+     * connections on. Only handovers running side by side can all get past the latch.
+     */
+    private static class Overlap implements ConnectionReceiver {
+        private final ConnectionReceiver mReceiver;
+        private final CountDownLatch mArrived = new CountDownLatch(PEERS);
+        private final AtomicBoolean mSerialised = new AtomicBoolean();
+
+        Overlap(ConnectionReceiver receiver) {
+            mReceiver = receiver;
+        }
+
+        @Override
+        public void receiveConnection(Connection connection) {
+            mArrived.countDown();
+            try {
+                if (!mArrived.await(OVERLAP_TIMEOUT, TimeUnit.SECONDS)){
+                    mSerialised.set(true);
+                }
+            } catch (InterruptedException e) {
+                return;
+            }
+            mReceiver.receiveConnection(connection);
+        }
+
+        boolean allOverlapped() {
+            return mArrived.getCount() == 0 && !mSerialised.get();
+        }
+    }
+}
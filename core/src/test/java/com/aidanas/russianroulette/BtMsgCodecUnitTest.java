@@ -0,0 +1,190 @@
+package com.aidanas.russianroulette;
+
+import com.aidanas.russianroulette.communication.BtMsg;
+import com.aidanas.russianroulette.communication.BtMsgCodec;
+import com.aidanas.russianroulette.communication.ClockProbe;
+import com.aidanas.russianroulette.game.LobbyInfo;
+import com.aidanas.russianroulette.game.Player;
+import com.aidanas.russianroulette.game.RoundResult;
+import com.aidanas.russianroulette.game.RoundStart;
+import com.aidanas.russianroulette.game.Session;
+import com.aidanas.russianroulette.game.StateSnapshot;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.net.ProtocolException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit test class to test BtMsgCodec wire format.
+ */
+public class BtMsgCodecUnitTest {
+
+    @Test
+    public void emptyMessageIsHeaderOnly() throws Exception {
+        byte[] frame = BtMsgCodec.encode(new BtMsg(BtMsg.CTS_CLIENT_READY, null));
+        assertEquals(BtMsgCodec.HEADER_SIZE, frame.length);
+
+        BtMsg btMsg = BtMsgCodec.decode(frame);
+        assertEquals(BtMsg.CTS_CLIENT_READY, btMsg.type);
+        assertNull(btMsg.payload);
+    }
+
+    @Test
+    public void playerRoundTrip() throws Exception {
+        Player p = new Player("Nexus", "AA:BB:CC:DD:EE:FF", Player.State.READY);
+        BtMsg sent = new BtMsg(BtMsg.STC_NEW_PLAYER, p);
+        sent.seq = 42;
+        byte[] frame = BtMsgCodec.encode(sent);
+        assertTrue("Frame too big: " + frame.length, frame.length < 64);
+
+        BtMsg btMsg = BtMsgCodec.decode(frame);
+        Player read = (Player) btMsg.payload;
+        assertEquals(42, btMsg.seq);
+        assertEquals(p.getName(), read.getName());
+        assertEquals(p.getAddress(), read.getAddress());
+        assertEquals(p.getState(), read.getState());
+    }
+
+    @Test
+    public void sessionRoundTrip() throws Exception {
+        Session session = new Session(-4242424242L, 17, Player.State.READY);
+        BtMsg btMsg = BtMsgCodec.decode(BtMsgCodec.encode(new BtMsg(BtMsg.STC_WELCOME, session)));
+
+        Session read = (Session) btMsg.payload;
+        assertEquals(session.getToken(), read.getToken());
+        assertEquals(17, read.getLastSeq());
+        assertEquals(Player.State.READY, read.getState());
+    }
+
+    @Test
+    public void lobbyInfoRoundTrip() throws Exception {
+        BtMsg btMsg = BtMsgCodec.decode(BtMsgCodec.encode(new BtMsg(BtMsg.STC_LOBBY_INFO,
+                new LobbyInfo(5, LobbyInfo.Phase.PLAYING))));
+
+        LobbyInfo read = (LobbyInfo) btMsg.payload;
+        assertEquals(5, read.getPlayers());
+        assertEquals(LobbyInfo.Phase.PLAYING, read.getPhase());
+    }
+
+    @Test
+    public void stateChangeCarriesAddressOnly() throws Exception {
+        BtMsg sent = new BtMsg(BtMsg.STC_PLAYER_READY, "AA:BB:CC:DD:EE:FF");
+        sent.seq = 7;
+        byte[] frame = BtMsgCodec.encode(sent);
+        assertEquals(BtMsgCodec.HEADER_SIZE + 4 + 2 + 17, frame.length);
+
+        BtMsg btMsg = BtMsgCodec.decode(frame);
+        assertEquals(7, btMsg.seq);
+        assertEquals("AA:BB:CC:DD:EE:FF", btMsg.payload);
+    }
+
+    @Test
+    public void snapshotRoundTrip() throws Exception {
+        List<Player> players = new ArrayList<>();
+        players.add(new Player("One", "00:00:00:00:00:01"));
+        players.add(new Player(null, "00:00:00:00:00:02", Player.State.ALIVE));
+        BtMsg sent = new BtMsg(BtMsg.STC_PLAYERS_LIST,
+                new StateSnapshot("00:00:00:00:00:03", Player.State.READY, players));
+        sent.seq = 9;
+
+        // Two frames back to back on the same stream.
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        BtMsgCodec.write(sent, bos);
+        BtMsgCodec.write(new BtMsg(BtMsg.STC_SERVER_READY, null), bos);
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bos.toByteArray()));
+
+        BtMsg btMsg = BtMsgCodec.read(in);
+        StateSnapshot read = (StateSnapshot) btMsg.payload;
+        assertEquals(9, btMsg.seq);
+        assertEquals("00:00:00:00:00:03", read.getSelfAddress());
+        assertEquals(Player.State.READY, read.getMasterState());
+        assertEquals(2, read.getPlayers().size());
+        assertEquals("One", read.getPlayers().get(0).getName());
+        assertNull(read.getPlayers().get(1).getName());
+        assertEquals(Player.State.ALIVE, read.getPlayers().get(1).getState());
+        assertEquals(BtMsg.STC_SERVER_READY, BtMsgCodec.read(in).type);
+    }
+
+    @Test
+    public void probesAndRoundStartRoundTrip() throws Exception {
+        ClockProbe pong = (ClockProbe) BtMsgCodec.decode(BtMsgCodec.encode(
+                new BtMsg(BtMsg.CTS_PONG, new ClockProbe(1L << 40, -5, 7)))).payload;
+        assertEquals(1L << 40, pong.t0);
+        assertEquals(-5, pong.t1);
+        assertEquals(7, pong.t2);
+
+        RoundStart start = (RoundStart) BtMsgCodec.decode(BtMsgCodec.encode(
+                new BtMsg(BtMsg.STC_ROUND_START, new RoundStart(true, 123456789L, 1000L, false))))
+                .payload;
+        assertTrue(start.isSynced());
+        assertEquals(123456789L, start.getTriggerAt());
+        assertEquals(1000L, start.getDelay());
+        assertFalse(start.isResolved());
+    }
+
+    @Test
+    public void roundResultRoundTrip() throws Exception {
+        BtMsg sent = new BtMsg(BtMsg.STC_ROUND_RESULT, new RoundResult(false,
+                Arrays.asList("00:00:00:00:00:01", "00:00:00:00:00:02"),
+                Collections.singletonList("00:00:00:00:00:03")));
+        sent.seq = 11;
+
+        BtMsg btMsg = BtMsgCodec.decode(BtMsgCodec.encode(sent));
+        RoundResult read = (RoundResult) btMsg.payload;
+        assertEquals(11, btMsg.seq);
+        assertFalse(read.isMasterDead());
+        assertEquals(4, read.size());
+        assertEquals("00:00:00:00:00:02", read.getAlive().get(1));
+        assertTrue(read.isDead("00:00:00:00:00:03"));
+        assertFalse(read.isDead("00:00:00:00:00:01"));
+    }
+
+    @Test
+    public void framesAreReassembledFromPartialReads() throws Exception {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        BtMsg sent = new BtMsg(BtMsg.STC_PLAYER_ALIVE, "00:00:00:00:00:01");
+        sent.seq = 3;
+        BtMsgCodec.write(sent, bos);
+        BtMsgCodec.write(new BtMsg(BtMsg.STC_PING, new ClockProbe(99)), bos);
+        byte[] wire = bos.toByteArray();
+
+        // Feed the bytes a few at a time, the way a non-blocking socket might hand them over.
+        ByteBuffer buf = ByteBuffer.allocate(64);
+        List<BtMsg> received = new ArrayList<>();
+        for (int off = 0; off < wire.length; off += 5) {
+            buf.put(wire, off, Math.min(5, wire.length - off));
+            buf.flip();
+            BtMsg btMsg;
+            while ((btMsg = BtMsgCodec.read(buf)) != null) {
+                received.add(btMsg);
+            }
+            buf.compact();
+        }
+
+        assertEquals(2, received.size());
+        assertEquals(3, received.get(0).seq);
+        assertEquals("00:00:00:00:00:01", received.get(0).payload);
+        assertEquals(99, ((ClockProbe) received.get(1).payload).t0);
+        assertEquals(0, buf.position());
+    }
+
+    @Test(expected = ProtocolException.class)
+    public void unknownVersionIsRejected() throws Exception {
+        byte[] frame = BtMsgCodec.encode(new BtMsg(BtMsg.CTS_CLIENT_ALIVE, null));
+        frame[0] = (byte) (BtMsgCodec.VERSION + 1);
+        BtMsgCodec.decode(frame);
+    }
+}
@@ -0,0 +1,91 @@
+package com.aidanas.russianroulette;
+
+import com.aidanas.russianroulette.communication.BtFrame;
+import com.aidanas.russianroulette.communication.BtMsg;
+import com.aidanas.russianroulette.communication.BtMsgCodec;
+import com.aidanas.russianroulette.communication.BtWriterThread;
+import com.aidanas.russianroulette.communication.BtWriterThread.OverflowPolicy;
+import com.aidanas.russianroulette.communication.ClockProbe;
+import com.aidanas.russianroulette.communication.PipeConnection;
+import com.aidanas.russianroulette.game.Player;
+import com.aidanas.russianroulette.interfaces.Connection;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit test class to test BtWriterThread queueing and overflow policies. Writers are not started
+ * unless noted so the queue can be filled up.
+ */
+public class BtWriterThreadUnitTest {
+
+    private static final BtFrame READY = BtFrame.of(new BtMsg(BtMsg.STC_SERVER_READY, null));
+    private static final BtFrame NEW_PLAYER = BtFrame.of(new BtMsg(BtMsg.STC_NEW_PLAYER,
+            new Player("One", "00:00:00:00:00:01")));
+    private static final BtFrame PING = BtFrame.of(new BtMsg(BtMsg.STC_PING, new ClockProbe(1)));
+
+    private final Connection[] mPair = PipeConnection.pair("a", "A", "b", "B");
+
+    @Test
+    public void dropOldestNeverDropsStateChanges() {
+        BtWriterThread w = new BtWriterThread(mPair[0], new ByteArrayOutputStream(), 2,
+                OverflowPolicy.DROP_OLDEST);
+
+        assertTrue(w.enqueue(NEW_PLAYER));
+        assertTrue(w.enqueue(READY));
+
+        // Nothing to drop, the peer gets disconnected.
+        assertFalse(w.enqueue(READY));
+        assertEquals(0, w.getQueueDepth());
+        assertEquals(0, w.getDroppedCount());
+    }
+
+    @Test
+    public void dropOldestDropsProbesFirst() {
+        BtWriterThread w = new BtWriterThread(mPair[0], new ByteArrayOutputStream(), 2,
+                OverflowPolicy.DROP_OLDEST);
+
+        assertTrue(w.enqueue(READY));
+        assertTrue(w.enqueue(PING));
+        assertTrue(w.enqueue(NEW_PLAYER));
+        assertEquals(2, w.getQueueDepth());
+        assertEquals(1, w.getDroppedCount());
+    }
+
+    @Test
+    public void disconnectClosesTheWriter() {
+        BtWriterThread w = new BtWriterThread(mPair[0], new ByteArrayOutputStream(), 1,
+                OverflowPolicy.DISCONNECT);
+
+        assertTrue(w.enqueue(READY));
+        assertFalse(w.enqueue(READY));
+        assertFalse(w.enqueue(NEW_PLAYER));
+    }
+
+    @Test
+    public void pendingFramesAreWrittenInOrder() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BtWriterThread w = new BtWriterThread(mPair[0], out, 8, OverflowPolicy.BLOCK);
+        w.enqueue(NEW_PLAYER);
+        w.enqueue(READY);
+        w.start();
+
+        long deadline = System.currentTimeMillis() + 2000;
+        while (out.size() < NEW_PLAYER.length() + READY.length()
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        w.close();
+
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(out.toByteArray()));
+        assertEquals(BtMsg.STC_NEW_PLAYER, BtMsgCodec.read(in).type);
+        assertEquals(BtMsg.STC_SERVER_READY, BtMsgCodec.read(in).type);
+    }
+}
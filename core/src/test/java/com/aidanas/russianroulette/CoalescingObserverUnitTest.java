@@ -0,0 +1,79 @@
+package com.aidanas.russianroulette;
+
+import com.aidanas.russianroulette.game.Arbitrator;
+import com.aidanas.russianroulette.game.CoalescingObserver;
+import com.aidanas.russianroulette.game.Player;
+import com.aidanas.russianroulette.game.PlayerListDiff;
+import com.aidanas.russianroulette.game.PlayerListSnapshot;
+import com.aidanas.russianroulette.interfaces.FrameScheduler;
+import com.aidanas.russianroulette.interfaces.GameObserver;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit test class to test the UI events being passed on at most once a frame.
+ */
+public class CoalescingObserverUnitTest {
+
+    private final List<Runnable> mFrames = new ArrayList<>();
+    private final List<Object[]> mDelivered = new ArrayList<>();
+
+    private final CoalescingObserver mObserver = new CoalescingObserver(new GameObserver() {
+        @Override
+        public void onGameEvent(int what, Object obj) {
+            mDelivered.add(new Object[]{what, obj});
+        }
+    }, new FrameScheduler() {
+        @Override
+        public void postFrame(Runnable frame) {
+            mFrames.add(frame);
+        }
+    });
+
+    @Test
+    public void burstIsDeliveredInOneFrame() {
+        Player[] players = new Player[32];
+        for (int i = 0; i < players.length; i++) {
+            players[i] = new Player("P" + i, "peer-" + i);
+        }
+        PlayerListSnapshot shown = PlayerListSnapshot.of(1, Arrays.asList(players));
+        PlayerListSnapshot last = shown;
+        for (Player p : players) {
+            p.setReady();
+            PlayerListSnapshot next = PlayerListSnapshot.of(last.getVersion() + 1,
+                    Arrays.asList(players));
+            mObserver.onGameEvent(Arbitrator.MSG_UI_UPDATE_PLAYER_LIST,
+                    PlayerListDiff.between(last, next));
+            last = next;
+        }
+        mObserver.onGameEvent(Arbitrator.MSG_UI_ALL_READY, null);
+        mObserver.onGameEvent(Arbitrator.MSG_UI_ROUND_CANCELLED, null);
+        mObserver.onGameEvent(Arbitrator.MSG_UI_ALL_READY, null);
+
+        assertEquals(1, mFrames.size());
+        assertTrue(mDelivered.isEmpty());
+        mFrames.remove(0).run();
+
+        // One list update spanning the whole burst, then the latest of the other events.
+        assertEquals(3, mDelivered.size());
+        PlayerListDiff diff = (PlayerListDiff) mDelivered.get(0)[1];
+        assertEquals(shown, diff.getFrom());
+        assertEquals(last, diff.getTo());
+        assertEquals(players.length, diff.getChanged().size());
+        assertEquals(Arbitrator.MSG_UI_ROUND_CANCELLED, mDelivered.get(1)[0]);
+        assertEquals(Arbitrator.MSG_UI_ALL_READY, mDelivered.get(2)[0]);
+
+        // The next event waits for a frame of its own.
+        mObserver.onGameEvent(Arbitrator.MSG_UI_ALIVE, null);
+        assertEquals(1, mFrames.size());
+        mFrames.remove(0).run();
+        assertEquals(4, mDelivered.size());
+    }
+}
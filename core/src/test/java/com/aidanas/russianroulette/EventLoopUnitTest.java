@@ -0,0 +1,60 @@
+package com.aidanas.russianroulette;
+
+import com.aidanas.russianroulette.interfaces.Scheduler;
+import com.aidanas.russianroulette.scheduling.EventLoop;
+
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit test class to test the loop running the schedulers' tasks.
+ */
+public class EventLoopUnitTest {
+
+    @Test
+    public void loopSurvivesTaskThrowing() throws Exception {
+        Scheduler scheduler = EventLoop.startDedicated("loop-test");
+        final CountDownLatch ran = new CountDownLatch(1);
+        try {
+            scheduler.post(new Runnable() {
+                @Override
+                public void run() {
+                    throw new IllegalStateException("Thrown on purpose");
+                }
+            });
+            scheduler.post(new Runnable() {
+                @Override
+                public void run() {
+                    ran.countDown();
+                }
+            });
+            assertTrue(ran.await(5, TimeUnit.SECONDS));
+        } finally {
+            scheduler.shutdown();
+        }
+    }
+
+    @Test
+    public void cancelledTasksLeaveNoDepth() throws Exception {
+        Scheduler scheduler = EventLoop.startDedicated("loop-test");
+        try {
+            Runnable task = new Runnable() {
+                @Override
+                public void run() {
+                }
+            };
+            scheduler.postDelayed(task, 60000);
+            scheduler.postDelayed(task, 60000);
+            assertEquals(2, scheduler.getQueueDepth());
+            scheduler.cancel(task);
+            assertEquals(0, scheduler.getQueueDepth());
+        } finally {
+            scheduler.shutdown();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.aidanas.russianroulette;
+
+import com.aidanas.russianroulette.game.Gun;
+import com.aidanas.russianroulette.game.SeededRandomSource;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit test class to test Gun class behavior.
+ */
+public class GunUnitTest {
+    @Test
+    public void addition_isCorrect() throws Exception {
+        assertEquals(4, 2 + 2);
+    }
+
+    @Test
+    public void gunEventuallyFires() throws Exception {
+
+        // Seeded, so that the outcome does not depend on luck.
+        SeededRandomSource random = new SeededRandomSource(42);
+        boolean hasFired = false;
+        for (int i = 0; i < 10; i++) {
+            Gun g = new Gun(6, random);
+            g.loadBullets(1);
+            g.spinCylinder();
+            if (g.pullTheTrigger()){
+                hasFired = true;
+                break;
+            }
+        }
+        assertTrue(hasFired);
+    }
+
+    @Test
+    public void everyChamberIsEquallyLikely() throws Exception {
+        int rounds = 60000;
+        int[] fired = new int[6];
+        for (int bullets = 1; bullets <= 6; bullets++) {
+            Gun g = new Gun(6, new SeededRandomSource(bullets));
+            g.loadBullets(bullets);
+            for (int i = 0; i < rounds; i++) {
+                g.spinCylinder();
+                if (g.pullTheTrigger()){
+                    fired[bullets - 1]++;
+                }
+            }
+        }
+
+        // A gun full of bullets always fires, otherwise it fires bullets/6 of the time.
+        assertEquals(rounds, fired[5]);
+        for (int bullets = 1; bullets < 6; bullets++) {
+            double expected = rounds * bullets / 6.0;
+            assertEquals(expected, fired[bullets - 1], expected * 0.05);
+        }
+    }
+
+    @Test
+    public void sameSeedReplaysTheSameGame() throws Exception {
+        Gun a = new Gun(6, new SeededRandomSource(7));
+        Gun b = new Gun(6, new SeededRandomSource(7));
+        a.loadBullets(1);
+        b.loadBullets(1);
+        for (int i = 0; i < 1000; i++) {
+            a.spinCylinder();
+            b.spinCylinder();
+            assertEquals(a.pullTheTrigger(), b.pullTheTrigger());
+        }
+    }
+}
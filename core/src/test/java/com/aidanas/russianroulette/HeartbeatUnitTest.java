@@ -0,0 +1,77 @@
+package com.aidanas.russianroulette;
+
+import com.aidanas.russianroulette.communication.BtMasterThread;
+import com.aidanas.russianroulette.communication.BtMsg;
+import com.aidanas.russianroulette.communication.BtMsgCodec;
+import com.aidanas.russianroulette.communication.PeerLiveness;
+import com.aidanas.russianroulette.communication.PipeAcceptor;
+import com.aidanas.russianroulette.communication.PipeConnector;
+import com.aidanas.russianroulette.game.Arbitrator;
+import com.aidanas.russianroulette.game.Player;
+import com.aidanas.russianroulette.game.Session;
+import com.aidanas.russianroulette.interfaces.Connection;
+import com.aidanas.russianroulette.interfaces.GameObserver;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Unit test class to test the heartbeats and the liveness of the peers.
+ */
+public class HeartbeatUnitTest {
+
+    private static final long MS = 1000000L;
+
+    @Test
+    public void silenceMakesPeerSuspectThenDead() {
+        PeerLiveness liveness = new PeerLiveness(0);
+        assertEquals(PeerLiveness.State.ALIVE, liveness.check(100 * MS, 200 * MS, 500 * MS));
+        assertEquals(PeerLiveness.State.SUSPECT, liveness.check(300 * MS, 200 * MS, 500 * MS));
+
+        // A word from the peer clears the suspicion.
+        liveness.heard(350 * MS);
+        assertEquals(PeerLiveness.State.ALIVE, liveness.getState());
+        assertEquals(PeerLiveness.State.ALIVE, liveness.check(500 * MS, 200 * MS, 500 * MS));
+
+        // Too late once dead.
+        assertEquals(PeerLiveness.State.DEAD, liveness.check(900 * MS, 200 * MS, 500 * MS));
+        liveness.heard(950 * MS);
+        assertEquals(PeerLiveness.State.DEAD, liveness.check(960 * MS, 200 * MS, 500 * MS));
+    }
+
+    @Test
+    public void silentPeerIsEvicted() throws Exception {
+        PipeAcceptor acceptor = new PipeAcceptor("host", "Host");
+        Arbitrator host = new Arbitrator(true, new GameObserver() {
+            @Override
+            public void onGameEvent(int what, Object obj) {
+            }
+        });
+        host.setHeartbeat(20, 100);
+        host.setResumeGrace(0);
+        BtMasterThread masterThread = new BtMasterThread(acceptor, host);
+        masterThread.start();
+
+        // Joins, then never says another word, as if out of range.
+        Connection silent = new PipeConnector(acceptor, "peer-1", "Peer").connect();
+        BtMsgCodec.write(new BtMsg(BtMsg.CTS_JOIN,
+                new Session(Session.NO_TOKEN, Session.NO_SEQ, Player.State.RESET)),
+                silent.getOutputStream());
+        try {
+            for (int i = 0; i < 100 && host.getPlayerCount() == 0; i++) {
+                Thread.sleep(10);
+            }
+            assertEquals(1, host.getPlayerCount());
+
+            for (int i = 0; i < 200 && host.getPlayerCount() != 0; i++) {
+                Thread.sleep(10);
+            }
+            assertEquals(0, host.getPlayerCount());
+        } finally {
+            masterThread.cancel();
+            host.shutdown();
+            silent.close();
+        }
+    }
+}
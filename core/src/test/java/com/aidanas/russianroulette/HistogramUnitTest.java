@@ -0,0 +1,49 @@
+package com.aidanas.russianroulette;
+
+import com.aidanas.russianroulette.metrics.Histogram;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit test class to test Histogram accuracy.
+ */
+public class HistogramUnitTest {
+
+    @Test
+    public void smallValuesAreExact() {
+        Histogram h = new Histogram();
+        for (int i = 0; i < Histogram.SUB_BUCKETS; i++) {
+            h.record(i);
+        }
+        assertEquals(Histogram.SUB_BUCKETS, h.getCount());
+        assertEquals(0, h.getPercentile(0));
+        assertEquals(Histogram.SUB_BUCKETS - 1, h.getPercentile(1));
+    }
+
+    @Test
+    public void percentilesAreWithinBucketError() {
+        Histogram h = new Histogram();
+        for (int i = 1; i <= 100000; i++) {
+            h.record(i * 1000L);
+        }
+        assertEquals(100000000L, h.getMax());
+        assertEquals(50000500.0, h.getMean(), 1);
+
+        long p50 = h.getPercentile(0.5);
+        long p99 = h.getPercentile(0.99);
+        assertTrue("p50 = " + p50, Math.abs(p50 - 50000000) <= 50000000 / Histogram.SUB_BUCKETS);
+        assertTrue("p99 = " + p99, Math.abs(p99 - 99000000) <= 99000000 / Histogram.SUB_BUCKETS);
+    }
+
+    @Test
+    public void negativeAndHugeValues() {
+        Histogram h = new Histogram();
+        h.record(-5);
+        h.record(Long.MAX_VALUE);
+        assertEquals(0, h.getPercentile(0.5));
+        assertEquals(Long.MAX_VALUE, h.getPercentile(1));
+    }
+}
@@ -0,0 +1,130 @@
+package com.aidanas.russianroulette;
+
+import com.aidanas.russianroulette.communication.BtFrame;
+import com.aidanas.russianroulette.communication.BtMsg;
+import com.aidanas.russianroulette.communication.BtMsgCodec;
+import com.aidanas.russianroulette.communication.ClockProbe;
+import com.aidanas.russianroulette.game.Player;
+import com.aidanas.russianroulette.journal.Journal;
+import com.aidanas.russianroulette.journal.JournalReader;
+import com.aidanas.russianroulette.metrics.Histogram;
+import com.aidanas.russianroulette.metrics.Metrics;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit test class to test the journal and reading it back.
+ */
+public class JournalUnitTest {
+
+    private File mDir;
+
+    @Before
+    public void setUp() throws Exception {
+        mDir = Files.createTempDirectory("journal").toFile();
+    }
+
+    @After
+    public void tearDown() {
+        File[] files = mDir.listFiles();
+        if (files != null){
+            for (File f : files) {
+                f.delete();
+            }
+        }
+        mDir.delete();
+    }
+
+    @Test
+    public void recordsAreReadBack() throws Exception {
+        Journal journal = new Journal(mDir, Journal.MIN_SEGMENT_SIZE, 2);
+        Journal.install(journal);
+        Journal.sent("peer-1", BtFrame.of(new BtMsg(BtMsg.STC_PING, new ClockProbe(5))));
+        Journal.received("peer-1", new BtMsg(BtMsg.CTS_CLIENT_READY, null));
+        new Player("Player", "peer-1").setReady();
+        journal.close();
+
+        // Closing uninstalls it, nothing more gets recorded.
+        Journal.received("peer-1", new BtMsg(BtMsg.CTS_CLIENT_RESET, null));
+
+        JournalReader reader = new JournalReader(mDir);
+        JournalReader.Record sent = reader.next();
+        assertTrue(sent.isSent());
+        assertEquals(1, sent.seq);
+        assertEquals("peer-1", sent.peer);
+        assertEquals(BtMsg.STC_PING, sent.getMessage().type);
+        assertEquals(5, ((ClockProbe) sent.getMessage().payload).t0);
+
+        JournalReader.Record received = reader.next();
+        assertTrue(received.isReceived());
+        assertEquals(2, received.seq);
+        assertEquals(BtMsg.CTS_CLIENT_READY, received.getMessage().type);
+
+        JournalReader.Record state = reader.next();
+        assertTrue(state.isStateChange());
+        assertEquals(3, state.seq);
+        assertEquals(Player.State.RESET, state.getFrom());
+        assertEquals(Player.State.READY, state.getTo());
+
+        assertNull(reader.next());
+        reader.close();
+    }
+
+    @Test
+    public void receivedFramesAreNotEncodedAgain() throws Exception {
+        BtMsg pong = BtMsgCodec.decode(BtMsgCodec.encode(
+                new BtMsg(BtMsg.CTS_PONG, new ClockProbe(1, 2, 3))));
+        Histogram encodes = Metrics.histogram("codec.encode_ns");
+        long encoded = encodes.getCount();
+
+        Journal journal = new Journal(mDir, Journal.MIN_SEGMENT_SIZE, 2);
+        Journal.install(journal);
+        Journal.received("peer-1", pong);
+        journal.close();
+        assertEquals(encoded, encodes.getCount());
+
+        JournalReader reader = new JournalReader(mDir);
+        JournalReader.Record received = reader.next();
+        assertEquals("peer-1", received.peer);
+        assertEquals(BtMsg.CTS_PONG, received.getMessage().type);
+        assertEquals(3, ((ClockProbe) received.getMessage().payload).t2);
+        reader.close();
+    }
+
+    @Test
+    public void segmentsRollOverBySize() throws Exception {
+        Journal journal = new Journal(mDir, Journal.MIN_SEGMENT_SIZE, 100);
+        BtFrame frame = BtFrame.of(new BtMsg(BtMsg.STC_PLAYER_LEFT, "peer-1"));
+        int records = 3 * Journal.MIN_SEGMENT_SIZE / frame.length();
+        Journal.install(journal);
+        for (int i = 0; i < records; i++) {
+            Journal.sent(Journal.EVERYONE, frame);
+        }
+        journal.close();
+
+        assertTrue(mDir.listFiles().length > 1);
+
+        // Anything dropped while a segment was not ready shows as a gap in the sequence.
+        JournalReader reader = new JournalReader(mDir);
+        long lastSeq = 0;
+        int read = 0;
+        JournalReader.Record r;
+        while ((r = reader.next()) != null) {
+            assertTrue(r.seq > lastSeq);
+            assertEquals("peer-1", r.getMessage().payload);
+            lastSeq = r.seq;
+            read++;
+        }
+        reader.close();
+        assertEquals(records, read + journal.getDroppedCount());
+    }
+}
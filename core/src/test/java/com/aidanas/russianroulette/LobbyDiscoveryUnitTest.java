@@ -0,0 +1,102 @@
+package com.aidanas.russianroulette;
+
+import com.aidanas.russianroulette.communication.BtMasterThread;
+import com.aidanas.russianroulette.communication.LobbyProbe;
+import com.aidanas.russianroulette.communication.PipeAcceptor;
+import com.aidanas.russianroulette.communication.PipeConnector;
+import com.aidanas.russianroulette.discovery.HostCache;
+import com.aidanas.russianroulette.discovery.HostRecord;
+import com.aidanas.russianroulette.game.Arbitrator;
+import com.aidanas.russianroulette.game.LobbyInfo;
+import com.aidanas.russianroulette.interfaces.GameObserver;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.nio.file.Files;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit test class to test asking hosts about their tables and remembering them.
+ */
+public class LobbyDiscoveryUnitTest {
+
+    private static final long DAY = 24 * 60 * 60 * 1000L;
+
+    private File mDir;
+
+    @Before
+    public void setUp() throws Exception {
+        mDir = Files.createTempDirectory("hosts").toFile();
+    }
+
+    @After
+    public void tearDown() {
+        File[] files = mDir.listFiles();
+        if (files != null){
+            for (File f : files) {
+                f.delete();
+            }
+        }
+        mDir.delete();
+    }
+
+    @Test
+    public void hostAnswersWithoutSeatingTheProbe() throws Exception {
+        PipeAcceptor acceptor = new PipeAcceptor("host", "Host");
+        Arbitrator host = new Arbitrator(true, new GameObserver() {
+            @Override
+            public void onGameEvent(int what, Object obj) {
+            }
+        });
+        BtMasterThread masterThread = new BtMasterThread(acceptor, host);
+        masterThread.start();
+        try {
+            LobbyInfo lobby = LobbyProbe.query(
+                    new PipeConnector(acceptor, "peer-1", "Peer").connect());
+            assertEquals(host.getPlayerCount(), lobby.getPlayers());
+            assertEquals(LobbyInfo.Phase.LOBBY, lobby.getPhase());
+        } finally {
+            masterThread.cancel();
+            host.shutdown();
+        }
+    }
+
+    @Test
+    public void hostsSurviveRestartUntilTooOld() throws Exception {
+        File file = new File(mDir, "hosts");
+        HostCache cache = new HostCache(file, DAY);
+        cache.put(new HostRecord("aa", "Old", new LobbyInfo(2, LobbyInfo.Phase.LOBBY), 1000));
+        cache.put(new HostRecord("bb", null, new LobbyInfo(4, LobbyInfo.Phase.PLAYING), 5000));
+        cache.put(new HostRecord("aa", "Alice", new LobbyInfo(3, LobbyInfo.Phase.LOBBY), 9000));
+        cache.save(10000);
+
+        List<HostRecord> hosts = new HostCache(file, DAY).load(10000);
+        assertEquals(2, hosts.size());
+        assertEquals("Alice", hosts.get(0).getName());
+        assertEquals(3, hosts.get(0).getLobby().getPlayers());
+        assertNull(hosts.get(1).getName());
+        assertEquals(LobbyInfo.Phase.PLAYING, hosts.get(1).getLobby().getPhase());
+
+        // A day after it was last seen the second host is forgotten.
+        assertEquals(1, new HostCache(file, DAY).load(5001 + DAY).size());
+    }
+
+    @Test
+    public void unreadableCacheIsTakenForEmpty() throws Exception {
+        File file = new File(mDir, "hosts");
+        FileOutputStream out = new FileOutputStream(file);
+        out.write(new byte[]{1, 2, 3});
+        out.close();
+
+        assertTrue(new HostCache(file, DAY).load(0).isEmpty());
+        assertTrue(new HostCache(new File(mDir, "none"), DAY).load(0).isEmpty());
+    }
+}
@@ -0,0 +1,69 @@
+package com.aidanas.russianroulette;
+
+import com.aidanas.russianroulette.logging.EventRing;
+import com.aidanas.russianroulette.logging.LogEvent;
+import com.aidanas.russianroulette.logging.Logger;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit test class to test Logger levels and the EventRing.
+ */
+public class LoggerUnitTest {
+
+    @After
+    public void restoreDefaults() {
+        Logger.setLevel(Logger.Level.INFO);
+    }
+
+    @Test
+    public void levelsArePerSubsystem() {
+        final List<String> written = new ArrayList<>();
+        Logger.setSink(new Logger.Sink() {
+            @Override
+            public void write(Logger.Level level, String tag, String msg, Throwable tr) {
+                written.add(tag + ": " + msg);
+            }
+        });
+        Logger game = Logger.get(Logger.Subsystem.GAME, "Game");
+        Logger net = Logger.get(Logger.Subsystem.NET, "Net");
+
+        Logger.setLevel(Logger.Level.WARN);
+        Logger.setLevel(Logger.Subsystem.GAME, Logger.Level.VERBOSE);
+        assertTrue(game.isVerbose());
+        assertFalse(net.isVerbose());
+
+        game.v("one");
+        net.v("two");
+        net.w("three");
+        assertEquals(2, written.size());
+        assertEquals("Game: one", written.get(0));
+        assertEquals("Net: three", written.get(1));
+    }
+
+    @Test
+    public void ringKeepsTheNewestEvents() {
+        EventRing ring = new EventRing(4);
+        for (int i = 0; i < 10; i++) {
+            ring.record(LogEvent.FRAME_IN, 500 + i, i);
+        }
+        assertEquals(10, ring.getCount());
+
+        StringWriter sw = new StringWriter();
+        ring.dump(new PrintWriter(sw));
+        String dump = sw.toString();
+        assertTrue(dump, dump.contains("4 of 10"));
+        assertFalse(dump, dump.contains("type=505"));
+        assertTrue(dump, dump.indexOf("type=506") < dump.indexOf("type=509"));
+    }
+}
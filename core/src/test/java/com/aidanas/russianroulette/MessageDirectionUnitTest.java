@@ -0,0 +1,73 @@
+package com.aidanas.russianroulette;
+
+import com.aidanas.russianroulette.communication.BtMasterThread;
+import com.aidanas.russianroulette.communication.BtMsg;
+import com.aidanas.russianroulette.communication.BtMsgCodec;
+import com.aidanas.russianroulette.communication.ClockProbe;
+import com.aidanas.russianroulette.communication.PipeAcceptor;
+import com.aidanas.russianroulette.communication.PipeConnector;
+import com.aidanas.russianroulette.game.Arbitrator;
+import com.aidanas.russianroulette.game.Player;
+import com.aidanas.russianroulette.game.Session;
+import com.aidanas.russianroulette.interfaces.Connection;
+import com.aidanas.russianroulette.interfaces.GameObserver;
+
+import org.junit.Test;
+
+import java.io.IOException;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Unit test class to test messages sent the wrong way being dropped.
+ */
+public class MessageDirectionUnitTest {
+
+    @Test
+    public void serverIgnoresServerMessagesFromClients() throws Exception {
+        PipeAcceptor acceptor = new PipeAcceptor("host", "Host");
+        Arbitrator host = new Arbitrator(true, new GameObserver() {
+            @Override
+            public void onGameEvent(int what, Object obj) {
+            }
+        });
+        host.setDedicated(true);
+        BtMasterThread masterThread = new BtMasterThread(acceptor, host);
+        masterThread.start();
+
+        Connection rogue = new PipeConnector(acceptor, "peer-1", "Rogue").connect();
+        Connection next = null;
+        try {
+            join(rogue);
+            awaitPlayers(host, 1);
+
+            // Only the server pings, a client's ping was once answered as if from the master.
+            BtMsgCodec.write(new BtMsg(BtMsg.STC_PING, new ClockProbe(1)),
+                    rogue.getOutputStream());
+
+            next = new PipeConnector(acceptor, "peer-2", "Next").connect();
+            join(next);
+            awaitPlayers(host, 2);
+        } finally {
+            masterThread.cancel();
+            host.shutdown();
+            rogue.close();
+            if (next != null){
+                next.close();
+            }
+        }
+    }
+
+    private static void join(Connection connection) throws IOException {
+        BtMsgCodec.write(new BtMsg(BtMsg.CTS_JOIN,
+                new Session(Session.NO_TOKEN, Session.NO_SEQ, Player.State.RESET)),
+                connection.getOutputStream());
+    }
+
+    private static void awaitPlayers(Arbitrator host, int players) throws InterruptedException {
+        for (int i = 0; i < 500 && host.getPlayerCount() != players; i++) {
+            Thread.sleep(10);
+        }
+        assertEquals(players, host.getPlayerCount());
+    }
+}
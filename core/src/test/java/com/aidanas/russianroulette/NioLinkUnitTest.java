@@ -0,0 +1,164 @@
+package com.aidanas.russianroulette;
+
+import com.aidanas.russianroulette.communication.BtMsg;
+import com.aidanas.russianroulette.communication.BtMsgCodec;
+import com.aidanas.russianroulette.communication.BtWriterThread.OverflowPolicy;
+import com.aidanas.russianroulette.communication.NioServer;
+import com.aidanas.russianroulette.game.Player;
+import com.aidanas.russianroulette.interfaces.LinkReceiver;
+import com.aidanas.russianroulette.interfaces.MessageReceiver;
+import com.aidanas.russianroulette.interfaces.PeerLink;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.DataInputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Unit test class to test the non-blocking framing of NioLink over loopback TCP: frames split
+ * across reads, frames bigger than the input buffer and writes the socket only partly takes.
+ */
+public class NioLinkUnitTest {
+
+    private final BlockingQueue<PeerLink> mLinks = new LinkedBlockingQueue<>();
+    private final BlockingQueue<BtMsg> mReceived = new LinkedBlockingQueue<>();
+    private NioServer mServer;
+    private Socket mSocket;
+
+    @Before
+    public void setUp() throws Exception {
+        mServer = new NioServer(InetAddress.getLoopbackAddress(), 0, new LinkReceiver() {
+            @Override
+            public void receiveLink(PeerLink link) {
+                link.open(new MessageReceiver() {
+                    @Override
+                    public void receiveMessage(BtMsg btMsg) {
+                        mReceived.add(btMsg);
+                    }
+                });
+                mLinks.add(link);
+            }
+        }, 100000, OverflowPolicy.BLOCK);
+        mServer.start();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        if (mSocket != null){
+            mSocket.close();
+        }
+        mServer.close();
+        mServer.join(2000);
+    }
+
+    @Test
+    public void frameSplitByteByByteIsDecodedOnce() throws Exception {
+        connect();
+        byte[] wire = concat(BtMsgCodec.encode(new BtMsg(BtMsg.CTS_CLIENT_READY, null)),
+                BtMsgCodec.encode(new BtMsg(BtMsg.CTS_SNAPSHOT_REQUEST, null)));
+
+        OutputStream out = mSocket.getOutputStream();
+        for (byte b : wire) {
+            out.write(b);
+            out.flush();
+            Thread.sleep(1);
+        }
+
+        assertEquals(BtMsg.CTS_CLIENT_READY, next().type);
+        assertEquals(BtMsg.CTS_SNAPSHOT_REQUEST, next().type);
+        assertNull(mReceived.poll(100, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void frameBiggerThanTheInputBufferIsDecoded() throws Exception {
+        connect();
+        char[] name = new char[8000];
+        Arrays.fill(name, 'x');
+        Player big = new Player(new String(name), "peer-big");
+
+        // Split in two, so that the buffer has to grow with part of the frame in it.
+        byte[] wire = concat(BtMsgCodec.encode(new BtMsg(BtMsg.STC_NEW_PLAYER, big)),
+                BtMsgCodec.encode(new BtMsg(BtMsg.CTS_CLIENT_READY, null)));
+        OutputStream out = mSocket.getOutputStream();
+        out.write(wire, 0, 100);
+        out.flush();
+        Thread.sleep(50);
+        out.write(wire, 100, wire.length - 100);
+        out.flush();
+
+        BtMsg received = next();
+        assertEquals(BtMsg.STC_NEW_PLAYER, received.type);
+        assertEquals(big.getName(), ((Player) received.payload).getName());
+        assertEquals(BtMsg.CTS_CLIENT_READY, next().type);
+    }
+
+    @Test
+    public void shortWritesCarryOnWhenWritable() throws Exception {
+        mSocket = new Socket();
+        mSocket.setReceiveBufferSize(1024);
+        mSocket.connect(new InetSocketAddress(InetAddress.getLoopbackAddress(),
+                mServer.getLocalPort()));
+        PeerLink link = mLinks.poll(2, TimeUnit.SECONDS);
+        assertNotNull(link);
+
+        // Far more than the socket buffers hold while nobody reads.
+        int frames = 4000;
+        char[] name = new char[2000];
+        Arrays.fill(name, 'y');
+        long bytes = 0;
+        for (int i = 0; i < frames; i++) {
+            BtMsg btMsg = new BtMsg(BtMsg.STC_NEW_PLAYER, new Player(new String(name), "p" + i));
+            bytes += BtMsgCodec.encode(btMsg).length;
+            link.write(btMsg);
+        }
+        Thread.sleep(100);
+
+        DataInputStream in = new DataInputStream(mSocket.getInputStream());
+        List<String> addresses = new ArrayList<>(frames);
+        for (int i = 0; i < frames; i++) {
+            addresses.add(((Player) BtMsgCodec.read(in).payload).getAddress());
+        }
+        for (int i = 0; i < frames; i++) {
+            assertEquals("p" + i, addresses.get(i));
+        }
+
+        // Counted once the write returns, which might be after the bytes have arrived.
+        for (int i = 0; i < 100 && link.getBytesOut() < bytes; i++) {
+            Thread.sleep(10);
+        }
+        assertEquals(bytes, link.getBytesOut());
+    }
+
+    private void connect() throws Exception {
+        mSocket = new Socket(InetAddress.getLoopbackAddress(), mServer.getLocalPort());
+        mSocket.setTcpNoDelay(true);
+        assertNotNull(mLinks.poll(2, TimeUnit.SECONDS));
+    }
+
+    private BtMsg next() throws InterruptedException {
+        BtMsg btMsg = mReceived.poll(2, TimeUnit.SECONDS);
+        assertNotNull("Nothing received", btMsg);
+        return btMsg;
+    }
+
+    private static byte[] concat(byte[] a, byte[] b) {
+        byte[] both = Arrays.copyOf(a, a.length + b.length);
+        System.arraycopy(b, 0, both, a.length, b.length);
+        return both;
+    }
+}
@@ -0,0 +1,69 @@
+package com.aidanas.russianroulette;
+
+import com.aidanas.russianroulette.communication.PeerClock;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit test class to test PeerClock round trip and offset estimation.
+ */
+public class PeerClockUnitTest {
+
+    // The peer's clock is this far ahead of ours.
+    private static final long OFFSET = 5000000000L;
+
+    /**
+     * Simulates a probe sent at t0 which takes 'up' to get there, 'turn' to be answered and
+     * 'down' to come back.
+     */
+    private static long probe(PeerClock clock, long t0, long up, long turn, long down) {
+        long t1 = t0 + up + OFFSET;
+        long t2 = t1 + turn;
+        return clock.onPong(t0, t1, t2, t2 - OFFSET + down);
+    }
+
+    @Test
+    public void symmetricLinkGivesExactOffset() {
+        PeerClock clock = new PeerClock();
+        assertFalse(clock.hasEstimate());
+
+        assertEquals(2000, probe(clock, 100, 1000, 50000, 1000));
+        assertTrue(clock.hasEstimate());
+        assertEquals(2000, clock.getRtt());
+        assertEquals(OFFSET, clock.getOffset());
+        assertEquals(OFFSET + 42, clock.toPeerTime(42));
+    }
+
+    @Test
+    public void fastestSampleIsTrusted() {
+        PeerClock clock = new PeerClock();
+        probe(clock, 0, 9000, 0, 1000);
+        probe(clock, 100000, 1000, 0, 1000);
+        probe(clock, 200000, 1000, 0, 7000);
+
+        assertEquals(2000, clock.getRtt());
+        assertEquals(OFFSET, clock.getOffset());
+        assertEquals(3, clock.getRttHistogram().getCount());
+    }
+
+    @Test
+    public void oldSamplesAgeOut() {
+        PeerClock clock = new PeerClock();
+        probe(clock, 0, 10, 0, 10);
+        for (int i = 1; i <= 8; i++) {
+            probe(clock, i * 100000, 1000, 0, 1000);
+        }
+        assertEquals(2000, clock.getRtt());
+    }
+
+    @Test
+    public void impossibleSampleIsDiscarded() {
+        PeerClock clock = new PeerClock();
+        assertEquals(-1, clock.onPong(1000, 0, 5000, 2000));
+        assertFalse(clock.hasEstimate());
+    }
+}
@@ -0,0 +1,114 @@
+package com.aidanas.russianroulette;
+
+import com.aidanas.russianroulette.communication.BtConnectedThread;
+import com.aidanas.russianroulette.communication.BtMsg;
+import com.aidanas.russianroulette.communication.BtMsgCodec;
+import com.aidanas.russianroulette.communication.PipeAcceptor;
+import com.aidanas.russianroulette.communication.BtWriterThread;
+import com.aidanas.russianroulette.communication.PipeConnector;
+import com.aidanas.russianroulette.interfaces.Connection;
+import com.aidanas.russianroulette.interfaces.MessageReceiver;
+
+import org.junit.Test;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit test class to test the in-process transport.
+ */
+public class PipeTransportUnitTest {
+
+    @Test
+    public void framesTravelBothWays() throws Exception {
+        PipeAcceptor acceptor = new PipeAcceptor("host", "Host");
+        Connection client = new PipeConnector(acceptor, "peer-1", "Peer").connect();
+        Connection host = acceptor.accept();
+
+        assertEquals("host", client.getPeerId());
+        assertEquals("peer-1", host.getPeerId());
+
+        BtMsgCodec.write(new BtMsg(BtMsg.CTS_CLIENT_READY, null), client.getOutputStream());
+        BtMsgCodec.write(new BtMsg(BtMsg.STC_SERVER_READY, null), host.getOutputStream());
+
+        assertEquals(BtMsg.CTS_CLIENT_READY,
+                BtMsgCodec.read(new DataInputStream(host.getInputStream())).type);
+        assertEquals(BtMsg.STC_SERVER_READY,
+                BtMsgCodec.read(new DataInputStream(client.getInputStream())).type);
+    }
+
+    @Test
+    public void writerBlocksUntilReaderCatchesUp() throws Exception {
+        PipeAcceptor acceptor = new PipeAcceptor("host", "Host");
+        final Connection client = new PipeConnector(acceptor, "peer-1", "Peer").connect();
+        Connection host = acceptor.accept();
+
+        // More than the pipe can hold, so the writer has to wait for the reader.
+        final int frames = 10000;
+        Thread writer = new Thread() {
+            @Override
+            public void run() {
+                try {
+                    for (int i = 0; i < frames; i++) {
+                        BtMsgCodec.write(new BtMsg(BtMsg.CTS_CLIENT_ALIVE, null),
+                                client.getOutputStream());
+                    }
+                } catch (IOException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+        };
+        writer.start();
+
+        DataInputStream in = new DataInputStream(host.getInputStream());
+        for (int i = 0; i < frames; i++) {
+            assertEquals(BtMsg.CTS_CLIENT_ALIVE, BtMsgCodec.read(in).type);
+        }
+        writer.join();
+    }
+
+    @Test(timeout = 5000)
+    public void malformedFrameHangsUp() throws Exception {
+        PipeAcceptor acceptor = new PipeAcceptor("host", "Host");
+        Connection client = new PipeConnector(acceptor, "peer-1", "Peer").connect();
+        final CountDownLatch disconnected = new CountDownLatch(1);
+        BtConnectedThread link = new BtConnectedThread(acceptor.accept(), 8,
+                BtWriterThread.OverflowPolicy.BLOCK);
+        link.open(new MessageReceiver() {
+            @Override
+            public void receiveMessage(BtMsg btMsg) {
+                if (btMsg.type == BtMsg.PEER_DISCONNECTED){
+                    disconnected.countDown();
+                }
+            }
+        });
+
+        // Header of a frame claiming a negative length.
+        client.getOutputStream().write(new byte[]{0, 0, 0, -1, -1, -1, -1});
+        client.getOutputStream().flush();
+        assertTrue(disconnected.await(2, TimeUnit.SECONDS));
+
+        // The peer is not left connected.
+        try {
+            BtMsgCodec.read(new DataInputStream(client.getInputStream()));
+            throw new AssertionError("Connection left open after a malformed frame");
+        } catch (IOException e) {
+            // Hung up on.
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void readFailsAfterClose() throws Exception {
+        PipeAcceptor acceptor = new PipeAcceptor("host", "Host");
+        Connection client = new PipeConnector(acceptor, "peer-1", "Peer").connect();
+        Connection host = acceptor.accept();
+
+        client.close();
+        BtMsgCodec.read(new DataInputStream(host.getInputStream()));
+    }
+}
@@ -0,0 +1,88 @@
+package com.aidanas.russianroulette;
+
+import com.aidanas.russianroulette.game.Player;
+import com.aidanas.russianroulette.game.PlayerListDiff;
+import com.aidanas.russianroulette.game.PlayerListSnapshot;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit test class to test the diffs between snapshots of the player list.
+ */
+public class PlayerListDiffUnitTest {
+
+    @Test
+    public void stateChangesOnlyTouchTheirRows() {
+        Player a = new Player("A", "peer-a");
+        Player b = new Player("B", "peer-b");
+        Player c = new Player("C", "peer-c");
+        PlayerListSnapshot from = PlayerListSnapshot.of(1, Arrays.asList(a, b, c));
+        b.setReady();
+        c.setReady();
+        PlayerListSnapshot to = PlayerListSnapshot.of(2, Arrays.asList(a, b, c));
+
+        PlayerListDiff diff = PlayerListDiff.between(from, to);
+        assertFalse(diff.isStructural());
+        assertEquals(Arrays.asList(1, 2), diff.getChanged());
+        assertTrue(to.get(1).isReady());
+
+        // The earlier snapshot is not touched by the players changing.
+        assertFalse(from.get(1).isReady());
+    }
+
+    @Test
+    public void joinsAndLeavesAreStructural() {
+        Player a = new Player("A", "peer-a");
+        Player b = new Player("B", "peer-b");
+        Player c = new Player("C", "peer-c");
+        PlayerListSnapshot from = PlayerListSnapshot.of(1, Arrays.asList(a, b));
+        a.setReady();
+        PlayerListSnapshot to = PlayerListSnapshot.of(2, Arrays.asList(a, c));
+
+        PlayerListDiff diff = PlayerListDiff.between(from, to);
+        assertTrue(diff.isStructural());
+        assertEquals(Arrays.asList(1), diff.getRemoved());
+        assertEquals(Arrays.asList(1), diff.getInserted());
+        assertTrue(diff.getChanged().isEmpty());
+    }
+
+    @Test
+    public void movedPlayersAreStructural() {
+        Player a = new Player("A", "peer-a");
+        Player b = new Player("B", "peer-b");
+        Player c = new Player("C", "peer-c");
+        PlayerListSnapshot from = PlayerListSnapshot.of(1, Arrays.asList(a, b, c));
+        PlayerListSnapshot to = PlayerListSnapshot.of(2, Arrays.asList(b, c, a));
+
+        // Same players, A left and joined again.
+        PlayerListDiff diff = PlayerListDiff.between(from, to);
+        assertFalse(diff.isEmpty());
+        assertTrue(diff.isStructural());
+        assertTrue(diff.isReordered());
+        assertTrue(diff.getRemoved().isEmpty());
+        assertTrue(diff.getInserted().isEmpty());
+
+        // A moved row changing state must not be patched in at a position of another player.
+        a.setReady();
+        diff = PlayerListDiff.between(from, PlayerListSnapshot.of(3, Arrays.asList(b, c, a)));
+        assertTrue(diff.isStructural());
+        assertTrue(diff.getChanged().isEmpty());
+    }
+
+    @Test
+    public void nothingChanged() {
+        Player a = new Player("A", "peer-a", Player.State.READY);
+        PlayerListDiff diff = PlayerListDiff.between(PlayerListSnapshot.of(1, Arrays.asList(a)),
+                PlayerListSnapshot.of(2, Arrays.asList(a)));
+        assertTrue(diff.isEmpty());
+
+        assertTrue(PlayerListDiff.between(PlayerListSnapshot.EMPTY,
+                PlayerListSnapshot.of(1, Arrays.asList(a))).isStructural());
+    }
+}
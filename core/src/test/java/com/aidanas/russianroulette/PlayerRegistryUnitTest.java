@@ -0,0 +1,59 @@
+package com.aidanas.russianroulette;
+
+import com.aidanas.russianroulette.game.Player;
+import com.aidanas.russianroulette.game.PlayerRegistry;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit test class to test PlayerRegistry behavior.
+ */
+public class PlayerRegistryUnitTest {
+
+    @Test
+    public void lookupIsByAddressNotName() throws Exception {
+        PlayerRegistry registry = new PlayerRegistry();
+        Player first = new Player("Galaxy", "00:00:00:00:00:01");
+        Player second = new Player("Galaxy", "00:00:00:00:00:02");
+        assertTrue(registry.add(first));
+        assertTrue(registry.add(second));
+
+        assertSame(second, registry.get("00:00:00:00:00:02"));
+        assertNull(registry.get("00:00:00:00:00:03"));
+        assertFalse(registry.add(new Player("Other", "00:00:00:00:00:01")));
+        assertEquals(2, registry.size());
+    }
+
+    @Test
+    public void snapshotKeepsJoinOrderAndIsShared() throws Exception {
+        PlayerRegistry registry = new PlayerRegistry();
+        for (int i = 9; i >= 0; i--) {
+            registry.add(new Player("P" + i, "addr" + i));
+        }
+
+        List<Player> snapshot = registry.snapshot();
+        assertEquals("P9", snapshot.get(0).getName());
+        assertEquals("P0", snapshot.get(9).getName());
+        assertSame(snapshot, registry.snapshot());
+
+        registry.remove("addr5");
+        assertNotSame(snapshot, registry.snapshot());
+        assertEquals(10, snapshot.size());
+        assertEquals(9, registry.snapshot().size());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void snapshotIsImmutable() throws Exception {
+        PlayerRegistry registry = new PlayerRegistry();
+        registry.snapshot().add(new Player("P", "addr"));
+    }
+}
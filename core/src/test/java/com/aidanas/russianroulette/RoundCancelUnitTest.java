@@ -0,0 +1,180 @@
+package com.aidanas.russianroulette;
+
+import com.aidanas.russianroulette.communication.BtMasterThread;
+import com.aidanas.russianroulette.communication.PipeAcceptor;
+import com.aidanas.russianroulette.communication.PipeConnector;
+import com.aidanas.russianroulette.game.Arbitrator;
+import com.aidanas.russianroulette.game.Player;
+import com.aidanas.russianroulette.game.PlayerListDiff;
+import com.aidanas.russianroulette.game.PlayerListSnapshot;
+import com.aidanas.russianroulette.interfaces.Connection;
+import com.aidanas.russianroulette.interfaces.GameObserver;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit test class to test a round being called off when a player leaves in the middle of it.
+ */
+public class RoundCancelUnitTest {
+
+    // Long enough for the drop to land before the trigger is pulled.
+    private static final long THRILL_DELAY = 1000;
+
+    private final PipeAcceptor mAcceptor = new PipeAcceptor("host", "Host");
+    private final Events mHostEvents = new Events();
+    private final Events mEventsA = new Events();
+    private final Events mEventsB = new Events();
+    private Arbitrator mHost;
+    private Arbitrator mPeerA;
+    private Arbitrator mPeerB;
+    private Arbitrator mLeaving;
+    private BtMasterThread mMasterThread;
+    private Connection mLeavingConnection;
+
+    @Before
+    public void setUp() throws Exception {
+        mHost = new Arbitrator(true, mHostEvents);
+        mHost.setThrillDelay(THRILL_DELAY);
+        mMasterThread = new BtMasterThread(mAcceptor, mHost);
+        mMasterThread.start();
+
+        mPeerA = new Arbitrator(false, mEventsA);
+        mPeerA.receiveConnection(new PipeConnector(mAcceptor, "peer-a", "A").connect());
+        mPeerB = new Arbitrator(false, mEventsB);
+        mPeerB.receiveConnection(new PipeConnector(mAcceptor, "peer-b", "B").connect());
+        mLeaving = new Arbitrator(false, new Events());
+        mLeavingConnection = new PipeConnector(mAcceptor, "peer-c", "C").connect();
+        mLeaving.receiveConnection(mLeavingConnection);
+        mHostEvents.awaitState("peer-c", Player.State.RESET);
+        mEventsA.awaitState("peer-c", Player.State.RESET);
+        mEventsB.awaitState("peer-c", Player.State.RESET);
+    }
+
+    @After
+    public void tearDown() {
+        mMasterThread.cancel();
+        for (Arbitrator a : new Arbitrator[]{mLeaving, mPeerB, mPeerA, mHost}) {
+            a.shutdown();
+        }
+    }
+
+    @Test
+    public void playerLeavingMidRoundCancelsItForEveryone() throws Exception {
+        mHost.setResumeGrace(0);
+        readyUpAndStart();
+
+        mLeavingConnection.close();
+        for (Events events : new Events[]{mHostEvents, mEventsA, mEventsB}) {
+            events.await(Arbitrator.MSG_UI_ROUND_CANCELLED);
+        }
+
+        // Nobody pulls the trigger on a round the others have called off.
+        Thread.sleep(THRILL_DELAY + 500);
+        for (Events events : new Events[]{mHostEvents, mEventsA, mEventsB}) {
+            assertFalse(events.hasPlayed());
+        }
+
+        // Everyone left sees everyone else reset, ready to start over.
+        mHostEvents.awaitState("peer-a", Player.State.RESET);
+        mHostEvents.awaitState("peer-b", Player.State.RESET);
+        mEventsA.awaitState("host", Player.State.RESET);
+        mEventsA.awaitState("peer-b", Player.State.RESET);
+        mEventsB.awaitState("host", Player.State.RESET);
+        mEventsB.awaitState("peer-a", Player.State.RESET);
+        assertEquals(2, mHost.getPlayerCount());
+    }
+
+    @Test
+    public void playerDetachedMidRoundDoesNotCancelIt() throws Exception {
+        readyUpAndStart();
+
+        // Its seat is kept for the grace period, the round goes on.
+        mLeavingConnection.close();
+        for (Events events : new Events[]{mHostEvents, mEventsA, mEventsB}) {
+            events.awaitPlayed();
+            assertFalse(events.has(Arbitrator.MSG_UI_ROUND_CANCELLED));
+        }
+        assertEquals(3, mHost.getPlayerCount());
+    }
+
+    private void readyUpAndStart() throws InterruptedException {
+        mLeaving.readyUp();
+        mPeerA.readyUp();
+        mPeerB.readyUp();
+        mHostEvents.awaitState("peer-c", Player.State.READY);
+        mHostEvents.awaitState("peer-a", Player.State.READY);
+        mHostEvents.awaitState("peer-b", Player.State.READY);
+        mHost.readyUp();
+        for (Events events : new Events[]{mHostEvents, mEventsA, mEventsB}) {
+            events.await(Arbitrator.MSG_UI_ALL_READY);
+        }
+    }
+
+    /**
+     * Keeps the UI events and the latest list of players, in place of the UI.
+     */
+    private static class Events implements GameObserver {
+        private final List<Integer> mEvents = new ArrayList<>();
+        private PlayerListSnapshot mPlayers = PlayerListSnapshot.EMPTY;
+
+        @Override
+        public synchronized void onGameEvent(int what, Object obj) {
+            mEvents.add(what);
+            if (what == Arbitrator.MSG_UI_UPDATE_PLAYER_LIST){
+                mPlayers = ((PlayerListDiff) obj).getTo();
+            }
+            notifyAll();
+        }
+
+        synchronized boolean has(int what) {
+            return mEvents.contains(what);
+        }
+
+        synchronized boolean hasPlayed() {
+            return has(Arbitrator.MSG_UI_ALIVE) || has(Arbitrator.MSG_UI_DEAD);
+        }
+
+        synchronized void await(int what) throws InterruptedException {
+            long deadline = System.currentTimeMillis() + 5000;
+            while (!has(what) && System.currentTimeMillis() < deadline) {
+                wait(100);
+            }
+            assertTrue("No event " + what + " in " + mEvents, has(what));
+        }
+
+        synchronized void awaitPlayed() throws InterruptedException {
+            long deadline = System.currentTimeMillis() + 5000;
+            while (!hasPlayed() && System.currentTimeMillis() < deadline) {
+                wait(100);
+            }
+            assertTrue("Round not played, events " + mEvents, hasPlayed());
+        }
+
+        synchronized void awaitState(String address, Player.State state)
+                throws InterruptedException {
+            long deadline = System.currentTimeMillis() + 5000;
+            while (stateOf(address) != state && System.currentTimeMillis() < deadline) {
+                wait(100);
+            }
+            assertTrue(address + " is " + stateOf(address), stateOf(address) == state);
+        }
+
+        private Player.State stateOf(String address) {
+            for (PlayerListSnapshot.Row row : mPlayers.getRows()) {
+                if (row.getAddress().equals(address)){
+                    return row.getState();
+                }
+            }
+            return null;
+        }
+    }
+}
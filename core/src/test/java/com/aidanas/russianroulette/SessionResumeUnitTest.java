@@ -0,0 +1,129 @@
+package com.aidanas.russianroulette;
+
+import com.aidanas.russianroulette.communication.BtMasterThread;
+import com.aidanas.russianroulette.communication.PipeAcceptor;
+import com.aidanas.russianroulette.communication.PipeConnector;
+import com.aidanas.russianroulette.game.Arbitrator;
+import com.aidanas.russianroulette.game.Player;
+import com.aidanas.russianroulette.game.PlayerListDiff;
+import com.aidanas.russianroulette.game.PlayerListSnapshot;
+import com.aidanas.russianroulette.interfaces.Connection;
+import com.aidanas.russianroulette.interfaces.ConnectionConnector;
+import com.aidanas.russianroulette.interfaces.ConnectorFactory;
+import com.aidanas.russianroulette.interfaces.GameObserver;
+import com.aidanas.russianroulette.metrics.Counter;
+import com.aidanas.russianroulette.metrics.Metrics;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit test class to test a client resuming its session after its connection dropped.
+ */
+public class SessionResumeUnitTest {
+
+    private final PipeAcceptor mAcceptor = new PipeAcceptor("host", "Host");
+    private final PlayerList mHostView = new PlayerList();
+    private final PlayerList mResumingView = new PlayerList();
+    private Arbitrator mHost;
+    private Arbitrator mResuming;
+    private Arbitrator mOther;
+    private BtMasterThread mMasterThread;
+
+    @Before
+    public void setUp() {
+        mHost = new Arbitrator(true, mHostView);
+        mMasterThread = new BtMasterThread(mAcceptor, mHost);
+        mMasterThread.start();
+    }
+
+    @After
+    public void tearDown() {
+        mMasterThread.cancel();
+        for (Arbitrator a : new Arbitrator[]{mResuming, mOther, mHost}) {
+            if (a != null){
+                a.shutdown();
+            }
+        }
+    }
+
+    @Test
+    public void droppedClientKeepsItsSeatAndGetsWhatItMissed() throws Exception {
+        Counter resumed = Metrics.counter("game.sessions_resumed");
+        long resumedBefore = resumed.get();
+
+        // Redialling waits for the test to let it through.
+        final CountDownLatch redial = new CountDownLatch(1);
+        mResuming = new Arbitrator(false, mResumingView);
+        mResuming.setReconnect(new ConnectorFactory() {
+            @Override
+            public ConnectionConnector newConnector() throws IOException {
+                try {
+                    redial.await();
+                } catch (InterruptedException e) {
+                    throw new IOException(e);
+                }
+                return new PipeConnector(mAcceptor, "peer-a", "A");
+            }
+        });
+        Connection dropped = new PipeConnector(mAcceptor, "peer-a", "A").connect();
+        mResuming.receiveConnection(dropped);
+        mOther = new Arbitrator(false, new PlayerList());
+        mOther.receiveConnection(new PipeConnector(mAcceptor, "peer-b", "B").connect());
+        awaitState(mResumingView, "peer-b", Player.State.RESET);
+
+        dropped.close();
+        for (int i = 0; i < 1000 && mHost.getWriteQueueDepths().containsKey("peer-a"); i++) {
+            Thread.sleep(10);
+        }
+        assertFalse(mHost.getWriteQueueDepths().containsKey("peer-a"));
+
+        // Happens while the client is away.
+        mOther.readyUp();
+        awaitState(mHostView, "peer-b", Player.State.READY);
+
+        redial.countDown();
+        awaitState(mResumingView, "peer-b", Player.State.READY);
+        assertEquals(2, mHost.getPlayerCount());
+        assertEquals(resumedBefore + 1, resumed.get());
+    }
+
+    private static void awaitState(PlayerList view, String address, Player.State state)
+            throws InterruptedException {
+        for (int i = 0; i < 1000 && view.stateOf(address) != state; i++) {
+            Thread.sleep(10);
+        }
+        assertTrue(address + " is " + view.stateOf(address), view.stateOf(address) == state);
+    }
+
+    /**
+     * Keeps the latest list of players, in place of the UI.
+     */
+    private static class PlayerList implements GameObserver {
+        private PlayerListSnapshot mPlayers = PlayerListSnapshot.EMPTY;
+
+        @Override
+        public synchronized void onGameEvent(int what, Object obj) {
+            if (what == Arbitrator.MSG_UI_UPDATE_PLAYER_LIST){
+                mPlayers = ((PlayerListDiff) obj).getTo();
+            }
+        }
+
+        synchronized Player.State stateOf(String address) {
+            for (PlayerListSnapshot.Row row : mPlayers.getRows()) {
+                if (row.getAddress().equals(address)){
+                    return row.getState();
+                }
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.aidanas.russianroulette;
+
+import com.aidanas.russianroulette.game.StateSequence;
+import com.aidanas.russianroulette.game.StateSequence.Verdict;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit test class to test StateSequence gap detection.
+ */
+public class StateSequenceUnitTest {
+
+    @Test
+    public void deltasBeforeTheFirstSnapshotAreSkipped() {
+        StateSequence s = new StateSequence();
+        assertEquals(Verdict.SKIP, s.onDelta(1));
+        assertTrue(s.onSnapshot(1));
+        assertEquals(Verdict.APPLY, s.onDelta(2));
+    }
+
+    @Test
+    public void staleDeltasAreSkipped() {
+        StateSequence s = new StateSequence();
+        s.onSnapshot(5);
+        assertEquals(Verdict.SKIP, s.onDelta(5));
+        assertEquals(Verdict.APPLY, s.onDelta(6));
+        assertEquals(Verdict.SKIP, s.onDelta(4));
+    }
+
+    @Test
+    public void gapRequestsOneSnapshot() {
+        StateSequence s = new StateSequence();
+        s.onSnapshot(1);
+        assertEquals(Verdict.RESYNC, s.onDelta(3));
+        assertFalse(s.isSynced());
+
+        // Waiting for the snapshot, nothing else gets applied or requested.
+        assertEquals(Verdict.SKIP, s.onDelta(4));
+        assertTrue(s.onSnapshot(4));
+        assertEquals(Verdict.APPLY, s.onDelta(5));
+    }
+
+    @Test
+    public void oldSnapshotIsIgnoredOnceInSync() {
+        StateSequence s = new StateSequence();
+        s.onSnapshot(3);
+        s.onDelta(4);
+        assertFalse(s.onSnapshot(4));
+        assertEquals(4, s.getLast());
+    }
+}
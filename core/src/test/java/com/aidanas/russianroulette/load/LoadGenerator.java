@@ -0,0 +1,301 @@
+package com.aidanas.russianroulette.load;
+
+import com.aidanas.russianroulette.communication.BtMasterThread;
+import com.aidanas.russianroulette.communication.NioServer;
+import com.aidanas.russianroulette.communication.PipeAcceptor;
+import com.aidanas.russianroulette.communication.PipeConnector;
+import com.aidanas.russianroulette.communication.TcpConnector;
+import com.aidanas.russianroulette.game.Arbitrator;
+import com.aidanas.russianroulette.game.SeededRandomSource;
+import com.aidanas.russianroulette.interfaces.ConnectionConnector;
+import com.aidanas.russianroulette.interfaces.GameObserver;
+import com.aidanas.russianroulette.interfaces.RandomSource;
+import com.aidanas.russianroulette.interfaces.Scheduler;
+
+import java.io.Closeable;
+import java.net.InetAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Created by: Aidanas
+ * Created on: 18/10/2026.
+ *
+ * Headless load generator for the game protocol. Runs a server-role Arbitrator and a number of
+ * SimulatedPeers connected to it over the in-process pipe transport (or the LAN transport on
+ * loopback), plays a number of rounds and reports how the host coped (see LoadReport).
+ *
+ * The host's own player is driven through the Arbitrator's public API, just like the UI does, and
+ * the generator observes its outcomes in place of the UI.
+ * Optionally the host resolves the rounds, then its gun fires blanks so that nobody dies.
+ */
+public class LoadGenerator implements SimulatedPeer.Listener, GameObserver {
+
+    // Seconds to wait for a single phase (joining or a round) before giving up.
+    private static final long PHASE_TIMEOUT = 60;
+
+    // Seed of the host's gun, so that every run plays out the same.
+    private static final long SEED = 42;
+
+    private final int mPeerCount;
+    private final int mRounds;
+    private final long mThrillDelay;
+    private final boolean mResolved;
+
+    // Scheduler shared with other games to run the host on, null for a thread of its own.
+    private Scheduler mScheduler;
+
+    // Serve the peers with a NioServer over loopback TCP instead of pipes.
+    private boolean mLan = false;
+
+    private Arbitrator mArbitrator;
+    private final List<SimulatedPeer> mPeers = new ArrayList<>();
+
+    // Completion of the current phase.
+    private volatile CountDownLatch mJoinedLatch;
+    private volatile CountDownLatch mRoundLatch;
+
+    // State of the current round, guarded by 'this'.
+    private Boolean mHostAlive;
+    private long mRoundCompleted;
+
+    // Queue depth samples, guarded by 'this'.
+    private int mMaxQueueDepth = 0;
+    private long mQueueDepthSum = 0;
+    private long mQueueDepthSamples = 0;
+
+    /**
+     * Constructor.
+     * @param peerCount - Number of simulated client peers. The host comes on top of them.
+     * @param rounds - Number of rounds to be played.
+     * @param thrillDelay - Host's delay before pulling the trigger, in milliseconds.
+     */
+    public LoadGenerator(int peerCount, int rounds, long thrillDelay) {
+        this(peerCount, rounds, thrillDelay, false);
+    }
+
+    /**
+     * Constructor.
+     * @param peerCount - Number of simulated client peers. The host comes on top of them.
+     * @param rounds - Number of rounds to be played.
+     * @param thrillDelay - Host's delay before pulling the trigger, in milliseconds.
+     * @param resolved - Should the host resolve the rounds?
+     */
+    public LoadGenerator(int peerCount, int rounds, long thrillDelay, boolean resolved) {
+        if (peerCount < 1 || rounds < 1){
+            throw new IllegalArgumentException("At least one peer and one round required");
+        }
+        mPeerCount = peerCount;
+        mRounds = rounds;
+        mThrillDelay = thrillDelay;
+        mResolved = resolved;
+    }
+
+    /**
+     * Method to run the host on a thread shared with other games rather than on a thread of its
+     * own. Must be called before run().
+     * @param scheduler - Scheduler to run on, i.e. from EventLoop.newScheduler().
+     * @return - This generator.
+     */
+    public LoadGenerator runOn(Scheduler scheduler) {
+        mScheduler = scheduler;
+        return this;
+    }
+
+    /**
+     * Method to connect the peers through the LAN transport on loopback rather than through
+     * in-process pipes. Must be called before run().
+     * @return - This generator.
+     */
+    public LoadGenerator overLan() {
+        mLan = true;
+        return this;
+    }
+
+    /**
+     * Runs the whole load test. Blocks until all the rounds are played.
+     * @return - Results of the run.
+     * @throws Exception - If the game got stuck or the transport failed.
+     */
+    public LoadReport run() throws Exception {
+        mArbitrator = mScheduler == null ? new Arbitrator(true, this) :
+                new Arbitrator(true, this, mScheduler);
+        mArbitrator.setThrillDelay(mThrillDelay);
+        if (mResolved){
+            mArbitrator.setServerResolved(true);
+            mArbitrator.setRandomSource(new BlankRandomSource());
+        } else {
+            mArbitrator.setRandomSource(new SeededRandomSource(SEED));
+        }
+        int queueCapacity = Arbitrator.writeQueueCapacityFor(mPeerCount + 1);
+        mArbitrator.setWriteQueue(queueCapacity, Arbitrator.DEFAULT_OVERFLOW_POLICY);
+
+        // Closing the listener stops accepting peers.
+        Closeable listener;
+        PipeAcceptor acceptor = null;
+        NioServer server = null;
+        if (mLan){
+            server = new NioServer(InetAddress.getLoopbackAddress(), 0, mArbitrator,
+                    queueCapacity, Arbitrator.DEFAULT_OVERFLOW_POLICY);
+            server.start();
+            listener = server;
+        } else {
+            acceptor = new PipeAcceptor("host", "Host");
+            new BtMasterThread(acceptor, mArbitrator).start();
+            listener = acceptor;
+        }
+
+        try {
+            // Everyone joins.
+            mJoinedLatch = new CountDownLatch(mPeerCount);
+            for (int i = 0; i < mPeerCount; i++) {
+                String id = "peer-" + i;
+                ConnectionConnector connector = mLan ?
+                        new TcpConnector("127.0.0.1", server.getLocalPort()) :
+                        new PipeConnector(acceptor, id, id);
+                SimulatedPeer peer = new SimulatedPeer(connector.connect(), this);
+                mPeers.add(peer);
+                peer.start();
+            }
+            await(mJoinedLatch, "peers to join");
+
+            long bytesAtStart = bytesOnWire();
+            long[] latencies = new long[mRounds];
+            long start = System.nanoTime();
+
+            for (int round = 0; round < mRounds; round++) {
+                latencies[round] = playRound(round == 0);
+            }
+
+            long elapsed = System.nanoTime() - start;
+            return new LoadReport(mPeerCount, mRounds, elapsed, latencies,
+                    bytesOnWire() - bytesAtStart, mMaxQueueDepth,
+                    mQueueDepthSamples == 0 ? 0 : (double) mQueueDepthSum / mQueueDepthSamples);
+        } finally {
+            for (SimulatedPeer peer : mPeers) {
+                peer.close();
+            }
+            listener.close();
+            mArbitrator.shutdown();
+        }
+    }
+
+    /**
+     * Plays a single round.
+     * @param first - Is it the first round of the game?
+     * @return - Nanoseconds from the last ready to everyone having seen the outcome.
+     */
+    private long playRound(boolean first) throws Exception {
+        synchronized (this) {
+            mHostAlive = null;
+            mRoundLatch = new CountDownLatch(1);
+        }
+
+        for (SimulatedPeer peer : mPeers) {
+            peer.prepareRound();
+        }
+
+        // Host resets first, otherwise its ready flag from the last round would let the peers'
+        // ready messages start the round without it.
+        if (!first){
+            mArbitrator.reset();
+        }
+        for (SimulatedPeer peer : mPeers) {
+            peer.startRound(first);
+        }
+        mArbitrator.readyUp();
+        long lastReady = System.nanoTime();
+
+        await(mRoundLatch, "round to complete");
+        synchronized (this) {
+            return mRoundCompleted - lastReady;
+        }
+    }
+
+    private synchronized void onHostOutcome(boolean alive) {
+        mHostAlive = alive;
+        checkRoundComplete();
+    }
+
+    /**
+     * Round is complete once the host knows its own outcome and every peer has seen the outcome
+     * of all the others. Peers always survive, the host only announces itself if it survived.
+     */
+    private void checkRoundComplete() {
+        if (mHostAlive == null){
+            return;
+        }
+        int expected = mPeerCount - 1 + (mHostAlive ? 1 : 0);
+        for (SimulatedPeer peer : mPeers) {
+            if (peer.getOutcomesSeen() < expected){
+                return;
+            }
+        }
+        if (mRoundLatch.getCount() > 0){
+            mRoundCompleted = System.nanoTime();
+            mRoundLatch.countDown();
+        }
+    }
+
+    private long bytesOnWire() {
+        long bytes = 0;
+        for (SimulatedPeer peer : mPeers) {
+            bytes += peer.getBytesOnWire();
+        }
+        return bytes;
+    }
+
+    private static void await(CountDownLatch latch, String what) throws Exception {
+        if (!latch.await(PHASE_TIMEOUT, TimeUnit.SECONDS)){
+            throw new IllegalStateException("Timed out waiting for " + what);
+        }
+    }
+
+    /***********************************************************************************************
+     *                                  Interface Implementations
+     **********************************************************************************************/
+
+    /**
+     * Learns about the outcome of the host's rounds, in place of the UI.
+     */
+    @Override
+    public void onGameEvent(int what, Object obj) {
+        if (what == Arbitrator.MSG_UI_ALIVE || what == Arbitrator.MSG_UI_DEAD){
+            onHostOutcome(what == Arbitrator.MSG_UI_ALIVE);
+        }
+    }
+
+    @Override
+    public synchronized void onFrame(SimulatedPeer peer) {
+        int depth = mArbitrator.getQueueDepth();
+        mMaxQueueDepth = Math.max(mMaxQueueDepth, depth);
+        mQueueDepthSum += depth;
+        mQueueDepthSamples++;
+    }
+
+    @Override
+    public void onJoined(SimulatedPeer peer) {
+        mJoinedLatch.countDown();
+    }
+
+    @Override
+    public synchronized void onOutcome(SimulatedPeer peer) {
+        checkRoundComplete();
+    }
+
+    /***********************************************************************************************
+     *                                  Inner Classes
+     **********************************************************************************************/
+
+    /**
+     * Always stops the cylinder at the last chamber, which holds no bullet.
+     */
+    private static class BlankRandomSource implements RandomSource {
+        @Override
+        public int nextInt(int bound) {
+            return bound - 1;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.aidanas.russianroulette.load;
+
+import com.aidanas.russianroulette.logging.Logger;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Runs the LoadGenerator for a growing number of peers and checks the reports. The reports are
+ * logged at debug level, raise the GAME level to see them.
+ */
+public class LoadGeneratorTest {
+
+    private static final String TAG = LoadGeneratorTest.class.getSimpleName();
+    private static final Logger LOG = Logger.get(Logger.Subsystem.GAME, TAG);
+
+    private static final int ROUNDS = 50;
+
+    // No thrill, the protocol is what is being measured.
+    private static final long THRILL_DELAY = 0;
+
+    @Test
+    public void twoPeers() throws Exception {
+        run(2);
+    }
+
+    @Test
+    public void sevenPeers() throws Exception {
+        run(7);
+    }
+
+    @Test
+    public void thirtyPeers() throws Exception {
+        run(30, false);
+    }
+
+    @Test
+    public void thirtyPeersResolvedByHost() throws Exception {
+        run(30, true);
+    }
+
+    @Test
+    public void thirtyPeersOverLan() throws Exception {
+        LoadReport report = new LoadGenerator(30, ROUNDS, THRILL_DELAY).overLan().run();
+        check(report, 30, ROUNDS);
+    }
+
+    @Test
+    public void twoHundredPeersOverLan() throws Exception {
+        // Every peer announcing its survival to 199 others is too chatty, let the host resolve.
+        LoadReport report = new LoadGenerator(200, 10, THRILL_DELAY, true).overLan().run();
+        check(report, 200, 10);
+    }
+
+    private void run(int peers) throws Exception {
+        run(peers, false);
+    }
+
+    private void run(int peers, boolean resolved) throws Exception {
+        LoadReport report = new LoadGenerator(peers, ROUNDS, THRILL_DELAY, resolved).run();
+        check(report, peers, ROUNDS);
+    }
+
+    /**
+     * Checks that a report covers every round it was asked for and that the rounds actually went
+     * over the wire.
+     */
+    static void check(LoadReport report, int peers, int rounds) {
+        if (LOG.isDebug()) LOG.d(report.toString());
+        assertEquals(peers, report.peers);
+        assertEquals(rounds, report.rounds);
+        assertTrue("No time elapsed: " + report, report.elapsedNanos > 0);
+        assertTrue("Nothing went over the wire: " + report, report.bytesOnWire > 0);
+        assertTrue("Queue never used: " + report, report.maxQueueDepth > 0);
+        assertTrue(report.toString(), report.latencyMillis(50) <= report.latencyMillis(99));
+    }
+}
@@ -0,0 +1,60 @@
+package com.aidanas.russianroulette.load;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Created by: Aidanas
+ * Created on: 18/10/2026.
+ *
+ * Results of a single LoadGenerator run.
+ */
+public class LoadReport {
+
+    public final int peers;
+    public final int rounds;
+    public final long elapsedNanos;
+    public final long bytesOnWire;
+    public final int maxQueueDepth;
+    public final double meanQueueDepth;
+
+    // Per round latency from the last ready to everyone having seen the outcome, sorted.
+    private final long[] mLatencies;
+
+    public LoadReport(int peers, int rounds, long elapsedNanos, long[] latencies, long bytesOnWire,
+                      int maxQueueDepth, double meanQueueDepth) {
+        this.peers = peers;
+        this.rounds = rounds;
+        this.elapsedNanos = elapsedNanos;
+        this.bytesOnWire = bytesOnWire;
+        this.maxQueueDepth = maxQueueDepth;
+        this.meanQueueDepth = meanQueueDepth;
+        mLatencies = latencies.clone();
+        Arrays.sort(mLatencies);
+    }
+
+    public double roundsPerSecond() {
+        return rounds / (elapsedNanos / 1e9);
+    }
+
+    public long bytesPerRound() {
+        return bytesOnWire / rounds;
+    }
+
+    /**
+     * @param p - Percentile, between 0 and 100.
+     * @return - Round latency at the given percentile in milliseconds.
+     */
+    public double latencyMillis(double p) {
+        int i = (int) Math.ceil(p / 100 * mLatencies.length) - 1;
+        return mLatencies[Math.max(0, Math.min(i, mLatencies.length - 1))] / 1e6;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.US, "peers=%d rounds=%d rounds/s=%.2f p50=%.1fms p99=%.1fms " +
+                        "bytes/round=%d queue(max=%d mean=%.2f)",
+                peers, rounds, roundsPerSecond(), latencyMillis(50), latencyMillis(99),
+                bytesPerRound(), maxQueueDepth, meanQueueDepth);
+    }
+}
@@ -0,0 +1,75 @@
+package com.aidanas.russianroulette.load;
+
+import com.aidanas.russianroulette.scheduling.EventLoop;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Runs a number of games at once on a couple of EventLoops, the way GameService hosts many tables
+ * on its LooperPool, and checks that every one of them plays out.
+ */
+public class MultiTableTest {
+
+    private static final int TABLES = 8;
+    private static final int THREADS = 2;
+    private static final int PEERS = 5;
+    private static final int ROUNDS = 20;
+
+    @Test
+    public void tablesShareThePool() throws Exception {
+        EventLoop[] loops = new EventLoop[THREADS];
+        for (int i = 0; i < THREADS; i++) {
+            loops[i] = new EventLoop("Test tables " + i);
+            loops[i].start();
+        }
+        final List<LoadReport> reports = new ArrayList<>();
+        final List<Exception> failures = new ArrayList<>();
+
+        List<Thread> tables = new ArrayList<>();
+        for (int i = 0; i < TABLES; i++) {
+            final LoadGenerator generator =
+                    new LoadGenerator(PEERS, ROUNDS, 0).runOn(loops[i % THREADS].newScheduler());
+            Thread t = new Thread("Table " + i) {
+                @Override
+                public void run() {
+                    try {
+                        LoadReport report = generator.run();
+                        synchronized (reports) {
+                            reports.add(report);
+                        }
+                    } catch (Exception e) {
+                        synchronized (failures) {
+                            failures.add(e);
+                        }
+                    }
+                }
+            };
+            tables.add(t);
+            t.start();
+        }
+        for (Thread t : tables) {
+            t.join();
+        }
+        for (EventLoop loop : loops) {
+            loop.quit();
+        }
+
+        assertTrue("Failed: " + failures, failures.isEmpty());
+        assertEquals(TABLES, reports.size());
+        for (LoadReport report : reports) {
+            LoadGeneratorTest.check(report, PEERS, ROUNDS);
+        }
+
+        // No game got a thread of its own.
+        for (Thread t : Thread.getAllStackTraces().keySet()) {
+            assertFalse(t.getName().startsWith("Arbitrators'"));
+        }
+    }
+}
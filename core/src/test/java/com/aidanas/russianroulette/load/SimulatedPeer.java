@@ -0,0 +1,248 @@
+package com.aidanas.russianroulette.load;
+
+import com.aidanas.russianroulette.communication.BtMsg;
+import com.aidanas.russianroulette.communication.BtMsgCodec;
+import com.aidanas.russianroulette.communication.ClockProbe;
+import com.aidanas.russianroulette.communication.CountingInputStream;
+import com.aidanas.russianroulette.game.Player;
+import com.aidanas.russianroulette.game.RoundResult;
+import com.aidanas.russianroulette.game.RoundStart;
+import com.aidanas.russianroulette.game.Session;
+import com.aidanas.russianroulette.game.StateSnapshot;
+import com.aidanas.russianroulette.interfaces.Connection;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Created by: Aidanas
+ * Created on: 18/10/2026.
+ *
+ * A client peer speaking the game protocol without any UI or Arbitrator behind it. It reads
+ * everything the host sends, answers its clock probes, plays as soon as the host starts the round
+ * and always survives, so the rounds go on for as long as the LoadGenerator wants. If the host
+ * resolves the rounds, the peer just waits for the outcome.
+ */
+public class SimulatedPeer extends Thread {
+
+    private final Connection mConnection;
+    private final DataInputStream mIn;
+    private final OutputStream mOut;
+    private final Listener mListener;
+
+    // Bytes this peer has read from and written to the connection.
+    private final CountingInputStream mCountingIn;
+    private final AtomicLong mBytesOut = new AtomicLong();
+
+    // State of the current round, guarded by 'this'.
+    private String mSelfAddress;
+    private int mOutcomesSeen = 0;
+    private boolean mIsReady = false;
+    private boolean mHasPlayed = false;
+
+    /**
+     * Constructor.
+     * @param connection - Connection to the host, already established.
+     * @param listener - Gets notified about the progress of the peer.
+     */
+    public SimulatedPeer(Connection connection, Listener listener) throws IOException {
+        super("Simulated peer " + connection.getPeerId());
+        mConnection = connection;
+        mListener = listener;
+        mCountingIn = new CountingInputStream(connection.getInputStream());
+        mIn = new DataInputStream(new BufferedInputStream(mCountingIn));
+        mOut = new BufferedOutputStream(
+                new CountingOutputStream(connection.getOutputStream(), mBytesOut));
+    }
+
+    /**
+     * Joins the game and runs the reader loop until the connection is closed.
+     */
+    @Override
+    public void run() {
+        try {
+            send(new BtMsg(BtMsg.CTS_JOIN,
+                    new Session(Session.NO_TOKEN, Session.NO_SEQ, Player.State.RESET)));
+        } catch (IOException e) {
+            return;
+        }
+        while (true) {
+            BtMsg btMsg;
+            try {
+                btMsg = BtMsgCodec.read(mIn);
+            } catch (IOException e) {
+                break;
+            }
+            mListener.onFrame(this);
+            onMessage(btMsg);
+        }
+    }
+
+    /**
+     * Method to clear the state of the last round. Must be called on all the peers before any of
+     * them starts the new round, or a fast peer's outcome could be counted towards the old one.
+     */
+    public synchronized void prepareRound() {
+        mOutcomesSeen = 0;
+        mHasPlayed = false;
+        mIsReady = false;
+    }
+
+    /**
+     * Method to start a new round: sends reset (unless it is the first round) and ready.
+     * @param first - Is this the first round of the game?
+     */
+    public void startRound(boolean first) throws IOException {
+        synchronized (this) {
+            mIsReady = true;
+        }
+        if (!first){
+            send(BtMsg.CTS_CLIENT_RESET);
+        }
+        send(BtMsg.CTS_CLIENT_READY);
+    }
+
+    /**
+     * @return - Number of other players' outcomes seen in the current round.
+     */
+    public synchronized int getOutcomesSeen() {
+        return mOutcomesSeen;
+    }
+
+    /**
+     * @return - Total number of bytes read and written by this peer.
+     */
+    public long getBytesOnWire() {
+        return mCountingIn.getCount() + mBytesOut.get();
+    }
+
+    /**
+     * Closes the connection, which makes the reader loop finish.
+     */
+    public void close() {
+        try {
+            mConnection.close();
+        } catch (IOException e) {
+            // Ignore close exception.
+        }
+    }
+
+    private void onMessage(BtMsg btMsg) {
+        boolean joined = false;
+        boolean outcome = false;
+        BtMsg reply = null;
+
+        synchronized (this) {
+            // The host tells every peer about its own changes too.
+            if (btMsg.payload instanceof String && btMsg.payload.equals(mSelfAddress)){
+                return;
+            }
+
+            switch (btMsg.type) {
+
+                case BtMsg.STC_PLAYERS_LIST:
+                    // The first snapshot tells the peer it is seated, later ones answer resyncs.
+                    joined = mSelfAddress == null;
+                    mSelfAddress = ((StateSnapshot) btMsg.payload).getSelfAddress();
+                    break;
+
+                case BtMsg.STC_ROUND_START:
+                    // No point waiting for the trigger time, nobody is watching.
+                    boolean resolved = ((RoundStart) btMsg.payload).isResolved();
+                    if (mIsReady && !mHasPlayed && !resolved){
+                        reply = new BtMsg(BtMsg.CTS_CLIENT_ALIVE, null);
+                    }
+                    mHasPlayed = true;
+                    mIsReady = false;
+                    break;
+
+                case BtMsg.STC_ROUND_RESULT:
+                    // Everyone's outcome at once, the host's included.
+                    RoundResult result = (RoundResult) btMsg.payload;
+                    mOutcomesSeen += result.size() -
+                            (result.getAlive().contains(mSelfAddress) ? 1 : 0);
+                    outcome = true;
+                    break;
+
+                case BtMsg.STC_PING:
+                    ClockProbe ping = (ClockProbe) btMsg.payload;
+                    long now = System.nanoTime();
+                    reply = new BtMsg(BtMsg.CTS_PONG, new ClockProbe(ping.t0, now, now));
+                    break;
+
+                case BtMsg.STC_SERVER_ALIVE:
+                case BtMsg.STC_PLAYER_ALIVE:
+                    mOutcomesSeen++;
+                    outcome = true;
+                    break;
+
+                default:
+                    // Readies and resets of the others are of no interest.
+            }
+        }
+
+        if (joined){
+            mListener.onJoined(this);
+        }
+        if (outcome){
+            mListener.onOutcome(this);
+        }
+        if (reply != null){
+            try {
+                send(reply);
+            } catch (IOException e) {
+                close();
+            }
+        }
+    }
+
+    private void send(int type) throws IOException {
+        send(new BtMsg(type, null));
+    }
+
+    private void send(BtMsg btMsg) throws IOException {
+        synchronized (mOut) {
+            BtMsgCodec.write(btMsg, mOut);
+            mOut.flush();
+        }
+    }
+
+    /***********************************************************************************************
+     *                                  Inner Classes
+     **********************************************************************************************/
+
+    /**
+     * Callbacks made from the peer's reader thread.
+     */
+    public interface Listener {
+        void onFrame(SimulatedPeer peer);
+        void onJoined(SimulatedPeer peer);
+        void onOutcome(SimulatedPeer peer);
+    }
+
+    private static class CountingOutputStream extends FilterOutputStream {
+        private final AtomicLong mCount;
+
+        CountingOutputStream(OutputStream out, AtomicLong count) {
+            super(out);
+            mCount = count;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            mCount.incrementAndGet();
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            mCount.addAndGet(len);
+        }
+    }
+}
@@ -0,0 +1,339 @@
+package com.aidanas.russianroulette.server;
+
+import com.aidanas.russianroulette.communication.BtMsg;
+import com.aidanas.russianroulette.communication.NioServer;
+import com.aidanas.russianroulette.game.Arbitrator;
+import com.aidanas.russianroulette.interfaces.GameObserver;
+import com.aidanas.russianroulette.interfaces.Scheduler;
+import com.aidanas.russianroulette.journal.Journal;
+import com.aidanas.russianroulette.logging.Logger;
+import com.aidanas.russianroulette.metrics.KeyedCounter;
+import com.aidanas.russianroulette.metrics.Metrics;
+import com.aidanas.russianroulette.scheduling.EventLoop;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Created by: Aidanas
+ * Created on: 18/10/2026.
+ *
+ * Headless host of any number of game tables on a plain JVM, so that no phone has to host, with
+ * its CPU, battery and piconet limits. Phones join as ordinary clients over TCP, the protocol is
+ * the same as with a phone hosting.
+ *
+ * Every table is a dedicated Arbitrator (see Arbitrator.setDedicated()) served by a NioServer of
+ * its own, one thread for all of its players. The tables' game logic is spread over a fixed set
+ * of EventLoops, so the threads in use depend on the number of tables and not on the players.
+ * Throughput is logged periodically.
+ *
+ *      ./gradlew :server:run -Pargs="--tables 8 --max-players 64"
+ */
+public class DedicatedServer implements Closeable {
+
+    // Tag, mostly used for logging and debug output.
+    public static final String TAG = DedicatedServer.class.getSimpleName();
+    private static final Logger LOG = Logger.get(Logger.Subsystem.SERVICE, TAG);
+
+    // Messages received and sent by every link of the process.
+    private static final KeyedCounter MSG_IN = Metrics.keyedCounter("msg.in", BtMsg.MAX_TYPE + 1);
+    private static final KeyedCounter MSG_OUT =
+            Metrics.keyedCounter("msg.out", BtMsg.MAX_TYPE + 1);
+
+    // Number of journal segments kept, the oldest are deleted.
+    private static final int JOURNAL_SEGMENTS = 16;
+
+    private final ServerConfig mConfig;
+    private final List<Table> mTables = new ArrayList<>();
+    private final List<EventLoop> mLoops = new ArrayList<>();
+
+    // Journal of the games, null if there is none.
+    private Journal mJournal;
+
+    // Runs the periodic throughput log, null if there is none.
+    private Scheduler mStatsScheduler;
+
+    // Totals as of the last throughput log. Stats scheduler's thread only.
+    private long mLastReportAt;
+    private long mLastRounds;
+    private long mLastMsgsIn;
+    private long mLastMsgsOut;
+
+    private boolean mStarted = false;
+    private boolean mClosed = false;
+    private final CountDownLatch mClosedLatch = new CountDownLatch(1);
+
+    private final Runnable mReport = new Runnable() {
+        @Override
+        public void run() {
+            report();
+            mStatsScheduler.postDelayed(this, mConfig.getStatsInterval() * 1000L);
+        }
+    };
+
+    /**
+     * Constructor. Nothing is bound until start().
+     * @param config - Settings.
+     */
+    public DedicatedServer(ServerConfig config) {
+        mConfig = config;
+    }
+
+    /**
+     * Method to open all the tables and start accepting players.
+     * @throws IOException - If a table's port can not be bound. Tables opened so far are closed.
+     */
+    public synchronized void start() throws IOException {
+        if (LOG.isVerbose()) LOG.v("In start(), Thread = " + Thread.currentThread().getName());
+
+        if (mStarted){
+            throw new IllegalStateException("Server already started");
+        }
+        mStarted = true;
+
+        if (mConfig.getJournalDir() != null){
+            mJournal = new Journal(new File(mConfig.getJournalDir()),
+                    Journal.DEFAULT_SEGMENT_SIZE, JOURNAL_SEGMENTS);
+            Journal.install(mJournal);
+        }
+
+        for (int i = 0; i < mConfig.getThreads(); i++) {
+            EventLoop loop = new EventLoop("Tables " + i);
+            loop.start();
+            mLoops.add(loop);
+        }
+
+        InetAddress bindAddress = mConfig.getBindAddress() == null ? null :
+                InetAddress.getByName(mConfig.getBindAddress());
+        try {
+            for (int i = 0; i < mConfig.getTables(); i++) {
+                mTables.add(openTable(bindAddress, i));
+            }
+        } catch (IOException e) {
+            close();
+            throw e;
+        }
+
+        mLastReportAt = System.nanoTime();
+        if (mConfig.getStatsInterval() > 0){
+            mStatsScheduler = EventLoop.startDedicated("Stats");
+            mStatsScheduler.postDelayed(mReport, mConfig.getStatsInterval() * 1000L);
+        }
+
+        LOG.i("Hosting " + mTables.size() + " tables of up to " + mConfig.getMaxPlayers() +
+                " players on " + mLoops.size() + " threads, ports " + getPorts());
+    }
+
+    /**
+     * Method to stop accepting players, disconnect the ones seated and stop every thread. Logs the
+     * final totals. Can be called from any thread, more than once.
+     */
+    @Override
+    public synchronized void close() {
+        if (LOG.isVerbose()) LOG.v("In close(), Thread = " + Thread.currentThread().getName());
+
+        if (mClosed){
+            return;
+        }
+        mClosed = true;
+
+        if (mStatsScheduler != null){
+            mStatsScheduler.shutdown();
+        }
+        for (Table table : mTables) {
+            table.server.close();
+            table.arbitrator.shutdown();
+        }
+        for (EventLoop loop : mLoops) {
+            loop.quit();
+        }
+        if (mJournal != null){
+            mJournal.close();
+        }
+
+        LOG.i("Closed after " + getRoundsPlayed() + " rounds");
+        mClosedLatch.countDown();
+    }
+
+    /**
+     * Method to block until the server is closed.
+     * @throws InterruptedException - If the calling thread is interrupted while waiting.
+     */
+    public void awaitClose() throws InterruptedException {
+        mClosedLatch.await();
+    }
+
+    /**
+     * @return - Port every table listens on, in the order of the tables.
+     */
+    public synchronized List<Integer> getPorts() {
+        List<Integer> ports = new ArrayList<>();
+        for (Table table : mTables) {
+            ports.add(table.server.getLocalPort());
+        }
+        return ports;
+    }
+
+    /**
+     * @param index - Index of a table.
+     * @return - Arbitrator of the table.
+     */
+    public synchronized Arbitrator getTable(int index) {
+        return mTables.get(index).arbitrator;
+    }
+
+    /**
+     * @return - Number of rounds played at all the tables so far.
+     */
+    public synchronized long getRoundsPlayed() {
+        long rounds = 0;
+        for (Table table : mTables) {
+            rounds += table.rounds.get();
+        }
+        return rounds;
+    }
+
+    /**
+     * Method to print the state of every table and the metrics recorded so far.
+     * @param writer - Destination.
+     */
+    public synchronized void dump(PrintWriter writer) {
+        for (int i = 0; i < mTables.size(); i++) {
+            writer.println("Table " + i + " (port " + mTables.get(i).server.getLocalPort() + "):");
+            mTables.get(i).arbitrator.dump(writer);
+        }
+        Metrics.dump(writer);
+    }
+
+    /**
+     * Opens a table, spreading the tables over the loops evenly.
+     */
+    private Table openTable(InetAddress bindAddress, int index) throws IOException {
+        if (LOG.isVerbose()) LOG.v("In openTable(), index = " + index);
+
+        Table table = new Table();
+        Arbitrator arbitrator = new Arbitrator(true, table,
+                mLoops.get(index % mLoops.size()).newScheduler());
+        arbitrator.setDedicated(true);
+        arbitrator.setMaxPlayers(mConfig.getMaxPlayers());
+        arbitrator.setThrillDelay(mConfig.getThrillDelay());
+        arbitrator.setResumeGrace(mConfig.getResumeGrace());
+        arbitrator.setHeartbeat(mConfig.getHeartbeatInterval(), mConfig.getHeartbeatTimeout());
+
+        int queueCapacity = Arbitrator.writeQueueCapacityFor(mConfig.getMaxPlayers());
+        arbitrator.setWriteQueue(queueCapacity, Arbitrator.DEFAULT_OVERFLOW_POLICY);
+        NioServer server;
+        try {
+            server = new NioServer(bindAddress, mConfig.getPort(index), arbitrator,
+                    queueCapacity, Arbitrator.DEFAULT_OVERFLOW_POLICY);
+        } catch (IOException e) {
+            arbitrator.shutdown();
+            throw e;
+        }
+        server.start();
+
+        table.arbitrator = arbitrator;
+        table.server = server;
+        return table;
+    }
+
+    /**
+     * Logs the throughput since the last report. Stats scheduler's thread only.
+     */
+    private void report() {
+        long now = System.nanoTime();
+        double seconds = (now - mLastReportAt) / 1e9;
+        long rounds = getRoundsPlayed();
+        long msgsIn = total(MSG_IN);
+        long msgsOut = total(MSG_OUT);
+
+        int players = 0;
+        int maxQueue = 0;
+        synchronized (this) {
+            for (Table table : mTables) {
+                players += table.arbitrator.getPlayerCount();
+                maxQueue = Math.max(maxQueue, table.arbitrator.getQueueDepth());
+            }
+        }
+
+        LOG.i(String.format(Locale.US, "players = %d, rounds = %d (%.1f/s), msgs in = %.0f/s, " +
+                "msgs out = %.0f/s, max scheduler queue = %d", players, rounds,
+                (rounds - mLastRounds) / seconds, (msgsIn - mLastMsgsIn) / seconds,
+                (msgsOut - mLastMsgsOut) / seconds, maxQueue));
+
+        mLastReportAt = now;
+        mLastRounds = rounds;
+        mLastMsgsIn = msgsIn;
+        mLastMsgsOut = msgsOut;
+    }
+
+    private static long total(KeyedCounter counter) {
+        long total = 0;
+        for (int type = 0; type <= BtMsg.MAX_TYPE; type++) {
+            total += counter.get(type);
+        }
+        return total;
+    }
+
+    /**
+     * Starts the server and runs until the process is told to stop.
+     * @param args - See ServerConfig.USAGE.
+     */
+    public static void main(String[] args) throws Exception {
+        ServerConfig config;
+        try {
+            config = ServerConfig.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(ServerConfig.USAGE);
+            System.exit(2);
+            return;
+        }
+        if (config.isHelp()){
+            System.out.println(ServerConfig.USAGE);
+            return;
+        }
+        Logger.setLevel(config.getLogLevel());
+
+        final DedicatedServer server = new DedicatedServer(config);
+        server.start();
+
+        // Ctrl-C or SIGTERM, let the players go before the process does.
+        Runtime.getRuntime().addShutdownHook(new Thread("Shutdown") {
+            @Override
+            public void run() {
+                server.close();
+            }
+        });
+        server.awaitClose();
+    }
+
+    /***********************************************************************************************
+     *                                  Inner Classes
+     **********************************************************************************************/
+
+    /**
+     * A table: its game, the server its players connect to and the number of rounds played,
+     * counted as the game reports their outcomes in place of a UI.
+     */
+    private static class Table implements GameObserver {
+        Arbitrator arbitrator;
+        NioServer server;
+        final AtomicLong rounds = new AtomicLong();
+
+        @Override
+        public void onGameEvent(int what, Object obj) {
+            if (what == Arbitrator.MSG_UI_ALIVE || what == Arbitrator.MSG_UI_DEAD){
+                rounds.incrementAndGet();
+            }
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package com.aidanas.russianroulette.server;
+
+import com.aidanas.russianroulette.game.Arbitrator;
+import com.aidanas.russianroulette.logging.Logger;
+
+import java.util.Locale;
+
+/**
+ * Created by: Aidanas
+ * Created on: 18/10/2026.
+ *
+ * Settings of a DedicatedServer, parsed from its command line. Every option has a default, see
+ * USAGE.
+ */
+public class ServerConfig {
+
+    public static final String USAGE =
+            "Usage: server [options]\n" +
+            "  --bind ADDRESS       Address to listen on (default: all of them)\n" +
+            "  --port PORT          Port of the first table, the n-th listens on PORT + n - 1,\n" +
+            "                       0 for any free ones (default: 41000)\n" +
+            "  --tables N           Number of tables hosted (default: 4)\n" +
+            "  --max-players N      Players seated at a table at most (default: 32)\n" +
+            "  --threads N          Threads the tables are spread over (default: one per core,\n" +
+            "                       at most one per table)\n" +
+            "  --thrill MILLIS      Delay before the trigger is pulled (default: 1000)\n" +
+            "  --resume-grace MILLIS\n" +
+            "                       Time a player whose connection dropped keeps its seat for\n" +
+            "                       (default: 10000)\n" +
+            "  --heartbeat MILLIS   Interval of the heartbeats (default: 1000)\n" +
+            "  --heartbeat-timeout MILLIS\n" +
+            "                       Silence a player's connection is closed after\n" +
+            "                       (default: 5000)\n" +
+            "  --stats SECONDS      Interval of the throughput log, 0 for none (default: 10)\n" +
+            "  --journal DIR        Journal the games to DIR for post-mortems (default: none)\n" +
+            "  --log LEVEL          VERBOSE, DEBUG, INFO, WARN, ERROR or NONE (default: INFO)\n" +
+            "  --help               Print this and exit";
+
+    public static final int DEFAULT_PORT = 41000;
+    public static final int DEFAULT_TABLES = 4;
+    public static final int DEFAULT_MAX_PLAYERS = 32;
+    public static final int DEFAULT_STATS_INTERVAL = 10;
+
+    private String mBindAddress = null;
+    private int mPort = DEFAULT_PORT;
+    private int mTables = DEFAULT_TABLES;
+    private int mMaxPlayers = DEFAULT_MAX_PLAYERS;
+    private int mThreads = 0;
+    private long mThrillDelay = Arbitrator.DEFAULT_THRILL_DELAY;
+    private long mResumeGrace = Arbitrator.DEFAULT_RESUME_GRACE;
+    private long mHeartbeatInterval = Arbitrator.DEFAULT_HEARTBEAT_INTERVAL;
+    private long mHeartbeatTimeout = Arbitrator.DEFAULT_HEARTBEAT_TIMEOUT;
+    private int mStatsInterval = DEFAULT_STATS_INTERVAL;
+    private String mJournalDir = null;
+    private Logger.Level mLogLevel = Logger.Level.INFO;
+    private boolean mHelp = false;
+
+    /**
+     * Method to parse the command line.
+     * @param args - Arguments of main().
+     * @return - Settings, the defaults where not given.
+     * @throws IllegalArgumentException - If an option is unknown, lacks its value or the value is
+     * out of range.
+     */
+    public static ServerConfig parse(String[] args) {
+        ServerConfig config = new ServerConfig();
+        for (int i = 0; i < args.length; i++) {
+            String option = args[i];
+            if ("--help".equals(option)){
+                config.mHelp = true;
+                continue;
+            }
+            if (i + 1 == args.length){
+                throw new IllegalArgumentException("Missing value of " + option);
+            }
+            String value = args[++i];
+
+            switch (option) {
+                case "--bind":
+                    config.mBindAddress = value;
+                    break;
+                case "--port":
+                    config.mPort = parseInt(option, value, 0, 65535);
+                    break;
+                case "--tables":
+                    config.mTables = parseInt(option, value, 1, Integer.MAX_VALUE);
+                    break;
+                case "--max-players":
+                    config.mMaxPlayers = parseInt(option, value, 1, Integer.MAX_VALUE);
+                    break;
+                case "--threads":
+                    config.mThreads = parseInt(option, value, 1, Integer.MAX_VALUE);
+                    break;
+                case "--thrill":
+                    config.mThrillDelay = parseInt(option, value, 0, Integer.MAX_VALUE);
+                    break;
+                case "--resume-grace":
+                    config.mResumeGrace = parseInt(option, value, 0, Integer.MAX_VALUE);
+                    break;
+                case "--heartbeat":
+                    config.mHeartbeatInterval = parseInt(option, value, 1, Integer.MAX_VALUE);
+                    break;
+                case "--heartbeat-timeout":
+                    config.mHeartbeatTimeout = parseInt(option, value, 1, Integer.MAX_VALUE);
+                    break;
+                case "--stats":
+                    config.mStatsInterval = parseInt(option, value, 0, Integer.MAX_VALUE);
+                    break;
+                case "--journal":
+                    config.mJournalDir = value;
+                    break;
+                case "--log":
+                    try {
+                        config.mLogLevel = Logger.Level.valueOf(value.toUpperCase(Locale.US));
+                    } catch (IllegalArgumentException e) {
+                        throw new IllegalArgumentException("Unknown log level: " + value);
+                    }
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option: " + option);
+            }
+        }
+
+        if (config.mPort != 0 && config.mPort + config.mTables - 1 > 65535){
+            throw new IllegalArgumentException("Not enough ports above " + config.mPort +
+                    " for " + config.mTables + " tables");
+        }
+        if (config.mHeartbeatTimeout <= config.mHeartbeatInterval){
+            throw new IllegalArgumentException("Heartbeat timeout must be longer than " +
+                    config.mHeartbeatInterval + "ms");
+        }
+        return config;
+    }
+
+    private static int parseInt(String option, String value, int min, int max) {
+        int n;
+        try {
+            n = Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Not a number: " + option + " " + value);
+        }
+        if (n < min || n > max){
+            throw new IllegalArgumentException("Out of range: " + option + " " + value);
+        }
+        return n;
+    }
+
+    /***********************************************************************************************
+     *                          Getters and Setters
+     **********************************************************************************************/
+
+    public String getBindAddress() {
+        return mBindAddress;
+    }
+
+    /**
+     * @param table - Index of a table.
+     * @return - Port the table listens on, 0 for any free one.
+     */
+    public int getPort(int table) {
+        return mPort == 0 ? 0 : mPort + table;
+    }
+
+    public int getTables() {
+        return mTables;
+    }
+
+    public int getMaxPlayers() {
+        return mMaxPlayers;
+    }
+
+    /**
+     * @return - Number of threads the tables run on. No more than there are tables, as a table
+     * only ever runs on one of them.
+     */
+    public int getThreads() {
+        int threads = mThreads != 0 ? mThreads : Runtime.getRuntime().availableProcessors();
+        return Math.max(1, Math.min(threads, mTables));
+    }
+
+    public long getThrillDelay() {
+        return mThrillDelay;
+    }
+
+    public long getResumeGrace() {
+        return mResumeGrace;
+    }
+
+    public long getHeartbeatInterval() {
+        return mHeartbeatInterval;
+    }
+
+    public long getHeartbeatTimeout() {
+        return mHeartbeatTimeout;
+    }
+
+    public int getStatsInterval() {
+        return mStatsInterval;
+    }
+
+    /**
+     * @return - Directory to journal the games to or null for no journal.
+     */
+    public String getJournalDir() {
+        return mJournalDir;
+    }
+
+    public Logger.Level getLogLevel() {
+        return mLogLevel;
+    }
+
+    public boolean isHelp() {
+        return mHelp;
+    }
+}
@@ -0,0 +1,183 @@
+package com.aidanas.russianroulette;
+
+import com.aidanas.russianroulette.communication.BtMsg;
+import com.aidanas.russianroulette.communication.BtMsgCodec;
+import com.aidanas.russianroulette.communication.TcpConnector;
+import com.aidanas.russianroulette.game.Arbitrator;
+import com.aidanas.russianroulette.game.Player;
+import com.aidanas.russianroulette.game.Session;
+import com.aidanas.russianroulette.interfaces.Connection;
+import com.aidanas.russianroulette.interfaces.GameObserver;
+import com.aidanas.russianroulette.server.DedicatedServer;
+import com.aidanas.russianroulette.server.ServerConfig;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.net.Socket;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit test class to test the dedicated server over loopback TCP.
+ */
+public class DedicatedServerUnitTest {
+
+    private DedicatedServer mServer;
+
+    @After
+    public void tearDown() {
+        if (mServer != null){
+            mServer.close();
+        }
+    }
+
+    @Test
+    public void parsesOptions() {
+        ServerConfig config = ServerConfig.parse(new String[]{
+                "--port", "5000", "--tables", "3", "--max-players", "10", "--threads", "8"});
+
+        assertEquals(5000, config.getPort(0));
+        assertEquals(5002, config.getPort(2));
+        assertEquals(3, config.getTables());
+        assertEquals(10, config.getMaxPlayers());
+        assertEquals(3, config.getThreads());
+        assertEquals(ServerConfig.DEFAULT_STATS_INTERVAL, config.getStatsInterval());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsUnknownOption() {
+        ServerConfig.parse(new String[]{"--players", "10"});
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsOptionWithoutValue() {
+        ServerConfig.parse(new String[]{"--tables"});
+    }
+
+    @Test
+    public void clientsPlayWithoutTheHost() throws Exception {
+        mServer = start(2);
+        int port = mServer.getPorts().get(0);
+
+        Outcome[] outcomes = {new Outcome(), new Outcome()};
+        Arbitrator[] clients = new Arbitrator[outcomes.length];
+        for (int i = 0; i < clients.length; i++) {
+            clients[i] = new Arbitrator(false, outcomes[i]);
+            clients[i].receiveConnection(new TcpConnector("127.0.0.1", port).connect());
+        }
+        try {
+            awaitPlayers(mServer.getTable(0), 2);
+            for (Arbitrator client : clients) {
+                client.readyUp();
+            }
+
+            for (Outcome outcome : outcomes) {
+                assertTrue(outcome.latch.await(10, TimeUnit.SECONDS));
+            }
+            awaitRounds(mServer, 1);
+        } finally {
+            for (Arbitrator client : clients) {
+                client.shutdown();
+            }
+        }
+    }
+
+    @Test
+    public void fullTableTurnsPlayersAway() throws Exception {
+        mServer = start(1);
+        int port = mServer.getPorts().get(0);
+
+        Connection seated = join(port);
+        awaitPlayers(mServer.getTable(0), 1);
+        Connection turnedAway = join(port);
+
+        DataInputStream in = new DataInputStream(turnedAway.getInputStream());
+        try {
+            BtMsgCodec.read(in);
+            throw new AssertionError("Turned away player was sent a message");
+        } catch (IOException e) {
+            // Disconnected without a word.
+        }
+        assertEquals(1, mServer.getTable(0).getPlayerCount());
+        seated.close();
+    }
+
+    @Test
+    public void resetHandshakesLeaveTheTableSeated() throws Exception {
+        mServer = start(2);
+        int port = mServer.getPorts().get(0);
+
+        Connection seated = join(port);
+        awaitPlayers(mServer.getTable(0), 1);
+
+        // Connections reset as soon as they are made, i.e. by a port scanner.
+        for (int i = 0; i < 20; i++) {
+            Socket socket = new Socket("127.0.0.1", port);
+            socket.setSoLinger(true, 0);
+            socket.close();
+        }
+
+        // The seated player is still served and the table still takes players.
+        DataInputStream in = new DataInputStream(seated.getInputStream());
+        while (BtMsgCodec.read(in).type != BtMsg.STC_PING) {
+            // Welcome and the snapshot come first.
+        }
+        assertEquals(BtMsg.STC_PING, BtMsgCodec.read(in).type);
+        Connection second = join(port);
+        awaitPlayers(mServer.getTable(0), 2);
+        seated.close();
+        second.close();
+    }
+
+    private static DedicatedServer start(int maxPlayers) throws IOException {
+        DedicatedServer server = new DedicatedServer(ServerConfig.parse(new String[]{
+                "--port", "0", "--tables", "1", "--max-players", String.valueOf(maxPlayers),
+                "--thrill", "0", "--stats", "0"}));
+        server.start();
+        return server;
+    }
+
+    private static Connection join(int port) throws IOException {
+        Connection connection = new TcpConnector("127.0.0.1", port).connect();
+        BtMsgCodec.write(new BtMsg(BtMsg.CTS_JOIN,
+                new Session(Session.NO_TOKEN, Session.NO_SEQ, Player.State.RESET)),
+                connection.getOutputStream());
+        connection.getOutputStream().flush();
+        return connection;
+    }
+
+    private static void awaitPlayers(Arbitrator table, int players) throws InterruptedException {
+        for (int i = 0; i < 1000 && table.getPlayerCount() < players; i++) {
+            Thread.sleep(10);
+        }
+        assertEquals(players, table.getPlayerCount());
+    }
+
+    private static void awaitRounds(DedicatedServer server, long rounds)
+            throws InterruptedException {
+        for (int i = 0; i < 1000 && server.getRoundsPlayed() < rounds; i++) {
+            Thread.sleep(10);
+        }
+        assertEquals(rounds, server.getRoundsPlayed());
+    }
+
+    /**
+     * Learns about the outcome of a client's round, in place of the UI.
+     */
+    private static class Outcome implements GameObserver {
+        final CountDownLatch latch = new CountDownLatch(1);
+
+        @Override
+        public void onGameEvent(int what, Object obj) {
+            if (what == Arbitrator.MSG_UI_ALIVE || what == Arbitrator.MSG_UI_DEAD){
+                latch.countDown();
+            }
+        }
+    }
+}